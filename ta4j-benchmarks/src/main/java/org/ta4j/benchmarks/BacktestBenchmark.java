@@ -0,0 +1,89 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017-2023 Ta4j Organization & respective
+ * authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.ta4j.core.BarSeries;
+import org.ta4j.core.Strategy;
+import org.ta4j.core.TradingRecord;
+import org.ta4j.core.backtest.BacktestExecutor;
+import org.ta4j.core.backtest.BarSeriesManager;
+import org.ta4j.core.reports.TradingStatement;
+
+/**
+ * Backtests of SMA crossover strategies (including the calculation of their
+ * indicators, which are created anew for each invocation).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BacktestBenchmark {
+
+    /** The number of strategies executed by the {@link BacktestExecutor}. */
+    private static final int STRATEGY_COUNT = 20;
+
+    @Param({ "DoubleNum", "DecimalNum" })
+    public String numType;
+
+    @Param({ "1000", "100000" })
+    public int barCount;
+
+    private BarSeries series;
+
+    @Setup
+    public void setUp() {
+        series = BenchmarkData.createBarSeries(numType, barCount);
+    }
+
+    @Benchmark
+    public TradingRecord barSeriesManagerRun() {
+        return new BarSeriesManager(series).run(BenchmarkData.createStrategy(series, 10, 30));
+    }
+
+    @Benchmark
+    public List<TradingStatement> backtestExecutorExecute() {
+        List<Strategy> strategies = new ArrayList<>(STRATEGY_COUNT);
+        for (int i = 0; i < STRATEGY_COUNT; i++) {
+            strategies.add(BenchmarkData.createStrategy(series, 5 + i, 30 + 2 * i));
+        }
+        return new BacktestExecutor(series).execute(strategies, series.numOf(1));
+    }
+}
@@ -0,0 +1,99 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017-2023 Ta4j Organization & respective
+ * authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.benchmarks;
+
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.Random;
+
+import org.ta4j.core.BarSeries;
+import org.ta4j.core.BaseBarSeriesBuilder;
+import org.ta4j.core.BaseStrategy;
+import org.ta4j.core.Strategy;
+import org.ta4j.core.indicators.SMAIndicator;
+import org.ta4j.core.indicators.helpers.ClosePriceIndicator;
+import org.ta4j.core.num.DecimalNum;
+import org.ta4j.core.num.DoubleNum;
+import org.ta4j.core.rules.CrossedDownIndicatorRule;
+import org.ta4j.core.rules.CrossedUpIndicatorRule;
+
+/**
+ * Reproducible bar series and strategies for the benchmarks.
+ */
+final class BenchmarkData {
+
+    /** The seed of the generated prices (same series for all benchmarks). */
+    private static final long SEED = 42;
+
+    private BenchmarkData() {
+    }
+
+    /**
+     * Creates a daily bar series following a random walk.
+     *
+     * @param numType  the num type ({@code DoubleNum} or {@code DecimalNum})
+     * @param barCount the number of bars
+     * @return the bar series
+     */
+    static BarSeries createBarSeries(String numType, int barCount) {
+        BaseBarSeriesBuilder builder = new BaseBarSeriesBuilder().withName(numType + "-" + barCount);
+        switch (numType) {
+        case "DoubleNum":
+            builder.withNumTypeOf(DoubleNum.class);
+            break;
+        case "DecimalNum":
+            builder.withNumTypeOf(DecimalNum.class);
+            break;
+        default:
+            throw new IllegalArgumentException("Unknown num type: " + numType);
+        }
+        BarSeries series = builder.build();
+        Random random = new Random(SEED);
+        ZonedDateTime endTime = ZonedDateTime.of(2000, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+        double close = 100;
+        for (int i = 0; i < barCount; i++) {
+            double open = close;
+            close = Math.max(1, open * (1 + random.nextGaussian() * 0.01));
+            double high = Math.max(open, close) * (1 + random.nextDouble() * 0.005);
+            double low = Math.min(open, close) * (1 - random.nextDouble() * 0.005);
+            double volume = 1000 + random.nextInt(10000);
+            series.addBar(endTime.plusDays(i), open, high, low, close, volume);
+        }
+        return series;
+    }
+
+    /**
+     * @param series    the bar series
+     * @param shortBars the bar count of the short SMA
+     * @param longBars  the bar count of the long SMA
+     * @return a SMA crossover strategy
+     */
+    static Strategy createStrategy(BarSeries series, int shortBars, int longBars) {
+        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+        SMAIndicator shortSma = new SMAIndicator(closePrice, shortBars);
+        SMAIndicator longSma = new SMAIndicator(closePrice, longBars);
+        return new BaseStrategy("SMA " + shortBars + "/" + longBars, new CrossedUpIndicatorRule(shortSma, longSma),
+                new CrossedDownIndicatorRule(shortSma, longSma), longBars);
+    }
+}
@@ -0,0 +1,107 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017-2023 Ta4j Organization & respective
+ * authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.ta4j.core.BarSeries;
+import org.ta4j.core.indicators.EMAIndicator;
+import org.ta4j.core.indicators.SMAIndicator;
+import org.ta4j.core.indicators.helpers.ClosePriceIndicator;
+
+/**
+ * Access patterns of {@link org.ta4j.core.indicators.CachedIndicator
+ * CachedIndicator}s: sequential and random evaluation of a new indicator, and
+ * the repeated evaluation of the (never cached) last bar of a warmed-up
+ * indicator, as in live trading.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CachedIndicatorBenchmark {
+
+    @Param({ "DoubleNum", "DecimalNum" })
+    public String numType;
+
+    @Param({ "1000", "100000" })
+    public int barCount;
+
+    private BarSeries series;
+
+    private int[] randomIndices;
+
+    private EMAIndicator warmEma;
+
+    @Setup
+    public void setUp() {
+        series = BenchmarkData.createBarSeries(numType, barCount);
+        Random random = new Random(42);
+        randomIndices = new int[barCount];
+        for (int i = 0; i < barCount; i++) {
+            randomIndices[i] = random.nextInt(barCount);
+        }
+        warmEma = new EMAIndicator(new ClosePriceIndicator(series), 20);
+        for (int i = 0; i < barCount; i++) {
+            warmEma.getValue(i);
+        }
+    }
+
+    @Benchmark
+    public void sequential(Blackhole blackhole) {
+        SMAIndicator sma = new SMAIndicator(new ClosePriceIndicator(series), 20);
+        for (int i = 0; i < barCount; i++) {
+            blackhole.consume(sma.getValue(i));
+        }
+    }
+
+    @Benchmark
+    public void random(Blackhole blackhole) {
+        SMAIndicator sma = new SMAIndicator(new ClosePriceIndicator(series), 20);
+        for (int index : randomIndices) {
+            blackhole.consume(sma.getValue(index));
+        }
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public Object lastBar() {
+        return warmEma.getValue(series.getEndIndex());
+    }
+}
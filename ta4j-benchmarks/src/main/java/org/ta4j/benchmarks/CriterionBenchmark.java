@@ -0,0 +1,118 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017-2023 Ta4j Organization & respective
+ * authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.ta4j.core.AnalysisCriterion;
+import org.ta4j.core.BarSeries;
+import org.ta4j.core.TradingRecord;
+import org.ta4j.core.backtest.BarSeriesManager;
+import org.ta4j.core.criteria.EnterAndHoldReturnCriterion;
+import org.ta4j.core.criteria.ExpectedShortfallCriterion;
+import org.ta4j.core.criteria.MaximumDrawdownCriterion;
+import org.ta4j.core.criteria.NumberOfPositionsCriterion;
+import org.ta4j.core.criteria.ReturnOverMaxDrawdownCriterion;
+import org.ta4j.core.criteria.SqnCriterion;
+import org.ta4j.core.criteria.ValueAtRiskCriterion;
+import org.ta4j.core.criteria.pnl.ProfitLossCriterion;
+import org.ta4j.core.criteria.pnl.ReturnCriterion;
+import org.ta4j.core.num.Num;
+
+/**
+ * Calculation of the main {@link AnalysisCriterion}s on the trading record of a
+ * SMA crossover strategy.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CriterionBenchmark {
+
+    @Param({ "Return", "ProfitLoss", "EnterAndHoldReturn", "NumberOfPositions", "MaximumDrawdown",
+            "ReturnOverMaxDrawdown", "Sqn", "ValueAtRisk", "ExpectedShortfall" })
+    public String criterion;
+
+    @Param({ "DoubleNum", "DecimalNum" })
+    public String numType;
+
+    @Param({ "1000", "100000" })
+    public int barCount;
+
+    private BarSeries series;
+
+    private TradingRecord tradingRecord;
+
+    private AnalysisCriterion analysisCriterion;
+
+    @Setup
+    public void setUp() {
+        series = BenchmarkData.createBarSeries(numType, barCount);
+        tradingRecord = new BarSeriesManager(series).run(BenchmarkData.createStrategy(series, 10, 30));
+        analysisCriterion = createCriterion(criterion);
+    }
+
+    @Benchmark
+    public Num calculate() {
+        return analysisCriterion.calculate(series, tradingRecord);
+    }
+
+    private static AnalysisCriterion createCriterion(String name) {
+        switch (name) {
+        case "Return":
+            return new ReturnCriterion();
+        case "ProfitLoss":
+            return new ProfitLossCriterion();
+        case "EnterAndHoldReturn":
+            return new EnterAndHoldReturnCriterion();
+        case "NumberOfPositions":
+            return new NumberOfPositionsCriterion();
+        case "MaximumDrawdown":
+            return new MaximumDrawdownCriterion();
+        case "ReturnOverMaxDrawdown":
+            return new ReturnOverMaxDrawdownCriterion();
+        case "Sqn":
+            return new SqnCriterion();
+        case "ValueAtRisk":
+            return new ValueAtRiskCriterion(0.95);
+        case "ExpectedShortfall":
+            return new ExpectedShortfallCriterion(0.95);
+        default:
+            throw new IllegalArgumentException("Unknown criterion: " + name);
+        }
+    }
+}
@@ -0,0 +1,119 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017-2023 Ta4j Organization & respective
+ * authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.ta4j.core.BarSeries;
+import org.ta4j.core.Indicator;
+import org.ta4j.core.indicators.EMAIndicator;
+import org.ta4j.core.indicators.ParabolicSarIndicator;
+import org.ta4j.core.indicators.RSIIndicator;
+import org.ta4j.core.indicators.SMAIndicator;
+import org.ta4j.core.indicators.bollinger.BollingerBandsMiddleIndicator;
+import org.ta4j.core.indicators.bollinger.BollingerBandsUpperIndicator;
+import org.ta4j.core.indicators.helpers.ClosePriceIndicator;
+import org.ta4j.core.indicators.ichimoku.IchimokuSenkouSpanAIndicator;
+import org.ta4j.core.indicators.statistics.SimpleLinearRegressionIndicator;
+import org.ta4j.core.indicators.statistics.StandardDeviationIndicator;
+import org.ta4j.core.num.Num;
+
+/**
+ * Evaluation of all the bars of a series by a new (i.e. not cached yet)
+ * indicator.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IndicatorBenchmark {
+
+    @Param({ "SMA", "EMA", "RSI", "Bollinger", "Ichimoku", "ParabolicSar", "SimpleLinearRegression" })
+    public String indicator;
+
+    @Param({ "DoubleNum", "DecimalNum" })
+    public String numType;
+
+    @Param({ "1000", "100000" })
+    public int barCount;
+
+    private BarSeries series;
+
+    private Function<BarSeries, Indicator<Num>> factory;
+
+    @Setup
+    public void setUp() {
+        series = BenchmarkData.createBarSeries(numType, barCount);
+        factory = createFactory(indicator);
+    }
+
+    @Benchmark
+    public void evaluateAll(Blackhole blackhole) {
+        Indicator<Num> instance = factory.apply(series);
+        for (int i = series.getBeginIndex(); i <= series.getEndIndex(); i++) {
+            blackhole.consume(instance.getValue(i));
+        }
+    }
+
+    private static Function<BarSeries, Indicator<Num>> createFactory(String name) {
+        switch (name) {
+        case "SMA":
+            return series -> new SMAIndicator(new ClosePriceIndicator(series), 20);
+        case "EMA":
+            return series -> new EMAIndicator(new ClosePriceIndicator(series), 20);
+        case "RSI":
+            return series -> new RSIIndicator(new ClosePriceIndicator(series), 14);
+        case "Bollinger":
+            return series -> {
+                ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+                BollingerBandsMiddleIndicator middle = new BollingerBandsMiddleIndicator(
+                        new SMAIndicator(closePrice, 20));
+                return new BollingerBandsUpperIndicator(middle, new StandardDeviationIndicator(closePrice, 20));
+            };
+        case "Ichimoku":
+            return IchimokuSenkouSpanAIndicator::new;
+        case "ParabolicSar":
+            return ParabolicSarIndicator::new;
+        case "SimpleLinearRegression":
+            return series -> new SimpleLinearRegressionIndicator(new ClosePriceIndicator(series), 20);
+        default:
+            throw new IllegalArgumentException("Unknown indicator: " + name);
+        }
+    }
+}
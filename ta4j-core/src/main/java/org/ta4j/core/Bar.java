@@ -129,6 +129,18 @@ public interface Bar extends Serializable {
         return (openPrice != null) && (closePrice != null) && openPrice.isLessThan(closePrice);
     }
 
+    /**
+     * Returns the number of modifications of this bar by
+     * {@link #addTrade(Num, Num)} and {@link #addPrice(Num)}, so that the
+     * modifications of an in-progress bar can be detected (see
+     * {@link BarSeries#getLastBarStamp()}).
+     *
+     * @return the number of modifications, or {@code -1} if they are not tracked
+     */
+    default long getModificationCount() {
+        return -1;
+    }
+
     /**
      * Adds a trade and updates the close price at the end of the bar period.
      *
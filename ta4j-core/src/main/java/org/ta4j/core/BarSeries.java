@@ -352,6 +352,25 @@ public interface BarSeries extends Serializable {
     void addBar(Duration timePeriod, ZonedDateTime endTime, Num openPrice, Num highPrice, Num lowPrice, Num closePrice,
             Num volume, Num amount);
 
+    /**
+     * Returns a stamp of the current state of the last bar, which changes whenever
+     * a bar is added or replaced or the last bar is modified (e.g. by
+     * {@link #addTrade(Num, Num)} or {@link #addPrice(Num)}).
+     *
+     * <p>
+     * If the series provides a stamp, the
+     * {@link org.ta4j.core.indicators.CachedIndicator cached indicators} cache
+     * their (provisional) value of the last bar under this stamp, so that it is
+     * only recalculated if the last bar has changed. Otherwise the value of the
+     * last bar is recalculated on each call.
+     *
+     * @return the stamp of the last bar, or {@code -1} if the provisional
+     *         evaluation of the last bar is not enabled or not supported
+     */
+    default long getLastBarStamp() {
+        return -1;
+    }
+
     /**
      * Adds a trade and updates the close price of the last bar.
      *
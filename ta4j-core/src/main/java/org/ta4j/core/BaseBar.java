@@ -70,6 +70,9 @@ public class BaseBar implements Bar {
     /** The number of trades of the bar period. */
     private long trades = 0;
 
+    /** The number of modifications by {@link #addTrade} and {@link #addPrice}. */
+    private long modificationCount = 0;
+
     /**
      * Constructor.
      *
@@ -392,6 +395,7 @@ public class BaseBar implements Bar {
         volume = volume.plus(tradeVolume);
         amount = amount.plus(tradeVolume.multipliedBy(tradePrice));
         trades++;
+        modificationCount++;
     }
 
     @Override
@@ -406,6 +410,12 @@ public class BaseBar implements Bar {
         if (lowPrice == null || lowPrice.isGreaterThan(price)) {
             lowPrice = price;
         }
+        modificationCount++;
+    }
+
+    @Override
+    public long getModificationCount() {
+        return modificationCount;
     }
 
     @Override
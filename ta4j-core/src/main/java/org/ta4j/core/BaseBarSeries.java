@@ -36,6 +36,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.ta4j.core.num.DecimalNum;
 import org.ta4j.core.num.Num;
+import org.ta4j.core.utils.CircularArrayList;
 
 /**
  * Base implementation of a {@link BarSeries}.
@@ -56,8 +57,11 @@ public class BaseBarSeries implements BarSeries {
     /** The name of the bar series. */
     private final String name;
 
-    /** The list of bars of the bar series. */
-    private final List<Bar> bars;
+    /**
+     * The list of bars of the bar series (a circular buffer, so that removing the
+     * exceeding bars of a moving series does not shift the whole list).
+     */
+    private final CircularArrayList<Bar> bars;
 
     /** The begin index of the bar series */
     private int seriesBeginIndex;
@@ -71,6 +75,14 @@ public class BaseBarSeries implements BarSeries {
     /** The number of removed bars. */
     private int removedBarsCount = 0;
 
+    /** True if the provisional evaluation of the last bar is enabled. */
+    private boolean provisionalLastBarEvaluation = false;
+
+    /**
+     * The number of added or replaced bars (for the {@link #getLastBarStamp()}).
+     */
+    private long barModificationCount = 0;
+
     /**
      * True if the current bar series is constrained (i.e. its indexes cannot
      * change), false otherwise.
@@ -166,7 +178,7 @@ public class BaseBarSeries implements BarSeries {
     BaseBarSeries(String name, List<Bar> bars, int seriesBeginIndex, int seriesEndIndex, boolean constrained, Num num) {
         this.name = name;
 
-        this.bars = new ArrayList<>(bars);
+        this.bars = new CircularArrayList<>(bars);
         if (bars.isEmpty()) {
             // Bar list empty
             this.seriesBeginIndex = -1;
@@ -344,6 +356,10 @@ public class BaseBarSeries implements BarSeries {
         }
         this.maximumBarCount = maximumBarCount;
         removeExceedingBars();
+        if (maximumBarCount < Integer.MAX_VALUE) {
+            // one more slot for the bar added before the exceeding one is removed
+            bars.ensureCapacity(maximumBarCount + 1);
+        }
     }
 
     @Override
@@ -367,6 +383,7 @@ public class BaseBarSeries implements BarSeries {
         if (!bars.isEmpty()) {
             if (replace) {
                 bars.set(bars.size() - 1, bar);
+                barModificationCount++;
                 return;
             }
             final int lastBarIndex = bars.size() - 1;
@@ -379,6 +396,7 @@ public class BaseBarSeries implements BarSeries {
         }
 
         bars.add(bar);
+        barModificationCount++;
         if (seriesBeginIndex == -1) {
             // The begin index is set to 0 if not already initialized:
             seriesBeginIndex = 0;
@@ -437,6 +455,45 @@ public class BaseBarSeries implements BarSeries {
         getLastBar().addPrice(price);
     }
 
+    /**
+     * The stamp combines the number of added or replaced bars and the
+     * {@link Bar#getModificationCount() modification count} of the last bar (which
+     * must be tracked, e.g. by {@link BaseBar}), so that direct modifications of
+     * the last bar are detected as well.
+     */
+    @Override
+    public long getLastBarStamp() {
+        if (!provisionalLastBarEvaluation || bars.isEmpty()) {
+            return -1;
+        }
+        final long lastBarModificationCount = bars.get(bars.size() - 1).getModificationCount();
+        if (lastBarModificationCount < 0) {
+            return -1;
+        }
+        return (barModificationCount << 32) + lastBarModificationCount;
+    }
+
+    /**
+     * @return true if the provisional evaluation of the last bar is enabled
+     * @see #getLastBarStamp()
+     */
+    public boolean isProvisionalLastBarEvaluation() {
+        return provisionalLastBarEvaluation;
+    }
+
+    /**
+     * Enables or disables the provisional evaluation of the last bar: the values of
+     * the cached indicators for the last bar are cached until it changes (see
+     * {@link #getLastBarStamp()}). Only enable it if the indicators depend on
+     * nothing else than the bars of the series.
+     *
+     * @param provisionalLastBarEvaluation true to enable the provisional evaluation
+     *                                     of the last bar
+     */
+    public void setProvisionalLastBarEvaluation(boolean provisionalLastBarEvaluation) {
+        this.provisionalLastBarEvaluation = provisionalLastBarEvaluation;
+    }
+
     /**
      * Removes the first N bars that exceed the {@link #maximumBarCount}.
      */
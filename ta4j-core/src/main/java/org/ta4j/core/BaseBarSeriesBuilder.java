@@ -43,6 +43,7 @@ public class BaseBarSeriesBuilder implements BarSeriesBuilder {
     private Num num;
     private boolean constrained;
     private int maxBarCount;
+    private boolean provisionalLastBarEvaluation;
 
     /** Constructor to build a {@code BaseBarSeries}. */
     public BaseBarSeriesBuilder() {
@@ -73,6 +74,7 @@ public class BaseBarSeriesBuilder implements BarSeriesBuilder {
         this.num = BaseBarSeriesBuilder.defaultNum;
         this.constrained = false;
         this.maxBarCount = Integer.MAX_VALUE;
+        this.provisionalLastBarEvaluation = false;
     }
 
     @Override
@@ -85,6 +87,7 @@ public class BaseBarSeriesBuilder implements BarSeriesBuilder {
         }
         BaseBarSeries series = new BaseBarSeries(name, bars, beginIndex, endIndex, constrained, num);
         series.setMaximumBarCount(maxBarCount);
+        series.setProvisionalLastBarEvaluation(provisionalLastBarEvaluation);
         initValues(); // reinitialize values for next series
         return series;
     }
@@ -125,6 +128,16 @@ public class BaseBarSeriesBuilder implements BarSeriesBuilder {
         return this;
     }
 
+    /**
+     * @param provisionalLastBarEvaluation to set
+     *                                     {@link BaseBarSeries#setProvisionalLastBarEvaluation(boolean)}
+     * @return {@code this}
+     */
+    public BaseBarSeriesBuilder withProvisionalLastBarEvaluation(boolean provisionalLastBarEvaluation) {
+        this.provisionalLastBarEvaluation = provisionalLastBarEvaluation;
+        return this;
+    }
+
     /**
      * @param type any instance of Num to determine its Num function; with this, we
      *             can convert a {@link Number} to a {@link Num Num implementation}
@@ -0,0 +1,779 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017-2023 Ta4j Organization & respective
+ * authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core;
+
+import static org.ta4j.core.num.NaN.NaN;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.AbstractList;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+import org.ta4j.core.num.DecimalNum;
+import org.ta4j.core.num.Num;
+
+/**
+ * A {@link BarSeries} that stores its bar data in primitive columns.
+ *
+ * <p>
+ * Instead of keeping a list of {@link BaseBar} objects (each holding several
+ * {@link Num} references and {@link ZonedDateTime}s), this series stores the
+ * open/high/low/close prices, volume and amount in parallel {@code double[]}
+ * arrays and the end times as epoch millis in a {@code long[]} array. The
+ * {@link Bar bars} returned by {@link #getBar(int)} are lightweight views that
+ * read (and, for {@link Bar#addPrice(Num)} and {@link Bar#addTrade(Num, Num)},
+ * write) directly from/to the columns. The {@link Num} values are created
+ * lazily on access.
+ *
+ * <p>
+ * This reduces the memory footprint of long series by an order of magnitude. As
+ * the values are stored as {@code double}, this series is meant to be used with
+ * {@link org.ta4j.core.num.DoubleNum DoubleNum}; with other Num types, the
+ * values are subject to the precision of {@code double}. The end times are
+ * stored with millisecond precision and all bars share the {@link ZoneId zone}
+ * of the first added bar.
+ *
+ * <p>
+ * A bar view is bound to its index: once the bar has been removed due to
+ * {@link #setMaximumBarCount(int)}, accessing the view throws an
+ * {@link IndexOutOfBoundsException}.
+ */
+public class ColumnarBarSeries implements BarSeries {
+
+    private static final long serialVersionUID = 4925470181237468512L;
+
+    /** The {@link #name} for an unnamed bar series. */
+    private static final String UNNAMED_SERIES_NAME = "unnamed_series";
+
+    /** The default initial capacity of the columns. */
+    private static final int DEFAULT_CAPACITY = 16;
+
+    /** Any instance of Num to determine its Num type. */
+    private final Num num;
+
+    /** The name of the bar series. */
+    private final String name;
+
+    /** The zone of the bar times (taken from the first added bar). */
+    private ZoneId zone;
+
+    /** The time period of each bar in millis. */
+    private long[] timePeriods;
+
+    /** The end time of each bar in epoch millis. */
+    private long[] endTimes;
+
+    /** The open price of each bar. */
+    private double[] openPrices;
+
+    /** The high price of each bar. */
+    private double[] highPrices;
+
+    /** The low price of each bar. */
+    private double[] lowPrices;
+
+    /** The close price of each bar. */
+    private double[] closePrices;
+
+    /** The total traded volume of each bar. */
+    private double[] volumes;
+
+    /** The total traded amount of each bar. */
+    private double[] amounts;
+
+    /** The number of trades of each bar. */
+    private long[] trades;
+
+    /** The position of the first retained bar within the columns. */
+    private int offset = 0;
+
+    /** The number of retained bars. */
+    private int size = 0;
+
+    /** The begin index of the bar series */
+    private int seriesBeginIndex = -1;
+
+    /** The end index of the bar series. */
+    private int seriesEndIndex = -1;
+
+    /** The maximum number of bars for the bar series. */
+    private int maximumBarCount = Integer.MAX_VALUE;
+
+    /** The number of removed bars. */
+    private int removedBarsCount = 0;
+
+    /** True if the provisional evaluation of the last bar is enabled. */
+    private boolean provisionalLastBarEvaluation = false;
+
+    /**
+     * The number of modifications of the bars (for the {@link #getLastBarStamp()}).
+     */
+    private long modificationCount = 0;
+
+    /** Constructor with {@link #name} = {@link #UNNAMED_SERIES_NAME}. */
+    public ColumnarBarSeries() {
+        this(UNNAMED_SERIES_NAME);
+    }
+
+    /**
+     * Constructor with {@link DecimalNum} as Num type.
+     *
+     * @param name the name of the bar series
+     */
+    public ColumnarBarSeries(String name) {
+        this(name, DecimalNum.ZERO);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param name the name of the bar series
+     * @param num  any instance of Num to determine its Num function; with this, we
+     *             can convert a {@code double} to a {@link Num Num implementation}
+     */
+    public ColumnarBarSeries(String name, Num num) {
+        this(name, num, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param name            the name of the bar series
+     * @param num             any instance of Num to determine its Num function;
+     *                        with this, we can convert a {@code double} to a
+     *                        {@link Num Num implementation}
+     * @param initialCapacity the initial number of bars the columns can hold
+     *                        without being resized
+     */
+    public ColumnarBarSeries(String name, Num num, int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("Initial capacity must not be negative");
+        }
+        this.name = Objects.requireNonNull(name, "name must not be null");
+        this.num = Objects.requireNonNull(num, "num must not be null");
+        allocate(initialCapacity);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param name the name of the bar series
+     * @param num  any instance of Num to determine its Num function; with this, we
+     *             can convert a {@code double} to a {@link Num Num implementation}
+     * @param bars the bars to be copied into the columns
+     */
+    public ColumnarBarSeries(String name, Num num, List<Bar> bars) {
+        this(name, num, Math.max(bars.size(), DEFAULT_CAPACITY));
+        for (Bar bar : bars) {
+            addBar(bar);
+        }
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Num num() {
+        return num;
+    }
+
+    @Override
+    public Bar getBar(int i) {
+        int innerIndex = i - removedBarsCount;
+        if (innerIndex < 0) {
+            if (i < 0 || size == 0) {
+                throw new IndexOutOfBoundsException(buildOutOfBoundsMessage(i));
+            }
+            innerIndex = 0;
+        } else if (innerIndex >= size) {
+            throw new IndexOutOfBoundsException(buildOutOfBoundsMessage(i));
+        }
+        return new ColumnarBar(removedBarsCount + innerIndex);
+    }
+
+    @Override
+    public int getBarCount() {
+        if (seriesEndIndex < 0) {
+            return 0;
+        }
+        final int startIndex = Math.max(removedBarsCount, seriesBeginIndex);
+        return seriesEndIndex - startIndex + 1;
+    }
+
+    /**
+     * Returns a read-only list view of the retained bars. The bars are materialized
+     * lazily on {@link List#get(int)}.
+     */
+    @Override
+    public List<Bar> getBarData() {
+        return new BarDataView();
+    }
+
+    @Override
+    public int getBeginIndex() {
+        return seriesBeginIndex;
+    }
+
+    @Override
+    public int getEndIndex() {
+        return seriesEndIndex;
+    }
+
+    @Override
+    public int getMaximumBarCount() {
+        return maximumBarCount;
+    }
+
+    @Override
+    public void setMaximumBarCount(int maximumBarCount) {
+        if (maximumBarCount <= 0) {
+            throw new IllegalArgumentException("Maximum bar count must be strictly positive");
+        }
+        this.maximumBarCount = maximumBarCount;
+        removeExceedingBars();
+        // release the memory of the removed bars
+        if (maximumBarCount < capacity() / 2) {
+            resize(Math.max(2 * maximumBarCount, DEFAULT_CAPACITY));
+        }
+    }
+
+    @Override
+    public int getRemovedBarsCount() {
+        return removedBarsCount;
+    }
+
+    /**
+     * Adds the values of the {@code bar} at the end of the series. The {@code bar}
+     * itself is not retained.
+     *
+     * @throws NullPointerException if {@code bar} is {@code null}
+     */
+    @Override
+    public void addBar(Bar bar, boolean replace) {
+        Objects.requireNonNull(bar, "bar must not be null");
+        final boolean append = !replace || size == 0;
+        final int slot = append ? appendSlot(bar.getEndTime()) : offset + size - 1;
+        timePeriods[slot] = bar.getTimePeriod().toMillis();
+        endTimes[slot] = bar.getEndTime().toInstant().toEpochMilli();
+        openPrices[slot] = toDouble(bar.getOpenPrice());
+        highPrices[slot] = toDouble(bar.getHighPrice());
+        lowPrices[slot] = toDouble(bar.getLowPrice());
+        closePrices[slot] = toDouble(bar.getClosePrice());
+        volumes[slot] = toDouble(bar.getVolume());
+        amounts[slot] = toDouble(bar.getAmount());
+        trades[slot] = bar.getTrades();
+        modificationCount++;
+        if (append) {
+            afterAppend();
+        }
+    }
+
+    @Override
+    public void addBar(Duration timePeriod, ZonedDateTime endTime) {
+        addBar(timePeriod, endTime, Double.NaN, Double.NaN, Double.NaN, Double.NaN, 0, 0, 0);
+    }
+
+    @Override
+    public void addBar(ZonedDateTime endTime, Num openPrice, Num highPrice, Num lowPrice, Num closePrice, Num volume) {
+        addBar(Duration.ofDays(1), endTime, openPrice, highPrice, lowPrice, closePrice, volume, zero());
+    }
+
+    @Override
+    public void addBar(ZonedDateTime endTime, Num openPrice, Num highPrice, Num lowPrice, Num closePrice, Num volume,
+            Num amount) {
+        addBar(Duration.ofDays(1), endTime, openPrice, highPrice, lowPrice, closePrice, volume, amount);
+    }
+
+    @Override
+    public void addBar(Duration timePeriod, ZonedDateTime endTime, Num openPrice, Num highPrice, Num lowPrice,
+            Num closePrice, Num volume) {
+        addBar(timePeriod, endTime, openPrice, highPrice, lowPrice, closePrice, volume, zero());
+    }
+
+    @Override
+    public void addBar(Duration timePeriod, ZonedDateTime endTime, Num openPrice, Num highPrice, Num lowPrice,
+            Num closePrice, Num volume, Num amount) {
+        addBar(timePeriod, endTime, toDouble(openPrice), toDouble(highPrice), toDouble(lowPrice), toDouble(closePrice),
+                toDouble(volume), toDouble(amount), 0);
+    }
+
+    /**
+     * Adds a new bar to the bar series without creating any {@link Num} or
+     * {@link Bar} object.
+     *
+     * @param timePeriod the time period of the bar
+     * @param endTime    end time of the bar
+     * @param openPrice  the open price
+     * @param highPrice  the high/max price
+     * @param lowPrice   the low/min price
+     * @param closePrice the last/close price
+     * @param volume     the volume
+     * @param amount     the amount
+     * @param trades     the number of trades
+     */
+    public void addBar(Duration timePeriod, ZonedDateTime endTime, double openPrice, double highPrice, double lowPrice,
+            double closePrice, double volume, double amount, long trades) {
+        Objects.requireNonNull(timePeriod, "Time period cannot be null");
+        Objects.requireNonNull(endTime, "End time cannot be null");
+        final int slot = appendSlot(endTime);
+        this.timePeriods[slot] = timePeriod.toMillis();
+        this.endTimes[slot] = endTime.toInstant().toEpochMilli();
+        this.openPrices[slot] = openPrice;
+        this.highPrices[slot] = highPrice;
+        this.lowPrices[slot] = lowPrice;
+        this.closePrices[slot] = closePrice;
+        this.volumes[slot] = volume;
+        this.amounts[slot] = amount;
+        this.trades[slot] = trades;
+        modificationCount++;
+        afterAppend();
+    }
+
+    @Override
+    public void addTrade(Num tradeVolume, Num tradePrice) {
+        getLastBar().addTrade(tradeVolume, tradePrice);
+    }
+
+    @Override
+    public void addPrice(Num price) {
+        getLastBar().addPrice(price);
+    }
+
+    /**
+     * All modifications of the bars go through the series (the bars are views), so
+     * the stamp is the number of modifications.
+     */
+    @Override
+    public long getLastBarStamp() {
+        return provisionalLastBarEvaluation && size > 0 ? modificationCount : -1;
+    }
+
+    /**
+     * @return true if the provisional evaluation of the last bar is enabled
+     * @see #getLastBarStamp()
+     */
+    public boolean isProvisionalLastBarEvaluation() {
+        return provisionalLastBarEvaluation;
+    }
+
+    /**
+     * Enables or disables the provisional evaluation of the last bar (see
+     * {@link BaseBarSeries#setProvisionalLastBarEvaluation(boolean)}).
+     *
+     * @param provisionalLastBarEvaluation true to enable the provisional evaluation
+     *                                     of the last bar
+     */
+    public void setProvisionalLastBarEvaluation(boolean provisionalLastBarEvaluation) {
+        this.provisionalLastBarEvaluation = provisionalLastBarEvaluation;
+    }
+
+    /**
+     * Returns a new {@code ColumnarBarSeries} containing a copy of the columns
+     * between {@code startIndex} (inclusive) and {@code endIndex} (exclusive).
+     *
+     * @see BarSeries#getSubSeries(int, int)
+     */
+    @Override
+    public ColumnarBarSeries getSubSeries(int startIndex, int endIndex) {
+        if (startIndex < 0) {
+            throw new IllegalArgumentException(String.format("the startIndex: %s must not be negative", startIndex));
+        }
+        if (startIndex >= endIndex) {
+            throw new IllegalArgumentException(
+                    String.format("the endIndex: %s must be greater than startIndex: %s", endIndex, startIndex));
+        }
+        final int start = Math.max(startIndex - removedBarsCount, 0);
+        final int end = Math.min(endIndex, seriesEndIndex + 1) - removedBarsCount;
+        final int count = Math.max(end - start, 0);
+        final ColumnarBarSeries subSeries = new ColumnarBarSeries(name, num, Math.max(count, DEFAULT_CAPACITY));
+        if (count > 0) {
+            final int from = offset + start;
+            System.arraycopy(timePeriods, from, subSeries.timePeriods, 0, count);
+            System.arraycopy(endTimes, from, subSeries.endTimes, 0, count);
+            System.arraycopy(openPrices, from, subSeries.openPrices, 0, count);
+            System.arraycopy(highPrices, from, subSeries.highPrices, 0, count);
+            System.arraycopy(lowPrices, from, subSeries.lowPrices, 0, count);
+            System.arraycopy(closePrices, from, subSeries.closePrices, 0, count);
+            System.arraycopy(volumes, from, subSeries.volumes, 0, count);
+            System.arraycopy(amounts, from, subSeries.amounts, 0, count);
+            System.arraycopy(trades, from, subSeries.trades, 0, count);
+            subSeries.zone = zone;
+            subSeries.size = count;
+            subSeries.seriesBeginIndex = 0;
+            subSeries.seriesEndIndex = count - 1;
+        }
+        return subSeries;
+    }
+
+    /**
+     * Copies the open prices of the bars from {@code from} (inclusive) to
+     * {@code to} (exclusive) into {@code out}, without creating any bar.
+     *
+     * @param from the first index (inclusive)
+     * @param to   the last index (exclusive)
+     * @param out  the array receiving the prices
+     * @see #copyColumn(double[], int, int, double[])
+     */
+    public void copyOpenPrices(int from, int to, double[] out) {
+        copyColumn(openPrices, from, to, out);
+    }
+
+    /**
+     * Copies the high prices of the bars from {@code from} (inclusive) to
+     * {@code to} (exclusive) into {@code out}, without creating any bar.
+     *
+     * @param from the first index (inclusive)
+     * @param to   the last index (exclusive)
+     * @param out  the array receiving the prices
+     * @see #copyColumn(double[], int, int, double[])
+     */
+    public void copyHighPrices(int from, int to, double[] out) {
+        copyColumn(highPrices, from, to, out);
+    }
+
+    /**
+     * Copies the low prices of the bars from {@code from} (inclusive) to {@code to}
+     * (exclusive) into {@code out}, without creating any bar.
+     *
+     * @param from the first index (inclusive)
+     * @param to   the last index (exclusive)
+     * @param out  the array receiving the prices
+     * @see #copyColumn(double[], int, int, double[])
+     */
+    public void copyLowPrices(int from, int to, double[] out) {
+        copyColumn(lowPrices, from, to, out);
+    }
+
+    /**
+     * Copies the close prices of the bars from {@code from} (inclusive) to
+     * {@code to} (exclusive) into {@code out}, without creating any bar.
+     *
+     * @param from the first index (inclusive)
+     * @param to   the last index (exclusive)
+     * @param out  the array receiving the prices
+     * @see #copyColumn(double[], int, int, double[])
+     */
+    public void copyClosePrices(int from, int to, double[] out) {
+        copyColumn(closePrices, from, to, out);
+    }
+
+    /**
+     * Copies the values of {@code column} of the bars from {@code from} (inclusive)
+     * to {@code to} (exclusive) into {@code out}. As with {@link #getBar(int)},
+     * removed bars are replaced by the first remaining one.
+     *
+     * @param column the column
+     * @param from   the first index (inclusive)
+     * @param to     the last index (exclusive)
+     * @param out    the array receiving the values
+     * @throws IndexOutOfBoundsException if a bar does not exist
+     */
+    private void copyColumn(double[] column, int from, int to, double[] out) {
+        if (from < 0 || from > to) {
+            throw new IndexOutOfBoundsException(String.format("from: %s, to: %s", from, to));
+        }
+        if (from == to) {
+            return;
+        }
+        int i = from;
+        for (; i < to && i < removedBarsCount; i++) {
+            out[i - from] = column[offset];
+        }
+        if (i < to) {
+            final int last = slot(to - 1);
+            System.arraycopy(column, slot(i), out, i - from, last - slot(i) + 1);
+        }
+    }
+
+    /**
+     * Reserves a new slot at the end of the columns.
+     *
+     * @param endTime the end time of the bar to be added
+     * @return the position of the new slot within the columns
+     */
+    private int appendSlot(ZonedDateTime endTime) {
+        if (size > 0) {
+            final long seriesEndTime = endTimes[offset + size - 1];
+            if (endTime.toInstant().toEpochMilli() <= seriesEndTime) {
+                throw new IllegalArgumentException(
+                        String.format("Cannot add a bar with end time:%s that is <= to series end time: %s", endTime,
+                                toZonedDateTime(seriesEndTime)));
+            }
+        } else if (zone == null) {
+            zone = endTime.getZone();
+        }
+        if (offset + size == capacity()) {
+            if (size > 0 && size <= capacity() / 2) {
+                // enough space in front of the retained bars: compact
+                resize(capacity());
+            } else {
+                resize(Math.max(capacity() * 2, DEFAULT_CAPACITY));
+            }
+        }
+        size++;
+        return offset + size - 1;
+    }
+
+    /**
+     * Updates the indices after a bar has been appended.
+     */
+    private void afterAppend() {
+        if (seriesBeginIndex == -1) {
+            // The begin index is set to 0 if not already initialized:
+            seriesBeginIndex = 0;
+        }
+        seriesEndIndex++;
+        removeExceedingBars();
+    }
+
+    /**
+     * Removes the first N bars that exceed the {@link #maximumBarCount}. Only the
+     * {@link #offset} is moved, the columns are not shifted.
+     */
+    private void removeExceedingBars() {
+        if (size > maximumBarCount) {
+            final int nbBarsToRemove = size - maximumBarCount;
+            offset += nbBarsToRemove;
+            size -= nbBarsToRemove;
+            removedBarsCount += nbBarsToRemove;
+            seriesBeginIndex = Math.max(seriesBeginIndex, removedBarsCount);
+        }
+    }
+
+    /**
+     * @return the number of bars the columns can hold
+     */
+    private int capacity() {
+        return closePrices.length;
+    }
+
+    /**
+     * Allocates empty columns.
+     *
+     * @param capacity the number of bars the columns can hold
+     */
+    private void allocate(int capacity) {
+        this.timePeriods = new long[capacity];
+        this.endTimes = new long[capacity];
+        this.openPrices = new double[capacity];
+        this.highPrices = new double[capacity];
+        this.lowPrices = new double[capacity];
+        this.closePrices = new double[capacity];
+        this.volumes = new double[capacity];
+        this.amounts = new double[capacity];
+        this.trades = new long[capacity];
+    }
+
+    /**
+     * Moves the retained bars to the beginning of (new) columns with the given
+     * capacity.
+     *
+     * @param newCapacity the new number of bars the columns can hold
+     */
+    private void resize(int newCapacity) {
+        timePeriods = copy(timePeriods, newCapacity);
+        endTimes = copy(endTimes, newCapacity);
+        openPrices = copy(openPrices, newCapacity);
+        highPrices = copy(highPrices, newCapacity);
+        lowPrices = copy(lowPrices, newCapacity);
+        closePrices = copy(closePrices, newCapacity);
+        volumes = copy(volumes, newCapacity);
+        amounts = copy(amounts, newCapacity);
+        trades = copy(trades, newCapacity);
+        offset = 0;
+    }
+
+    private double[] copy(double[] column, int newCapacity) {
+        double[] target = newCapacity == column.length ? column : new double[newCapacity];
+        System.arraycopy(column, offset, target, 0, size);
+        return target;
+    }
+
+    private long[] copy(long[] column, int newCapacity) {
+        long[] target = newCapacity == column.length ? column : new long[newCapacity];
+        System.arraycopy(column, offset, target, 0, size);
+        return target;
+    }
+
+    /**
+     * @param index the bar index
+     * @return the position of the bar within the columns
+     * @throws IndexOutOfBoundsException if the bar does not exist (anymore)
+     */
+    private int slot(int index) {
+        final int innerIndex = index - removedBarsCount;
+        if (innerIndex < 0 || innerIndex >= size) {
+            throw new IndexOutOfBoundsException(buildOutOfBoundsMessage(index));
+        }
+        return offset + innerIndex;
+    }
+
+    private Num toNum(double value) {
+        return Double.isNaN(value) ? NaN : num.function().apply(value);
+    }
+
+    private static double toDouble(Num value) {
+        return value == null || value.isNaN() ? Double.NaN : value.doubleValue();
+    }
+
+    private ZonedDateTime toZonedDateTime(long epochMillis) {
+        return ZonedDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), zone);
+    }
+
+    /**
+     * @param index an out of bounds bar index
+     * @return a message for an OutOfBoundsException
+     */
+    private String buildOutOfBoundsMessage(int index) {
+        return String.format("Size of series: %s bars, %s bars removed, index = %s", size, removedBarsCount, index);
+    }
+
+    /**
+     * A {@link Bar} view on a row of the columns.
+     */
+    private final class ColumnarBar implements Bar {
+
+        private static final long serialVersionUID = -3047128376049180117L;
+
+        /** The index of the bar within the series. */
+        private final int index;
+
+        private ColumnarBar(int index) {
+            this.index = index;
+        }
+
+        @Override
+        public Duration getTimePeriod() {
+            return Duration.ofMillis(timePeriods[slot(index)]);
+        }
+
+        @Override
+        public ZonedDateTime getBeginTime() {
+            final int slot = slot(index);
+            return toZonedDateTime(endTimes[slot] - timePeriods[slot]);
+        }
+
+        @Override
+        public ZonedDateTime getEndTime() {
+            return toZonedDateTime(endTimes[slot(index)]);
+        }
+
+        @Override
+        public Num getOpenPrice() {
+            return toNum(openPrices[slot(index)]);
+        }
+
+        @Override
+        public Num getHighPrice() {
+            return toNum(highPrices[slot(index)]);
+        }
+
+        @Override
+        public Num getLowPrice() {
+            return toNum(lowPrices[slot(index)]);
+        }
+
+        @Override
+        public Num getClosePrice() {
+            return toNum(closePrices[slot(index)]);
+        }
+
+        @Override
+        public Num getVolume() {
+            return toNum(volumes[slot(index)]);
+        }
+
+        @Override
+        public Num getAmount() {
+            return toNum(amounts[slot(index)]);
+        }
+
+        @Override
+        public long getTrades() {
+            return trades[slot(index)];
+        }
+
+        @Override
+        public void addTrade(Num tradeVolume, Num tradePrice) {
+            addPrice(tradePrice);
+            final int slot = slot(index);
+            final double volume = tradeVolume.doubleValue();
+            volumes[slot] += volume;
+            amounts[slot] += volume * tradePrice.doubleValue();
+            trades[slot]++;
+            modificationCount++;
+        }
+
+        @Override
+        public void addPrice(Num price) {
+            final int slot = slot(index);
+            final double value = price.doubleValue();
+            if (Double.isNaN(openPrices[slot])) {
+                openPrices[slot] = value;
+            }
+            closePrices[slot] = value;
+            if (Double.isNaN(highPrices[slot]) || highPrices[slot] < value) {
+                highPrices[slot] = value;
+            }
+            if (Double.isNaN(lowPrices[slot]) || lowPrices[slot] > value) {
+                lowPrices[slot] = value;
+            }
+            modificationCount++;
+        }
+
+        @Override
+        public String toString() {
+            final int slot = slot(index);
+            return String.format(
+                    "{end time: %1s, close price: %2$f, open price: %3$f, low price: %4$f, high price: %5$f, volume: %6$f}",
+                    getEndTime().withZoneSameInstant(ZoneId.systemDefault()), closePrices[slot], openPrices[slot],
+                    lowPrices[slot], highPrices[slot], volumes[slot]);
+        }
+    }
+
+    /**
+     * A read-only {@link List} view on the retained bars.
+     */
+    private final class BarDataView extends AbstractList<Bar> implements RandomAccess {
+
+        @Override
+        public Bar get(int innerIndex) {
+            if (innerIndex < 0 || innerIndex >= size) {
+                throw new IndexOutOfBoundsException(buildOutOfBoundsMessage(removedBarsCount + innerIndex));
+            }
+            return new ColumnarBar(removedBarsCount + innerIndex);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+}
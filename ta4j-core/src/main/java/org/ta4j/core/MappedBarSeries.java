@@ -0,0 +1,565 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017-2023 Ta4j Organization & respective
+ * authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core;
+
+import static org.ta4j.core.num.NaN.NaN;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.AbstractList;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+import org.ta4j.core.num.DoubleNum;
+import org.ta4j.core.num.Num;
+
+/**
+ * A read-only {@link BarSeries} backed by a memory-mapped binary bar file.
+ *
+ * <p>
+ * The bar file (written by {@link #write(BarSeries, Path)}) consists of a
+ * header of {@value #HEADER_SIZE} bytes followed by one fixed-width record of
+ * {@value #RECORD_SIZE} bytes per bar (little-endian):
+ *
+ * <pre>
+ * offset  type    field
+ *      0  long    end time (epoch millis)
+ *      8  long    time period (millis)
+ *     16  double  open price
+ *     24  double  high price
+ *     32  double  low price
+ *     40  double  close price
+ *     48  double  volume
+ *     56  double  amount
+ *     64  long    number of trades
+ * </pre>
+ *
+ * The header holds the magic number {@code "TA4J"}, the format version, the
+ * number of bars and the {@link ZoneId zone} of the bars.
+ *
+ * <p>
+ * {@link #open(Path)} maps the file into memory without reading the bars, so
+ * that even a long history opens in milliseconds. The {@link Bar bars} returned
+ * by {@link #getBar(int)} are lightweight views reading directly from the
+ * mapped file, their {@link Num} values are created lazily on access. As the
+ * mapped pages are managed by the operating system, a bar file opened by
+ * several threads or processes (e.g. backtest workers) is held in memory only
+ * once. {@link #getSubSeries(int, int) Sub series} are views on the same
+ * mapping.
+ *
+ * <p>
+ * As {@link ColumnarBarSeries}, this series stores its values as {@code double}
+ * and is meant to be used with {@link DoubleNum}. It cannot be modified: adding
+ * bars, trades or prices throws an {@link UnsupportedOperationException}. It is
+ * safe to be read by several threads. The mapping is not serialized.
+ */
+public class MappedBarSeries implements BarSeries {
+
+    private static final long serialVersionUID = -2781740163595081530L;
+
+    /** The size of the header of a bar file in bytes. */
+    public static final int HEADER_SIZE = 64;
+
+    /** The size of the record of a bar in bytes. */
+    public static final int RECORD_SIZE = 72;
+
+    /** The magic number of a bar file ("TA4J"). */
+    private static final int MAGIC = 0x5441344A;
+
+    /** The version of the bar file format. */
+    private static final int VERSION = 1;
+
+    /** The maximum length of the (UTF-8 encoded) zone id within the header. */
+    private static final int MAX_ZONE_LENGTH = HEADER_SIZE - 22;
+
+    /**
+     * The number of records per mapped segment, as a single mapping is limited to 2
+     * GB.
+     */
+    private static final int RECORDS_PER_SEGMENT = 1 << 24;
+
+    /** The number of records written at once. */
+    private static final int WRITE_BATCH_SIZE = 4096;
+
+    /** The record offsets of the fields. */
+    private static final int END_TIME = 0;
+    private static final int TIME_PERIOD = 8;
+    private static final int OPEN_PRICE = 16;
+    private static final int HIGH_PRICE = 24;
+    private static final int LOW_PRICE = 32;
+    private static final int CLOSE_PRICE = 40;
+    private static final int VOLUME = 48;
+    private static final int AMOUNT = 56;
+    private static final int TRADES = 64;
+
+    /** The name of the bar series. */
+    private final String name;
+
+    /** Any instance of Num to determine its Num type. */
+    private final Num num;
+
+    /** The zone of the bar times. */
+    private final ZoneId zone;
+
+    /** The mapped segments of the bar file. */
+    private final transient ByteBuffer[] segments;
+
+    /** The position of the record of the bar at index 0. */
+    private final long firstRecord;
+
+    /** The number of bars (including the removed ones). */
+    private final int count;
+
+    /** The maximum number of bars for the bar series. */
+    private int maximumBarCount = Integer.MAX_VALUE;
+
+    /** The number of removed bars. */
+    private int removedBarsCount = 0;
+
+    private MappedBarSeries(String name, Num num, ZoneId zone, ByteBuffer[] segments, long firstRecord, int count) {
+        this.name = Objects.requireNonNull(name, "name must not be null");
+        this.num = Objects.requireNonNull(num, "num must not be null");
+        this.zone = zone;
+        this.segments = segments;
+        this.firstRecord = firstRecord;
+        this.count = count;
+    }
+
+    /**
+     * Opens a bar file with the file name as name of the series and
+     * {@link DoubleNum} as Num type.
+     *
+     * @param path the path of the bar file
+     * @return the bar series
+     * @throws IOException if the file cannot be read or is not a valid bar file
+     * @see #open(Path, String, Num)
+     */
+    public static MappedBarSeries open(Path path) throws IOException {
+        return open(path, String.valueOf(path.getFileName()), DoubleNum.valueOf(0));
+    }
+
+    /**
+     * Opens a bar file by mapping it into memory (read-only). The bars are not read
+     * until they are accessed.
+     *
+     * @param path the path of the bar file
+     * @param name the name of the bar series
+     * @param num  any instance of Num to determine its Num function; with this, we
+     *             can convert a {@code double} to a {@link Num Num implementation}
+     * @return the bar series
+     * @throws IOException if the file cannot be read or is not a valid bar file
+     */
+    public static MappedBarSeries open(Path path, String name, Num num) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            final ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            while (header.hasRemaining()) {
+                if (channel.read(header) < 0) {
+                    throw new IOException("Not a bar file (header too short): " + path);
+                }
+            }
+            header.flip();
+            if (header.getInt() != MAGIC) {
+                throw new IOException("Not a bar file (wrong magic number): " + path);
+            }
+            final int version = header.getInt();
+            if (version != VERSION) {
+                throw new IOException(String.format("Unsupported bar file version %s: %s", version, path));
+            }
+            final int recordSize = header.getInt();
+            final long barCount = header.getLong();
+            if (recordSize != RECORD_SIZE || barCount < 0 || barCount > Integer.MAX_VALUE) {
+                throw new IOException("Corrupt bar file header: " + path);
+            }
+            final int zoneLength = header.getShort();
+            if (zoneLength < 0 || zoneLength > MAX_ZONE_LENGTH) {
+                throw new IOException("Corrupt bar file header: " + path);
+            }
+            final byte[] zoneBytes = new byte[zoneLength];
+            header.get(zoneBytes);
+            final ZoneId zone = ZoneId.of(new String(zoneBytes, StandardCharsets.UTF_8));
+
+            if (channel.size() < HEADER_SIZE + barCount * RECORD_SIZE) {
+                throw new IOException(String.format("Truncated bar file (%s bars expected): %s", barCount, path));
+            }
+            final int segmentCount = (int) ((barCount + RECORDS_PER_SEGMENT - 1) / RECORDS_PER_SEGMENT);
+            final ByteBuffer[] segments = new ByteBuffer[segmentCount];
+            for (int i = 0; i < segmentCount; i++) {
+                final long first = (long) i * RECORDS_PER_SEGMENT;
+                final long records = Math.min(RECORDS_PER_SEGMENT, barCount - first);
+                final MappedByteBuffer segment = channel.map(FileChannel.MapMode.READ_ONLY,
+                        HEADER_SIZE + first * RECORD_SIZE, records * RECORD_SIZE);
+                segments[i] = segment.order(ByteOrder.LITTLE_ENDIAN);
+            }
+            // the mapping remains valid after closing the channel
+            return new MappedBarSeries(name, num, zone, segments, 0, (int) barCount);
+        }
+    }
+
+    /**
+     * Writes the bars of a series (from its begin index to its end index) into a
+     * bar file, replacing an existing file.
+     *
+     * @param series the bar series
+     * @param path   the path of the bar file
+     * @throws IOException              if the file cannot be written
+     * @throws IllegalArgumentException if the zone id of the bars is too long for
+     *                                  the header
+     */
+    public static void write(BarSeries series, Path path) throws IOException {
+        final int barCount = series.isEmpty() ? 0 : series.getBarCount();
+        final ZoneId zone = barCount == 0 ? ZoneId.of("UTC")
+                : series.getBar(series.getBeginIndex()).getEndTime().getZone();
+        final byte[] zoneBytes = zone.getId().getBytes(StandardCharsets.UTF_8);
+        if (zoneBytes.length > MAX_ZONE_LENGTH) {
+            throw new IllegalArgumentException("Zone id too long for a bar file: " + zone.getId());
+        }
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            final ByteBuffer buffer = ByteBuffer.allocateDirect(WRITE_BATCH_SIZE * RECORD_SIZE)
+                    .order(ByteOrder.LITTLE_ENDIAN);
+            buffer.putInt(MAGIC).putInt(VERSION).putInt(RECORD_SIZE).putLong(barCount);
+            buffer.putShort((short) zoneBytes.length).put(zoneBytes);
+            buffer.position(HEADER_SIZE);
+            for (int i = series.getBeginIndex(); barCount > 0 && i <= series.getEndIndex(); i++) {
+                if (buffer.remaining() < RECORD_SIZE) {
+                    writeFully(channel, buffer);
+                }
+                final Bar bar = series.getBar(i);
+                buffer.putLong(bar.getEndTime().toInstant().toEpochMilli());
+                buffer.putLong(bar.getTimePeriod().toMillis());
+                buffer.putDouble(toDouble(bar.getOpenPrice()));
+                buffer.putDouble(toDouble(bar.getHighPrice()));
+                buffer.putDouble(toDouble(bar.getLowPrice()));
+                buffer.putDouble(toDouble(bar.getClosePrice()));
+                buffer.putDouble(toDouble(bar.getVolume()));
+                buffer.putDouble(toDouble(bar.getAmount()));
+                buffer.putLong(bar.getTrades());
+            }
+            writeFully(channel, buffer);
+        }
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Num num() {
+        return num;
+    }
+
+    @Override
+    public Bar getBar(int i) {
+        if (i < 0 || i >= count) {
+            throw new IndexOutOfBoundsException(buildOutOfBoundsMessage(i));
+        }
+        // removed bars are replaced by the first remaining one
+        return new MappedBar(Math.max(i, removedBarsCount));
+    }
+
+    @Override
+    public int getBarCount() {
+        return count - removedBarsCount;
+    }
+
+    /**
+     * Returns a read-only list view of the retained bars. The bars are materialized
+     * lazily on {@link List#get(int)}.
+     */
+    @Override
+    public List<Bar> getBarData() {
+        return new BarDataView();
+    }
+
+    @Override
+    public int getBeginIndex() {
+        return count == 0 ? -1 : removedBarsCount;
+    }
+
+    @Override
+    public int getEndIndex() {
+        return count - 1;
+    }
+
+    @Override
+    public int getMaximumBarCount() {
+        return maximumBarCount;
+    }
+
+    /**
+     * Restricts the view to the last {@code maximumBarCount} bars. The mapped file
+     * is not modified.
+     */
+    @Override
+    public void setMaximumBarCount(int maximumBarCount) {
+        if (maximumBarCount <= 0) {
+            throw new IllegalArgumentException("Maximum bar count must be strictly positive");
+        }
+        this.maximumBarCount = maximumBarCount;
+        this.removedBarsCount = Math.max(removedBarsCount, count - maximumBarCount);
+    }
+
+    @Override
+    public int getRemovedBarsCount() {
+        return removedBarsCount;
+    }
+
+    @Override
+    public void addBar(Bar bar, boolean replace) {
+        throw readOnly();
+    }
+
+    @Override
+    public void addBar(Duration timePeriod, ZonedDateTime endTime) {
+        throw readOnly();
+    }
+
+    @Override
+    public void addBar(ZonedDateTime endTime, Num openPrice, Num highPrice, Num lowPrice, Num closePrice, Num volume,
+            Num amount) {
+        throw readOnly();
+    }
+
+    @Override
+    public void addBar(Duration timePeriod, ZonedDateTime endTime, Num openPrice, Num highPrice, Num lowPrice,
+            Num closePrice, Num volume) {
+        throw readOnly();
+    }
+
+    @Override
+    public void addBar(Duration timePeriod, ZonedDateTime endTime, Num openPrice, Num highPrice, Num lowPrice,
+            Num closePrice, Num volume, Num amount) {
+        throw readOnly();
+    }
+
+    @Override
+    public void addTrade(Num tradeVolume, Num tradePrice) {
+        throw readOnly();
+    }
+
+    @Override
+    public void addPrice(Num price) {
+        throw readOnly();
+    }
+
+    /**
+     * Returns a view on the bars between {@code startIndex} (inclusive) and
+     * {@code endIndex} (exclusive), sharing the mapping of this series.
+     *
+     * @see BarSeries#getSubSeries(int, int)
+     */
+    @Override
+    public MappedBarSeries getSubSeries(int startIndex, int endIndex) {
+        if (startIndex < 0) {
+            throw new IllegalArgumentException(String.format("the startIndex: %s must not be negative", startIndex));
+        }
+        if (startIndex >= endIndex) {
+            throw new IllegalArgumentException(
+                    String.format("the endIndex: %s must be greater than startIndex: %s", endIndex, startIndex));
+        }
+        final int start = Math.max(startIndex, removedBarsCount);
+        final int end = Math.min(endIndex, count);
+        return new MappedBarSeries(name, num, zone, segments, firstRecord + start, Math.max(end - start, 0));
+    }
+
+    /**
+     * Copies the close prices of the bars from {@code from} (inclusive) to
+     * {@code to} (exclusive) into {@code out}, without creating any bar. As with
+     * {@link #getBar(int)}, removed bars are replaced by the first remaining one.
+     *
+     * @param from the first index (inclusive)
+     * @param to   the last index (exclusive)
+     * @param out  the array receiving the prices
+     * @throws IndexOutOfBoundsException if a bar does not exist
+     */
+    public void copyClosePrices(int from, int to, double[] out) {
+        if (from < 0 || from > to || to > count) {
+            throw new IndexOutOfBoundsException(String.format("from: %s, to: %s", from, to));
+        }
+        for (int i = from; i < to; i++) {
+            out[i - from] = getDouble(Math.max(i, removedBarsCount), CLOSE_PRICE);
+        }
+    }
+
+    private double getDouble(int index, int field) {
+        final long record = firstRecord + index;
+        return segments[(int) (record / RECORDS_PER_SEGMENT)]
+                .getDouble((int) (record % RECORDS_PER_SEGMENT) * RECORD_SIZE + field);
+    }
+
+    private long getLong(int index, int field) {
+        final long record = firstRecord + index;
+        return segments[(int) (record / RECORDS_PER_SEGMENT)]
+                .getLong((int) (record % RECORDS_PER_SEGMENT) * RECORD_SIZE + field);
+    }
+
+    private Num toNum(double value) {
+        return Double.isNaN(value) ? NaN : num.function().apply(value);
+    }
+
+    private static double toDouble(Num value) {
+        return value == null || value.isNaN() ? Double.NaN : value.doubleValue();
+    }
+
+    private ZonedDateTime toZonedDateTime(long epochMillis) {
+        return ZonedDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), zone);
+    }
+
+    private static UnsupportedOperationException readOnly() {
+        return new UnsupportedOperationException("A MappedBarSeries is read-only");
+    }
+
+    /**
+     * @param index an out of bounds bar index
+     * @return a message for an OutOfBoundsException
+     */
+    private String buildOutOfBoundsMessage(int index) {
+        return String.format("Size of series: %s bars, %s bars removed, index = %s", count - removedBarsCount,
+                removedBarsCount, index);
+    }
+
+    /**
+     * A read-only {@link Bar} view on a record of the mapped file.
+     */
+    private final class MappedBar implements Bar {
+
+        private static final long serialVersionUID = 6042313946744591547L;
+
+        /** The index of the bar within the series. */
+        private final int index;
+
+        private MappedBar(int index) {
+            this.index = index;
+        }
+
+        @Override
+        public Duration getTimePeriod() {
+            return Duration.ofMillis(getLong(index, TIME_PERIOD));
+        }
+
+        @Override
+        public ZonedDateTime getBeginTime() {
+            return toZonedDateTime(getLong(index, END_TIME) - getLong(index, TIME_PERIOD));
+        }
+
+        @Override
+        public ZonedDateTime getEndTime() {
+            return toZonedDateTime(getLong(index, END_TIME));
+        }
+
+        @Override
+        public Num getOpenPrice() {
+            return toNum(getDouble(index, OPEN_PRICE));
+        }
+
+        @Override
+        public Num getHighPrice() {
+            return toNum(getDouble(index, HIGH_PRICE));
+        }
+
+        @Override
+        public Num getLowPrice() {
+            return toNum(getDouble(index, LOW_PRICE));
+        }
+
+        @Override
+        public Num getClosePrice() {
+            return toNum(getDouble(index, CLOSE_PRICE));
+        }
+
+        @Override
+        public Num getVolume() {
+            return toNum(getDouble(index, VOLUME));
+        }
+
+        @Override
+        public Num getAmount() {
+            return toNum(getDouble(index, AMOUNT));
+        }
+
+        @Override
+        public long getTrades() {
+            return getLong(index, TRADES);
+        }
+
+        @Override
+        public void addTrade(Num tradeVolume, Num tradePrice) {
+            throw readOnly();
+        }
+
+        @Override
+        public void addPrice(Num price) {
+            throw readOnly();
+        }
+
+        @Override
+        public String toString() {
+            return String.format(
+                    "{end time: %1s, close price: %2$f, open price: %3$f, low price: %4$f, high price: %5$f, volume: %6$f}",
+                    getEndTime().withZoneSameInstant(ZoneId.systemDefault()), getDouble(index, CLOSE_PRICE),
+                    getDouble(index, OPEN_PRICE), getDouble(index, LOW_PRICE), getDouble(index, HIGH_PRICE),
+                    getDouble(index, VOLUME));
+        }
+    }
+
+    /**
+     * A read-only {@link List} view on the retained bars.
+     */
+    private final class BarDataView extends AbstractList<Bar> implements RandomAccess {
+
+        @Override
+        public Bar get(int innerIndex) {
+            if (innerIndex < 0 || innerIndex >= size()) {
+                throw new IndexOutOfBoundsException(buildOutOfBoundsMessage(removedBarsCount + innerIndex));
+            }
+            return new MappedBar(removedBarsCount + innerIndex);
+        }
+
+        @Override
+        public int size() {
+            return getBarCount();
+        }
+    }
+}
@@ -0,0 +1,397 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017-2023 Ta4j Organization & respective
+ * authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core;
+
+import static org.ta4j.core.num.NaN.NaN;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+import org.ta4j.core.Trade.TradeType;
+import org.ta4j.core.analysis.cost.CostModel;
+import org.ta4j.core.analysis.cost.ZeroCostModel;
+import org.ta4j.core.num.Num;
+
+/**
+ * A compact {@link TradingRecord} storing its trades in packed primitive
+ * columns (index, price, amount, cost and a type bit per trade).
+ *
+ * <p>
+ * In contrast to {@link BaseTradingRecord}, which keeps a {@link Trade} (with
+ * several {@link Num Nums}) in up to three lists and a {@link Position} per
+ * closed position, this record keeps about 28 bytes per trade. The trades and
+ * positions returned by its methods are recreated from the columns on each
+ * call, and {@link #getPositions()} is a lazy view. Criteria can also read the
+ * columns directly (e.g. {@link #getPrice(int)}), without creating any object.
+ *
+ * <p>
+ * As the prices, amounts and costs are stored as {@code double}, this record is
+ * meant for {@link org.ta4j.core.num.DoubleNum DoubleNum} based backtests: with
+ * other {@link Num} types, their values are rounded to {@code double}.
+ */
+public class PackedTradingRecord implements TradingRecord {
+
+    private static final long serialVersionUID = 6232414588317683618L;
+
+    /** The default initial capacity of the columns. */
+    private static final int DEFAULT_CAPACITY = 16;
+
+    /** The name of the trading record. */
+    private final String name;
+
+    /** The entry type (BUY or SELL) in the trading session. */
+    private final TradeType startingType;
+
+    /** The start of the recording (included). */
+    private final Integer startIndex;
+
+    /** The end of the recording (included). */
+    private final Integer endIndex;
+
+    /** The cost model for transactions of the asset. */
+    private final transient CostModel transactionCostModel;
+
+    /** The cost model for holding asset (e.g. borrowing). */
+    private final transient CostModel holdingCostModel;
+
+    /** The bar index of each trade. */
+    private int[] indices = new int[DEFAULT_CAPACITY];
+
+    /** The price per asset of each trade. */
+    private double[] prices = new double[DEFAULT_CAPACITY];
+
+    /** The amount of each trade. */
+    private double[] amounts = new double[DEFAULT_CAPACITY];
+
+    /** The cost of each trade. */
+    private double[] costs = new double[DEFAULT_CAPACITY];
+
+    /** The type of each trade: set for SELL, clear for BUY. */
+    private final BitSet sellTypes = new BitSet();
+
+    /** The number of recorded trades (the trades at even positions are entries). */
+    private int tradeCount = 0;
+
+    /** Any instance of Num to determine the Num type of the trades. */
+    private Num num = NaN;
+
+    /** The current non-closed position (there's always one). */
+    private Position currentPosition;
+
+    /** Constructor with {@link #startingType} = BUY. */
+    public PackedTradingRecord() {
+        this(TradeType.BUY);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param entryTradeType the {@link TradeType trade type} of entries in the
+     *                       trading session
+     */
+    public PackedTradingRecord(TradeType entryTradeType) {
+        this(null, entryTradeType, null, null, new ZeroCostModel(), new ZeroCostModel());
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param name                 the name of the trading record
+     * @param entryTradeType       the {@link TradeType trade type} of entries in
+     *                             the trading session
+     * @param startIndex           the start of the recording (included)
+     * @param endIndex             the end of the recording (included)
+     * @param transactionCostModel the cost model for transactions of the asset
+     * @param holdingCostModel     the cost model for holding the asset (e.g.
+     *                             borrowing)
+     * @throws NullPointerException if entryTradeType is null
+     */
+    public PackedTradingRecord(String name, TradeType entryTradeType, Integer startIndex, Integer endIndex,
+            CostModel transactionCostModel, CostModel holdingCostModel) {
+        Objects.requireNonNull(entryTradeType, "Starting type must not be null");
+        this.name = name;
+        this.startingType = entryTradeType;
+        this.startIndex = startIndex;
+        this.endIndex = endIndex;
+        this.transactionCostModel = transactionCostModel;
+        this.holdingCostModel = holdingCostModel;
+        this.currentPosition = new Position(entryTradeType, transactionCostModel, holdingCostModel);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param trades the trades to be recorded (cannot be empty)
+     */
+    public PackedTradingRecord(Trade... trades) {
+        this(null, trades[0].getType(), null, null, new ZeroCostModel(), new ZeroCostModel());
+        for (Trade trade : trades) {
+            if (currentPosition.isNew() && trade.getType() != startingType) {
+                // Special case for entry/exit types reversal (see BaseTradingRecord)
+                currentPosition = new Position(trade.getType(), transactionCostModel, holdingCostModel);
+            }
+            record(currentPosition.operate(trade.getIndex(), trade.getPricePerAsset(), trade.getAmount()));
+        }
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public TradeType getStartingType() {
+        return startingType;
+    }
+
+    @Override
+    public Position getCurrentPosition() {
+        return currentPosition;
+    }
+
+    @Override
+    public void operate(int index, Num price, Num amount) {
+        if (currentPosition.isClosed()) {
+            // Current position closed, should not occur
+            throw new IllegalStateException("Current position should not be closed");
+        }
+        record(currentPosition.operate(index, price, amount));
+    }
+
+    @Override
+    public boolean enter(int index, Num price, Num amount) {
+        if (currentPosition.isNew()) {
+            operate(index, price, amount);
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public boolean exit(int index, Num price, Num amount) {
+        if (currentPosition.isOpened()) {
+            operate(index, price, amount);
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public List<Position> getPositions() {
+        return new PositionView();
+    }
+
+    @Override
+    public Trade getLastTrade() {
+        return tradeCount == 0 ? null : getTrade(tradeCount - 1);
+    }
+
+    @Override
+    public Trade getLastTrade(TradeType tradeType) {
+        // each position has a BUY and a SELL trade, so at most 3 trades are checked
+        for (int i = tradeCount - 1; i >= 0; i--) {
+            if (getTradeType(i) == tradeType) {
+                return getTrade(i);
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public Trade getLastEntry() {
+        return tradeCount == 0 ? null : getTrade((tradeCount - 1) & ~1);
+    }
+
+    @Override
+    public Trade getLastExit() {
+        return tradeCount < 2 ? null : getTrade(tradeCount % 2 == 0 ? tradeCount - 1 : tradeCount - 2);
+    }
+
+    @Override
+    public Integer getStartIndex() {
+        return startIndex;
+    }
+
+    @Override
+    public Integer getEndIndex() {
+        return endIndex;
+    }
+
+    /**
+     * @return the number of recorded trades (including the entry of the current
+     *         position)
+     */
+    public int getTradeCount() {
+        return tradeCount;
+    }
+
+    /**
+     * @param i the position of the trade within the record
+     * @return the trade (recreated from the columns)
+     */
+    public Trade getTrade(int i) {
+        checkTrade(i);
+        final Num price = toNum(prices[i]);
+        final Num amount = toNum(amounts[i]);
+        return sellTypes.get(i) ? Trade.sellAt(indices[i], price, amount, transactionCostModel)
+                : Trade.buyAt(indices[i], price, amount, transactionCostModel);
+    }
+
+    /**
+     * @param i the position of the trade within the record
+     * @return the bar index of the trade
+     */
+    public int getTradeIndex(int i) {
+        checkTrade(i);
+        return indices[i];
+    }
+
+    /**
+     * @param i the position of the trade within the record
+     * @return the type of the trade
+     */
+    public TradeType getTradeType(int i) {
+        checkTrade(i);
+        return sellTypes.get(i) ? TradeType.SELL : TradeType.BUY;
+    }
+
+    /**
+     * @param i the position of the trade within the record
+     * @return true if the trade is an entry, false if it is an exit
+     */
+    public boolean isEntry(int i) {
+        checkTrade(i);
+        return i % 2 == 0;
+    }
+
+    /**
+     * @param i the position of the trade within the record
+     * @return the price per asset of the trade
+     */
+    public double getPrice(int i) {
+        checkTrade(i);
+        return prices[i];
+    }
+
+    /**
+     * @param i the position of the trade within the record
+     * @return the amount of the trade
+     */
+    public double getAmount(int i) {
+        checkTrade(i);
+        return amounts[i];
+    }
+
+    /**
+     * @param i the position of the trade within the record
+     * @return the transaction cost of the trade
+     */
+    public double getCost(int i) {
+        checkTrade(i);
+        return costs[i];
+    }
+
+    /**
+     * Records a trade and starts a new position if the current one is closed.
+     *
+     * @param trade the trade to be recorded
+     * @throws NullPointerException if trade is null
+     */
+    private void record(Trade trade) {
+        Objects.requireNonNull(trade, "Trade should not be null");
+        if (tradeCount == indices.length) {
+            final int newCapacity = indices.length * 2;
+            indices = Arrays.copyOf(indices, newCapacity);
+            prices = Arrays.copyOf(prices, newCapacity);
+            amounts = Arrays.copyOf(amounts, newCapacity);
+            costs = Arrays.copyOf(costs, newCapacity);
+        }
+        indices[tradeCount] = trade.getIndex();
+        prices[tradeCount] = toDouble(trade.getPricePerAsset());
+        amounts[tradeCount] = toDouble(trade.getAmount());
+        costs[tradeCount] = toDouble(trade.getCost());
+        sellTypes.set(tradeCount, trade.isSell());
+        if (num.isNaN()) {
+            // the Num type is taken from the first trade with a price or an amount
+            if (!Double.isNaN(prices[tradeCount])) {
+                num = trade.getPricePerAsset();
+            } else if (!Double.isNaN(amounts[tradeCount])) {
+                num = trade.getAmount();
+            }
+        }
+        tradeCount++;
+
+        if (currentPosition.isClosed()) {
+            currentPosition = new Position(startingType, transactionCostModel, holdingCostModel);
+        }
+    }
+
+    private Num toNum(double value) {
+        return Double.isNaN(value) || num.isNaN() ? NaN : num.numOf(value);
+    }
+
+    private static double toDouble(Num value) {
+        return value == null || value.isNaN() ? Double.NaN : value.doubleValue();
+    }
+
+    private void checkTrade(int i) {
+        if (i < 0 || i >= tradeCount) {
+            throw new IndexOutOfBoundsException(String.format("Trade: %s, trade count: %s", i, tradeCount));
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder().append("PackedTradingRecord: ")
+                .append(name == null ? "" : name)
+                .append(System.lineSeparator());
+        for (int i = 0; i < tradeCount; i++) {
+            sb.append(getTrade(i).toString()).append(System.lineSeparator());
+        }
+        return sb.toString();
+    }
+
+    /**
+     * The closed positions, recreated from the columns on each access.
+     */
+    private final class PositionView extends AbstractList<Position> implements RandomAccess {
+
+        @Override
+        public Position get(int i) {
+            if (i < 0 || i >= size()) {
+                throw new IndexOutOfBoundsException(String.format("Position: %s, size: %s", i, size()));
+            }
+            return new Position(getTrade(2 * i), getTrade(2 * i + 1), transactionCostModel, holdingCostModel);
+        }
+
+        @Override
+        public int size() {
+            return tradeCount / 2;
+        }
+    }
+}
@@ -0,0 +1,84 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017-2023 Ta4j Organization & respective
+ * authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.aggregator;
+
+import java.time.ZoneId;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import org.ta4j.core.Bar;
+import org.ta4j.core.BarSeries;
+import org.ta4j.core.num.Num;
+
+/**
+ * Aggregates trades into bars of a minimum amount (e.g. dollar bars).
+ *
+ * <p>
+ * A bar is complete as soon as its amount (the sum of price times volume)
+ * reaches {@code amount}. It is emitted with the next trade with a later time,
+ * which opens the next bar (trades with the same time as the last trade are
+ * still added to the bar). The begin and end time of a bar are the times of its
+ * first and last trade.
+ */
+public class AmountBarAggregator extends TradeBarAggregator {
+
+    private final double amount;
+
+    /**
+     * Constructor.
+     *
+     * @param amount      the minimum amount per bar
+     * @param numFunction the Num function of the bars
+     * @param zone        the zone of the bars
+     * @param barConsumer the consumer of the completed bars
+     */
+    public AmountBarAggregator(double amount, Function<Number, Num> numFunction, ZoneId zone,
+            Consumer<Bar> barConsumer) {
+        super(numFunction, zone, barConsumer);
+        this.amount = checkAmount(amount);
+    }
+
+    /**
+     * Constructor adding the completed bars to a series.
+     *
+     * @param amount the minimum amount per bar
+     * @param series the series to add the bars to (in the system default zone)
+     */
+    public AmountBarAggregator(double amount, BarSeries series) {
+        super(series);
+        this.amount = checkAmount(amount);
+    }
+
+    private static double checkAmount(double amount) {
+        if (!(amount > 0)) {
+            throw new IllegalArgumentException("amount must be strictly positive");
+        }
+        return amount;
+    }
+
+    @Override
+    protected boolean isComplete(long epochMillis) {
+        return getAmount() >= amount && epochMillis > getLastTradeTime();
+    }
+}
@@ -0,0 +1,244 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017-2023 Ta4j Organization & respective
+ * authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.aggregator;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.ta4j.core.Bar;
+import org.ta4j.core.BarSeries;
+import org.ta4j.core.BaseBar;
+import org.ta4j.core.BaseBarSeriesBuilder;
+import org.ta4j.core.num.Num;
+
+/**
+ * Aggregates a {@link BarSeries} into several series of longer time periods
+ * (e.g. 5 minutes, 15 minutes, 1 hour and 1 day bars from 1 minute bars) in a
+ * single pass.
+ *
+ * <p>
+ * The aggregated series are created once and kept up to date by
+ * {@link #update()}, which aggregates the bars added to the source series since
+ * the last update. Each source bar is read once and added to all time periods,
+ * i.e. an update costs O(new bars * time periods).
+ *
+ * <p>
+ * The aggregated bars are aligned to multiples of their time period since the
+ * epoch in the local time of the source bars (e.g. daily bars begin at midnight
+ * in the zone of the source bars). A bar is final as soon as the source bar
+ * reaching its end time or a source bar of a later period is aggregated;
+ * periods without source bars have no bar. Unless only final bars are
+ * requested, the last bar of an aggregated series is the pending bar of the
+ * current period, which is replaced on each update.
+ *
+ * <p>
+ * The source bars are aggregated once, i.e. they must not change after an
+ * update. The time period of the source bars must divide the aggregated time
+ * periods.
+ */
+public class MultiTimeframeBarAggregator {
+
+    private final BarSeries source;
+    private final boolean onlyFinalBars;
+    private final Map<Duration, Timeframe> timeframes = new LinkedHashMap<>();
+
+    /** The index of the last aggregated source bar. */
+    private int lastIndex = -1;
+
+    /**
+     * Constructor. Only final bars are added to the aggregated series.
+     *
+     * @param source      the source series
+     * @param timePeriods the time periods to aggregate the source series into
+     */
+    public MultiTimeframeBarAggregator(BarSeries source, Duration... timePeriods) {
+        this(source, true, timePeriods);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param source        the source series
+     * @param onlyFinalBars if true, only final bars are added to the aggregated
+     *                      series, otherwise also the pending bars
+     * @param timePeriods   the time periods to aggregate the source series into
+     */
+    public MultiTimeframeBarAggregator(BarSeries source, boolean onlyFinalBars, Duration... timePeriods) {
+        this.source = source;
+        this.onlyFinalBars = onlyFinalBars;
+        for (Duration timePeriod : timePeriods) {
+            if (timePeriod.toMillis() <= 0) {
+                throw new IllegalArgumentException("timePeriod must be at least one millisecond");
+            }
+            final BarSeries series = new BaseBarSeriesBuilder().withName(source.getName() + " " + timePeriod)
+                    .withNumTypeOf(source.function())
+                    .build();
+            timeframes.putIfAbsent(timePeriod, new Timeframe(timePeriod, series));
+        }
+    }
+
+    /**
+     * @return the aggregated time periods
+     */
+    public List<Duration> getTimePeriods() {
+        return Collections.unmodifiableList(new ArrayList<>(timeframes.keySet()));
+    }
+
+    /**
+     * @param timePeriod an aggregated time period
+     * @return the aggregated series of the time period
+     * @throws IllegalArgumentException if the time period is not aggregated
+     */
+    public BarSeries getSeries(Duration timePeriod) {
+        final Timeframe timeframe = timeframes.get(timePeriod);
+        if (timeframe == null) {
+            throw new IllegalArgumentException("Time period not aggregated: " + timePeriod);
+        }
+        return timeframe.series;
+    }
+
+    /**
+     * Aggregates the bars added to the source series since the last update.
+     *
+     * @throws IllegalArgumentException if the time period of a source bar does not
+     *                                  divide an aggregated time period
+     */
+    public void update() {
+        final int endIndex = source.getEndIndex();
+        for (int i = Math.max(lastIndex + 1, source.getBeginIndex()); i <= endIndex; i++) {
+            final Bar bar = source.getBar(i);
+            final long barPeriod = bar.getTimePeriod().toMillis();
+            final long localEnd = toLocalMillis(bar.getEndTime());
+            for (Timeframe timeframe : timeframes.values()) {
+                if (barPeriod <= 0 || timeframe.period % barPeriod != 0) {
+                    throw new IllegalArgumentException(String.format(
+                            "Cannot aggregate bars: the time period %s is not a multiple of the bar time period %s",
+                            timeframe.timePeriod, bar.getTimePeriod()));
+                }
+                timeframe.add(bar, localEnd - barPeriod, localEnd);
+            }
+            lastIndex = i;
+        }
+    }
+
+    /**
+     * @return the milliseconds since the epoch of the local date-time of
+     *         {@code time}
+     */
+    private static long toLocalMillis(ZonedDateTime time) {
+        return (time.toEpochSecond() + time.getOffset().getTotalSeconds()) * 1000 + time.getNano() / 1_000_000;
+    }
+
+    /**
+     * The aggregation state of a time period.
+     */
+    private final class Timeframe {
+
+        private final Duration timePeriod;
+        private final long period;
+        private final BarSeries series;
+
+        /** The period (multiple of the time period) of the current bar. */
+        private long bucket;
+
+        /** True if the current bar has at least one source bar. */
+        private boolean active;
+
+        /** True if the current bar has been added to the series as pending bar. */
+        private boolean published;
+
+        private ZonedDateTime endTime;
+        private Num openPrice;
+        private Num highPrice;
+        private Num lowPrice;
+        private Num closePrice;
+        private Num volume;
+        private Num amount;
+        private long trades;
+
+        private Timeframe(Duration timePeriod, BarSeries series) {
+            this.timePeriod = timePeriod;
+            this.period = timePeriod.toMillis();
+            this.series = series;
+        }
+
+        private void add(Bar bar, long localBegin, long localEnd) {
+            final long barBucket = Math.floorDiv(localBegin, period);
+            if (active && barBucket != bucket) {
+                complete();
+            }
+            if (!active) {
+                active = true;
+                bucket = barBucket;
+                endTime = bar.getEndTime().plus(Duration.ofMillis((barBucket + 1) * period - localEnd));
+                openPrice = bar.getOpenPrice();
+                highPrice = bar.getHighPrice();
+                lowPrice = bar.getLowPrice();
+                volume = bar.getVolume();
+                amount = bar.getAmount();
+                trades = bar.getTrades();
+            } else {
+                if (bar.getHighPrice().isGreaterThan(highPrice)) {
+                    highPrice = bar.getHighPrice();
+                }
+                if (bar.getLowPrice().isLessThan(lowPrice)) {
+                    lowPrice = bar.getLowPrice();
+                }
+                volume = plus(volume, bar.getVolume());
+                amount = plus(amount, bar.getAmount());
+                trades += bar.getTrades();
+            }
+            closePrice = bar.getClosePrice();
+
+            if (localEnd >= (bucket + 1) * period) {
+                complete();
+            } else if (!onlyFinalBars) {
+                series.addBar(createBar(), published);
+                published = true;
+            }
+        }
+
+        private void complete() {
+            series.addBar(createBar(), published);
+            active = false;
+            published = false;
+        }
+
+        private Bar createBar() {
+            return new BaseBar(timePeriod, endTime, openPrice, highPrice, lowPrice, closePrice, volume, amount, trades);
+        }
+
+        private Num plus(Num sum, Num value) {
+            if (sum == null) {
+                return value;
+            }
+            return value == null ? sum : sum.plus(value);
+        }
+    }
+}
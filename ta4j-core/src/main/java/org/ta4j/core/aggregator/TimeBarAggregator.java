@@ -0,0 +1,109 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017-2023 Ta4j Organization & respective
+ * authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.aggregator;
+
+import java.time.Duration;
+import java.time.ZoneId;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import org.ta4j.core.Bar;
+import org.ta4j.core.BarSeries;
+import org.ta4j.core.num.Num;
+
+/**
+ * Aggregates trades into bars of a fixed time period.
+ *
+ * <p>
+ * The bars are aligned to multiples of the time period since the epoch, i.e. a
+ * trade at time {@code t} belongs to the bar [{@code begin}, {@code end}) with
+ * {@code begin = t - t % timePeriod}. A bar is emitted with the first trade (or
+ * {@link #advanceTime(long) time event}) at or after its end time. Periods
+ * without trades have no bar.
+ */
+public class TimeBarAggregator extends TradeBarAggregator {
+
+    private final long timePeriod;
+
+    /** The end time of the pending bar. */
+    private long endTime;
+
+    /**
+     * Constructor.
+     *
+     * @param timePeriod  the time period of the bars
+     * @param numFunction the Num function of the bars
+     * @param zone        the zone of the bars
+     * @param barConsumer the consumer of the completed bars
+     */
+    public TimeBarAggregator(Duration timePeriod, Function<Number, Num> numFunction, ZoneId zone,
+            Consumer<Bar> barConsumer) {
+        super(numFunction, zone, barConsumer);
+        this.timePeriod = checkTimePeriod(timePeriod);
+    }
+
+    /**
+     * Constructor adding the completed bars to a series.
+     *
+     * @param timePeriod the time period of the bars
+     * @param series     the series to add the bars to (in the system default zone)
+     */
+    public TimeBarAggregator(Duration timePeriod, BarSeries series) {
+        super(series);
+        this.timePeriod = checkTimePeriod(timePeriod);
+    }
+
+    private static long checkTimePeriod(Duration timePeriod) {
+        final long millis = timePeriod.toMillis();
+        if (millis <= 0) {
+            throw new IllegalArgumentException("timePeriod must be at least one millisecond");
+        }
+        return millis;
+    }
+
+    @Override
+    protected void onOpen(long epochMillis) {
+        endTime = Math.floorDiv(epochMillis, timePeriod) * timePeriod + timePeriod;
+    }
+
+    @Override
+    protected boolean isComplete(long epochMillis) {
+        return epochMillis >= endTime;
+    }
+
+    @Override
+    protected long getBeginTime() {
+        return endTime - timePeriod;
+    }
+
+    @Override
+    protected long getEndTime() {
+        return endTime;
+    }
+
+    @Override
+    protected long getMinimumNextTime() {
+        return endTime;
+    }
+}
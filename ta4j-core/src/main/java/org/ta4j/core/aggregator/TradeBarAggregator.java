@@ -0,0 +1,238 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017-2023 Ta4j Organization & respective
+ * authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.aggregator;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import org.ta4j.core.Bar;
+import org.ta4j.core.BarSeries;
+import org.ta4j.core.BaseBar;
+import org.ta4j.core.num.Num;
+
+/**
+ * Aggregates a stream of trades into bars.
+ *
+ * <p>
+ * The trades are pushed one by one (see {@link #accept(long, double, double)})
+ * and accumulated as primitives in O(1) per trade, so no {@link Num} is created
+ * per trade. As soon as the pending bar is complete (as defined by the
+ * subclass, e.g. by time, number of trades, volume or amount), it is converted
+ * into a {@link Bar} and passed to the bar consumer, e.g. {@link BarSeries}
+ * {@code ::addBar}.
+ *
+ * <p>
+ * A bar is completed by the first trade (or {@link #advanceTime(long) time}
+ * event) beyond it, which then opens the next bar. Thus, trades with the same
+ * time are never split into different bars and the end times of the bars are
+ * strictly increasing. The last pending bar is emitted by {@link #flush()}.
+ *
+ * <p>
+ * The trades must be pushed in chronological order. This class is not
+ * thread-safe.
+ */
+public abstract class TradeBarAggregator implements TradeConsumer {
+
+    private final Function<Number, Num> numFunction;
+    private final ZoneId zone;
+    private final Consumer<Bar> barConsumer;
+
+    /** The minimum time of the next trade. */
+    private long minimumTime = Long.MIN_VALUE;
+
+    private long firstTradeTime;
+    private long lastTradeTime;
+    private double openPrice;
+    private double highPrice;
+    private double lowPrice;
+    private double closePrice;
+    private double volume;
+    private double amount;
+    private long trades;
+
+    /**
+     * Constructor.
+     *
+     * @param numFunction the Num function of the bars
+     * @param zone        the zone of the bars
+     * @param barConsumer the consumer of the completed bars
+     */
+    protected TradeBarAggregator(Function<Number, Num> numFunction, ZoneId zone, Consumer<Bar> barConsumer) {
+        this.numFunction = Objects.requireNonNull(numFunction, "numFunction");
+        this.zone = Objects.requireNonNull(zone, "zone");
+        this.barConsumer = Objects.requireNonNull(barConsumer, "barConsumer");
+    }
+
+    /**
+     * Constructor adding the completed bars to a series.
+     *
+     * @param series the series to add the bars to (in the system default zone)
+     */
+    protected TradeBarAggregator(BarSeries series) {
+        this(series.function(), ZoneId.systemDefault(), series::addBar);
+    }
+
+    /**
+     * Adds a trade to the pending bar, emitting the pending bar first if it is
+     * complete.
+     *
+     * @throws IllegalArgumentException if the trade is not in chronological order
+     */
+    @Override
+    public void accept(long epochMillis, double price, double volume) {
+        if (trades > 0 && isComplete(epochMillis)) {
+            emit();
+        }
+        if (epochMillis < minimumTime || (trades > 0 && epochMillis < lastTradeTime)) {
+            throw new IllegalArgumentException(
+                    String.format("Trade at %s is not in chronological order", Instant.ofEpochMilli(epochMillis)));
+        }
+        if (trades == 0) {
+            firstTradeTime = epochMillis;
+            openPrice = price;
+            highPrice = price;
+            lowPrice = price;
+            this.volume = 0;
+            this.amount = 0;
+            onOpen(epochMillis);
+        } else {
+            highPrice = Math.max(highPrice, price);
+            lowPrice = Math.min(lowPrice, price);
+        }
+        lastTradeTime = epochMillis;
+        closePrice = price;
+        this.volume += volume;
+        this.amount += price * volume;
+        trades++;
+    }
+
+    /**
+     * Emits the pending bar if it is complete at the given time, e.g. to close time
+     * bars by a clock.
+     *
+     * @param epochMillis the current time (milliseconds since the epoch)
+     */
+    public void advanceTime(long epochMillis) {
+        if (trades > 0 && isComplete(epochMillis)) {
+            emit();
+        }
+    }
+
+    /**
+     * Emits the pending bar (if any), even if it is not complete. Subsequent trades
+     * must be beyond the emitted bar.
+     */
+    public void flush() {
+        if (trades > 0) {
+            emit();
+        }
+    }
+
+    /**
+     * @return the pending bar (created on each call) or null if there is no pending
+     *         trade
+     */
+    public Bar getPendingBar() {
+        return trades == 0 ? null : createBar();
+    }
+
+    /**
+     * Called when the first trade of a bar is added.
+     *
+     * @param epochMillis the time of the first trade
+     */
+    protected void onOpen(long epochMillis) {
+    }
+
+    /**
+     * @param epochMillis the time of the next trade (or time event)
+     * @return true if the pending bar (with at least one trade) is complete at
+     *         {@code epochMillis}
+     */
+    protected abstract boolean isComplete(long epochMillis);
+
+    /**
+     * @return the begin time of the pending bar, by default the time of its first
+     *         trade
+     */
+    protected long getBeginTime() {
+        return firstTradeTime;
+    }
+
+    /**
+     * @return the end time of the pending bar, by default the time of its last
+     *         trade
+     */
+    protected long getEndTime() {
+        return lastTradeTime;
+    }
+
+    /**
+     * @return the minimum time of the trades after the pending bar, by default
+     *         after its {@link #getEndTime() end time}
+     */
+    protected long getMinimumNextTime() {
+        return getEndTime() + 1;
+    }
+
+    /** @return the time of the last trade of the pending bar */
+    protected long getLastTradeTime() {
+        return lastTradeTime;
+    }
+
+    /** @return the volume of the pending bar */
+    protected double getVolume() {
+        return volume;
+    }
+
+    /** @return the amount of the pending bar */
+    protected double getAmount() {
+        return amount;
+    }
+
+    /** @return the number of trades of the pending bar */
+    protected long getTrades() {
+        return trades;
+    }
+
+    private void emit() {
+        final Bar bar = createBar();
+        minimumTime = getMinimumNextTime();
+        trades = 0;
+        barConsumer.accept(bar);
+    }
+
+    private Bar createBar() {
+        final long endTime = getEndTime();
+        return new BaseBar(Duration.ofMillis(endTime - getBeginTime()),
+                ZonedDateTime.ofInstant(Instant.ofEpochMilli(endTime), zone), numFunction.apply(openPrice),
+                numFunction.apply(highPrice), numFunction.apply(lowPrice), numFunction.apply(closePrice),
+                numFunction.apply(volume), numFunction.apply(amount), trades);
+    }
+}
@@ -27,6 +27,14 @@
  * <p>
  * This package can be used to aggregate {@link org.ta4j.core.Bar bars} by
  * various conditions, e.g. by
- * {@link org.ta4j.core.aggregator.DurationBarAggregator duration}.
+ * {@link org.ta4j.core.aggregator.DurationBarAggregator duration}, or to
+ * aggregate a stream of trades into bars by
+ * {@link org.ta4j.core.aggregator.TimeBarAggregator time},
+ * {@link org.ta4j.core.aggregator.TickBarAggregator number of trades},
+ * {@link org.ta4j.core.aggregator.VolumeBarAggregator volume} or
+ * {@link org.ta4j.core.aggregator.AmountBarAggregator amount}. The
+ * {@link org.ta4j.core.aggregator.MultiTimeframeBarAggregator
+ * MultiTimeframeBarAggregator} keeps several time periods of a series up to
+ * date in a single pass.
  */
 package org.ta4j.core.aggregator;
\ No newline at end of file
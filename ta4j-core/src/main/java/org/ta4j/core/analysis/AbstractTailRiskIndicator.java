@@ -0,0 +1,221 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017-2023 Ta4j Organization & respective
+ * authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.analysis;
+
+import java.util.Arrays;
+
+import org.ta4j.core.Indicator;
+import org.ta4j.core.num.Num;
+
+/**
+ * Base class of the tail risk measures (e.g. Value at Risk) over a sliding
+ * window of the log returns of a {@link CashFlowIndicator cash flow}.
+ *
+ * <p>
+ * The returns of the window (except the current one) are kept sorted: on
+ * sequential evaluation, moving the window inserts and removes one return by
+ * binary search, instead of sorting the whole window again. On random access,
+ * the window is rebuilt. The current return is not inserted, as it may still
+ * change (e.g. the last bar of a live series).
+ */
+public abstract class AbstractTailRiskIndicator extends AbstractTradingRecordIndicator {
+
+    /** The log returns of the cash flow. */
+    private final Indicator<Num> returns;
+
+    /** The number of returns of the window. */
+    protected final int barCount;
+
+    /** The confidence level (e.g. 0.95). */
+    protected final double confidence;
+
+    /** The returns of the window except the current one, in ascending order. */
+    private final Num[] sorted;
+
+    /** The number of returns in {@link #sorted}. */
+    private int size = 0;
+
+    /** The range of the returns in {@link #sorted} (inclusive). */
+    private int from = 0;
+    private int to = -1;
+
+    /**
+     * Constructor.
+     *
+     * @param cashFlow   the cash flow
+     * @param barCount   the number of returns of the window
+     * @param confidence the confidence level (e.g. 0.95)
+     */
+    protected AbstractTailRiskIndicator(CashFlowIndicator cashFlow, int barCount, double confidence) {
+        super(cashFlow.getBarSeries(), cashFlow.getTradingRecord());
+        if (barCount < 1) {
+            throw new IllegalArgumentException("barCount must be strictly positive");
+        }
+        this.returns = new LogReturnIndicator(cashFlow);
+        this.barCount = barCount;
+        this.confidence = confidence;
+        this.sorted = new Num[barCount];
+    }
+
+    @Override
+    protected Num calculate(int index) {
+        final int first = Math.max(getBarSeries().getBeginIndex() + 1, index - barCount + 1);
+        if (index < first) {
+            // no return yet
+            return zero();
+        }
+        moveWindow(first, index - 1);
+
+        final int count = index - first + 1;
+        // F(x_var) >= alpha (=1-confidence)
+        final int nInTail = count - (int) (count * confidence);
+        final Num current = getReturn(index);
+        final Num value = calculate(current, rank(current), nInTail);
+        // the risk is non-positive
+        return value.isGreaterThan(zero()) ? zero() : value;
+    }
+
+    @Override
+    protected void invalidateFrom(int index) {
+        super.invalidateFrom(index);
+        // rebuild the window on the next access
+        size = 0;
+        from = 0;
+        to = -1;
+        Arrays.fill(sorted, null);
+    }
+
+    /**
+     * @param current    the current return
+     * @param rank       the position of the current return within the sorted
+     *                   returns of the window
+     * @param tailLength the number of returns within the tail, at least 1
+     * @return the risk measure of the returns of the window
+     */
+    protected abstract Num calculate(Num current, int rank, int tailLength);
+
+    /**
+     * @param k       the rank (0-based)
+     * @param current the current return
+     * @param rank    the position of the current return within the sorted returns
+     *                of the window
+     * @return the {@code k}-th smallest return of the window (including the current
+     *         one)
+     */
+    protected Num getSmallest(int k, Num current, int rank) {
+        if (k < rank) {
+            return sorted[k];
+        }
+        return k == rank ? current : sorted[k - 1];
+    }
+
+    /**
+     * @param index the bar index
+     * @return the log return of the cash flow at {@code index}
+     */
+    private Num getReturn(int index) {
+        return returns.getValue(index);
+    }
+
+    /**
+     * Moves the sorted returns to the range [{@code first}, {@code last}].
+     */
+    private void moveWindow(int first, int last) {
+        if (first == from && last == to) {
+            return;
+        }
+        if (first - from <= 1 && first >= from && last == to + 1 && to >= from) {
+            if (first > from) {
+                remove(getReturn(from));
+            }
+            insert(getReturn(last));
+        } else {
+            // random access: rebuild the window
+            size = 0;
+            for (int i = first; i <= last; i++) {
+                insert(getReturn(i));
+            }
+        }
+        from = first;
+        to = last;
+    }
+
+    private void insert(Num value) {
+        final int position = rank(value);
+        System.arraycopy(sorted, position, sorted, position + 1, size - position);
+        sorted[position] = value;
+        size++;
+    }
+
+    private void remove(Num value) {
+        final int position = rank(value);
+        System.arraycopy(sorted, position + 1, sorted, position, size - position - 1);
+        sorted[--size] = null;
+    }
+
+    /**
+     * @return the number of sorted returns lower than {@code value}
+     */
+    private int rank(Num value) {
+        int low = 0;
+        int high = size - 1;
+        while (low <= high) {
+            final int middle = (low + high) >>> 1;
+            if (sorted[middle].compareTo(value) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return low;
+    }
+
+    @Override
+    public int getUnstableBars() {
+        return barCount;
+    }
+
+    /**
+     * The log return of an indicator from the previous index.
+     */
+    private static class LogReturnIndicator extends AbstractTradingRecordIndicator {
+
+        private final Indicator<Num> indicator;
+
+        private LogReturnIndicator(CashFlowIndicator indicator) {
+            super(indicator.getBarSeries(), indicator.getTradingRecord());
+            this.indicator = indicator;
+        }
+
+        @Override
+        protected Num calculate(int index) {
+            return indicator.getValue(index).dividedBy(indicator.getValue(index - 1)).log();
+        }
+
+        @Override
+        public int getUnstableBars() {
+            return 1;
+        }
+    }
+}
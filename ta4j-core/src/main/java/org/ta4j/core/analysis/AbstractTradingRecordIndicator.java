@@ -0,0 +1,79 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017-2023 Ta4j Organization & respective
+ * authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.analysis;
+
+import java.util.List;
+
+import org.ta4j.core.BarSeries;
+import org.ta4j.core.Position;
+import org.ta4j.core.TradingRecord;
+import org.ta4j.core.indicators.RecursiveCachedIndicator;
+import org.ta4j.core.num.Num;
+
+/**
+ * A cached indicator of a trading record growing while bars arrive.
+ *
+ * <p>
+ * A value may be read before the trading record is updated on the same bar
+ * (e.g. by the rules of a strategy, before the exit of a position is recorded).
+ * Thus, before a value is returned, the cached values from the first bar of the
+ * positions closed since the last access on are calculated again (the values of
+ * a position depend on its exit, e.g. by its holding costs).
+ */
+abstract class AbstractTradingRecordIndicator extends RecursiveCachedIndicator<Num> {
+
+    private final TradingRecord tradingRecord;
+
+    /** The number of closed positions known by the cached values. */
+    private int positionCount = 0;
+
+    /**
+     * Constructor.
+     *
+     * @param series        the bar series
+     * @param tradingRecord the trading record
+     */
+    protected AbstractTradingRecordIndicator(BarSeries series, TradingRecord tradingRecord) {
+        super(series);
+        this.tradingRecord = tradingRecord;
+    }
+
+    @Override
+    public Num getValue(int index) {
+        final List<Position> positions = tradingRecord.getPositions();
+        if (positions.size() != positionCount) {
+            final int firstChangedIndex = positions.size() > positionCount
+                    ? positions.get(positionCount).getEntry().getIndex() + 1
+                    : 0;
+            positionCount = positions.size();
+            invalidateFrom(firstChangedIndex);
+        }
+        return super.getValue(index);
+    }
+
+    /** @return the trading record */
+    TradingRecord getTradingRecord() {
+        return tradingRecord;
+    }
+}
@@ -23,19 +23,28 @@
  */
 package org.ta4j.core.analysis;
 
-import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
 
 import org.ta4j.core.BarSeries;
 import org.ta4j.core.Indicator;
 import org.ta4j.core.Position;
 import org.ta4j.core.TradingRecord;
+import org.ta4j.core.num.DoubleNum;
 import org.ta4j.core.num.Num;
 
 /**
  * Allows to follow the money cash flow involved by a list of positions over a
  * bar series.
+ *
+ * <p>
+ * The cash flow of a trading record can be extended incrementally with
+ * {@link #update(TradingRecord, int)}: only the positions closed since the last
+ * update are calculated, so that a cash flow can be kept up to date while a
+ * trading record grows (e.g. in live trading). The values are backed by a
+ * primitive array if the bar series uses {@link DoubleNum}.
+ *
+ * <p>
+ * This class is not thread-safe.
  */
 public class CashFlow implements Indicator<Num> {
 
@@ -43,7 +52,26 @@ public class CashFlow implements Indicator<Num> {
     private final BarSeries barSeries;
 
     /** The (accrued) cash flow sequence (without trading costs). */
-    private final List<Num> values;
+    private final ValueArray values;
+
+    /** The number of values of the closed positions (i.e. without accrual). */
+    private int closedSize;
+
+    /** The number of positions of the trading record already calculated. */
+    private int positionCount = 0;
+
+    /**
+     * Constructor for an empty cash flow (i.e. without positions).
+     *
+     * @param barSeries the bar series
+     * @see #update(TradingRecord, int)
+     */
+    public CashFlow(BarSeries barSeries) {
+        this.barSeries = barSeries;
+        this.values = ValueArray.create(barSeries, Math.max(barSeries.getEndIndex(), 0) + 2);
+        values.add(one());
+        closedSize = values.size();
+    }
 
     /**
      * Constructor for cash flows of a closed position.
@@ -52,11 +80,9 @@ public class CashFlow implements Indicator<Num> {
      * @param position  a single position
      */
     public CashFlow(BarSeries barSeries, Position position) {
-        this.barSeries = barSeries;
-        values = new ArrayList<>(Collections.singletonList(numOf(1)));
-
+        this(barSeries);
         calculate(position);
-        fillToTheEnd(barSeries.getEndIndex());
+        closedSize = values.size();
     }
 
     /**
@@ -78,11 +104,52 @@ public class CashFlow implements Indicator<Num> {
      *                      considered
      */
     public CashFlow(BarSeries barSeries, TradingRecord tradingRecord, int finalIndex) {
-        this.barSeries = barSeries;
-        values = new ArrayList<>(Collections.singletonList(one()));
+        this(barSeries);
+        update(tradingRecord, finalIndex);
+    }
 
-        calculate(tradingRecord, finalIndex);
-        fillToTheEnd(finalIndex);
+    /**
+     * Updates the cash flow with the positions of the trading record up to its end
+     * index.
+     *
+     * @param tradingRecord the trading record
+     * @see #update(TradingRecord, int)
+     */
+    public void update(TradingRecord tradingRecord) {
+        update(tradingRecord, tradingRecord.getEndIndex(barSeries));
+    }
+
+    /**
+     * Updates the cash flow with the positions of the trading record.
+     *
+     * <p>
+     * Only the positions closed since the last update are calculated; the accrued
+     * cash flow of the open position (if any) is recalculated. The trading record
+     * must be the one of the previous updates (or an extension of it).
+     *
+     * @param tradingRecord the trading record
+     * @param finalIndex    index up until cash flows of open positions are
+     *                      considered
+     * @throws IllegalArgumentException if the trading record has less positions
+     *                                  than already calculated
+     */
+    public void update(TradingRecord tradingRecord, int finalIndex) {
+        final List<Position> positions = tradingRecord.getPositions();
+        if (positions.size() < positionCount) {
+            throw new IllegalArgumentException("The trading record has less positions than already calculated");
+        }
+        // drop the accrued cash flow of the previously open position
+        values.truncate(closedSize);
+        for (int i = positionCount; i < positions.size(); i++) {
+            calculate(positions.get(i));
+        }
+        closedSize = values.size();
+        positionCount = positions.size();
+
+        // Add accrued cash flow of open position
+        if (tradingRecord.getCurrentPosition().isOpened()) {
+            calculate(tradingRecord.getCurrentPosition(), finalIndex);
+        }
     }
 
     /**
@@ -91,7 +158,8 @@ public class CashFlow implements Indicator<Num> {
      */
     @Override
     public Num getValue(int index) {
-        return values.get(index);
+        // after the last position, the cash flow keeps its last value
+        return values.get(Math.min(index, values.size() - 1));
     }
 
     @Override
@@ -142,8 +210,7 @@ public class CashFlow implements Indicator<Num> {
         final int entryIndex = position.getEntry().getIndex();
         int begin = entryIndex + 1;
         if (begin > values.size()) {
-            Num lastValue = values.get(values.size() - 1);
-            values.addAll(Collections.nCopies(begin - values.size(), lastValue));
+            values.fill(begin);
         }
         // Trade is not valid if net balance at the entryIndex is negative
         if (values.get(values.size() - 1).isGreaterThan(values.get(0).numOf(0))) {
@@ -155,10 +222,11 @@ public class CashFlow implements Indicator<Num> {
 
             // Add intermediate cash flows during position
             Num netEntryPrice = position.getEntry().getNetPrice();
+            Num entryValue = values.get(entryIndex);
             for (int i = startingIndex; i < endIndex; i++) {
                 Num intermediateNetPrice = addCost(barSeries.getBar(i).getClosePrice(), avgCost, isLongTrade);
                 Num ratio = getIntermediateRatio(isLongTrade, netEntryPrice, intermediateNetPrice);
-                values.add(values.get(entryIndex).multipliedBy(ratio));
+                values.add(entryValue.multipliedBy(ratio));
             }
 
             // add net cash flow at exit position
@@ -169,7 +237,7 @@ public class CashFlow implements Indicator<Num> {
                 exitPrice = barSeries.getBar(endIndex).getClosePrice();
             }
             Num ratio = getIntermediateRatio(isLongTrade, netEntryPrice, addCost(exitPrice, avgCost, isLongTrade));
-            values.add(values.get(entryIndex).multipliedBy(ratio));
+            values.add(entryValue.multipliedBy(ratio));
         }
     }
 
@@ -180,7 +248,7 @@ public class CashFlow implements Indicator<Num> {
      * @param entryPrice  price ratio denominator
      * @param exitPrice   price ratio numerator
      */
-    private static Num getIntermediateRatio(boolean isLongTrade, Num entryPrice, Num exitPrice) {
+    static Num getIntermediateRatio(boolean isLongTrade, Num entryPrice, Num exitPrice) {
         Num ratio;
         if (isLongTrade) {
             ratio = exitPrice.dividedBy(entryPrice);
@@ -191,33 +259,6 @@ public class CashFlow implements Indicator<Num> {
         return ratio;
     }
 
-    /**
-     * Calculates the cash flow for the closed positions of a trading record.
-     *
-     * @param tradingRecord the trading record
-     */
-    private void calculate(TradingRecord tradingRecord) {
-        // For each position...
-        tradingRecord.getPositions().forEach(this::calculate);
-    }
-
-    /**
-     * Calculates the cash flow for all positions of a trading record, including
-     * accrued cash flow of an open position.
-     *
-     * @param tradingRecord the trading record
-     * @param finalIndex    index up until cash flows of open positions are
-     *                      considered
-     */
-    private void calculate(TradingRecord tradingRecord, int finalIndex) {
-        calculate(tradingRecord);
-
-        // Add accrued cash flow of open position
-        if (tradingRecord.getCurrentPosition().isOpened()) {
-            calculate(tradingRecord.getCurrentPosition(), finalIndex);
-        }
-    }
-
     /**
      * Adjusts (intermediate) price to incorporate trading costs.
      *
@@ -235,18 +276,6 @@ public class CashFlow implements Indicator<Num> {
         return netPrice;
     }
 
-    /**
-     * Pads {@link #values} with its last value up until {@code endIndex}.
-     * 
-     * @param endIndex the end index
-     */
-    private void fillToTheEnd(int endIndex) {
-        if (endIndex >= values.size()) {
-            Num lastValue = values.get(values.size() - 1);
-            values.addAll(Collections.nCopies(barSeries.getEndIndex() - values.size() + 1, lastValue));
-        }
-    }
-
     /**
      * Determines the valid final index to be considered.
      *
@@ -0,0 +1,161 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017-2023 Ta4j Organization & respective
+ * authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.analysis;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.ta4j.core.BarSeries;
+import org.ta4j.core.Position;
+import org.ta4j.core.TradingRecord;
+import org.ta4j.core.indicators.AbstractIndicator;
+import org.ta4j.core.num.Num;
+
+/**
+ * Cash flow (i.e. equity curve) of a trading record as an indicator.
+ *
+ * <p>
+ * In contrast to {@link CashFlow}, which is calculated once for a complete
+ * trading record, the value at an index is calculated from the positions of the
+ * trading record at the time of the access. This allows to follow a trading
+ * record growing while bars arrive (e.g. in live trading): the cash flow at the
+ * exit of each closed position is kept (and extended as positions close), so
+ * that each value is calculated in O(log(number of positions)) from the value
+ * at the entry of its position. The values are not cached, thus they are never
+ * stale: the value at an index equals
+ * {@code new CashFlow(series, tradingRecord, index).getValue(index)}, even if
+ * it was read before the trading record was updated on that bar.
+ *
+ * <p>
+ * This class is not thread-safe.
+ */
+public class CashFlowIndicator extends AbstractIndicator<Num> {
+
+    private final TradingRecord tradingRecord;
+
+    /** The cash flow values at the exits of the closed positions. */
+    private final List<Num> exitValues = new ArrayList<>();
+
+    /**
+     * Constructor.
+     *
+     * @param series        the bar series
+     * @param tradingRecord the trading record
+     */
+    public CashFlowIndicator(BarSeries series, TradingRecord tradingRecord) {
+        super(series);
+        this.tradingRecord = tradingRecord;
+    }
+
+    @Override
+    public Num getValue(int index) {
+        if (index <= getBarSeries().getBeginIndex()) {
+            return one();
+        }
+        final List<Position> positions = tradingRecord.getPositions();
+        for (int i = exitValues.size(); i < positions.size(); i++) {
+            final Position position = positions.get(i);
+            exitValues.add(calculate(position, getEntryValue(i), position.getExit().getIndex()));
+        }
+
+        final int positionIndex = findPosition(positions, index);
+        final Position position = positionIndex < positions.size() ? positions.get(positionIndex)
+                : tradingRecord.getCurrentPosition();
+        if (position.isNew() || position.getEntry().getIndex() >= index) {
+            // no position held at index
+            return getEntryValue(positionIndex);
+        }
+        return calculate(position, getEntryValue(positionIndex), index);
+    }
+
+    /**
+     * @param positionIndex the index of the position within the closed positions
+     *                      (or their number for the current position)
+     * @return the cash flow value at the entry of the position
+     */
+    private Num getEntryValue(int positionIndex) {
+        return positionIndex == 0 ? one() : exitValues.get(positionIndex - 1);
+    }
+
+    /**
+     * @param position   the position
+     * @param entryValue the cash flow value at the entry of the position
+     * @param index      the bar index within the position
+     * @return the cash flow value at {@code index}
+     */
+    private Num calculate(Position position, Num entryValue, int index) {
+        // Trade is not valid if net balance at the entryIndex is negative
+        if (!entryValue.isGreaterThan(zero())) {
+            return entryValue;
+        }
+        final BarSeries series = getBarSeries();
+        final int entryIndex = position.getEntry().getIndex();
+        final boolean isLongTrade = position.getEntry().isBuy();
+        final int finalIndex = position.isClosed() ? position.getExit().getIndex() : index;
+        final int endIndex = CashFlow.determineEndIndex(position, finalIndex, series.getEndIndex());
+        final Num holdingCost = position.getHoldingCost(endIndex);
+        final Num avgCost = holdingCost.dividedBy(holdingCost.numOf(endIndex - entryIndex));
+
+        final Num price;
+        if (position.isClosed() && index >= endIndex) {
+            price = position.getExit().getNetPrice();
+        } else {
+            price = series.getBar(index).getClosePrice();
+        }
+        final Num ratio = CashFlow.getIntermediateRatio(isLongTrade, position.getEntry().getNetPrice(),
+                CashFlow.addCost(price, avgCost, isLongTrade));
+        return entryValue.multipliedBy(ratio);
+    }
+
+    /**
+     * @param positions the closed positions
+     * @param index     the bar index
+     * @return the index of the first closed position not exited before
+     *         {@code index} (or the number of closed positions if there is none)
+     */
+    private static int findPosition(List<Position> positions, int index) {
+        // the closed positions are ordered by their exit index
+        int low = 0;
+        int high = positions.size() - 1;
+        while (low <= high) {
+            final int middle = (low + high) >>> 1;
+            if (positions.get(middle).getExit().getIndex() < index) {
+                low = middle + 1;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return low;
+    }
+
+    /** @return the trading record */
+    TradingRecord getTradingRecord() {
+        return tradingRecord;
+    }
+
+    @Override
+    public int getUnstableBars() {
+        return 0;
+    }
+}
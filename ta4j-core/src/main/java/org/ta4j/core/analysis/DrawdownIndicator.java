@@ -0,0 +1,111 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017-2023 Ta4j Organization & respective
+ * authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.analysis;
+
+import org.ta4j.core.BarSeries;
+import org.ta4j.core.Indicator;
+import org.ta4j.core.TradingRecord;
+import org.ta4j.core.num.Num;
+
+/**
+ * Drawdown of a trading record, returned in decimal format.
+ *
+ * <p>
+ * The drawdown at an index is the loss of the {@link CashFlowIndicator cash
+ * flow} relative to its running peak:
+ *
+ * <pre>
+ * DD = (PV - V) / PV
+ * with PV: Peak value (highest cash flow value up to the index).
+ * with V: Cash flow value at the index.
+ * </pre>
+ *
+ * The running peak is maintained incrementally, i.e. the drawdown can be
+ * followed bar by bar (e.g. by a risk rule in live trading).
+ *
+ * @see MaximumDrawdownIndicator
+ */
+public class DrawdownIndicator extends AbstractTradingRecordIndicator {
+
+    private final Indicator<Num> cashFlow;
+    private final Indicator<Num> peak;
+
+    /**
+     * Constructor.
+     *
+     * @param series        the bar series
+     * @param tradingRecord the trading record
+     */
+    public DrawdownIndicator(BarSeries series, TradingRecord tradingRecord) {
+        this(new CashFlowIndicator(series, tradingRecord));
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param cashFlow the cash flow
+     */
+    public DrawdownIndicator(CashFlowIndicator cashFlow) {
+        super(cashFlow.getBarSeries(), cashFlow.getTradingRecord());
+        this.cashFlow = cashFlow;
+        this.peak = new RunningPeakIndicator(cashFlow);
+    }
+
+    @Override
+    protected Num calculate(int index) {
+        final Num peakValue = peak.getValue(index);
+        return peakValue.minus(cashFlow.getValue(index)).dividedBy(peakValue);
+    }
+
+    @Override
+    public int getUnstableBars() {
+        return 0;
+    }
+
+    /**
+     * The highest value of an indicator from the begin of the series, starting with
+     * zero.
+     */
+    private static class RunningPeakIndicator extends AbstractTradingRecordIndicator {
+
+        private final Indicator<Num> indicator;
+
+        private RunningPeakIndicator(CashFlowIndicator indicator) {
+            super(indicator.getBarSeries(), indicator.getTradingRecord());
+            this.indicator = indicator;
+        }
+
+        @Override
+        protected Num calculate(int index) {
+            final Num previousPeak = index <= getBarSeries().getBeginIndex() ? zero() : getValue(index - 1);
+            final Num value = indicator.getValue(index);
+            return value.isGreaterThan(previousPeak) ? value : previousPeak;
+        }
+
+        @Override
+        public int getUnstableBars() {
+            return 0;
+        }
+    }
+}
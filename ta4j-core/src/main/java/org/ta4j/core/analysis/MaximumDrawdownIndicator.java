@@ -0,0 +1,80 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017-2023 Ta4j Organization & respective
+ * authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.analysis;
+
+import org.ta4j.core.BarSeries;
+import org.ta4j.core.Indicator;
+import org.ta4j.core.TradingRecord;
+import org.ta4j.core.num.Num;
+
+/**
+ * Maximum drawdown of a trading record up to an index, returned in decimal
+ * format.
+ *
+ * <p>
+ * The streaming counterpart of the
+ * {@link org.ta4j.core.criteria.MaximumDrawdownCriterion
+ * MaximumDrawdownCriterion}: the running maximum of the
+ * {@link DrawdownIndicator drawdown} is maintained incrementally while bars and
+ * positions arrive.
+ */
+public class MaximumDrawdownIndicator extends AbstractTradingRecordIndicator {
+
+    private final Indicator<Num> drawdown;
+
+    /**
+     * Constructor.
+     *
+     * @param series        the bar series
+     * @param tradingRecord the trading record
+     */
+    public MaximumDrawdownIndicator(BarSeries series, TradingRecord tradingRecord) {
+        this(new DrawdownIndicator(series, tradingRecord));
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param drawdown the drawdown
+     */
+    public MaximumDrawdownIndicator(DrawdownIndicator drawdown) {
+        super(drawdown.getBarSeries(), drawdown.getTradingRecord());
+        this.drawdown = drawdown;
+    }
+
+    @Override
+    protected Num calculate(int index) {
+        final Num value = drawdown.getValue(index);
+        if (index <= getBarSeries().getBeginIndex()) {
+            return value;
+        }
+        final Num previousMaximum = getValue(index - 1);
+        return value.isGreaterThan(previousMaximum) ? value : previousMaximum;
+    }
+
+    @Override
+    public int getUnstableBars() {
+        return 0;
+    }
+}
@@ -23,7 +23,6 @@
  */
 package org.ta4j.core.analysis;
 
-import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
@@ -36,6 +35,13 @@ import org.ta4j.core.num.Num;
 
 /**
  * Allows to compute the return rate of a price time-series.
+ *
+ * <p>
+ * The return rates are backed by a primitive array if the bar series uses
+ * {@link org.ta4j.core.num.DoubleNum DoubleNum}. The order statistics of the
+ * return rates ({@link #getSmallestReturn(int)},
+ * {@link #getSumOfSmallestReturns(int)}) are selected in O(n) without sorting;
+ * the partially ordered return rates are reused by further queries.
  */
 public class Returns implements Indicator<Num> {
 
@@ -51,7 +57,7 @@ public class Returns implements Indicator<Num> {
             @Override
             public Num calculate(Num xNew, Num xOld) {
                 // r_i = P_i/P_(i-1) - 1
-                return xNew.dividedBy(xOld).minus(one);
+                return xNew.dividedBy(xOld).minus(xNew.one());
             }
         };
 
@@ -67,10 +73,7 @@ public class Returns implements Indicator<Num> {
     private final BarSeries barSeries;
 
     /** The return rates. */
-    private final List<Num> values;
-
-    /** Unit element for efficient arithmetic return computation. */
-    private static Num one;
+    private final ValueArray values;
 
     /**
      * Constructor.
@@ -80,11 +83,11 @@ public class Returns implements Indicator<Num> {
      * @param type      the ReturnType
      */
     public Returns(BarSeries barSeries, Position position, ReturnType type) {
-        one = barSeries.one();
         this.barSeries = barSeries;
         this.type = type;
         // at index 0, there is no return
-        values = new ArrayList<>(Collections.singletonList(NaN.NaN));
+        values = ValueArray.create(barSeries, Math.max(barSeries.getEndIndex(), 0) + 1);
+        values.add(NaN.NaN);
         calculate(position, barSeries.getEndIndex());
 
         fillToTheEnd(barSeries.getEndIndex());
@@ -98,21 +101,21 @@ public class Returns implements Indicator<Num> {
      * @param type          the ReturnType
      */
     public Returns(BarSeries barSeries, TradingRecord tradingRecord, ReturnType type) {
-        one = barSeries.one();
         this.barSeries = barSeries;
         this.type = type;
         // at index 0, there is no return
-        values = new ArrayList<>(Collections.singletonList(NaN.NaN));
+        values = ValueArray.create(barSeries, Math.max(barSeries.getEndIndex(), 0) + 1);
+        values.add(NaN.NaN);
         calculate(tradingRecord);
 
         fillToTheEnd(tradingRecord.getEndIndex(barSeries));
     }
 
     /**
-     * @return the return rates
+     * @return the return rates (unmodifiable)
      */
     public List<Num> getValues() {
-        return values;
+        return Collections.unmodifiableList(values);
     }
 
     /**
@@ -146,6 +149,24 @@ public class Returns implements Indicator<Num> {
         return barSeries.getBarCount() - 1;
     }
 
+    /**
+     * @param k the rank (1-based), within [1, {@link #getSize()}]
+     * @return the {@code k}-th smallest return rate (from index 1 on, as there is
+     *         no return at index 0)
+     */
+    public Num getSmallestReturn(int k) {
+        return values.select(1, getSize() + 1, k - 1);
+    }
+
+    /**
+     * @param k the number of return rates, within [1, {@link #getSize()}]
+     * @return the sum of the {@code k} smallest return rates (from index 1 on, as
+     *         there is no return at index 0)
+     */
+    public Num getSumOfSmallestReturns(int k) {
+        return values.sumOfSmallest(1, getSize() + 1, k);
+    }
+
     /**
      * Calculates the cash flow for a single position (including accrued cashflow
      * for open positions).
@@ -161,7 +182,7 @@ public class Returns implements Indicator<Num> {
         final int entryIndex = position.getEntry().getIndex();
         int begin = entryIndex + 1;
         if (begin > values.size()) {
-            values.addAll(Collections.nCopies(begin - values.size(), barSeries.zero()));
+            values.fill(begin, barSeries.zero());
         }
 
         int startingIndex = Math.max(begin, 1);
@@ -223,7 +244,7 @@ public class Returns implements Indicator<Num> {
      */
     private void fillToTheEnd(int endIndex) {
         if (endIndex >= values.size()) {
-            values.addAll(Collections.nCopies(barSeries.getEndIndex() - values.size() + 1, barSeries.zero()));
+            values.fill(barSeries.getEndIndex() + 1, barSeries.zero());
         }
     }
 }
\ No newline at end of file
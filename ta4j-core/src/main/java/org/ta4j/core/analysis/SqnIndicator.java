@@ -0,0 +1,172 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017-2023 Ta4j Organization & respective
+ * authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.analysis;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.ta4j.core.AnalysisCriterion;
+import org.ta4j.core.BarSeries;
+import org.ta4j.core.Position;
+import org.ta4j.core.TradingRecord;
+import org.ta4j.core.criteria.pnl.ProfitLossCriterion;
+import org.ta4j.core.num.Num;
+
+/**
+ * The SQN ("System Quality Number") of the positions of a trading record closed
+ * up to an index.
+ *
+ * <p>
+ * The streaming counterpart of the {@link org.ta4j.core.criteria.SqnCriterion
+ * SqnCriterion}: the mean of the criterion values and the sum of their squared
+ * deviations from the mean are updated once per position as positions close
+ * (with Welford's algorithm, which avoids the catastrophic cancellation of a
+ * sum of squares), so that the SQN at an index is calculated in O(log(number of
+ * positions)).
+ *
+ * <p>
+ * The average is the mean of the criterion values of the positions. Thus, the
+ * SQN equals the one of the {@code SqnCriterion} only for criteria whose value
+ * of a trading record is the sum of the values of its positions (e.g.
+ * {@link ProfitLossCriterion} or
+ * {@link org.ta4j.core.criteria.pnl.ProfitLossPercentageCriterion
+ * ProfitLossPercentageCriterion}), but not for others (e.g.
+ * {@link org.ta4j.core.criteria.ExpectancyCriterion ExpectancyCriterion}).
+ *
+ * @see <a href=
+ *      "https://indextrader.com.au/van-tharps-sqn/">https://indextrader.com.au/van-tharps-sqn/</a>
+ */
+public class SqnIndicator extends AbstractTradingRecordIndicator {
+
+    private final AnalysisCriterion criterion;
+
+    /**
+     * The number to be used for the part of {@code √(numberOfPositions)} within the
+     * SQN-Formula when there are more than 100 trades. If this value is
+     * {@code null}, then the number of closed positions is used instead.
+     */
+    private final Integer nPositions;
+
+    /** The means of the criterion values of the first positions. */
+    private final List<Num> means = new ArrayList<>();
+
+    /**
+     * The sums of the squared deviations of the criterion values of the first
+     * positions from their mean.
+     */
+    private final List<Num> m2s = new ArrayList<>();
+
+    /**
+     * Constructor with {@code criterion} = {@link ProfitLossCriterion}.
+     *
+     * @param series        the bar series
+     * @param tradingRecord the trading record
+     */
+    public SqnIndicator(BarSeries series, TradingRecord tradingRecord) {
+        this(series, tradingRecord, new ProfitLossCriterion(), null);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param series        the bar series
+     * @param tradingRecord the trading record
+     * @param criterion     the criterion of a position, whose value of a trading
+     *                      record is the sum of the values of its positions (e.g.
+     *                      ProfitLossCriterion or ProfitLossPercentageCriterion)
+     * @param nPositions    the {@link #nPositions} (optional)
+     */
+    public SqnIndicator(BarSeries series, TradingRecord tradingRecord, AnalysisCriterion criterion,
+            Integer nPositions) {
+        super(series, tradingRecord);
+        this.criterion = criterion;
+        this.nPositions = nPositions;
+    }
+
+    @Override
+    protected Num calculate(int index) {
+        final int count = countClosedPositions(index);
+        if (count == 0) {
+            return zero();
+        }
+        accumulate(count);
+
+        Num numberOfPositions = numOf(count);
+        final Num average = means.get(count - 1);
+        final Num variance = m2s.get(count - 1).dividedBy(numberOfPositions);
+        if (!variance.isGreaterThan(zero())) {
+            return zero();
+        }
+        if (nPositions != null && numberOfPositions.isGreaterThan(hundred())) {
+            numberOfPositions = numOf(nPositions);
+        }
+        // SQN = (Average (PnL) / StdDev(PnL)) * SquareRoot(NumberOfTrades)
+        return average.dividedBy(variance.sqrt()).multipliedBy(numberOfPositions.sqrt());
+    }
+
+    /**
+     * @param index the bar index
+     * @return the number of positions closed up to {@code index}
+     */
+    private int countClosedPositions(int index) {
+        // the closed positions are ordered by their exit index
+        final List<Position> positions = getTradingRecord().getPositions();
+        int low = 0;
+        int high = positions.size() - 1;
+        while (low <= high) {
+            final int middle = (low + high) >>> 1;
+            if (positions.get(middle).getExit().getIndex() <= index) {
+                low = middle + 1;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Accumulates the criterion values of the first {@code count} positions.
+     */
+    private void accumulate(int count) {
+        final List<Position> positions = getTradingRecord().getPositions();
+        for (int i = means.size(); i < count; i++) {
+            final Num value = criterion.calculate(getBarSeries(), positions.get(i));
+            if (i == 0) {
+                means.add(value);
+                m2s.add(zero());
+                continue;
+            }
+            final Num mean = means.get(i - 1);
+            final Num delta = value.minus(mean);
+            final Num newMean = mean.plus(delta.dividedBy(numOf(i + 1)));
+            means.add(newMean);
+            m2s.add(m2s.get(i - 1).plus(delta.multipliedBy(value.minus(newMean))));
+        }
+    }
+
+    @Override
+    public int getUnstableBars() {
+        return 0;
+    }
+}
@@ -0,0 +1,392 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017-2023 Ta4j Organization & respective
+ * authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.analysis;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.RandomAccess;
+
+import org.ta4j.core.BarSeries;
+import org.ta4j.core.num.DoubleNum;
+import org.ta4j.core.num.NaN;
+import org.ta4j.core.num.Num;
+
+/**
+ * A growable sequence of values of an analysis (e.g. a {@link CashFlow} or
+ * {@link Returns}), backed by a primitive array if the bar series uses
+ * {@link DoubleNum} and by an array of {@link Num} otherwise.
+ *
+ * <p>
+ * Besides the list operations, it provides order statistics over a range of
+ * values ({@link #select(int, int, int)},
+ * {@link #sumOfSmallest(int, int, int)}) in O(n) based on a quickselect. The
+ * partially ordered copy of the range is kept between the queries, so that
+ * further queries (e.g. quantiles at several confidence levels) do not copy the
+ * values again.
+ *
+ * <p>
+ * This class is not thread-safe.
+ */
+abstract class ValueArray extends AbstractList<Num> implements RandomAccess {
+
+    /** The number of values. */
+    protected int size = 0;
+
+    /** The range of the values copied to the selection buffer. */
+    private int selectionFrom = -1;
+    private int selectionTo = -1;
+
+    /** The {@link #modCount} of the values copied to the selection buffer. */
+    private int selectionModCount = -1;
+
+    /**
+     * @param series   the bar series
+     * @param capacity the initial capacity
+     * @return a value array for the num type of the series
+     */
+    static ValueArray create(BarSeries series, int capacity) {
+        if (series.num() instanceof DoubleNum) {
+            return new DoubleArray(capacity);
+        }
+        return new NumArray(capacity);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Num get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException(String.format("Index: %s, Size: %s", index, size));
+        }
+        return valueAt(index);
+    }
+
+    @Override
+    public boolean add(Num value) {
+        ensureCapacity(size + 1);
+        set(size++, value, 1);
+        modCount++;
+        return true;
+    }
+
+    /**
+     * Pads the values with the last value up until {@code size}.
+     *
+     * @param size the new size
+     */
+    void fill(int size) {
+        fill(size, get(this.size - 1));
+    }
+
+    /**
+     * Pads the values with {@code value} up until {@code size}.
+     *
+     * @param size  the new size
+     * @param value the padding value
+     */
+    void fill(int size, Num value) {
+        if (size > this.size) {
+            ensureCapacity(size);
+            set(this.size, value, size - this.size);
+            this.size = size;
+            modCount++;
+        }
+    }
+
+    /**
+     * Removes the values from {@code size} on.
+     *
+     * @param size the new size
+     */
+    void truncate(int size) {
+        if (size < this.size) {
+            clear(size, this.size);
+            this.size = size;
+            modCount++;
+        }
+    }
+
+    /**
+     * @param from the first index of the range (inclusive)
+     * @param to   the last index of the range (exclusive)
+     * @param k    the rank (0-based)
+     * @return the {@code k}-th smallest value of the range
+     */
+    Num select(int from, int to, int k) {
+        prepareSelection(from, to, k);
+        return selectedAt(k);
+    }
+
+    /**
+     * @param from the first index of the range (inclusive)
+     * @param to   the last index of the range (exclusive)
+     * @param k    the number of values to sum up, at least 1
+     * @return the sum of the {@code k} smallest values of the range
+     */
+    Num sumOfSmallest(int from, int to, int k) {
+        prepareSelection(from, to, k - 1);
+        return sumOfSelected(k);
+    }
+
+    /**
+     * Partially orders the selection buffer of the range so that the {@code k}-th
+     * smallest value is at position {@code k}, all smaller or equal values before
+     * and all greater or equal values after it.
+     */
+    private void prepareSelection(int from, int to, int k) {
+        if (from < 0 || to > size || k < 0 || k >= to - from) {
+            throw new IndexOutOfBoundsException(String.format("from: %s, to: %s, k: %s, size: %s", from, to, k, size));
+        }
+        if (from != selectionFrom || to != selectionTo || modCount != selectionModCount) {
+            copyToSelection(from, to);
+            selectionFrom = from;
+            selectionTo = to;
+            selectionModCount = modCount;
+        }
+        int left = 0;
+        int right = to - from - 1;
+        while (left < right) {
+            // median of three as pivot
+            final int middle = (left + right) >>> 1;
+            if (compareSelected(middle, left) < 0) {
+                swapSelected(middle, left);
+            }
+            if (compareSelected(right, left) < 0) {
+                swapSelected(right, left);
+            }
+            if (compareSelected(right, middle) < 0) {
+                swapSelected(right, middle);
+            }
+            setPivot(middle);
+
+            // three-way partition, as analyses often contain many equal values
+            int lower = left;
+            int i = left;
+            int upper = right;
+            while (i <= upper) {
+                final int comparison = compareToPivot(i);
+                if (comparison < 0) {
+                    swapSelected(lower++, i++);
+                } else if (comparison > 0) {
+                    swapSelected(i, upper--);
+                } else {
+                    i++;
+                }
+            }
+            if (k < lower) {
+                right = lower - 1;
+            } else if (k > upper) {
+                left = upper + 1;
+            } else {
+                return;
+            }
+        }
+    }
+
+    protected abstract Num valueAt(int index);
+
+    /** Sets {@code count} values from {@code index} on to {@code value}. */
+    protected abstract void set(int index, Num value, int count);
+
+    /** Releases the values of the range. */
+    protected abstract void clear(int from, int to);
+
+    protected abstract void ensureCapacity(int capacity);
+
+    protected abstract void copyToSelection(int from, int to);
+
+    protected abstract Num selectedAt(int position);
+
+    protected abstract Num sumOfSelected(int count);
+
+    protected abstract int compareSelected(int position1, int position2);
+
+    protected abstract void swapSelected(int position1, int position2);
+
+    protected abstract void setPivot(int position);
+
+    protected abstract int compareToPivot(int position);
+
+    /**
+     * Values backed by an array of {@link Num}.
+     */
+    private static final class NumArray extends ValueArray {
+
+        private Num[] values;
+        private Num[] selection;
+        private Num pivot;
+
+        private NumArray(int capacity) {
+            this.values = new Num[Math.max(capacity, 1)];
+        }
+
+        @Override
+        protected Num valueAt(int index) {
+            return values[index];
+        }
+
+        @Override
+        protected void set(int index, Num value, int count) {
+            Arrays.fill(values, index, index + count, value);
+        }
+
+        @Override
+        protected void clear(int from, int to) {
+            Arrays.fill(values, from, to, null);
+        }
+
+        @Override
+        protected void ensureCapacity(int capacity) {
+            if (capacity > values.length) {
+                values = Arrays.copyOf(values, Math.max(capacity, values.length + (values.length >> 1)));
+            }
+        }
+
+        @Override
+        protected void copyToSelection(int from, int to) {
+            selection = Arrays.copyOfRange(values, from, to);
+        }
+
+        @Override
+        protected Num selectedAt(int position) {
+            return selection[position];
+        }
+
+        @Override
+        protected Num sumOfSelected(int count) {
+            Num sum = selection[0];
+            for (int i = 1; i < count; i++) {
+                sum = sum.plus(selection[i]);
+            }
+            return sum;
+        }
+
+        @Override
+        protected int compareSelected(int position1, int position2) {
+            return selection[position1].compareTo(selection[position2]);
+        }
+
+        @Override
+        protected void swapSelected(int position1, int position2) {
+            final Num value = selection[position1];
+            selection[position1] = selection[position2];
+            selection[position2] = value;
+        }
+
+        @Override
+        protected void setPivot(int position) {
+            pivot = selection[position];
+        }
+
+        @Override
+        protected int compareToPivot(int position) {
+            return selection[position].compareTo(pivot);
+        }
+    }
+
+    /**
+     * Values of {@link DoubleNum} backed by a primitive array. {@link NaN} is
+     * stored as {@link Double#NaN}.
+     */
+    private static final class DoubleArray extends ValueArray {
+
+        private double[] values;
+        private double[] selection;
+        private double pivot;
+
+        private DoubleArray(int capacity) {
+            this.values = new double[Math.max(capacity, 1)];
+        }
+
+        @Override
+        protected Num valueAt(int index) {
+            return toNum(values[index]);
+        }
+
+        @Override
+        protected void set(int index, Num value, int count) {
+            Arrays.fill(values, index, index + count, value.isNaN() ? Double.NaN : value.doubleValue());
+        }
+
+        @Override
+        protected void clear(int from, int to) {
+            // nothing to release
+        }
+
+        @Override
+        protected void ensureCapacity(int capacity) {
+            if (capacity > values.length) {
+                values = Arrays.copyOf(values, Math.max(capacity, values.length + (values.length >> 1)));
+            }
+        }
+
+        @Override
+        protected void copyToSelection(int from, int to) {
+            selection = Arrays.copyOfRange(values, from, to);
+        }
+
+        @Override
+        protected Num selectedAt(int position) {
+            return toNum(selection[position]);
+        }
+
+        @Override
+        protected Num sumOfSelected(int count) {
+            double sum = 0;
+            for (int i = 0; i < count; i++) {
+                sum += selection[i];
+            }
+            return toNum(sum);
+        }
+
+        @Override
+        protected int compareSelected(int position1, int position2) {
+            return Double.compare(selection[position1], selection[position2]);
+        }
+
+        @Override
+        protected void swapSelected(int position1, int position2) {
+            final double value = selection[position1];
+            selection[position1] = selection[position2];
+            selection[position2] = value;
+        }
+
+        @Override
+        protected void setPivot(int position) {
+            pivot = selection[position];
+        }
+
+        @Override
+        protected int compareToPivot(int position) {
+            return Double.compare(selection[position], pivot);
+        }
+
+        private static Num toNum(double value) {
+            return Double.isNaN(value) ? NaN.NaN : DoubleNum.valueOf(value);
+        }
+    }
+}
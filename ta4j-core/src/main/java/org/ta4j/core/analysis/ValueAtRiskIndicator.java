@@ -0,0 +1,71 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017-2023 Ta4j Organization & respective
+ * authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.analysis;
+
+import org.ta4j.core.BarSeries;
+import org.ta4j.core.TradingRecord;
+import org.ta4j.core.num.Num;
+
+/**
+ * Value at Risk over a sliding window of the log returns of the cash flow of a
+ * trading record, returned in decimal format.
+ *
+ * <p>
+ * The streaming counterpart of the
+ * {@link org.ta4j.core.criteria.ValueAtRiskCriterion ValueAtRiskCriterion},
+ * e.g. to drive a risk rule in live trading.
+ *
+ * @see <a href=
+ *      "https://en.wikipedia.org/wiki/Value_at_risk">https://en.wikipedia.org/wiki/Value_at_risk</a>
+ */
+public class ValueAtRiskIndicator extends AbstractTailRiskIndicator {
+
+    /**
+     * Constructor.
+     *
+     * @param series        the bar series
+     * @param tradingRecord the trading record
+     * @param barCount      the number of returns of the window
+     * @param confidence    the confidence level (e.g. 0.95)
+     */
+    public ValueAtRiskIndicator(BarSeries series, TradingRecord tradingRecord, int barCount, double confidence) {
+        this(new CashFlowIndicator(series, tradingRecord), barCount, confidence);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param cashFlow   the cash flow
+     * @param barCount   the number of returns of the window
+     * @param confidence the confidence level (e.g. 0.95)
+     */
+    public ValueAtRiskIndicator(CashFlowIndicator cashFlow, int barCount, double confidence) {
+        super(cashFlow, barCount, confidence);
+    }
+
+    @Override
+    protected Num calculate(Num current, int rank, int tailLength) {
+        return getSmallest(tailLength - 1, current, rank);
+    }
+}
@@ -24,14 +24,20 @@
 package org.ta4j.core.backtest;
 
 import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Flow;
 import java.util.stream.Collectors;
 
+import org.ta4j.core.AnalysisCriterion;
 import org.ta4j.core.BarSeries;
 import org.ta4j.core.Strategy;
 import org.ta4j.core.Trade;
 import org.ta4j.core.TradingRecord;
 import org.ta4j.core.analysis.cost.CostModel;
 import org.ta4j.core.analysis.cost.ZeroCostModel;
+import org.ta4j.core.criteria.AnalysisContext;
+import org.ta4j.core.criteria.CriteriaEvaluator;
 import org.ta4j.core.num.Num;
 import org.ta4j.core.reports.TradingStatement;
 import org.ta4j.core.reports.TradingStatementGenerator;
@@ -109,9 +115,94 @@ public class BacktestExecutor {
      * @return a list of TradingStatements
      */
     public List<TradingStatement> execute(List<Strategy> strategies, Num amount, Trade.TradeType tradeType) {
-        return strategies.parallelStream().map(strategy -> {
+        return strategies.parallelStream()
+                .map(strategy -> generateStatement(strategy, amount, tradeType))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Executes given strategies on {@code executorService} and streams the trading
+     * statements to {@code subscriber} as they are generated (i.e. without
+     * collecting them).
+     *
+     * <p>
+     * The strategies are executed in chunks of {@code chunkSize} strategies, each
+     * chunk being one task of the executor service. The statements are signalled
+     * serially (in completion order), as requested by the subscriber: the executing
+     * threads wait as long as there is no outstanding demand. The subscriber is
+     * completed when all strategies are executed, or receives a
+     * {@link java.util.concurrent.CancellationException CancellationException} if
+     * the returned task is cancelled.
+     *
+     * @param strategies      the strategies
+     * @param amount          the amount used to open/close the position
+     * @param tradeType       the {@link Trade.TradeType} used to open the position
+     * @param executorService the executor service executing the chunks
+     * @param chunkSize       the number of strategies per chunk
+     * @param subscriber      the subscriber of the trading statements
+     * @return the running task
+     */
+    public BacktestTask execute(List<Strategy> strategies, Num amount, Trade.TradeType tradeType,
+            ExecutorService executorService, int chunkSize, Flow.Subscriber<? super TradingStatement> subscriber) {
+        final StatementPublisher publisher = new StatementPublisher(subscriber);
+        final BacktestTask task = new BacktestTask(strategies, chunkSize,
+                strategy -> publisher.publish(generateStatement(strategy, amount, tradeType)), publisher::terminate,
+                publisher::finish);
+        publisher.subscribe(task);
+        task.start(executorService);
+        return task;
+    }
+
+    /**
+     * Executes given strategies on {@code executorService} and returns the
+     * {@code count} best trading statements according to {@code criterion}.
+     *
+     * <p>
+     * Only the best statements are kept in memory during the execution. The
+     * strategies are executed in chunks of {@code chunkSize} strategies, each chunk
+     * being one task of the executor service.
+     *
+     * @param strategies      the strategies
+     * @param amount          the amount used to open/close the position
+     * @param tradeType       the {@link Trade.TradeType} used to open the position
+     * @param executorService the executor service executing the chunks
+     * @param chunkSize       the number of strategies per chunk
+     * @param criterion       the criterion to rate the strategies
+     * @param count           the number of statements to return
+     * @return the best trading statements (the best one first)
+     * @throws InterruptedException if the current thread was interrupted while
+     *                              waiting (the execution is then cancelled)
+     * @throws CompletionException  if the execution of a strategy failed
+     */
+    public List<TradingStatement> executeAndKeepBest(List<Strategy> strategies, Num amount, Trade.TradeType tradeType,
+            ExecutorService executorService, int chunkSize, AnalysisCriterion criterion, int count)
+            throws InterruptedException {
+        final BarSeries series = seriesManager.getBarSeries();
+        final BestStatements bestStatements = new BestStatements(criterion, count);
+        final BacktestTask task = new BacktestTask(strategies, chunkSize, strategy -> {
             TradingRecord tradingRecord = seriesManager.run(strategy, tradeType, amount);
-            return tradingStatementGenerator.generate(strategy, tradingRecord, seriesManager.getBarSeries());
-        }).collect(Collectors.toList());
+            // the statement and the criterion share the analyses of the trading record
+            AnalysisContext context = new AnalysisContext(series, tradingRecord);
+            bestStatements.offer(tradingStatementGenerator.generate(strategy, context),
+                    CriteriaEvaluator.calculate(criterion, context));
+        }, () -> {
+        }, () -> {
+        });
+        task.start(executorService);
+        try {
+            task.await();
+        } catch (InterruptedException e) {
+            task.cancel();
+            throw e;
+        }
+        if (task.getFailure() != null) {
+            throw new CompletionException(task.getFailure());
+        }
+        return bestStatements.getStatements();
+    }
+
+    private TradingStatement generateStatement(Strategy strategy, Num amount, Trade.TradeType tradeType) {
+        TradingRecord tradingRecord = seriesManager.run(strategy, tradeType, amount);
+        return tradingStatementGenerator.generate(strategy, tradingRecord, seriesManager.getBarSeries());
     }
 }
@@ -0,0 +1,232 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017-2023 Ta4j Organization & respective
+ * authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.backtest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import org.ta4j.core.Strategy;
+
+/**
+ * A running execution of a {@link BacktestExecutor}.
+ *
+ * <p>
+ * The strategies are split into chunks, which are executed by the tasks of an
+ * {@link ExecutorService}. The task allows to follow the progress of the
+ * execution, to cancel it (the strategies being executed are finished, the
+ * pending ones are skipped) and to wait for its termination.
+ */
+public class BacktestTask {
+
+    private final List<List<Strategy>> chunks;
+    private final int strategyCount;
+    private final Consumer<Strategy> action;
+    private final Runnable stopHook;
+    private final Runnable doneHook;
+
+    private final AtomicInteger completedStrategyCount = new AtomicInteger();
+    private final AtomicInteger remainingChunkCount;
+    private final AtomicBoolean stopped = new AtomicBoolean();
+    private final CountDownLatch done = new CountDownLatch(1);
+
+    private volatile boolean cancelled;
+    private volatile Throwable failure;
+
+    /**
+     * Constructor.
+     *
+     * @param strategies the strategies to execute
+     * @param chunkSize  the number of strategies executed by one task of the
+     *                   executor service
+     * @param action     the execution of a strategy
+     * @param stopHook   called (once) when the execution is cancelled or failed
+     * @param doneHook   called (once) when all chunks are finished or skipped
+     */
+    BacktestTask(List<Strategy> strategies, int chunkSize, Consumer<Strategy> action, Runnable stopHook,
+            Runnable doneHook) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("chunkSize must be strictly positive");
+        }
+        this.chunks = new ArrayList<>();
+        for (int from = 0; from < strategies.size(); from += chunkSize) {
+            chunks.add(strategies.subList(from, Math.min(from + chunkSize, strategies.size())));
+        }
+        this.strategyCount = strategies.size();
+        this.action = action;
+        this.stopHook = stopHook;
+        this.doneHook = doneHook;
+        this.remainingChunkCount = new AtomicInteger(chunks.size());
+    }
+
+    /**
+     * Submits the chunks to {@code executorService}.
+     *
+     * @param executorService the executor service
+     */
+    void start(ExecutorService executorService) {
+        if (chunks.isEmpty()) {
+            finish();
+            return;
+        }
+        for (List<Strategy> chunk : chunks) {
+            if (stopped.get()) {
+                chunkDone();
+                continue;
+            }
+            try {
+                executorService.execute(() -> runChunk(chunk));
+            } catch (RejectedExecutionException e) {
+                fail(e);
+                chunkDone();
+            }
+        }
+    }
+
+    private void runChunk(List<Strategy> chunk) {
+        try {
+            for (Strategy strategy : chunk) {
+                if (stopped.get()) {
+                    break;
+                }
+                action.accept(strategy);
+                completedStrategyCount.incrementAndGet();
+            }
+        } catch (RuntimeException | Error e) {
+            fail(e);
+        } finally {
+            chunkDone();
+        }
+    }
+
+    private void chunkDone() {
+        if (remainingChunkCount.decrementAndGet() == 0) {
+            finish();
+        }
+    }
+
+    private void finish() {
+        try {
+            doneHook.run();
+        } finally {
+            done.countDown();
+        }
+    }
+
+    /**
+     * Cancels the execution: the strategies being executed are finished, the
+     * pending ones are skipped.
+     *
+     * @return false if the execution was already stopped
+     */
+    public boolean cancel() {
+        if (stopped.compareAndSet(false, true)) {
+            cancelled = true;
+            stopHook.run();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Stops the execution after a failure.
+     *
+     * @param throwable the failure
+     */
+    void fail(Throwable throwable) {
+        if (stopped.compareAndSet(false, true)) {
+            failure = throwable;
+            stopHook.run();
+        }
+    }
+
+    /**
+     * Stops the execution without cancelling nor failing it (e.g. if the results
+     * are not needed anymore).
+     */
+    void stop() {
+        if (stopped.compareAndSet(false, true)) {
+            stopHook.run();
+        }
+    }
+
+    /**
+     * Waits until the execution is done.
+     *
+     * @throws InterruptedException if the current thread was interrupted while
+     *                              waiting
+     */
+    public void await() throws InterruptedException {
+        done.await();
+    }
+
+    /**
+     * Waits until the execution is done or the {@code timeout} elapsed.
+     *
+     * @param timeout the maximum time to wait
+     * @param unit    the time unit of {@code timeout}
+     * @return true if the execution is done
+     * @throws InterruptedException if the current thread was interrupted while
+     *                              waiting
+     */
+    public boolean await(long timeout, TimeUnit unit) throws InterruptedException {
+        return done.await(timeout, unit);
+    }
+
+    /** @return true if all chunks are finished (or skipped) */
+    public boolean isDone() {
+        return done.getCount() == 0;
+    }
+
+    /** @return true if the execution has been cancelled */
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /** @return the exception thrown by the execution of a strategy, or null */
+    public Throwable getFailure() {
+        return failure;
+    }
+
+    /** @return the number of strategies to execute */
+    public int getStrategyCount() {
+        return strategyCount;
+    }
+
+    /** @return the number of executed strategies */
+    public int getCompletedStrategyCount() {
+        return completedStrategyCount.get();
+    }
+
+    /** @return the ratio of executed strategies (between 0 and 1) */
+    public double getProgress() {
+        return strategyCount == 0 ? 1 : (double) getCompletedStrategyCount() / strategyCount;
+    }
+}
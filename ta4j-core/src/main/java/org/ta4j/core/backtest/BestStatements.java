@@ -0,0 +1,109 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017-2023 Ta4j Organization & respective
+ * authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.backtest;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.PriorityQueue;
+
+import org.ta4j.core.AnalysisCriterion;
+import org.ta4j.core.num.Num;
+import org.ta4j.core.reports.TradingStatement;
+
+/**
+ * Keeps the {@code count} best trading statements according to an
+ * {@link AnalysisCriterion}.
+ */
+final class BestStatements {
+
+    private final AnalysisCriterion criterion;
+    private final int count;
+
+    /** The kept statements, the worst one first. */
+    private final PriorityQueue<RatedStatement> statements;
+
+    /**
+     * Constructor.
+     *
+     * @param criterion the criterion to rate the statements
+     * @param count     the number of statements to keep
+     */
+    BestStatements(AnalysisCriterion criterion, int count) {
+        if (count < 1) {
+            throw new IllegalArgumentException("count must be strictly positive");
+        }
+        this.criterion = criterion;
+        this.count = count;
+        this.statements = new PriorityQueue<>(Math.min(count, 1024) + 1, this::compare);
+    }
+
+    /**
+     * Offers a statement: it is kept if it is one of the {@code count} best
+     * statements so far.
+     *
+     * @param statement the trading statement
+     * @param value     the value of the criterion for the statement
+     */
+    synchronized void offer(TradingStatement statement, Num value) {
+        if (statements.size() < count) {
+            statements.add(new RatedStatement(statement, value));
+        } else if (criterion.betterThan(value, statements.peek().value)) {
+            statements.poll();
+            statements.add(new RatedStatement(statement, value));
+        }
+    }
+
+    /**
+     * @return the kept statements, the best one first
+     */
+    synchronized List<TradingStatement> getStatements() {
+        List<RatedStatement> sorted = new ArrayList<>(statements);
+        sorted.sort(Collections.reverseOrder(this::compare));
+        List<TradingStatement> result = new ArrayList<>(sorted.size());
+        for (RatedStatement ratedStatement : sorted) {
+            result.add(ratedStatement.statement);
+        }
+        return result;
+    }
+
+    /** Orders the statements from the worst to the best one. */
+    private int compare(RatedStatement first, RatedStatement second) {
+        if (criterion.betterThan(first.value, second.value)) {
+            return 1;
+        }
+        return criterion.betterThan(second.value, first.value) ? -1 : 0;
+    }
+
+    private static final class RatedStatement {
+
+        private final TradingStatement statement;
+        private final Num value;
+
+        private RatedStatement(TradingStatement statement, Num value) {
+            this.statement = statement;
+            this.value = value;
+        }
+    }
+}
@@ -0,0 +1,172 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017-2023 Ta4j Organization & respective
+ * authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.backtest;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.Flow;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.ta4j.core.reports.TradingStatement;
+
+/**
+ * Publishes the trading statements of a {@link BacktestTask} to a
+ * {@link Flow.Subscriber}.
+ *
+ * <p>
+ * The statements are signalled serially, in the order in which they are
+ * generated. The executing threads are blocked as long as the subscriber has no
+ * outstanding demand, so that the statements are never buffered.
+ */
+final class StatementPublisher implements Flow.Subscription {
+
+    private final Flow.Subscriber<? super TradingStatement> subscriber;
+
+    /** Serializes the signals to the subscriber. */
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition demandAvailable = lock.newCondition();
+
+    private BacktestTask task;
+    private long demand = 0;
+
+    /** True if no more statements are published. */
+    private boolean terminated = false;
+
+    /** True if a terminal signal has been sent (or must not be sent). */
+    private boolean closed = false;
+
+    /**
+     * Constructor.
+     *
+     * @param subscriber the subscriber
+     */
+    StatementPublisher(Flow.Subscriber<? super TradingStatement> subscriber) {
+        this.subscriber = subscriber;
+    }
+
+    /**
+     * Subscribes the subscriber to {@code task}.
+     *
+     * @param task the task generating the statements
+     */
+    void subscribe(BacktestTask task) {
+        this.task = task;
+        subscriber.onSubscribe(this);
+    }
+
+    /**
+     * Signals {@code statement} to the subscriber, once it has requested it.
+     *
+     * @param statement the trading statement
+     */
+    void publish(TradingStatement statement) {
+        lock.lock();
+        try {
+            while (demand == 0 && !terminated) {
+                demandAvailable.await();
+            }
+            if (terminated) {
+                return;
+            }
+            if (demand != Long.MAX_VALUE) {
+                demand--;
+            }
+            subscriber.onNext(statement);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            task.cancel();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Stops publishing (wakes up the threads waiting for demand).
+     */
+    void terminate() {
+        lock.lock();
+        try {
+            terminated = true;
+            demandAvailable.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Signals the termination of the task to the subscriber.
+     */
+    void finish() {
+        lock.lock();
+        try {
+            terminated = true;
+            if (closed) {
+                return;
+            }
+            closed = true;
+            if (task.getFailure() != null) {
+                subscriber.onError(task.getFailure());
+            } else if (task.isCancelled()) {
+                subscriber.onError(new CancellationException("Backtest cancelled"));
+            } else {
+                subscriber.onComplete();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void request(long n) {
+        lock.lock();
+        try {
+            if (terminated) {
+                return;
+            }
+            if (n <= 0) {
+                terminated = true;
+                closed = true;
+                demandAvailable.signalAll();
+                subscriber.onError(new IllegalArgumentException("Non-positive request: " + n));
+                task.stop();
+                return;
+            }
+            demand = demand + n < 0 ? Long.MAX_VALUE : demand + n;
+            demandAvailable.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void cancel() {
+        lock.lock();
+        try {
+            closed = true;
+        } finally {
+            lock.unlock();
+        }
+        task.stop();
+    }
+}
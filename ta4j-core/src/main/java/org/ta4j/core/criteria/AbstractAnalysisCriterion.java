@@ -24,12 +24,29 @@
 package org.ta4j.core.criteria;
 
 import org.ta4j.core.AnalysisCriterion;
+import org.ta4j.core.num.Num;
 
 /**
  * An abstract analysis criterion.
  */
 public abstract class AbstractAnalysisCriterion implements AnalysisCriterion {
 
+    /**
+     * Calculates the criterion value for the positions of the context, reusing its
+     * shared analyses (e.g. the cash flow) where possible.
+     *
+     * <p>
+     * By default, delegates to
+     * {@link #calculate(org.ta4j.core.BarSeries, org.ta4j.core.TradingRecord)}.
+     *
+     * @param context the analysis context, not null
+     * @return the criterion value for the positions
+     * @see CriteriaEvaluator
+     */
+    public Num calculate(AnalysisContext context) {
+        return calculate(context.getBarSeries(), context.getTradingRecord());
+    }
+
     @Override
     public String toString() {
         String[] tokens = getClass().getSimpleName().split("(?=\\p{Lu})", -1);
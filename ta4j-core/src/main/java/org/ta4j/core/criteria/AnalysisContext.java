@@ -0,0 +1,117 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017-2023 Ta4j Organization & respective
+ * authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.criteria;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+import org.ta4j.core.BarSeries;
+import org.ta4j.core.TradingRecord;
+import org.ta4j.core.analysis.CashFlow;
+import org.ta4j.core.analysis.Returns;
+import org.ta4j.core.analysis.Returns.ReturnType;
+import org.ta4j.core.num.Num;
+
+/**
+ * The analyses of a {@link TradingRecord trading record} over a
+ * {@link BarSeries bar series} shared between several criteria.
+ *
+ * <p>
+ * The {@link CashFlow cash flow} (i.e. the equity curve), the {@link Returns
+ * returns}, the maximum drawdown and the {@link PositionStatistics position
+ * statistics} are calculated lazily on first use and then reused by all
+ * criteria evaluated against this context, instead of being rebuilt by each
+ * criterion.
+ *
+ * <p>
+ * The shared analyses must not be modified. This class is not thread-safe.
+ *
+ * @see CriteriaEvaluator
+ */
+public class AnalysisContext {
+
+    private final BarSeries series;
+    private final TradingRecord tradingRecord;
+
+    private CashFlow cashFlow;
+    private final Map<ReturnType, Returns> returns = new EnumMap<>(ReturnType.class);
+    private Num maximumDrawdown;
+    private PositionStatistics positionStatistics;
+
+    /**
+     * Constructor.
+     *
+     * @param series        the bar series, not null
+     * @param tradingRecord the trading record, not null
+     */
+    public AnalysisContext(BarSeries series, TradingRecord tradingRecord) {
+        this.series = series;
+        this.tradingRecord = tradingRecord;
+    }
+
+    /** @return the bar series */
+    public BarSeries getBarSeries() {
+        return series;
+    }
+
+    /** @return the trading record */
+    public TradingRecord getTradingRecord() {
+        return tradingRecord;
+    }
+
+    /** @return the cash flow of the trading record */
+    public CashFlow getCashFlow() {
+        if (cashFlow == null) {
+            cashFlow = new CashFlow(series, tradingRecord);
+        }
+        return cashFlow;
+    }
+
+    /**
+     * @param type the return type
+     * @return the returns of the trading record
+     */
+    public Returns getReturns(ReturnType type) {
+        return returns.computeIfAbsent(type, t -> new Returns(series, tradingRecord, t));
+    }
+
+    /**
+     * @return the maximum drawdown of the {@link #getCashFlow() cash flow}
+     * @see MaximumDrawdownCriterion
+     */
+    public Num getMaximumDrawdown() {
+        if (maximumDrawdown == null) {
+            maximumDrawdown = MaximumDrawdownCriterion.calculateMaximumDrawdown(series, tradingRecord, getCashFlow());
+        }
+        return maximumDrawdown;
+    }
+
+    /** @return the per-position sums and counts of the trading record */
+    public PositionStatistics getPositionStatistics() {
+        if (positionStatistics == null) {
+            positionStatistics = new PositionStatistics(series, tradingRecord);
+        }
+        return positionStatistics;
+    }
+}
@@ -0,0 +1,117 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017-2023 Ta4j Organization & respective
+ * authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.criteria;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.ta4j.core.AnalysisCriterion;
+import org.ta4j.core.BarSeries;
+import org.ta4j.core.TradingRecord;
+import org.ta4j.core.num.Num;
+
+/**
+ * Evaluates a set of {@link AnalysisCriterion criteria} against a trading
+ * record at once.
+ *
+ * <p>
+ * Evaluating the criteria one by one makes each of them traverse the trading
+ * record and rebuild its own {@link org.ta4j.core.analysis.CashFlow cash flow}
+ * or {@link org.ta4j.core.analysis.Returns returns}. This evaluator creates a
+ * single {@link AnalysisContext} per trading record, so that these analyses are
+ * calculated once and shared by all criteria that support it (see
+ * {@link AbstractAnalysisCriterion#calculate(AnalysisContext)}). Other criteria
+ * are evaluated with
+ * {@link AnalysisCriterion#calculate(BarSeries, TradingRecord)}.
+ *
+ * <p>
+ * The results are equal to the ones of the criteria evaluated one by one,
+ * except for rounding differences where a criterion accumulates in one pass
+ * what it calculates in two passes otherwise (e.g. the variance of
+ * {@link SqnCriterion}).
+ */
+public class CriteriaEvaluator {
+
+    private final List<AnalysisCriterion> criteria;
+
+    /**
+     * Constructor.
+     *
+     * @param criteria the criteria to evaluate
+     */
+    public CriteriaEvaluator(AnalysisCriterion... criteria) {
+        this(Arrays.asList(criteria));
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param criteria the criteria to evaluate
+     */
+    public CriteriaEvaluator(List<? extends AnalysisCriterion> criteria) {
+        this.criteria = Collections.unmodifiableList(new ArrayList<>(criteria));
+    }
+
+    /** @return the criteria to evaluate */
+    public List<AnalysisCriterion> getCriteria() {
+        return criteria;
+    }
+
+    /**
+     * @param series        the bar series, not null
+     * @param tradingRecord the trading record, not null
+     * @return the value of each criterion, in the order of {@link #getCriteria()}
+     */
+    public Map<AnalysisCriterion, Num> evaluate(BarSeries series, TradingRecord tradingRecord) {
+        return evaluate(new AnalysisContext(series, tradingRecord));
+    }
+
+    /**
+     * @param context the analysis context
+     * @return the value of each criterion, in the order of {@link #getCriteria()}
+     */
+    public Map<AnalysisCriterion, Num> evaluate(AnalysisContext context) {
+        final Map<AnalysisCriterion, Num> values = new LinkedHashMap<>();
+        for (AnalysisCriterion criterion : criteria) {
+            values.put(criterion, calculate(criterion, context));
+        }
+        return values;
+    }
+
+    /**
+     * @param criterion the criterion
+     * @param context   the analysis context
+     * @return the criterion value for the positions of the context
+     */
+    public static Num calculate(AnalysisCriterion criterion, AnalysisContext context) {
+        if (criterion instanceof AbstractAnalysisCriterion) {
+            return ((AbstractAnalysisCriterion) criterion).calculate(context);
+        }
+        return criterion.calculate(context.getBarSeries(), context.getTradingRecord());
+    }
+}
@@ -63,6 +63,16 @@ public class ExpectancyCriterion extends AbstractAnalysisCriterion {
         return calculate(series, profitLossRatio, numberOfWinningPositions, numberOfPositions);
     }
 
+    @Override
+    public Num calculate(AnalysisContext context) {
+        final BarSeries series = context.getBarSeries();
+        final PositionStatistics statistics = context.getPositionStatistics();
+        Num profitLossRatio = profitLossRatioCriterion.calculate(context);
+        Num numberOfPositions = series.numOf(statistics.getPositionCount());
+        Num numberOfWinningPositions = series.numOf(statistics.getWinningPositionCount());
+        return calculate(series, profitLossRatio, numberOfWinningPositions, numberOfPositions);
+    }
+
     /** The higher the criterion value, the better. */
     @Override
     public boolean betterThan(Num criterionValue1, Num criterionValue2) {
@@ -23,9 +23,6 @@
  */
 package org.ta4j.core.criteria;
 
-import java.util.Collections;
-import java.util.List;
-
 import org.ta4j.core.BarSeries;
 import org.ta4j.core.Position;
 import org.ta4j.core.TradingRecord;
@@ -71,6 +68,11 @@ public class ExpectedShortfallCriterion extends AbstractAnalysisCriterion {
         return calculateES(returns, confidence);
     }
 
+    @Override
+    public Num calculate(AnalysisContext context) {
+        return calculateES(context.getReturns(Returns.ReturnType.LOG), confidence);
+    }
+
     /**
      * Calculates the Expected Shortfall on the return series.
      *
@@ -79,25 +81,16 @@ public class ExpectedShortfallCriterion extends AbstractAnalysisCriterion {
      * @return the relative Expected Shortfall
      */
     private static Num calculateES(Returns returns, double confidence) {
-        // select non-NaN returns
-        List<Num> returnRates = returns.getValues().subList(1, returns.getSize() + 1);
         Num zero = returns.zero();
-        if (returnRates.isEmpty()) {
+        if (returns.getSize() <= 0) {
             return zero;
         }
-        Num expectedShortfall = zero;
         // F(x_var) >= alpha (=1-confidence)
         int nInBody = (int) (returns.getSize() * confidence);
         int nInTail = returns.getSize() - nInBody;
 
         // calculate average tail loss
-        Collections.sort(returnRates);
-        List<Num> tailEvents = returnRates.subList(0, nInTail);
-        Num sum = zero;
-        for (int i = 0; i < nInTail; i++) {
-            sum = sum.plus(tailEvents.get(i));
-        }
-        expectedShortfall = sum.dividedBy(returns.numOf(nInTail));
+        Num expectedShortfall = returns.getSumOfSmallestReturns(nInTail).dividedBy(returns.numOf(nInTail));
 
         // ES is non-positive
         if (expectedShortfall.isGreaterThan(zero)) {
@@ -57,6 +57,11 @@ public class MaximumDrawdownCriterion extends AbstractAnalysisCriterion {
         return calculateMaximumDrawdown(series, tradingRecord, cashFlow);
     }
 
+    @Override
+    public Num calculate(AnalysisContext context) {
+        return context.getMaximumDrawdown();
+    }
+
     /** The lower the criterion value, the better. */
     @Override
     public boolean betterThan(Num criterionValue1, Num criterionValue2) {
@@ -80,7 +85,7 @@ public class MaximumDrawdownCriterion extends AbstractAnalysisCriterion {
      * @param cashFlow      the cash flow
      * @return the maximum drawdown from a cash flow over a series
      */
-    private Num calculateMaximumDrawdown(BarSeries series, TradingRecord tradingRecord, CashFlow cashFlow) {
+    static Num calculateMaximumDrawdown(BarSeries series, TradingRecord tradingRecord, CashFlow cashFlow) {
 
         Num zero = series.zero();
         Num maxPeak = zero;
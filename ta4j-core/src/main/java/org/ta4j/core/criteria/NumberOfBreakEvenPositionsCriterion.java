@@ -48,6 +48,11 @@ public class NumberOfBreakEvenPositionsCriterion extends AbstractAnalysisCriteri
         return series.numOf(numberOfBreakEvenTrades);
     }
 
+    @Override
+    public Num calculate(AnalysisContext context) {
+        return context.getBarSeries().numOf(context.getPositionStatistics().getBreakEvenPositionCount());
+    }
+
     private boolean isBreakEvenPosition(Position position) {
         return position.isClosed() && position.getProfit().isZero();
     }
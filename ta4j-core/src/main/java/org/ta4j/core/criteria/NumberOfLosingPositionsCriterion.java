@@ -44,6 +44,11 @@ public class NumberOfLosingPositionsCriterion extends AbstractAnalysisCriterion
         return series.numOf(numberOfLosingPositions);
     }
 
+    @Override
+    public Num calculate(AnalysisContext context) {
+        return context.getBarSeries().numOf(context.getPositionStatistics().getLosingPositionCount());
+    }
+
     /** The lower the criterion value, the better. */
     @Override
     public boolean betterThan(Num criterionValue1, Num criterionValue2) {
@@ -44,6 +44,11 @@ public class NumberOfWinningPositionsCriterion extends AbstractAnalysisCriterion
         return series.numOf(numberOfWinningPositions);
     }
 
+    @Override
+    public Num calculate(AnalysisContext context) {
+        return context.getBarSeries().numOf(context.getPositionStatistics().getWinningPositionCount());
+    }
+
     /** The higher the criterion value, the better. */
     @Override
     public boolean betterThan(Num criterionValue1, Num criterionValue2) {
@@ -0,0 +1,183 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017-2023 Ta4j Organization & respective
+ * authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.criteria;
+
+import org.ta4j.core.BarSeries;
+import org.ta4j.core.Position;
+import org.ta4j.core.TradingRecord;
+import org.ta4j.core.num.Num;
+
+/**
+ * The per-position sums and counts of a {@link TradingRecord trading record},
+ * calculated in a single pass over its positions.
+ *
+ * <p>
+ * The profits and losses, the position counts and the moments of the profits
+ * and losses (updated with Welford's algorithm) are shared through an
+ * {@link AnalysisContext} by the criteria that would otherwise each traverse
+ * the positions (e.g. {@link org.ta4j.core.criteria.pnl.ProfitLossCriterion
+ * ProfitLossCriterion}, {@link NumberOfWinningPositionsCriterion},
+ * {@link ExpectancyCriterion} or {@link SqnCriterion}).
+ *
+ * @see AnalysisContext#getPositionStatistics()
+ */
+public final class PositionStatistics {
+
+    private int positionCount;
+    private int openPositionCount;
+    private int winningPositionCount;
+    private int losingPositionCount;
+    private int breakEvenPositionCount;
+
+    private Num profitLoss;
+    private Num profitLossPercentage;
+    private Num profit;
+    private Num loss;
+    private Num grossProfit;
+    private Num grossLoss;
+    private Num grossReturn;
+
+    private Num profitLossMean;
+    private Num profitLossM2;
+
+    /**
+     * Constructor.
+     *
+     * @param series        the bar series
+     * @param tradingRecord the trading record
+     */
+    PositionStatistics(BarSeries series, TradingRecord tradingRecord) {
+        final Num zero = series.zero();
+        profitLoss = zero;
+        profitLossPercentage = zero;
+        profit = zero;
+        loss = zero;
+        grossProfit = zero;
+        grossLoss = zero;
+        grossReturn = series.one();
+        profitLossMean = zero;
+        profitLossM2 = zero;
+        for (Position position : tradingRecord.getPositions()) {
+            final Num positionProfit = position.getProfit();
+            positionCount++;
+
+            // Welford's update of the mean and the sum of squared deviations
+            final Num delta = positionProfit.minus(profitLossMean);
+            profitLossMean = profitLossMean.plus(delta.dividedBy(series.numOf(positionCount)));
+            profitLossM2 = profitLossM2.plus(delta.multipliedBy(positionProfit.minus(profitLossMean)));
+
+            if (!position.isClosed()) {
+                openPositionCount++;
+                continue;
+            }
+            profitLoss = profitLoss.plus(positionProfit);
+            profitLossPercentage = profitLossPercentage
+                    .plus(positionProfit.dividedBy(position.getEntry().getValue()).multipliedBy(series.hundred()));
+            grossReturn = grossReturn.multipliedBy(position.getGrossReturn(series));
+            if (positionProfit.isPositive()) {
+                winningPositionCount++;
+                profit = profit.plus(positionProfit);
+            } else if (positionProfit.isNegative()) {
+                losingPositionCount++;
+                loss = loss.plus(positionProfit);
+            } else {
+                breakEvenPositionCount++;
+            }
+            final Num positionGrossProfit = position.getGrossProfit();
+            if (positionGrossProfit.isPositive()) {
+                grossProfit = grossProfit.plus(positionGrossProfit);
+            } else if (positionGrossProfit.isNegative()) {
+                grossLoss = grossLoss.plus(positionGrossProfit);
+            }
+        }
+    }
+
+    /** @return the number of positions */
+    public int getPositionCount() {
+        return positionCount;
+    }
+
+    /** @return the number of positions that are not closed */
+    public int getOpenPositionCount() {
+        return openPositionCount;
+    }
+
+    /** @return the number of closed positions with a profit */
+    public int getWinningPositionCount() {
+        return winningPositionCount;
+    }
+
+    /** @return the number of closed positions with a loss */
+    public int getLosingPositionCount() {
+        return losingPositionCount;
+    }
+
+    /** @return the number of closed positions without profit or loss */
+    public int getBreakEvenPositionCount() {
+        return breakEvenPositionCount;
+    }
+
+    /** @return the sum of the profits and losses of the closed positions */
+    public Num getProfitLoss() {
+        return profitLoss;
+    }
+
+    /**
+     * @return the sum of the profits and losses of the closed positions in percent
+     *         of their entry values
+     */
+    public Num getProfitLossPercentage() {
+        return profitLossPercentage;
+    }
+
+    /**
+     * @param excludeCosts true to exclude the trading costs
+     * @return the sum of the profits of the winning positions
+     */
+    public Num getProfit(boolean excludeCosts) {
+        return excludeCosts ? grossProfit : profit;
+    }
+
+    /**
+     * @param excludeCosts true to exclude the trading costs
+     * @return the sum of the (negative) losses of the losing positions
+     */
+    public Num getLoss(boolean excludeCosts) {
+        return excludeCosts ? grossLoss : loss;
+    }
+
+    /** @return the product of the gross returns of the closed positions */
+    public Num getGrossReturn() {
+        return grossReturn;
+    }
+
+    /**
+     * @return the sum of the squared deviations of the profits and losses of all
+     *         positions from their mean (the variance times the number of
+     *         positions)
+     */
+    public Num getProfitLossM2() {
+        return profitLossM2;
+    }
+}
@@ -85,6 +85,15 @@ public class PositionsRatioCriterion extends AbstractAnalysisCriterion {
         return numberOfPositions.dividedBy(series.numOf(tradingRecord.getPositionCount()));
     }
 
+    @Override
+    public Num calculate(AnalysisContext context) {
+        final PositionStatistics statistics = context.getPositionStatistics();
+        final int numberOfPositions = positionFilter == PositionFilter.PROFIT ? statistics.getWinningPositionCount()
+                : statistics.getLosingPositionCount();
+        final BarSeries series = context.getBarSeries();
+        return series.numOf(numberOfPositions).dividedBy(series.numOf(statistics.getPositionCount()));
+    }
+
     /**
      * <ul>
      * <li>For {@link PositionFilter#PROFIT}: The higher the criterion value, the
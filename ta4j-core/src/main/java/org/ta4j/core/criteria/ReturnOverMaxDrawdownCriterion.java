@@ -66,6 +66,17 @@ public class ReturnOverMaxDrawdownCriterion extends AbstractAnalysisCriterion {
         }
     }
 
+    @Override
+    public Num calculate(AnalysisContext context) {
+        final Num maxDrawdown = context.getMaximumDrawdown();
+        if (maxDrawdown.isZero()) {
+            return NaN.NaN;
+        } else {
+            final Num totalProfit = CriteriaEvaluator.calculate(grossReturnCriterion, context);
+            return totalProfit.dividedBy(maxDrawdown);
+        }
+    }
+
     /** The higher the criterion value, the better. */
     @Override
     public boolean betterThan(Num criterionValue1, Num criterionValue2) {
@@ -106,6 +106,33 @@ public class SqnCriterion extends AbstractAnalysisCriterion {
 
         Num numberOfPositions = numberOfPositionsCriterion.calculate(series, tradingRecord);
         Num pnl = criterion.calculate(series, tradingRecord);
+        return calculate(series, pnl, stdDevPnl, numberOfPositions);
+    }
+
+    /**
+     * For {@code criterion} = {@link ProfitLossCriterion}, the SQN is calculated
+     * from the sum and the (Welford) moments of the profits and losses of the
+     * {@link AnalysisContext#getPositionStatistics() position statistics}.
+     */
+    @Override
+    public Num calculate(AnalysisContext context) {
+        if (criterion.getClass() != ProfitLossCriterion.class) {
+            return super.calculate(context);
+        }
+        final BarSeries series = context.getBarSeries();
+        final PositionStatistics statistics = context.getPositionStatistics();
+        if (statistics.getPositionCount() == 0) {
+            return series.zero();
+        }
+        Num numberOfPositions = series.numOf(statistics.getPositionCount());
+        Num stdDevPnl = statistics.getProfitLossM2().dividedBy(numberOfPositions).sqrt();
+        if (stdDevPnl.isZero()) {
+            return series.zero();
+        }
+        return calculate(series, statistics.getProfitLoss(), stdDevPnl, numberOfPositions);
+    }
+
+    private Num calculate(BarSeries series, Num pnl, Num stdDevPnl, Num numberOfPositions) {
         Num avgPnl = pnl.dividedBy(numberOfPositions);
         if (nPositions != null && numberOfPositions.isGreaterThan(series.hundred())) {
             numberOfPositions = series.numOf(nPositions);
@@ -23,9 +23,6 @@
  */
 package org.ta4j.core.criteria;
 
-import java.util.Collections;
-import java.util.List;
-
 import org.ta4j.core.BarSeries;
 import org.ta4j.core.Position;
 import org.ta4j.core.TradingRecord;
@@ -67,6 +64,11 @@ public class ValueAtRiskCriterion extends AbstractAnalysisCriterion {
         return calculateVaR(returns, confidence);
     }
 
+    @Override
+    public Num calculate(AnalysisContext context) {
+        return calculateVaR(context.getReturns(Returns.ReturnType.LOG), confidence);
+    }
+
     /**
      * Calculates the VaR on the return series.
      *
@@ -76,26 +78,19 @@ public class ValueAtRiskCriterion extends AbstractAnalysisCriterion {
      */
     private static Num calculateVaR(Returns returns, double confidence) {
         Num zero = returns.zero();
-        // select non-NaN returns
-        List<Num> returnRates = returns.getValues().subList(1, returns.getSize() + 1);
-        if (returnRates.isEmpty()) {
+        if (returns.getSize() <= 0) {
             return zero;
         }
+        // F(x_var) >= alpha (=1-confidence)
+        int nInBody = (int) (returns.getSize() * confidence);
+        int nInTail = returns.getSize() - nInBody;
 
-        Num valueAtRisk = zero;
-        if (!returnRates.isEmpty()) {
-            // F(x_var) >= alpha (=1-confidence)
-            int nInBody = (int) (returns.getSize() * confidence);
-            int nInTail = returns.getSize() - nInBody;
-
-            // The series is not empty, nInTail > 0
-            Collections.sort(returnRates);
-            valueAtRisk = returnRates.get(nInTail - 1);
+        // The series is not empty, nInTail > 0
+        Num valueAtRisk = returns.getSmallestReturn(nInTail);
 
-            // VaR is non-positive
-            if (valueAtRisk.isGreaterThan(zero)) {
-                valueAtRisk = zero;
-            }
+        // VaR is non-positive
+        if (valueAtRisk.isGreaterThan(zero)) {
+            valueAtRisk = zero;
         }
         return valueAtRisk;
     }
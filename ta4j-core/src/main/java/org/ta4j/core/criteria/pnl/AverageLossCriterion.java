@@ -27,7 +27,9 @@ import org.ta4j.core.BarSeries;
 import org.ta4j.core.Position;
 import org.ta4j.core.TradingRecord;
 import org.ta4j.core.criteria.AbstractAnalysisCriterion;
+import org.ta4j.core.criteria.AnalysisContext;
 import org.ta4j.core.criteria.NumberOfLosingPositionsCriterion;
+import org.ta4j.core.criteria.PositionStatistics;
 import org.ta4j.core.num.Num;
 
 /**
@@ -64,6 +66,16 @@ public class AverageLossCriterion extends AbstractAnalysisCriterion {
         return grossLoss.dividedBy(numberOfLosingPositions);
     }
 
+    @Override
+    public Num calculate(AnalysisContext context) {
+        final PositionStatistics statistics = context.getPositionStatistics();
+        final Num grossLoss = statistics.getLoss(false);
+        if (statistics.getLosingPositionCount() == 0 || grossLoss.isZero()) {
+            return context.getBarSeries().zero();
+        }
+        return grossLoss.dividedBy(context.getBarSeries().numOf(statistics.getLosingPositionCount()));
+    }
+
     /** The higher the criterion value, the better. */
     @Override
     public boolean betterThan(Num criterionValue1, Num criterionValue2) {
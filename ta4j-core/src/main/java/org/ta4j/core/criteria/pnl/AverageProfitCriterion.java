@@ -27,7 +27,9 @@ import org.ta4j.core.BarSeries;
 import org.ta4j.core.Position;
 import org.ta4j.core.TradingRecord;
 import org.ta4j.core.criteria.AbstractAnalysisCriterion;
+import org.ta4j.core.criteria.AnalysisContext;
 import org.ta4j.core.criteria.NumberOfWinningPositionsCriterion;
+import org.ta4j.core.criteria.PositionStatistics;
 import org.ta4j.core.num.Num;
 
 /**
@@ -64,6 +66,16 @@ public class AverageProfitCriterion extends AbstractAnalysisCriterion {
         return grossProfit.dividedBy(numberOfWinningPositions);
     }
 
+    @Override
+    public Num calculate(AnalysisContext context) {
+        final PositionStatistics statistics = context.getPositionStatistics();
+        final Num grossProfit = statistics.getProfit(false);
+        if (statistics.getWinningPositionCount() == 0 || grossProfit.isZero()) {
+            return context.getBarSeries().zero();
+        }
+        return grossProfit.dividedBy(context.getBarSeries().numOf(statistics.getWinningPositionCount()));
+    }
+
     /** The higher the criterion value, the better. */
     @Override
     public boolean betterThan(Num criterionValue1, Num criterionValue2) {
@@ -27,6 +27,7 @@ import org.ta4j.core.BarSeries;
 import org.ta4j.core.Position;
 import org.ta4j.core.TradingRecord;
 import org.ta4j.core.criteria.AbstractAnalysisCriterion;
+import org.ta4j.core.criteria.AnalysisContext;
 import org.ta4j.core.num.Num;
 
 /**
@@ -69,6 +70,21 @@ public class ProfitLossRatioCriterion extends AbstractAnalysisCriterion {
         return averageProfit.dividedBy(averageLoss).abs();
     }
 
+    @Override
+    public Num calculate(AnalysisContext context) {
+        Num averageProfit = averageProfitCriterion.calculate(context);
+        if (averageProfit.isZero()) {
+            // only loosing positions means a ratio of 0
+            return context.getBarSeries().zero();
+        }
+        Num averageLoss = averageLossCriterion.calculate(context);
+        if (averageLoss.isZero()) {
+            // only winning positions means a ratio of 1
+            return context.getBarSeries().one();
+        }
+        return averageProfit.dividedBy(averageLoss).abs();
+    }
+
     /** The higher the criterion value, the better. */
     @Override
     public boolean betterThan(Num criterionValue1, Num criterionValue2) {
@@ -27,6 +27,8 @@ import org.ta4j.core.BarSeries;
 import org.ta4j.core.Position;
 import org.ta4j.core.TradingRecord;
 import org.ta4j.core.criteria.AbstractAnalysisCriterion;
+import org.ta4j.core.criteria.AnalysisContext;
+import org.ta4j.core.criteria.PositionStatistics;
 import org.ta4j.core.num.Num;
 
 /**
@@ -75,6 +77,16 @@ public class ReturnCriterion extends AbstractAnalysisCriterion {
                 .minus(addBase ? series.zero() : series.one());
     }
 
+    @Override
+    public Num calculate(AnalysisContext context) {
+        final BarSeries series = context.getBarSeries();
+        final PositionStatistics statistics = context.getPositionStatistics();
+        // without base, an open position counts as a return of zero
+        final Num grossReturn = !addBase && statistics.getOpenPositionCount() > 0 ? series.zero()
+                : statistics.getGrossReturn();
+        return grossReturn.minus(addBase ? series.zero() : series.one());
+    }
+
     /** The higher the criterion value, the better. */
     @Override
     public boolean betterThan(Num criterionValue1, Num criterionValue2) {
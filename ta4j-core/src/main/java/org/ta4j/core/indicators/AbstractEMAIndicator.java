@@ -29,11 +29,12 @@ import org.ta4j.core.num.Num;
 /**
  * Base class for Exponential Moving Average implementations.
  */
-public abstract class AbstractEMAIndicator extends RecursiveCachedIndicator<Num> {
+public abstract class AbstractEMAIndicator extends RecursiveCachedDoubleIndicator {
 
     private final Indicator<Num> indicator;
     private final int barCount;
     private final Num multiplier;
+    private final double doubleMultiplier;
 
     /**
      * Constructor.
@@ -47,6 +48,7 @@ public abstract class AbstractEMAIndicator extends RecursiveCachedIndicator<Num>
         this.indicator = indicator;
         this.barCount = barCount;
         this.multiplier = numOf(multiplier);
+        this.doubleMultiplier = multiplier;
     }
 
     @Override
@@ -58,6 +60,36 @@ public abstract class AbstractEMAIndicator extends RecursiveCachedIndicator<Num>
         return indicator.getValue(index).minus(prevValue).multipliedBy(multiplier).plus(prevValue);
     }
 
+    @Override
+    protected double calculateDouble(int index) {
+        if (index == 0) {
+            return DoubleIndicator.doubleValueOf(indicator, 0);
+        }
+        double prevValue = getDouble(index - 1);
+        return (DoubleIndicator.doubleValueOf(indicator, index) - prevValue) * doubleMultiplier + prevValue;
+    }
+
+    /**
+     * Calculates the values of the range at once (on {@code DoubleNum} series),
+     * starting from the (cached) value of {@code from - 1}.
+     */
+    @Override
+    public void fill(int from, int to, double[] out) {
+        if (!isPrimitive() || from >= to) {
+            super.fill(from, to, out);
+            return;
+        }
+        DoubleIndicator.checkRange(from, to, out);
+        final double[] values = new double[to - from];
+        DoubleIndicator.fill(indicator, from, to, values);
+        double prevValue = from == 0 ? Double.NaN : getDouble(from - 1);
+        for (int i = from; i < to; i++) {
+            final double value = i == 0 ? values[0] : (values[i - from] - prevValue) * doubleMultiplier + prevValue;
+            out[i - from] = value;
+            prevValue = value;
+        }
+    }
+
     @Override
     public String toString() {
         return getClass().getSimpleName() + " barCount: " + barCount;
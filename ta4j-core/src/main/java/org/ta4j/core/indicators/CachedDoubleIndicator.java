@@ -0,0 +1,287 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017-2023 Ta4j Organization & respective
+ * authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.indicators;
+
+import static org.ta4j.core.num.NaN.NaN;
+
+import java.util.concurrent.locks.StampedLock;
+
+import org.ta4j.core.BarSeries;
+import org.ta4j.core.Indicator;
+import org.ta4j.core.num.DoubleNum;
+import org.ta4j.core.num.Num;
+
+/**
+ * Cached {@link DoubleIndicator indicator} with a primitive calculation path.
+ *
+ * <p>
+ * Subclasses implement both {@link #calculate(int)} and
+ * {@link #calculateDouble(int)}. For bar series based on {@link DoubleNum},
+ * only {@link #calculateDouble(int)} is used and its results are cached in a
+ * primitive circular buffer (with the same rules as {@link CachedIndicator}:
+ * the last bar is not cached and the results of removed bars are dropped), so
+ * that {@link #getValue(int)} only allocates the returned {@link Num}. For
+ * other {@link Num} types, {@link #calculate(int)} is used and the results are
+ * cached by {@link CachedIndicator}.
+ */
+public abstract class CachedDoubleIndicator extends CachedIndicator<Num> implements DoubleIndicator {
+
+    /**
+     * Marks a result that is not calculated yet (a {@code NaN} bit pattern that is
+     * never stored, as calculated values are stored with their canonical bits).
+     */
+    private static final long NOT_CALCULATED = 0x7ff0000000000001L;
+
+    /** True if the primitive calculation path is used. */
+    private final boolean primitive;
+
+    /**
+     * The raw bits of the cached results; the result of {@code index} is stored at
+     * {@code index % values.length}.
+     */
+    private long[] values = new long[0];
+
+    /** The number of cached results (up to {@link #highestIndex}). */
+    private int count = 0;
+
+    /** The index of the last (calculated) result in {@link #values}. */
+    private volatile int highestIndex = -1;
+
+    /** Guards the modifications of {@link #values}. */
+    private final StampedLock cacheLock = new StampedLock();
+
+    /**
+     * The provisional result of the last bar (see {@link CachedIndicator}), or
+     * {@code null}.
+     */
+    private volatile ProvisionalDouble provisionalResult;
+
+    /**
+     * Constructor.
+     *
+     * @param series the bar series
+     */
+    protected CachedDoubleIndicator(BarSeries series) {
+        super(series);
+        this.primitive = series != null && series.num() instanceof DoubleNum;
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param indicator a related indicator (with a bar series)
+     */
+    protected CachedDoubleIndicator(Indicator<?> indicator) {
+        this(indicator.getBarSeries());
+    }
+
+    /**
+     * @param index the bar index
+     * @return the value of the indicator (calculated with primitives)
+     */
+    protected abstract double calculateDouble(int index);
+
+    @Override
+    public Num getValue(int index) {
+        if (!primitive) {
+            return super.getValue(index);
+        }
+        final double value = getDouble(index);
+        return Double.isNaN(value) ? NaN : DoubleNum.valueOf(value);
+    }
+
+    @Override
+    public double getDouble(int index) {
+        if (!primitive) {
+            return super.getValue(index).doubleValue();
+        }
+        final long bits = getCachedBits(index);
+        return bits == NOT_CALCULATED ? calculateDoubleValue(index) : Double.longBitsToDouble(bits);
+    }
+
+    @Override
+    public void fill(int from, int to, double[] out) {
+        DoubleIndicator.super.fill(from, to, out);
+    }
+
+    /**
+     * @return true if the values are calculated by {@link #calculateDouble(int)}
+     */
+    protected boolean isPrimitive() {
+        return primitive;
+    }
+
+    /**
+     * @return the index of the last cached result
+     */
+    protected int getHighestCachedIndex() {
+        return primitive ? highestIndex : highestResultIndex;
+    }
+
+    /**
+     * Returns the cached result for {@code index} without locking and without
+     * calculating it (see {@link #getCachedValue(int)}).
+     *
+     * @param index the bar index
+     * @return the cached result or {@link Double#NaN} if the result must be
+     *         calculated
+     */
+    protected double getCachedDouble(int index) {
+        if (!primitive) {
+            final Num result = getCachedValue(index);
+            return result == null ? Double.NaN : result.doubleValue();
+        }
+        final long bits = getCachedBits(index);
+        return bits == NOT_CALCULATED ? Double.NaN : Double.longBitsToDouble(bits);
+    }
+
+    /**
+     * @param index the bar index
+     * @return the raw bits of the cached result or {@link #NOT_CALCULATED}
+     */
+    private long getCachedBits(int index) {
+        final BarSeries series = getBarSeries();
+        if (index < series.getRemovedBarsCount()) {
+            return NOT_CALCULATED;
+        }
+        if (index == series.getEndIndex()) {
+            final ProvisionalDouble provisional = provisionalResult;
+            return provisional != null && provisional.isValid(index, series.getLastBarStamp()) ? provisional.bits
+                    : NOT_CALCULATED;
+        }
+        final long stamp = cacheLock.tryOptimisticRead();
+        if (stamp == 0) {
+            return NOT_CALCULATED;
+        }
+        final int highest = highestIndex;
+        final long[] cached = values;
+        long bits = NOT_CALCULATED;
+        if (index <= highest && index > highest - count && cached.length > 0) {
+            bits = cached[index % cached.length];
+        }
+        return cacheLock.validate(stamp) ? bits : NOT_CALCULATED;
+    }
+
+    /**
+     * Calculates (and caches) the value for {@code index}.
+     *
+     * @param index the bar index
+     * @return the value of the indicator
+     */
+    private synchronized double calculateDoubleValue(int index) {
+        final BarSeries series = getBarSeries();
+        if (index < series.getRemovedBarsCount()) {
+            // Result already removed from cache: as for CachedIndicator, the value
+            // calculated for the first bar is used instead (issue #120)
+            return calculateDouble(0);
+        }
+        if (index == series.getEndIndex()) {
+            // Don't cache result if last bar, except provisionally
+            final long lastBarStamp = series.getLastBarStamp();
+            final ProvisionalDouble provisional = provisionalResult;
+            if (provisional != null && provisional.isValid(index, lastBarStamp)) {
+                return Double.longBitsToDouble(provisional.bits);
+            }
+            final double result = calculateDouble(index);
+            if (lastBarStamp != -1) {
+                provisionalResult = new ProvisionalDouble(index, lastBarStamp, Double.doubleToLongBits(result));
+            }
+            return result;
+        }
+        final long bits = getCachedBits(index);
+        if (bits != NOT_CALCULATED) {
+            return Double.longBitsToDouble(bits);
+        }
+        final double result = calculateDouble(index);
+        cacheResult(index, result, series.getMaximumBarCount());
+        return result;
+    }
+
+    /**
+     * Stores the calculated {@code result} for {@code index}.
+     *
+     * @param index     the bar index
+     * @param result    the calculated result
+     * @param maxLength the maximum number of cached results
+     */
+    private void cacheResult(int index, double result, int maxLength) {
+        final long stamp = cacheLock.writeLock();
+        try {
+            if (index > highestIndex) {
+                final int newCount = (int) Math.min((long) count + index - highestIndex, maxLength);
+                ensureCapacity(newCount);
+                for (int i = Math.max(highestIndex + 1, index - newCount + 1); i < index; i++) {
+                    values[i % values.length] = NOT_CALCULATED;
+                }
+                count = newCount;
+                highestIndex = index;
+            }
+            if (index > highestIndex - count) {
+                values[index % values.length] = Double.doubleToLongBits(result);
+            }
+        } finally {
+            cacheLock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Increases the capacity of {@link #values}, if necessary, to hold at least
+     * {@code minCapacity} results (keeping the cached ones).
+     *
+     * @param minCapacity the desired minimum capacity
+     */
+    private void ensureCapacity(int minCapacity) {
+        final int capacity = values.length;
+        if (minCapacity <= capacity) {
+            return;
+        }
+        final int newCapacity = (int) Math.max(minCapacity, Math.min(2L * capacity, Integer.MAX_VALUE - 8));
+        final long[] newValues = new long[newCapacity];
+        for (int i = highestIndex - count + 1; i <= highestIndex; i++) {
+            newValues[i % newCapacity] = values[i % capacity];
+        }
+        values = newValues;
+    }
+
+    /**
+     * The (raw bits of the) result of the last bar, valid as long as the last bar
+     * does not change.
+     */
+    private static final class ProvisionalDouble {
+
+        private final int index;
+        private final long lastBarStamp;
+        private final long bits;
+
+        private ProvisionalDouble(int index, long lastBarStamp, long bits) {
+            this.index = index;
+            this.lastBarStamp = lastBarStamp;
+            this.bits = bits;
+        }
+
+        private boolean isValid(int index, long lastBarStamp) {
+            return this.index == index && lastBarStamp != -1 && this.lastBarStamp == lastBarStamp;
+        }
+    }
+}
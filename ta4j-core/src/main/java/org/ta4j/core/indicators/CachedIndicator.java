@@ -23,12 +23,13 @@
  */
 package org.ta4j.core.indicators;
 
-import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.locks.StampedLock;
 
 import org.ta4j.core.BarSeries;
 import org.ta4j.core.Indicator;
+import org.ta4j.core.utils.CircularArrayList;
 
 /**
  * Cached {@link Indicator indicator}.
@@ -40,17 +41,43 @@ import org.ta4j.core.Indicator;
  * their values based on the values of other indicators. Such nested indicators
  * can call {@link #getValue(int)} multiple times without the need to
  * {@link #calculate(int)} again.
+ *
+ * <p>
+ * Cached results are read without locking, so that many threads (e.g. the
+ * strategies of a {@link org.ta4j.core.backtest.BacktestExecutor
+ * BacktestExecutor}) can share the same indicator instance. Only the
+ * calculation of values not cached yet is synchronized on the indicator.
+ *
+ * <p>
+ * The value of the last bar is not cached, as the last bar may still change
+ * (e.g. by
+ * {@link BarSeries#addTrade(org.ta4j.core.num.Num, org.ta4j.core.num.Num)
+ * trades}). If the bar series provides a {@link BarSeries#getLastBarStamp()
+ * stamp of the last bar}, it is cached provisionally under this stamp instead,
+ * i.e. until the last bar changes.
  */
 public abstract class CachedIndicator<T> extends AbstractIndicator<T> {
 
-    /** List of cached results. */
+    /**
+     * List of cached results (a circular buffer, so that removing the exceeding
+     * results of a moving series does not shift the whole list).
+     */
     private final List<T> results;
 
     /**
      * Should always be the index of the last (calculated) result in
      * {@link #results}.
      */
-    protected int highestResultIndex = -1;
+    protected volatile int highestResultIndex = -1;
+
+    /**
+     * Guards the modifications of {@link #results}, so that they can be read
+     * optimistically (i.e. without locking) by {@link #getCachedValue(int)}.
+     */
+    private final StampedLock cacheLock = new StampedLock();
+
+    /** The provisional result of the last bar (or {@code null}). */
+    private volatile ProvisionalResult<T> provisionalResult;
 
     /**
      * Constructor.
@@ -60,7 +87,7 @@ public abstract class CachedIndicator<T> extends AbstractIndicator<T> {
     protected CachedIndicator(BarSeries series) {
         super(series);
         int limit = series.getMaximumBarCount();
-        this.results = limit == Integer.MAX_VALUE ? new ArrayList<>() : new ArrayList<>(limit);
+        this.results = limit == Integer.MAX_VALUE ? new CircularArrayList<>() : new CircularArrayList<>(limit + 1);
     }
 
     /**
@@ -79,17 +106,66 @@ public abstract class CachedIndicator<T> extends AbstractIndicator<T> {
     protected abstract T calculate(int index);
 
     @Override
-    public synchronized T getValue(int index) {
+    public T getValue(int index) {
+        T result = getCachedValue(index);
+        if (result == null) {
+            result = calculateValue(index);
+        }
+        if (log.isTraceEnabled()) {
+            log.trace("{}({}): {}", this, index, result);
+        }
+        return result;
+    }
+
+    /**
+     * Returns the cached result for {@code index} without locking and without
+     * calculating it. Incremental indicators can use it to derive the value of an
+     * index from the value of the previous one, if already calculated.
+     *
+     * @param index the bar index
+     * @return the cached result or {@code null} if the result must be calculated
+     */
+    protected T getCachedValue(int index) {
+        final BarSeries series = getBarSeries();
+        if (series == null || index < series.getRemovedBarsCount()) {
+            return null;
+        }
+        if (index == series.getEndIndex()) {
+            final ProvisionalResult<T> provisional = provisionalResult;
+            return provisional != null && provisional.isValid(index, series.getLastBarStamp()) ? provisional.result
+                    : null;
+        }
+        final long stamp = cacheLock.tryOptimisticRead();
+        if (stamp == 0) {
+            return null;
+        }
+        final int highestIndex = highestResultIndex;
+        if (index > highestIndex) {
+            return null;
+        }
+        T result;
+        try {
+            result = results.get(results.size() - 1 - (highestIndex - index));
+        } catch (IndexOutOfBoundsException e) {
+            // results have been modified concurrently (detected by validate)
+            result = null;
+        }
+        return cacheLock.validate(stamp) ? result : null;
+    }
+
+    /**
+     * Calculates (and caches) the value for {@code index}.
+     *
+     * @param index the bar index
+     * @return the value of the indicator
+     */
+    private synchronized T calculateValue(int index) {
         BarSeries series = getBarSeries();
         if (series == null) {
             // Series is null; the indicator doesn't need cache.
             // (e.g. simple computation of the value)
             // --> Calculating the value
-            T result = calculate(index);
-            if (log.isTraceEnabled()) {
-                log.trace("{}({}): {}", this, index, result);
-            }
-            return result;
+            return calculate(index);
         }
 
         // Series is not null
@@ -104,45 +180,110 @@ public abstract class CachedIndicator<T> extends AbstractIndicator<T> {
                 log.trace("{}: result from bar {} already removed from cache, use {}-th instead",
                         getClass().getSimpleName(), index, removedBarsCount);
             }
-            increaseLengthTo(removedBarsCount, maximumResultCount);
-            highestResultIndex = removedBarsCount;
-            result = results.get(0);
+            long stamp = cacheLock.writeLock();
+            try {
+                increaseLengthTo(removedBarsCount, maximumResultCount);
+                highestResultIndex = removedBarsCount;
+                result = results.get(0);
+            } finally {
+                cacheLock.unlockWrite(stamp);
+            }
             if (result == null) {
                 // It should be "result = calculate(removedBarsCount);".
                 // We use "result = calculate(0);" as a workaround
                 // to fix issue #120 (https://github.com/mdeverdelhan/ta4j/issues/120).
                 result = calculate(0);
-                results.set(0, result);
+                long writeStamp = cacheLock.writeLock();
+                try {
+                    results.set(0, result);
+                } finally {
+                    cacheLock.unlockWrite(writeStamp);
+                }
             }
         } else {
             if (index == series.getEndIndex()) {
-                // Don't cache result if last bar
+                // Don't cache result if last bar, except provisionally
+                final long lastBarStamp = series.getLastBarStamp();
+                final ProvisionalResult<T> provisional = provisionalResult;
+                if (provisional != null && provisional.isValid(index, lastBarStamp)) {
+                    return provisional.result;
+                }
                 result = calculate(index);
+                if (lastBarStamp != -1) {
+                    provisionalResult = new ProvisionalResult<>(index, lastBarStamp, result);
+                }
             } else {
-                increaseLengthTo(index, maximumResultCount);
-                if (index > highestResultIndex) {
-                    // Result not calculated yet
-                    highestResultIndex = index;
-                    result = calculate(index);
-                    results.set(results.size() - 1, result);
-                } else {
-                    // Result covered by current cache
-                    int resultInnerIndex = results.size() - 1 - (highestResultIndex - index);
-                    result = results.get(resultInnerIndex);
-                    if (result == null) {
-                        result = calculate(index);
-                        results.set(resultInnerIndex, result);
+                long stamp = cacheLock.writeLock();
+                try {
+                    increaseLengthTo(index, maximumResultCount);
+                    if (index > highestResultIndex) {
+                        // Result not calculated yet
+                        highestResultIndex = index;
+                        result = null;
+                    } else {
+                        // Result covered by current cache
+                        result = results.get(results.size() - 1 - (highestResultIndex - index));
                     }
+                } finally {
+                    cacheLock.unlockWrite(stamp);
+                }
+                if (result == null) {
+                    result = calculate(index);
+                    cacheResult(index, result);
                 }
             }
 
         }
-        if (log.isTraceEnabled()) {
-            log.trace("{}({}): {}", this, index, result);
-        }
         return result;
     }
 
+    /**
+     * Removes the cached results from {@code index} on, so that they are calculated
+     * again (e.g. after a change of the data they were calculated from, other than
+     * a new bar).
+     *
+     * @param index the first bar index to calculate again
+     */
+    protected void invalidateFrom(int index) {
+        long stamp = cacheLock.writeLock();
+        try {
+            provisionalResult = null;
+            if (index > highestResultIndex) {
+                return;
+            }
+            final int invalidCount = highestResultIndex - index + 1;
+            if (invalidCount >= results.size()) {
+                results.clear();
+                highestResultIndex = -1;
+            } else {
+                results.subList(results.size() - invalidCount, results.size()).clear();
+                highestResultIndex = index - 1;
+            }
+        } finally {
+            cacheLock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Stores the calculated {@code result} for {@code index} in {@link #results}.
+     *
+     * @param index  the bar index
+     * @param result the calculated result
+     */
+    private void cacheResult(int index, T result) {
+        long stamp = cacheLock.writeLock();
+        try {
+            // the inner index is computed after the calculation, as the calculation
+            // may have extended the cache (e.g. for recursive indicators)
+            int resultInnerIndex = results.size() - 1 - (highestResultIndex - index);
+            if (resultInnerIndex >= 0 && resultInnerIndex < results.size()) {
+                results.set(resultInnerIndex, result);
+            }
+        } finally {
+            cacheLock.unlockWrite(stamp);
+        }
+    }
+
     /**
      * Increases the size of the cached results buffer.
      *
@@ -184,4 +325,24 @@ public abstract class CachedIndicator<T> extends AbstractIndicator<T> {
             }
         }
     }
+
+    /**
+     * The result of the last bar, valid as long as the last bar does not change.
+     */
+    private static final class ProvisionalResult<T> {
+
+        private final int index;
+        private final long lastBarStamp;
+        private final T result;
+
+        private ProvisionalResult(int index, long lastBarStamp, T result) {
+            this.index = index;
+            this.lastBarStamp = lastBarStamp;
+            this.result = result;
+        }
+
+        private boolean isValid(int index, long lastBarStamp) {
+            return this.index == index && lastBarStamp != -1 && this.lastBarStamp == lastBarStamp;
+        }
+    }
 }
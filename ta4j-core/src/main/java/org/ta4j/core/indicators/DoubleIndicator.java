@@ -0,0 +1,121 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017-2023 Ta4j Organization & respective
+ * authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.indicators;
+
+import org.ta4j.core.Indicator;
+import org.ta4j.core.num.Num;
+
+/**
+ * Indicator providing its values as primitive {@code double}s.
+ *
+ * <p>
+ * For bar series based on {@link org.ta4j.core.num.DoubleNum DoubleNum},
+ * implementations calculate (and cache) their values as primitives, i.e.
+ * without allocating {@link Num} objects for intermediate results.
+ * {@link #getValue(int)} then only wraps the primitive value. For other
+ * {@link Num} types, {@link #getDouble(int)} is the (possibly approximate)
+ * {@code double} value of {@link #getValue(int)}.
+ */
+public interface DoubleIndicator extends Indicator<Num> {
+
+    /**
+     * @param index the bar index
+     * @return the value of the indicator as {@code double} ({@link Double#NaN} for
+     *         {@link org.ta4j.core.num.NaN NaN})
+     */
+    double getDouble(int index);
+
+    /**
+     * Writes the values of the indices from {@code from} (inclusive) to {@code to}
+     * (exclusive) into {@code out} (the value of {@code from} at position 0).
+     *
+     * <p>
+     * Implementations may override this method with a loop over the whole range
+     * (e.g. without the cache bookkeeping of each index). The values are then not
+     * cached, and may differ from {@link #getDouble(int)} by rounding errors.
+     *
+     * @param from the first index (inclusive)
+     * @param to   the last index (exclusive)
+     * @param out  the array receiving the values
+     * @throws IllegalArgumentException if {@code from > to} or if {@code out} is
+     *                                  too small
+     */
+    default void fill(int from, int to, double[] out) {
+        checkRange(from, to, out);
+        for (int i = from; i < to; i++) {
+            out[i - from] = getDouble(i);
+        }
+    }
+
+    /**
+     * @param indicator the indicator
+     * @param index     the bar index
+     * @return the value of {@code indicator} as {@code double}, without boxing if
+     *         the indicator is a {@link DoubleIndicator}
+     */
+    static double doubleValueOf(Indicator<Num> indicator, int index) {
+        if (indicator instanceof DoubleIndicator) {
+            return ((DoubleIndicator) indicator).getDouble(index);
+        }
+        return indicator.getValue(index).doubleValue();
+    }
+
+    /**
+     * Writes the values of {@code indicator} of the indices from {@code from}
+     * (inclusive) to {@code to} (exclusive) into {@code out}.
+     *
+     * @param indicator the indicator
+     * @param from      the first index (inclusive)
+     * @param to        the last index (exclusive)
+     * @param out       the array receiving the values
+     * @see #fill(int, int, double[])
+     */
+    static void fill(Indicator<Num> indicator, int from, int to, double[] out) {
+        if (indicator instanceof DoubleIndicator) {
+            ((DoubleIndicator) indicator).fill(from, to, out);
+            return;
+        }
+        checkRange(from, to, out);
+        for (int i = from; i < to; i++) {
+            out[i - from] = indicator.getValue(i).doubleValue();
+        }
+    }
+
+    /**
+     * @param from the first index (inclusive)
+     * @param to   the last index (exclusive)
+     * @param out  the array receiving the values
+     * @throws IllegalArgumentException if {@code from > to} or if {@code out} is
+     *                                  too small
+     */
+    static void checkRange(int from, int to, double[] out) {
+        if (from > to) {
+            throw new IllegalArgumentException(String.format("from (%s) must not be greater than to (%s)", from, to));
+        }
+        if (out.length < to - from) {
+            throw new IllegalArgumentException(
+                    String.format("The array (length %s) cannot hold %s values", out.length, to - from));
+        }
+    }
+}
@@ -0,0 +1,335 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017-2023 Ta4j Organization & respective
+ * authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.indicators;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.ta4j.core.Bar;
+import org.ta4j.core.BarSeries;
+import org.ta4j.core.Indicator;
+import org.ta4j.core.Rule;
+import org.ta4j.core.Strategy;
+import org.ta4j.core.TradingRecord;
+import org.ta4j.core.num.Num;
+
+/**
+ * The dependency graph of the indicators of a {@link Strategy}, a set of
+ * {@link Rule rules} or {@link Indicator indicators}.
+ *
+ * <p>
+ * The graph is discovered by reflection: the indicators of a rule or an
+ * indicator are the indicators referenced by its fields (also within arrays,
+ * collections of indicators or rules and other helper objects). The indicators
+ * are sorted topologically, i.e. each indicator comes after the indicators it
+ * depends on.
+ *
+ * <p>
+ * {@link #update()} pushes the new bars of the series through the graph: for
+ * each new bar, the value of each indicator is calculated in topological order,
+ * so that all values an indicator depends on are already cached. Hence, each
+ * indicator is calculated once per bar, without deep (recursive) call stacks
+ * and without the prefetching of {@link RecursiveCachedIndicator}. As the
+ * values of the last bar are not cached by default, the series should
+ * {@link org.ta4j.core.BaseBarSeries#setProvisionalLastBarEvaluation(boolean)
+ * cache the last bar provisionally} in live trading:
+ *
+ * <pre>
+ * IndicatorGraph graph = IndicatorGraph.of(strategy);
+ * // on each new bar (or trade)
+ * series.addBar(bar);
+ * graph.update();
+ * strategy.shouldEnter(series.getEndIndex());
+ * </pre>
+ *
+ * <p>
+ * Indicators without a bar series are not part of the graph. This class is not
+ * thread-safe.
+ */
+public class IndicatorGraph {
+
+    private final BarSeries series;
+
+    /** The indicators in topological order. */
+    private final List<Indicator<?>> indicators;
+
+    /** The direct dependencies of each indicator. */
+    private final Map<Indicator<?>, List<Indicator<?>>> dependencies;
+
+    /** The last index pushed through the graph. */
+    private int lastIndex = -1;
+
+    private IndicatorGraph(Collection<?> roots) {
+        this.dependencies = new IdentityHashMap<>();
+        final List<Indicator<?>> sorted = new ArrayList<>();
+        final Set<Indicator<?>> visiting = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (Indicator<?> root : findIndicators(roots)) {
+            visit(root, visiting, sorted);
+        }
+        BarSeries graphSeries = null;
+        for (Indicator<?> indicator : sorted) {
+            if (graphSeries == null) {
+                graphSeries = indicator.getBarSeries();
+            } else if (indicator.getBarSeries() != graphSeries) {
+                throw new IllegalArgumentException("The indicators of the graph must belong to the same bar series");
+            }
+        }
+        this.series = graphSeries;
+        this.indicators = Collections.unmodifiableList(sorted);
+    }
+
+    /**
+     * @param strategy the strategy
+     * @return the graph of the indicators of the entry and exit rule of the
+     *         strategy
+     * @throws IllegalArgumentException if the indicators belong to different bar
+     *                                  series
+     */
+    public static IndicatorGraph of(Strategy strategy) {
+        return new IndicatorGraph(List.of(strategy.getEntryRule(), strategy.getExitRule()));
+    }
+
+    /**
+     * @param rules the rules
+     * @return the graph of the indicators of the rules
+     * @throws IllegalArgumentException if the indicators belong to different bar
+     *                                  series
+     */
+    public static IndicatorGraph of(Rule... rules) {
+        return new IndicatorGraph(List.of(rules));
+    }
+
+    /**
+     * @param indicators the indicators
+     * @return the graph of the indicators and their dependencies
+     * @throws IllegalArgumentException if the indicators belong to different bar
+     *                                  series
+     */
+    public static IndicatorGraph of(Indicator<?>... indicators) {
+        return new IndicatorGraph(List.of(indicators));
+    }
+
+    /**
+     * @return the bar series of the indicators (or null if the graph is empty)
+     */
+    public BarSeries getBarSeries() {
+        return series;
+    }
+
+    /**
+     * @return the indicators in topological order (dependencies first)
+     */
+    public List<Indicator<?>> getIndicators() {
+        return indicators;
+    }
+
+    /**
+     * @param indicator an indicator of the graph
+     * @return the indicators {@code indicator} directly depends on
+     * @throws IllegalArgumentException if the indicator is not part of the graph
+     */
+    public List<Indicator<?>> getDependencies(Indicator<?> indicator) {
+        final List<Indicator<?>> result = dependencies.get(indicator);
+        if (result == null) {
+            throw new IllegalArgumentException("The indicator is not part of the graph: " + indicator);
+        }
+        return result;
+    }
+
+    /**
+     * Pushes the bars added since the last update (and the last bar of the last
+     * update, which may have changed since) through the graph.
+     *
+     * @return the number of pushed bars
+     */
+    public int update() {
+        if (series == null || series.isEmpty()) {
+            return 0;
+        }
+        final int endIndex = series.getEndIndex();
+        int count = 0;
+        for (int index = Math.max(lastIndex, series.getBeginIndex()); index <= endIndex; index++) {
+            push(index);
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Calculates the values of all indicators at {@code index} in topological
+     * order.
+     *
+     * @param index the bar index
+     */
+    public void push(int index) {
+        for (Indicator<?> indicator : indicators) {
+            indicator.getValue(index);
+        }
+        lastIndex = index;
+    }
+
+    /**
+     * Adds {@code indicator} and (first) its dependencies to {@code sorted}
+     * (depth-first post-order). Back references (cycles) are ignored.
+     */
+    private void visit(Indicator<?> indicator, Set<Indicator<?>> visiting, List<Indicator<?>> sorted) {
+        if (dependencies.containsKey(indicator) || !visiting.add(indicator)) {
+            return;
+        }
+        final List<Indicator<?>> direct = new ArrayList<>(findDependencies(indicator));
+        for (Indicator<?> dependency : direct) {
+            visit(dependency, visiting, sorted);
+        }
+        direct.removeIf(dependency -> !dependencies.containsKey(dependency));
+        visiting.remove(indicator);
+        dependencies.put(indicator, Collections.unmodifiableList(direct));
+        sorted.add(indicator);
+    }
+
+    /**
+     * @param roots the indicators and rules to search
+     * @return the root indicators (with a bar series) and the nearest indicators
+     *         referenced by the other roots
+     */
+    private static Set<Indicator<?>> findIndicators(Collection<?> roots) {
+        final Set<Object> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+        final Set<Indicator<?>> found = new LinkedHashSet<>();
+        for (Object root : roots) {
+            search(root, visited, found);
+        }
+        return found;
+    }
+
+    /**
+     * @param indicator the indicator to search
+     * @return the nearest indicators (with a bar series) referenced by the fields
+     *         of {@code indicator}, not searching into the found indicators
+     */
+    private static Set<Indicator<?>> findDependencies(Indicator<?> indicator) {
+        final Set<Object> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+        final Set<Indicator<?>> found = new LinkedHashSet<>();
+        visited.add(indicator);
+        searchFields(indicator, visited, found);
+        return found;
+    }
+
+    private static void search(Object value, Set<Object> visited, Set<Indicator<?>> found) {
+        if (value == null || value instanceof Num || value instanceof Bar || value instanceof BarSeries
+                || !visited.add(value)) {
+            return;
+        }
+        if (value instanceof Indicator) {
+            final Indicator<?> indicator = (Indicator<?>) value;
+            if (indicator.getBarSeries() != null) {
+                found.add(indicator);
+            } else {
+                // e.g. a wrapper without series: search through it
+                searchFields(value, visited, found);
+            }
+        } else if (value instanceof Object[]) {
+            for (Object element : (Object[]) value) {
+                search(element, visited, found);
+            }
+        } else if (value instanceof Iterable) {
+            for (Object element : (Iterable<?>) value) {
+                search(element, visited, found);
+            }
+        } else if (isSearchable(value.getClass())) {
+            searchFields(value, visited, found);
+        }
+    }
+
+    private static void searchFields(Object object, Set<Object> visited, Set<Indicator<?>> found) {
+        for (Class<?> type = object.getClass(); type != null && type != Object.class; type = type.getSuperclass()) {
+            for (Field field : type.getDeclaredFields()) {
+                if (Modifier.isStatic(field.getModifiers()) || !mayReferenceIndicators(field)) {
+                    continue;
+                }
+                final Object value;
+                try {
+                    field.setAccessible(true);
+                    value = field.get(object);
+                } catch (RuntimeException | IllegalAccessException e) {
+                    // inaccessible field (e.g. of a module)
+                    continue;
+                }
+                search(value, visited, found);
+            }
+        }
+    }
+
+    /**
+     * @return false if the field cannot reference an indicator, e.g. a primitive,
+     *         the bar series or a cache of values
+     */
+    private static boolean mayReferenceIndicators(Field field) {
+        final Class<?> type = field.getType();
+        if (type.isPrimitive() || BarSeries.class.isAssignableFrom(type) || Bar.class.isAssignableFrom(type)
+                || Num.class.isAssignableFrom(type) || TradingRecord.class.isAssignableFrom(type)
+                || CharSequence.class.isAssignableFrom(type) || Number.class.isAssignableFrom(type)) {
+            return false;
+        }
+        if (type.isArray()) {
+            return mayContainIndicators(type.getComponentType());
+        }
+        if (Iterable.class.isAssignableFrom(type) || Map.class.isAssignableFrom(type)) {
+            // only collections declared with indicator or rule elements
+            final Type genericType = field.getGenericType();
+            if (!(genericType instanceof ParameterizedType) || Map.class.isAssignableFrom(type)) {
+                return false;
+            }
+            final Type elementType = ((ParameterizedType) genericType).getActualTypeArguments()[0];
+            final Type rawType = elementType instanceof ParameterizedType
+                    ? ((ParameterizedType) elementType).getRawType()
+                    : elementType;
+            return rawType instanceof Class && mayContainIndicators((Class<?>) rawType);
+        }
+        return true;
+    }
+
+    private static boolean mayContainIndicators(Class<?> type) {
+        return Indicator.class.isAssignableFrom(type) || Rule.class.isAssignableFrom(type)
+                || (type.isArray() && mayContainIndicators(type.getComponentType()));
+    }
+
+    /**
+     * @return true if the fields of an object of {@code type} are searched for
+     *         indicators (i.e. if it is not a class of the JDK)
+     */
+    private static boolean isSearchable(Class<?> type) {
+        final String name = type.getName();
+        return !type.isEnum() && !name.startsWith("java.") && !name.startsWith("javax.") && !name.startsWith("jdk.")
+                && !name.startsWith("sun.") && !name.startsWith("org.slf4j.");
+    }
+}
@@ -0,0 +1,253 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017-2023 Ta4j Organization & respective
+ * authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.indicators;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import org.ta4j.core.BarSeries;
+import org.ta4j.core.Indicator;
+
+/**
+ * Registry of shared indicators of a bar series.
+ *
+ * <p>
+ * Indicators are identified by their type and the arguments of their
+ * constructor: requesting the same indicator twice returns the same instance,
+ * so that its values are calculated (and cached) only once. This is
+ * particularly useful when many strategies are built from the same indicators
+ * (e.g. in parameter optimizations):
+ *
+ * <pre>
+ * IndicatorRegistry registry = new IndicatorRegistry(series);
+ * ClosePriceIndicator closePrice = registry.get(ClosePriceIndicator.class, series);
+ * SMAIndicator sma = registry.get(SMAIndicator.class, closePrice, 50);
+ * // same instance
+ * SMAIndicator sameSma = registry.get(SMAIndicator.class, closePrice, 50);
+ * </pre>
+ *
+ * <p>
+ * The arguments are compared with {@code equals} (arrays with
+ * {@link Arrays#deepEquals(Object[], Object[])}), i.e. indicator arguments
+ * should themselves be shared instances of the registry. The registry is
+ * thread-safe.
+ */
+public class IndicatorRegistry {
+
+    private final BarSeries series;
+
+    private final Map<Key, Indicator<?>> indicators = new HashMap<>();
+
+    /**
+     * Constructor.
+     *
+     * @param series the bar series of the indicators
+     */
+    public IndicatorRegistry(BarSeries series) {
+        this.series = series;
+    }
+
+    /**
+     * Returns the shared indicator of type {@code type} constructed with
+     * {@code arguments}, creating it if needed.
+     *
+     * @param type      the type of the indicator
+     * @param arguments the arguments of the (public) constructor
+     * @return the shared indicator
+     * @throws IllegalArgumentException if an argument belongs to another bar
+     *                                  series, or if there is no (or no unique most
+     *                                  specific) constructor for the arguments
+     */
+    public <I extends Indicator<?>> I get(Class<I> type, Object... arguments) {
+        checkArguments(arguments);
+        return get(new Key(type, arguments), () -> newInstance(type, arguments));
+    }
+
+    /**
+     * Returns the shared indicator identified by {@code key}, creating it with
+     * {@code factory} if needed (e.g. for indicators that are not created by a
+     * public constructor).
+     *
+     * @param key     the key of the indicator (compared with {@code equals})
+     * @param factory the factory of the indicator
+     * @return the shared indicator
+     */
+    public <I extends Indicator<?>> I get(Object key, Supplier<? extends I> factory) {
+        return get(new Key(key), factory);
+    }
+
+    /**
+     * @return the number of registered indicators
+     */
+    public synchronized int size() {
+        return indicators.size();
+    }
+
+    /**
+     * Removes all the registered indicators.
+     */
+    public synchronized void clear() {
+        indicators.clear();
+    }
+
+    /**
+     * @return the bar series of the indicators
+     */
+    public BarSeries getBarSeries() {
+        return series;
+    }
+
+    @SuppressWarnings("unchecked")
+    private synchronized <I extends Indicator<?>> I get(Key key, Supplier<? extends I> factory) {
+        // no computeIfAbsent: the factory may use this registry (reentrant monitor)
+        Indicator<?> indicator = indicators.get(key);
+        if (indicator == null) {
+            indicator = factory.get();
+            if (indicator.getBarSeries() != series) {
+                throw new IllegalArgumentException("The indicator does not belong to the series of the registry");
+            }
+            indicators.put(key, indicator);
+        }
+        return (I) indicator;
+    }
+
+    private void checkArguments(Object[] arguments) {
+        for (Object argument : arguments) {
+            if ((argument instanceof BarSeries && argument != series)
+                    || (argument instanceof Indicator && ((Indicator<?>) argument).getBarSeries() != series)) {
+                throw new IllegalArgumentException(
+                        "The argument " + argument + " does not belong to the series of the registry");
+            }
+        }
+    }
+
+    private static <I> I newInstance(Class<I> type, Object[] arguments) {
+        Constructor<?> constructor = findConstructor(type, arguments);
+        try {
+            return type.cast(constructor.newInstance(arguments));
+        } catch (InvocationTargetException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException("Cannot create " + type.getSimpleName(), e.getCause());
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot create " + type.getSimpleName(), e);
+        }
+    }
+
+    /**
+     * @return the most specific public constructor of {@code type} applicable to
+     *         {@code arguments}
+     */
+    private static Constructor<?> findConstructor(Class<?> type, Object[] arguments) {
+        List<Constructor<?>> candidates = new ArrayList<>();
+        for (Constructor<?> constructor : type.getConstructors()) {
+            if (isApplicable(constructor.getParameterTypes(), arguments)) {
+                candidates.add(constructor);
+            }
+        }
+        for (Constructor<?> candidate : candidates) {
+            boolean mostSpecific = true;
+            for (Constructor<?> other : candidates) {
+                mostSpecific &= isApplicable(other.getParameterTypes(), candidate.getParameterTypes());
+            }
+            if (mostSpecific) {
+                return candidate;
+            }
+        }
+        throw new IllegalArgumentException(String.format("No %s constructor for the arguments %s",
+                candidates.isEmpty() ? "public" : "unique", Arrays.toString(arguments)));
+    }
+
+    private static boolean isApplicable(Class<?>[] parameterTypes, Object[] arguments) {
+        if (parameterTypes.length != arguments.length) {
+            return false;
+        }
+        for (int i = 0; i < arguments.length; i++) {
+            Class<?> parameterType = wrap(parameterTypes[i]);
+            if (arguments[i] == null ? parameterTypes[i].isPrimitive() : !parameterType.isInstance(arguments[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** @return true if each type of {@code types} is assignable to the parameter */
+    private static boolean isApplicable(Class<?>[] parameterTypes, Class<?>[] types) {
+        for (int i = 0; i < types.length; i++) {
+            if (!wrap(parameterTypes[i]).isAssignableFrom(wrap(types[i]))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static Class<?> wrap(Class<?> type) {
+        if (!type.isPrimitive()) {
+            return type;
+        }
+        if (type == int.class) {
+            return Integer.class;
+        } else if (type == double.class) {
+            return Double.class;
+        } else if (type == long.class) {
+            return Long.class;
+        } else if (type == boolean.class) {
+            return Boolean.class;
+        } else if (type == float.class) {
+            return Float.class;
+        } else if (type == short.class) {
+            return Short.class;
+        } else if (type == byte.class) {
+            return Byte.class;
+        }
+        return Character.class;
+    }
+
+    /** The key of an indicator (compared deeply). */
+    private static final class Key {
+
+        private final Object[] parts;
+
+        private Key(Object... parts) {
+            this.parts = parts.clone();
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof Key && Arrays.deepEquals(parts, ((Key) obj).parts);
+        }
+
+        @Override
+        public int hashCode() {
+            return Arrays.deepHashCode(parts);
+        }
+    }
+}
@@ -34,7 +34,7 @@ import org.ta4j.core.num.Num;
  * <p>
  * Computed using original Welles Wilder formula.
  */
-public class RSIIndicator extends CachedIndicator<Num> {
+public class RSIIndicator extends CachedDoubleIndicator {
 
     private final MMAIndicator averageGainIndicator;
     private final MMAIndicator averageLossIndicator;
@@ -64,6 +64,17 @@ public class RSIIndicator extends CachedIndicator<Num> {
         return hundred().minus(hundred().dividedBy(one().plus(relativeStrength)));
     }
 
+    @Override
+    protected double calculateDouble(int index) {
+        double averageGain = averageGainIndicator.getDouble(index);
+        double averageLoss = averageLossIndicator.getDouble(index);
+        if (averageLoss == 0) {
+            return averageGain == 0 ? 0 : 100;
+        }
+        double relativeStrength = averageGain / averageLoss;
+        return 100 - 100 / (1 + relativeStrength);
+    }
+
     @Override
     public int getUnstableBars() {
         return 0;
@@ -0,0 +1,95 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017-2023 Ta4j Organization & respective
+ * authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.indicators;
+
+import org.ta4j.core.BarSeries;
+import org.ta4j.core.Indicator;
+import org.ta4j.core.num.Num;
+
+/**
+ * Recursive cached {@link DoubleIndicator indicator}.
+ *
+ * <p>
+ * The primitive counterpart of {@link RecursiveCachedIndicator}: if the last
+ * cached value is too far from the asked one, the values in between are
+ * calculated iteratively to avoid a StackOverflowError.
+ */
+public abstract class RecursiveCachedDoubleIndicator extends CachedDoubleIndicator {
+
+    /** The recursion threshold for which an iterative calculation is executed. */
+    private static final int RECURSION_THRESHOLD = 100;
+
+    /**
+     * Constructor.
+     *
+     * @param series the bar series
+     */
+    protected RecursiveCachedDoubleIndicator(BarSeries series) {
+        super(series);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param indicator the indicator (with its bar series)
+     */
+    protected RecursiveCachedDoubleIndicator(Indicator<?> indicator) {
+        this(indicator.getBarSeries());
+    }
+
+    @Override
+    public Num getValue(int index) {
+        calculatePreviousValues(index);
+        return super.getValue(index);
+    }
+
+    @Override
+    public double getDouble(int index) {
+        calculatePreviousValues(index);
+        return super.getDouble(index);
+    }
+
+    /**
+     * Calculates the values before {@code index} iteratively, if there are too many
+     * uncalculated ones.
+     *
+     * @param index the bar index
+     */
+    private void calculatePreviousValues(int index) {
+        final BarSeries series = getBarSeries();
+        if (series == null || index > series.getEndIndex()) {
+            return;
+        }
+        final int startIndex = Math.max(series.getRemovedBarsCount(), getHighestCachedIndex());
+        if (index - startIndex > RECURSION_THRESHOLD) {
+            for (int prevIndex = startIndex; prevIndex < index; prevIndex++) {
+                if (isPrimitive()) {
+                    super.getDouble(prevIndex);
+                } else {
+                    super.getValue(prevIndex);
+                }
+            }
+        }
+    }
+}
@@ -29,13 +29,24 @@ import org.ta4j.core.num.Num;
 /**
  * Simple moving average (SMA) indicator.
  *
+ * <p>
+ * The sum of the window is cached: if the sum of the previous index is already
+ * calculated (e.g. on sequential evaluation), the sum is derived from it by
+ * adding the new and subtracting the departing element. Otherwise (and every
+ * {@link #ANCHOR_INTERVAL} bars, to bound accumulated rounding errors) the
+ * whole window is summed up.
+ *
  * @see <a href=
  *      "https://www.investopedia.com/terms/s/sma.asp">https://www.investopedia.com/terms/s/sma.asp</a>
  */
-public class SMAIndicator extends CachedIndicator<Num> {
+public class SMAIndicator extends CachedDoubleIndicator {
+
+    /** The interval (in bars) at which the sum of the window is recalculated. */
+    static final int ANCHOR_INTERVAL = 1000;
 
     private final Indicator<Num> indicator;
     private final int barCount;
+    private final WindowSumIndicator sum;
 
     /**
      * Constructor.
@@ -47,17 +58,50 @@ public class SMAIndicator extends CachedIndicator<Num> {
         super(indicator);
         this.indicator = indicator;
         this.barCount = barCount;
+        this.sum = new WindowSumIndicator(indicator, barCount);
     }
 
     @Override
     protected Num calculate(int index) {
-        Num sum = zero();
-        for (int i = Math.max(0, index - barCount + 1); i <= index; i++) {
-            sum = sum.plus(indicator.getValue(i));
-        }
+        final int realBarCount = Math.min(barCount, index + 1);
+        return sum.getValue(index).dividedBy(numOf(realBarCount));
+    }
 
+    @Override
+    protected double calculateDouble(int index) {
         final int realBarCount = Math.min(barCount, index + 1);
-        return sum.dividedBy(numOf(realBarCount));
+        return sum.getDouble(index) / realBarCount;
+    }
+
+    /**
+     * Calculates the values of the range at once (on {@code DoubleNum} series),
+     * sliding the sum of the window over the values of the underlying indicator.
+     */
+    @Override
+    public void fill(int from, int to, double[] out) {
+        if (!isPrimitive()) {
+            super.fill(from, to, out);
+            return;
+        }
+        DoubleIndicator.checkRange(from, to, out);
+        final int start = Math.max(0, from - barCount + 1);
+        final double[] values = new double[to - start];
+        DoubleIndicator.fill(indicator, start, to, values);
+        double sum = Double.NaN;
+        for (int i = from; i < to; i++) {
+            if (i > from && i >= barCount && i % ANCHOR_INTERVAL != 0) {
+                sum = sum + values[i - start] - values[i - barCount - start];
+            } else {
+                sum = Double.NaN;
+            }
+            if (Double.isNaN(sum)) {
+                sum = 0;
+                for (int j = Math.max(0, i - barCount + 1); j <= i; j++) {
+                    sum += values[j - start];
+                }
+            }
+            out[i - from] = sum / Math.min(barCount, i + 1);
+        }
     }
 
     /** @return {@link #barCount} */
@@ -71,4 +115,61 @@ public class SMAIndicator extends CachedIndicator<Num> {
         return getClass().getSimpleName() + " barCount: " + barCount;
     }
 
+    /**
+     * The (incrementally calculated) sum of the last {@code barCount} values.
+     */
+    private static class WindowSumIndicator extends CachedDoubleIndicator {
+
+        private final Indicator<Num> indicator;
+        private final int barCount;
+
+        private WindowSumIndicator(Indicator<Num> indicator, int barCount) {
+            super(indicator);
+            this.indicator = indicator;
+            this.barCount = barCount;
+        }
+
+        @Override
+        protected Num calculate(int index) {
+            if (index >= barCount && index % ANCHOR_INTERVAL != 0) {
+                final Num previousSum = getCachedValue(index - 1);
+                if (previousSum != null && !previousSum.isNaN()) {
+                    final Num sum = previousSum.plus(indicator.getValue(index))
+                            .minus(indicator.getValue(index - barCount));
+                    if (!sum.isNaN()) {
+                        return sum;
+                    }
+                }
+            }
+            Num sum = zero();
+            for (int i = Math.max(0, index - barCount + 1); i <= index; i++) {
+                sum = sum.plus(indicator.getValue(i));
+            }
+            return sum;
+        }
+
+        @Override
+        protected double calculateDouble(int index) {
+            if (index >= barCount && index % ANCHOR_INTERVAL != 0) {
+                final double previousSum = getCachedDouble(index - 1);
+                if (!Double.isNaN(previousSum)) {
+                    final double sum = previousSum + DoubleIndicator.doubleValueOf(indicator, index)
+                            - DoubleIndicator.doubleValueOf(indicator, index - barCount);
+                    if (!Double.isNaN(sum)) {
+                        return sum;
+                    }
+                }
+            }
+            double sum = 0;
+            for (int i = Math.max(0, index - barCount + 1); i <= index; i++) {
+                sum += DoubleIndicator.doubleValueOf(indicator, i);
+            }
+            return sum;
+        }
+
+        @Override
+        public int getUnstableBars() {
+            return barCount;
+        }
+    }
 }
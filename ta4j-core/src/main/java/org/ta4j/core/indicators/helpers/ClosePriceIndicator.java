@@ -24,7 +24,9 @@
 package org.ta4j.core.indicators.helpers;
 
 import org.ta4j.core.BarSeries;
+import org.ta4j.core.ColumnarBarSeries;
 import org.ta4j.core.indicators.AbstractIndicator;
+import org.ta4j.core.indicators.DoubleIndicator;
 import org.ta4j.core.num.Num;
 
 /**
@@ -33,7 +35,7 @@ import org.ta4j.core.num.Num;
  * <p>
  * Returns the close price of a bar.
  */
-public class ClosePriceIndicator extends AbstractIndicator<Num> {
+public class ClosePriceIndicator extends AbstractIndicator<Num> implements DoubleIndicator {
 
     /**
      * Constructor.
@@ -49,6 +51,21 @@ public class ClosePriceIndicator extends AbstractIndicator<Num> {
         return getBarSeries().getBar(index).getClosePrice();
     }
 
+    @Override
+    public double getDouble(int index) {
+        return getBarSeries().getBar(index).getClosePrice().doubleValue();
+    }
+
+    @Override
+    public void fill(int from, int to, double[] out) {
+        if (getBarSeries() instanceof ColumnarBarSeries) {
+            DoubleIndicator.checkRange(from, to, out);
+            ((ColumnarBarSeries) getBarSeries()).copyClosePrices(from, to, out);
+        } else {
+            DoubleIndicator.super.fill(from, to, out);
+        }
+    }
+
     /** @return {@code 0} */
     @Override
     public int getUnstableBars() {
@@ -24,7 +24,8 @@
 package org.ta4j.core.indicators.helpers;
 
 import org.ta4j.core.Indicator;
-import org.ta4j.core.indicators.CachedIndicator;
+import org.ta4j.core.indicators.CachedDoubleIndicator;
+import org.ta4j.core.indicators.DoubleIndicator;
 import org.ta4j.core.num.Num;
 
 /**
@@ -35,7 +36,7 @@ import org.ta4j.core.num.Num;
  * if the indicator value of the current bar is less than the indicator value of
  * the previous bar (otherwise, {@link Num#zero()} is returned).
  */
-public class LossIndicator extends CachedIndicator<Num> {
+public class LossIndicator extends CachedDoubleIndicator {
 
     private final Indicator<Num> indicator;
 
@@ -59,6 +60,16 @@ public class LossIndicator extends CachedIndicator<Num> {
         return actualValue.isLessThan(previousValue) ? previousValue.minus(actualValue) : zero();
     }
 
+    @Override
+    protected double calculateDouble(int index) {
+        if (index == 0) {
+            return 0;
+        }
+        double actualValue = DoubleIndicator.doubleValueOf(indicator, index);
+        double previousValue = DoubleIndicator.doubleValueOf(indicator, index - 1);
+        return actualValue < previousValue ? previousValue - actualValue : 0;
+    }
+
     /** @return {@code 1} */
     @Override
     public int getUnstableBars() {
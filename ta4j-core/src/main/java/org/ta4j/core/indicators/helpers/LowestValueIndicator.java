@@ -32,11 +32,16 @@ import org.ta4j.core.num.Num;
  * 
  * <p>
  * Returns the lowest indicator value from the bar series within the bar count.
+ * {@code NaN} values are ignored.
+ *
+ * <p>
+ * The lowest value is calculated by a monotonic deque, i.e. in amortized O(1)
+ * on sequential evaluation.
  */
 public class LowestValueIndicator extends CachedIndicator<Num> {
 
-    private final Indicator<Num> indicator;
     private final int barCount;
+    private final MonotonicWindow window;
 
     /**
      * Constructor.
@@ -46,23 +51,13 @@ public class LowestValueIndicator extends CachedIndicator<Num> {
      */
     public LowestValueIndicator(Indicator<Num> indicator, int barCount) {
         super(indicator);
-        this.indicator = indicator;
         this.barCount = barCount;
+        this.window = new MonotonicWindow(indicator, barCount, false);
     }
 
     @Override
     protected Num calculate(int index) {
-        if (indicator.getValue(index).isNaN() && barCount != 1) {
-            return new LowestValueIndicator(indicator, barCount - 1).getValue(index - 1);
-        }
-        int end = Math.max(0, index - barCount + 1);
-        Num lowest = indicator.getValue(index);
-        for (int i = index - 1; i >= end; i--) {
-            if (lowest.isGreaterThan(indicator.getValue(i))) {
-                lowest = indicator.getValue(i);
-            }
-        }
-        return lowest;
+        return window.calculate(index);
     }
 
     /** @return {@link #barCount} */
@@ -0,0 +1,181 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017-2023 Ta4j Organization & respective
+ * authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.indicators.helpers;
+
+import static org.ta4j.core.num.NaN.NaN;
+
+import org.ta4j.core.Indicator;
+import org.ta4j.core.num.Num;
+
+/**
+ * Sliding window maximum/minimum of an indicator based on a monotonic deque.
+ *
+ * <p>
+ * The deque holds the indices of the window (except the current index) whose
+ * values are candidates for the extremum, in decreasing (for the maximum) or
+ * increasing (for the minimum) order of their values. On sequential evaluation,
+ * each index is pushed and popped at most once, i.e. the extremum is calculated
+ * in amortized O(1). On random access, the deque is rebuilt from the window in
+ * O(barCount).
+ *
+ * <p>
+ * The current index is not pushed into the deque, as its value may still change
+ * (e.g. the last bar of a live series). {@code NaN} values are ignored.
+ *
+ * <p>
+ * This class is not thread-safe: it is meant to be used by a single
+ * {@link org.ta4j.core.indicators.CachedIndicator CachedIndicator}, whose
+ * calculations are synchronized.
+ */
+final class MonotonicWindow {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final Indicator<Num> indicator;
+    private final int barCount;
+    private final boolean maximum;
+
+    /** The indices of the deque (circular buffer). */
+    private int[] indices;
+
+    /** The values of the deque (circular buffer). */
+    private Num[] values;
+
+    /** The position of the first element of the deque. */
+    private int head = 0;
+
+    /** The number of elements of the deque. */
+    private int size = 0;
+
+    /** The last index pushed into the deque. */
+    private int lastIndex = Integer.MIN_VALUE;
+
+    /**
+     * Constructor.
+     *
+     * @param indicator the {@link Indicator}
+     * @param barCount  the time frame
+     * @param maximum   true to calculate the maximum, false for the minimum
+     */
+    MonotonicWindow(Indicator<Num> indicator, int barCount, boolean maximum) {
+        if (barCount < 1) {
+            throw new IllegalArgumentException("barCount must be strictly positive");
+        }
+        this.indicator = indicator;
+        this.barCount = barCount;
+        this.maximum = maximum;
+        // the deque holds at most barCount - 1 elements
+        final int capacity = Math.min(barCount, INITIAL_CAPACITY);
+        this.indices = new int[capacity];
+        this.values = new Num[capacity];
+    }
+
+    /**
+     * @param index the bar index
+     * @return the extremum of the (non-NaN) values within the window ending at
+     *         {@code index}, or {@code NaN} if all values are {@code NaN}
+     */
+    Num calculate(int index) {
+        final int start = Math.max(0, index - barCount + 1);
+        final int previousIndex = index - 1;
+        if (lastIndex < start - 1 || lastIndex > previousIndex) {
+            // random access: rebuild the deque
+            head = 0;
+            size = 0;
+            lastIndex = start - 1;
+        }
+        while (size > 0 && indices[head] < start) {
+            pollFirst();
+        }
+        while (lastIndex < previousIndex) {
+            push(++lastIndex);
+        }
+
+        final Num current = indicator.getValue(index);
+        if (size == 0) {
+            return current.isNaN() ? NaN : current;
+        }
+        final Num candidate = values[head];
+        if (current.isNaN() || isBeyond(candidate, current)) {
+            return candidate;
+        }
+        return current;
+    }
+
+    /**
+     * Pushes {@code index} into the deque, removing all values that can no longer
+     * be the extremum.
+     *
+     * @param index the index to push
+     */
+    private void push(int index) {
+        final Num value = indicator.getValue(index);
+        if (value.isNaN()) {
+            return;
+        }
+        while (size > 0 && !isBeyond(values[position(size - 1)], value)) {
+            size--;
+            values[position(size)] = null;
+        }
+        if (size == indices.length) {
+            grow();
+        }
+        final int position = position(size);
+        indices[position] = index;
+        values[position] = value;
+        size++;
+    }
+
+    private void grow() {
+        final int newCapacity = Math.min(barCount, indices.length * 2);
+        final int[] newIndices = new int[newCapacity];
+        final Num[] newValues = new Num[newCapacity];
+        for (int i = 0; i < size; i++) {
+            newIndices[i] = indices[position(i)];
+            newValues[i] = values[position(i)];
+        }
+        indices = newIndices;
+        values = newValues;
+        head = 0;
+    }
+
+    private void pollFirst() {
+        values[head] = null;
+        head = position(1);
+        size--;
+    }
+
+    /**
+     * @return true if {@code value} is strictly greater (for the maximum) or lower
+     *         (for the minimum) than {@code other}
+     */
+    private boolean isBeyond(Num value, Num other) {
+        return maximum ? value.isGreaterThan(other) : value.isLessThan(other);
+    }
+
+    private int position(int offset) {
+        final int position = head + offset;
+        return position >= indices.length ? position - indices.length : position;
+    }
+}
@@ -25,19 +25,19 @@ package org.ta4j.core.indicators.statistics;
 
 import org.ta4j.core.Indicator;
 import org.ta4j.core.indicators.CachedIndicator;
-import org.ta4j.core.indicators.SMAIndicator;
 import org.ta4j.core.num.Num;
 
 /**
  * Covariance indicator.
+ *
+ * <p>
+ * On sequential evaluation, the covariance is updated incrementally in O(1) per
+ * bar (see {@link RollingMomentsIndicator}).
  */
 public class CovarianceIndicator extends CachedIndicator<Num> {
 
-    private final Indicator<Num> indicator1;
-    private final Indicator<Num> indicator2;
     private final int barCount;
-    private final SMAIndicator sma1;
-    private final SMAIndicator sma2;
+    private final RollingMomentsIndicator moments;
 
     /**
      * Constructor.
@@ -48,26 +48,13 @@ public class CovarianceIndicator extends CachedIndicator<Num> {
      */
     public CovarianceIndicator(Indicator<Num> indicator1, Indicator<Num> indicator2, int barCount) {
         super(indicator1);
-        this.indicator1 = indicator1;
-        this.indicator2 = indicator2;
         this.barCount = barCount;
-        this.sma1 = new SMAIndicator(indicator1, barCount);
-        this.sma2 = new SMAIndicator(indicator2, barCount);
+        this.moments = new RollingMomentsIndicator(indicator1, indicator2, barCount);
     }
 
     @Override
     protected Num calculate(int index) {
-        final int startIndex = Math.max(0, index - barCount + 1);
-        final int numberOfObservations = index - startIndex + 1;
-        Num covariance = zero();
-        Num average1 = sma1.getValue(index);
-        Num average2 = sma2.getValue(index);
-        for (int i = startIndex; i <= index; i++) {
-            Num mul = indicator1.getValue(i).minus(average1).multipliedBy(indicator2.getValue(i).minus(average2));
-            covariance = covariance.plus(mul);
-        }
-        covariance = covariance.dividedBy(numOf(numberOfObservations));
-        return covariance;
+        return moments.getValue(index).covariance();
     }
 
     @Override
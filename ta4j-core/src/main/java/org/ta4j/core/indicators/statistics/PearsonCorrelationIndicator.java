@@ -41,6 +41,9 @@ public class PearsonCorrelationIndicator extends RecursiveCachedIndicator<Num> {
     private final Indicator<Num> indicator1;
     private final Indicator<Num> indicator2;
     private final int barCount;
+    private final RollingMomentsIndicator moments;
+    private final RollingMomentsIndicator moments1;
+    private final RollingMomentsIndicator moments2;
 
     /**
      * Constructor.
@@ -54,10 +57,21 @@ public class PearsonCorrelationIndicator extends RecursiveCachedIndicator<Num> {
         this.indicator1 = indicator1;
         this.indicator2 = indicator2;
         this.barCount = barCount;
+        this.moments = new RollingMomentsIndicator(indicator1, indicator2, barCount);
+        this.moments1 = new RollingMomentsIndicator(indicator1, indicator1, barCount);
+        this.moments2 = new RollingMomentsIndicator(indicator2, indicator2, barCount);
     }
 
     @Override
     protected Num calculate(int index) {
+        if (index - barCount + 1 >= getBarSeries().getBeginIndex()) {
+            // full window: use the incrementally updated co-moments
+            Num toSqrt = moments1.getValue(index).comoment().multipliedBy(moments2.getValue(index).comoment());
+            if (toSqrt.isGreaterThan(zero())) {
+                return moments.getValue(index).comoment().dividedBy(toSqrt.sqrt());
+            }
+            return NaN;
+        }
 
         Num n = numOf(barCount);
 
@@ -0,0 +1,274 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017-2023 Ta4j Organization & respective
+ * authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.indicators.statistics;
+
+import org.ta4j.core.Indicator;
+import org.ta4j.core.indicators.CachedIndicator;
+import org.ta4j.core.num.DoubleNum;
+import org.ta4j.core.num.Num;
+
+/**
+ * The (incrementally calculated) moments of two indicators within a sliding
+ * window of {@code barCount} bars, i.e. their co-moment: the sum of the
+ * products of their deviations from their means (the covariance times the
+ * number of observations).
+ *
+ * <p>
+ * If the moments of the previous index are already calculated (e.g. on
+ * sequential evaluation), they are updated by adding the new and removing the
+ * departing observation in O(1). Otherwise (and every {@link #ANCHOR_INTERVAL}
+ * bars, to bound accumulated rounding errors) they are calculated from the
+ * whole window.
+ *
+ * <p>
+ * For {@link DoubleNum} based series, the means and the co-moment are updated
+ * with Welford's algorithm, which avoids the catastrophic cancellation of
+ * floating point sums of squares. For other {@link Num} types (e.g. decimals),
+ * the sums of the values and their products are updated instead, which is exact
+ * as long as they fit into the precision of the {@code Num}.
+ */
+class RollingMomentsIndicator extends CachedIndicator<RollingMomentsIndicator.Moments> {
+
+    /** The interval (in bars) at which the moments are recalculated. */
+    static final int ANCHOR_INTERVAL = 1000;
+
+    private final Indicator<Num> indicator1;
+    private final Indicator<Num> indicator2;
+    private final int barCount;
+    private final boolean welford;
+
+    /**
+     * Constructor.
+     *
+     * @param indicator1 the first indicator
+     * @param indicator2 the second indicator (the same as {@code indicator1} for
+     *                   the variance)
+     * @param barCount   the time frame
+     */
+    RollingMomentsIndicator(Indicator<Num> indicator1, Indicator<Num> indicator2, int barCount) {
+        super(indicator1);
+        if (barCount < 1) {
+            throw new IllegalArgumentException("barCount must be strictly positive");
+        }
+        this.indicator1 = indicator1;
+        this.indicator2 = indicator2;
+        this.barCount = barCount;
+        this.welford = getBarSeries() == null || getBarSeries().num() instanceof DoubleNum;
+    }
+
+    @Override
+    protected Moments calculate(int index) {
+        if (index > 0 && index % ANCHOR_INTERVAL != 0) {
+            final Moments previous = getCachedValue(index - 1);
+            if (previous != null && !previous.comoment().isNaN()) {
+                Moments moments = previous.add(indicator1.getValue(index), indicator2.getValue(index));
+                if (index >= barCount) {
+                    moments = moments.remove(indicator1.getValue(index - barCount),
+                            indicator2.getValue(index - barCount));
+                }
+                if (!moments.comoment().isNaN()) {
+                    return moments;
+                }
+            }
+        }
+        return calculateWindow(index);
+    }
+
+    /**
+     * Calculates the moments from the whole window ending at {@code index}.
+     */
+    private Moments calculateWindow(int index) {
+        final int startIndex = Math.max(0, index - barCount + 1);
+        final int count = index - startIndex + 1;
+        Num sum1 = zero();
+        Num sum2 = zero();
+        Num sumOfProducts = zero();
+        for (int i = startIndex; i <= index; i++) {
+            final Num x1 = indicator1.getValue(i);
+            final Num x2 = indicator2.getValue(i);
+            sum1 = sum1.plus(x1);
+            sum2 = sum2.plus(x2);
+            sumOfProducts = sumOfProducts.plus(x1.multipliedBy(x2));
+        }
+        if (!welford) {
+            return new SumMoments(count, sum1, sum2, sumOfProducts);
+        }
+        // second pass over the deviations from the means
+        final Num observations = numOf(count);
+        final Num mean1 = sum1.dividedBy(observations);
+        final Num mean2 = sum2.dividedBy(observations);
+        Num comoment = zero();
+        for (int i = startIndex; i <= index; i++) {
+            comoment = comoment
+                    .plus(indicator1.getValue(i).minus(mean1).multipliedBy(indicator2.getValue(i).minus(mean2)));
+        }
+        return new WelfordMoments(count, mean1, mean2, comoment);
+    }
+
+    @Override
+    public int getUnstableBars() {
+        return barCount;
+    }
+
+    /**
+     * The moments of a window.
+     */
+    abstract static class Moments {
+
+        /** The number of observations. */
+        final int count;
+
+        private Moments(int count) {
+            this.count = count;
+        }
+
+        /**
+         * @return the mean of the first indicator
+         */
+        abstract Num mean1();
+
+        /**
+         * @return the mean of the second indicator
+         */
+        abstract Num mean2();
+
+        /**
+         * @return the sum of the products of the deviations from the means
+         */
+        abstract Num comoment();
+
+        /**
+         * @return the population covariance (the variance if both indicators are the
+         *         same)
+         */
+        Num covariance() {
+            final Num comoment = comoment();
+            return comoment.dividedBy(comoment.numOf(count));
+        }
+
+        /**
+         * @return the moments with the observation ({@code x1}, {@code x2}) added
+         */
+        abstract Moments add(Num x1, Num x2);
+
+        /**
+         * @return the moments with the observation ({@code x1}, {@code x2}) removed
+         */
+        abstract Moments remove(Num x1, Num x2);
+    }
+
+    /**
+     * Moments updated with Welford's algorithm.
+     */
+    private static final class WelfordMoments extends Moments {
+
+        private final Num mean1;
+        private final Num mean2;
+        private final Num comoment;
+
+        private WelfordMoments(int count, Num mean1, Num mean2, Num comoment) {
+            super(count);
+            this.mean1 = mean1;
+            this.mean2 = mean2;
+            this.comoment = comoment;
+        }
+
+        @Override
+        Num mean1() {
+            return mean1;
+        }
+
+        @Override
+        Num mean2() {
+            return mean2;
+        }
+
+        @Override
+        Num comoment() {
+            return comoment;
+        }
+
+        @Override
+        Moments add(Num x1, Num x2) {
+            final Num observations = x1.numOf(count + 1);
+            final Num delta1 = x1.minus(mean1);
+            final Num newMean1 = mean1.plus(delta1.dividedBy(observations));
+            final Num newMean2 = mean2.plus(x2.minus(mean2).dividedBy(observations));
+            return new WelfordMoments(count + 1, newMean1, newMean2,
+                    comoment.plus(delta1.multipliedBy(x2.minus(newMean2))));
+        }
+
+        @Override
+        Moments remove(Num x1, Num x2) {
+            final Num observations = x1.numOf(count - 1);
+            final Num delta1 = x1.minus(mean1);
+            final Num newMean1 = mean1.minus(delta1.dividedBy(observations));
+            final Num newMean2 = mean2.minus(x2.minus(mean2).dividedBy(observations));
+            return new WelfordMoments(count - 1, newMean1, newMean2,
+                    comoment.minus(delta1.multipliedBy(x2.minus(newMean2))));
+        }
+    }
+
+    /**
+     * Moments updated with the sums of the values and of their products.
+     */
+    private static final class SumMoments extends Moments {
+
+        private final Num sum1;
+        private final Num sum2;
+        private final Num sumOfProducts;
+
+        private SumMoments(int count, Num sum1, Num sum2, Num sumOfProducts) {
+            super(count);
+            this.sum1 = sum1;
+            this.sum2 = sum2;
+            this.sumOfProducts = sumOfProducts;
+        }
+
+        @Override
+        Num mean1() {
+            return sum1.dividedBy(sum1.numOf(count));
+        }
+
+        @Override
+        Num mean2() {
+            return sum2.dividedBy(sum2.numOf(count));
+        }
+
+        @Override
+        Num comoment() {
+            return sumOfProducts.minus(sum1.multipliedBy(sum2).dividedBy(sum1.numOf(count)));
+        }
+
+        @Override
+        Moments add(Num x1, Num x2) {
+            return new SumMoments(count + 1, sum1.plus(x1), sum2.plus(x2), sumOfProducts.plus(x1.multipliedBy(x2)));
+        }
+
+        @Override
+        Moments remove(Num x1, Num x2) {
+            return new SumMoments(count - 1, sum1.minus(x1), sum2.minus(x2), sumOfProducts.minus(x1.multipliedBy(x2)));
+        }
+    }
+}
@@ -25,7 +25,9 @@ package org.ta4j.core.indicators.statistics;
 
 import static org.ta4j.core.num.NaN.NaN;
 
+import org.ta4j.core.BarSeries;
 import org.ta4j.core.Indicator;
+import org.ta4j.core.indicators.AbstractIndicator;
 import org.ta4j.core.indicators.CachedIndicator;
 import org.ta4j.core.num.Num;
 
@@ -38,6 +40,12 @@ import org.ta4j.core.num.Num;
  * <pre>
  * y = slope * x + intercept
  * </pre>
+ *
+ * <p>
+ * The x-values are the bar indices. On sequential evaluation, the regression
+ * line is updated incrementally in O(1) per bar (see
+ * {@link RollingMomentsIndicator}). The calculation does not use any mutable
+ * state besides the cache, so the indicator can be shared between threads.
  * 
  * @see http://introcs.cs.princeton.edu/java/97data/LinearRegression.java.html
  */
@@ -50,11 +58,9 @@ public class SimpleLinearRegressionIndicator extends CachedIndicator<Num> {
         Y, SLOPE, INTERCEPT
     }
 
-    private final Indicator<Num> indicator;
     private final int barCount;
-    private Num slope;
-    private Num intercept;
     private final SimpleLinearRegressionType type;
+    private final RollingMomentsIndicator moments;
 
     /**
      * Constructor for the y-values of the formula (y = slope * x + intercept).
@@ -75,9 +81,11 @@ public class SimpleLinearRegressionIndicator extends CachedIndicator<Num> {
      */
     public SimpleLinearRegressionIndicator(Indicator<Num> indicator, int barCount, SimpleLinearRegressionType type) {
         super(indicator);
-        this.indicator = indicator;
         this.barCount = barCount;
         this.type = type;
+        // with less than 2 observations, the moments are never used
+        this.moments = new RollingMomentsIndicator(new IndexIndicator(indicator.getBarSeries()), indicator,
+                Math.max(1, barCount));
     }
 
     @Override
@@ -87,12 +95,19 @@ public class SimpleLinearRegressionIndicator extends CachedIndicator<Num> {
             // Not enough observations to compute a regression line
             return NaN;
         }
-        calculateRegressionLine(startIndex, index);
+        final int numberOfObservations = index - startIndex + 1;
+        final RollingMomentsIndicator.Moments window = moments.getValue(index);
 
+        // the sum of the squared deviations of the (consecutive) x-values from
+        // their mean: n * (n^2 - 1) / 12
+        final Num n = numOf(numberOfObservations);
+        final Num xxBar = n.multipliedBy(n.multipliedBy(n).minus(one())).dividedBy(numOf(12));
+        final Num slope = window.comoment().dividedBy(xxBar);
         if (type == SimpleLinearRegressionType.SLOPE) {
             return slope;
         }
 
+        final Num intercept = window.mean2().minus(slope.multipliedBy(window.mean1()));
         if (type == SimpleLinearRegressionType.INTERCEPT) {
             return intercept;
         }
@@ -106,35 +121,22 @@ public class SimpleLinearRegressionIndicator extends CachedIndicator<Num> {
     }
 
     /**
-     * Calculates the regression line.
-     *
-     * @param startIndex the start index (inclusive) in the bar series
-     * @param endIndex   the end index (inclusive) in the bar series
+     * The bar indices (the x-values of the regression).
      */
-    private void calculateRegressionLine(int startIndex, int endIndex) {
-        Num zero = zero();
-        // First pass: compute xBar and yBar
-        Num sumX = zero;
-        Num sumY = zero;
-        for (int i = startIndex; i <= endIndex; i++) {
-            sumX = sumX.plus(numOf(i));
-            sumY = sumY.plus(indicator.getValue(i));
+    private static final class IndexIndicator extends AbstractIndicator<Num> {
+
+        private IndexIndicator(BarSeries series) {
+            super(series);
         }
-        Num nbObservations = numOf(endIndex - startIndex + 1);
-        Num xBar = sumX.dividedBy(nbObservations);
-        Num yBar = sumY.dividedBy(nbObservations);
-
-        // Second pass: compute slope and intercept
-        Num xxBar = zero;
-        Num xyBar = zero;
-        for (int i = startIndex; i <= endIndex; i++) {
-            Num dX = numOf(i).minus(xBar);
-            Num dY = indicator.getValue(i).minus(yBar);
-            xxBar = xxBar.plus(dX.multipliedBy(dX));
-            xyBar = xyBar.plus(dX.multipliedBy(dY));
+
+        @Override
+        public Num getValue(int index) {
+            return numOf(index);
         }
 
-        slope = xyBar.dividedBy(xxBar);
-        intercept = yBar.minus(slope.multipliedBy(xBar));
+        @Override
+        public int getUnstableBars() {
+            return 0;
+        }
     }
 }
@@ -25,17 +25,19 @@ package org.ta4j.core.indicators.statistics;
 
 import org.ta4j.core.Indicator;
 import org.ta4j.core.indicators.CachedIndicator;
-import org.ta4j.core.indicators.SMAIndicator;
 import org.ta4j.core.num.Num;
 
 /**
  * Variance indicator.
+ *
+ * <p>
+ * On sequential evaluation, the variance is updated incrementally in O(1) per
+ * bar (see {@link RollingMomentsIndicator}).
  */
 public class VarianceIndicator extends CachedIndicator<Num> {
 
-    private final Indicator<Num> indicator;
     private final int barCount;
-    private final SMAIndicator sma;
+    private final RollingMomentsIndicator moments;
 
     /**
      * Constructor.
@@ -45,23 +47,15 @@ public class VarianceIndicator extends CachedIndicator<Num> {
      */
     public VarianceIndicator(Indicator<Num> indicator, int barCount) {
         super(indicator);
-        this.indicator = indicator;
         this.barCount = barCount;
-        this.sma = new SMAIndicator(indicator, barCount);
+        this.moments = new RollingMomentsIndicator(indicator, indicator, barCount);
     }
 
     @Override
     protected Num calculate(int index) {
-        final int startIndex = Math.max(0, index - barCount + 1);
-        final int numberOfObservations = index - startIndex + 1;
-        Num variance = zero();
-        Num average = sma.getValue(index);
-        for (int i = startIndex; i <= index; i++) {
-            Num pow = indicator.getValue(i).minus(average).pow(2);
-            variance = variance.plus(pow);
-        }
-        variance = variance.dividedBy(numOf(numberOfObservations));
-        return variance;
+        final Num variance = moments.getValue(index).covariance();
+        // rounding errors of the incremental update must not make it negative
+        return variance.isNegative() ? zero() : variance;
     }
 
     @Override
@@ -0,0 +1,225 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017-2023 Ta4j Organization & respective
+ * authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.io;
+
+import static org.ta4j.core.num.NaN.NaN;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Objects;
+
+import org.ta4j.core.BarSeries;
+import org.ta4j.core.BaseBarSeriesBuilder;
+import org.ta4j.core.io.CsvReader.TimeFormat;
+import org.ta4j.core.num.Num;
+
+/**
+ * Loads bars from a CSV file into a {@link BarSeries}.
+ *
+ * <p>
+ * The file is streamed by a {@link CsvReader}, i.e. the bars are added to the
+ * series while reading, without holding the lines in memory or creating a
+ * {@code String} per field. Large files can be parsed in parallel chunks by
+ * {@link #load(Path, BarSeries, int)}.
+ *
+ * <p>
+ * By default, the loader expects a header line followed by lines of the form
+ * {@code date,open,high,low,close,volume} with the date as
+ * {@link TimeFormat#ISO_LOCAL_DATE_TIME local date} (in the system default
+ * zone) and daily bars. The time of a line is used as end time of its bar.
+ *
+ * <pre>
+ * BarSeries series = new CsvBarLoader().withTimePeriod(Duration.ofMinutes(1))
+ *         .withTimeColumn(0, TimeFormat.EPOCH_MILLIS)
+ *         .load(path);
+ * </pre>
+ */
+public class CsvBarLoader {
+
+    private char separator = ',';
+    private int headerLines = 1;
+    private int timeColumn = 0;
+    private TimeFormat timeFormat = TimeFormat.ISO_LOCAL_DATE_TIME;
+    private ZoneId zone = ZoneId.systemDefault();
+    private int openColumn = 1;
+    private int highColumn = 2;
+    private int lowColumn = 3;
+    private int closeColumn = 4;
+    private int volumeColumn = 5;
+    private Duration timePeriod = Duration.ofDays(1);
+
+    /** The size of a chunk in parallel mode (to be changed by tests only). */
+    int chunkSize = CsvColumnParser.CHUNK_SIZE;
+
+    /**
+     * @param separator the field separator (an ASCII character), default ','
+     * @return {@code this}
+     */
+    public CsvBarLoader withSeparator(char separator) {
+        this.separator = separator;
+        return this;
+    }
+
+    /**
+     * @param headerLines the number of header lines to skip, default 1
+     * @return {@code this}
+     */
+    public CsvBarLoader withHeaderLines(int headerLines) {
+        this.headerLines = headerLines;
+        return this;
+    }
+
+    /**
+     * @param timeColumn the index of the column of the end time, default 0
+     * @param timeFormat the format of the end time, default
+     *                   {@link TimeFormat#ISO_LOCAL_DATE_TIME}
+     * @return {@code this}
+     */
+    public CsvBarLoader withTimeColumn(int timeColumn, TimeFormat timeFormat) {
+        this.timeColumn = timeColumn;
+        this.timeFormat = Objects.requireNonNull(timeFormat, "timeFormat");
+        return this;
+    }
+
+    /**
+     * @param zone the zone of the bars (and of local date-times), default the
+     *             system default zone
+     * @return {@code this}
+     */
+    public CsvBarLoader withZone(ZoneId zone) {
+        this.zone = Objects.requireNonNull(zone, "zone");
+        return this;
+    }
+
+    /**
+     * @param openColumn  the index of the column of the open price, default 1
+     * @param highColumn  the index of the column of the high price, default 2
+     * @param lowColumn   the index of the column of the low price, default 3
+     * @param closeColumn the index of the column of the close price, default 4
+     * @return {@code this}
+     */
+    public CsvBarLoader withPriceColumns(int openColumn, int highColumn, int lowColumn, int closeColumn) {
+        this.openColumn = openColumn;
+        this.highColumn = highColumn;
+        this.lowColumn = lowColumn;
+        this.closeColumn = closeColumn;
+        return this;
+    }
+
+    /**
+     * @param volumeColumn the index of the column of the volume (or -1 for a volume
+     *                     of zero), default 5
+     * @return {@code this}
+     */
+    public CsvBarLoader withVolumeColumn(int volumeColumn) {
+        this.volumeColumn = volumeColumn;
+        return this;
+    }
+
+    /**
+     * @param timePeriod the time period of the bars, default one day
+     * @return {@code this}
+     */
+    public CsvBarLoader withTimePeriod(Duration timePeriod) {
+        this.timePeriod = Objects.requireNonNull(timePeriod, "timePeriod");
+        return this;
+    }
+
+    /**
+     * Loads the bars of a file into a new {@link BarSeries} named after the file.
+     *
+     * @param path the path of the file
+     * @return the bar series
+     * @throws IOException if the file cannot be read
+     */
+    public BarSeries load(Path path) throws IOException {
+        final BarSeries series = new BaseBarSeriesBuilder().withName(String.valueOf(path.getFileName())).build();
+        load(path, series);
+        return series;
+    }
+
+    /**
+     * Loads the bars of a file into a {@link BarSeries}.
+     *
+     * @param path   the path of the file
+     * @param series the series to add the bars to
+     * @throws IOException if the file cannot be read
+     */
+    public void load(Path path, BarSeries series) throws IOException {
+        load(path, series, 1);
+    }
+
+    /**
+     * Loads the bars of a file into a {@link BarSeries}, parsing the file in
+     * parallel chunks. The bars are added by the calling thread.
+     *
+     * @param path        the path of the file
+     * @param series      the series to add the bars to
+     * @param parallelism the number of threads parsing the file
+     * @throws IOException if the file cannot be read
+     */
+    public void load(Path path, BarSeries series, int parallelism) throws IOException {
+        createParser().parse(path, parallelism, chunkSize, barAdder(series));
+    }
+
+    /**
+     * Loads the bars of a stream into a {@link BarSeries}.
+     *
+     * @param stream the stream (not closed by this method)
+     * @param series the series to add the bars to
+     * @throws IOException if the stream cannot be read
+     */
+    public void load(InputStream stream, BarSeries series) throws IOException {
+        createParser().parse(Channels.newChannel(stream), barAdder(series));
+    }
+
+    private CsvColumnParser createParser() {
+        if (volumeColumn < 0) {
+            return new CsvColumnParser(separator, headerLines, timeColumn, timeFormat, zone, openColumn, highColumn,
+                    lowColumn, closeColumn);
+        }
+        return new CsvColumnParser(separator, headerLines, timeColumn, timeFormat, zone, openColumn, highColumn,
+                lowColumn, closeColumn, volumeColumn);
+    }
+
+    private CsvColumnParser.RecordConsumer barAdder(BarSeries series) {
+        final Num zero = series.zero();
+        return (epochMillis, values) -> {
+            final ZonedDateTime endTime = ZonedDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), zone);
+            final Num volume = values.length > 4 ? numOf(series, values[4]) : zero;
+            series.addBar(timePeriod, endTime, numOf(series, values[0]), numOf(series, values[1]),
+                    numOf(series, values[2]), numOf(series, values[3]), volume);
+        };
+    }
+
+    private static Num numOf(BarSeries series, double value) {
+        return Double.isNaN(value) ? NaN : series.numOf(value);
+    }
+}
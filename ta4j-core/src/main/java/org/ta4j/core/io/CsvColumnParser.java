@@ -0,0 +1,224 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017-2023 Ta4j Organization & respective
+ * authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.io;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.ZoneId;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.ta4j.core.io.CsvReader.TimeFormat;
+
+/**
+ * Parses records consisting of a time and several numeric columns, either
+ * sequentially from a channel or in parallel chunks from a file.
+ *
+ * <p>
+ * In parallel mode, the file is split into chunks (of {@link #CHUNK_SIZE} bytes
+ * by default), which are parsed into primitive arrays by a pool of threads. The
+ * parsed chunks are passed to the consumer in file order by the calling thread.
+ * At most {@code 2 * parallelism} chunks are held in memory at once.
+ */
+final class CsvColumnParser {
+
+    /** Consumes a parsed record. */
+    interface RecordConsumer {
+
+        /**
+         * @param epochMillis the time of the record
+         * @param values      the values of the columns (reused for each record)
+         */
+        void accept(long epochMillis, double[] values);
+    }
+
+    /** The default size of a chunk in parallel mode. */
+    static final int CHUNK_SIZE = 8 << 20;
+
+    private final char separator;
+    private final int headerLines;
+    private final int timeColumn;
+    private final TimeFormat timeFormat;
+    private final ZoneId zone;
+    private final int[] columns;
+
+    /**
+     * Constructor.
+     *
+     * @param separator   the field separator
+     * @param headerLines the number of header lines to skip
+     * @param timeColumn  the index of the time column
+     * @param timeFormat  the format of the time column
+     * @param zone        the zone of local date-times
+     * @param columns     the indices of the value columns
+     */
+    CsvColumnParser(char separator, int headerLines, int timeColumn, TimeFormat timeFormat, ZoneId zone,
+            int... columns) {
+        this.separator = separator;
+        this.headerLines = headerLines;
+        this.timeColumn = timeColumn;
+        this.timeFormat = timeFormat;
+        this.zone = zone;
+        this.columns = columns;
+    }
+
+    /**
+     * Parses all records of a channel sequentially.
+     *
+     * @param channel  the channel
+     * @param consumer the consumer of the records
+     * @throws IOException if the channel cannot be read
+     */
+    void parse(ReadableByteChannel channel, RecordConsumer consumer) throws IOException {
+        final CsvReader reader = new CsvReader(channel, separator);
+        reader.skip(headerLines);
+        final double[] values = new double[columns.length];
+        while (reader.next()) {
+            consumer.accept(readRecord(reader, values), values);
+        }
+    }
+
+    /**
+     * Parses all records of a file.
+     *
+     * @param path        the path of the file
+     * @param parallelism the number of threads parsing the file (1 to parse it
+     *                    sequentially by the calling thread)
+     * @param chunkSize   the size of a chunk in bytes
+     * @param consumer    the consumer of the records (called by the calling thread
+     *                    in file order)
+     * @throws IOException if the file cannot be read
+     */
+    void parse(Path path, int parallelism, int chunkSize, RecordConsumer consumer) throws IOException {
+        if (parallelism < 1 || chunkSize < 1) {
+            throw new IllegalArgumentException("parallelism and chunkSize must be strictly positive");
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            final long size = channel.size();
+            if (parallelism == 1 || size <= chunkSize) {
+                parse(channel, consumer);
+                return;
+            }
+            final ExecutorService executor = Executors.newFixedThreadPool(parallelism);
+            try {
+                final Deque<Future<Chunk>> pending = new ArrayDeque<>();
+                long start = 0;
+                while (start < size || !pending.isEmpty()) {
+                    while (start < size && pending.size() < 2 * parallelism) {
+                        final long chunkStart = start;
+                        final long chunkEnd = Math.min(size, start + chunkSize);
+                        pending.add(executor.submit(() -> parseChunk(channel, chunkStart, chunkEnd)));
+                        start = chunkEnd;
+                    }
+                    pending.poll().get().replay(consumer);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while parsing " + path, e);
+            } catch (ExecutionException e) {
+                final Throwable cause = e.getCause();
+                if (cause instanceof UncheckedIOException) {
+                    throw ((UncheckedIOException) cause).getCause();
+                }
+                if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                }
+                throw new IOException("Unable to parse " + path, cause);
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+    }
+
+    private Chunk parseChunk(FileChannel channel, long start, long end) {
+        final CsvReader reader = new CsvReader(channel, separator, start, end);
+        final Chunk chunk = new Chunk(columns.length);
+        final double[] values = new double[columns.length];
+        try {
+            if (start == 0) {
+                reader.skip(headerLines);
+            }
+            while (reader.next()) {
+                chunk.add(readRecord(reader, values), values);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return chunk;
+    }
+
+    private long readRecord(CsvReader reader, double[] values) {
+        for (int i = 0; i < columns.length; i++) {
+            values[i] = reader.getDouble(columns[i]);
+        }
+        return reader.getEpochMillis(timeColumn, timeFormat, zone);
+    }
+
+    /**
+     * The parsed records of a chunk, stored by column.
+     */
+    private static final class Chunk {
+
+        private long[] times = new long[1024];
+        private final double[][] columns;
+        private int size;
+
+        private Chunk(int columnCount) {
+            columns = new double[columnCount][times.length];
+        }
+
+        private void add(long time, double[] values) {
+            if (size == times.length) {
+                times = Arrays.copyOf(times, size * 2);
+                for (int i = 0; i < columns.length; i++) {
+                    columns[i] = Arrays.copyOf(columns[i], size * 2);
+                }
+            }
+            times[size] = time;
+            for (int i = 0; i < columns.length; i++) {
+                columns[i][size] = values[i];
+            }
+            size++;
+        }
+
+        private void replay(RecordConsumer consumer) {
+            final double[] values = new double[columns.length];
+            for (int r = 0; r < size; r++) {
+                for (int i = 0; i < columns.length; i++) {
+                    values[i] = columns[i][r];
+                }
+                consumer.accept(times[r], values);
+            }
+        }
+    }
+}
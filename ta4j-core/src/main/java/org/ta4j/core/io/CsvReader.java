@@ -0,0 +1,528 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017-2023 Ta4j Organization & respective
+ * authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.io;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.zone.ZoneRules;
+import java.util.Arrays;
+
+/**
+ * A streaming reader of delimiter-separated values (e.g. CSV).
+ *
+ * <p>
+ * The reader parses the bytes of a channel directly: each call of
+ * {@link #next()} moves to the next record (line) within an internal buffer and
+ * the fields of the record are parsed on access ({@link #getDouble(int)},
+ * {@link #getLong(int)}, {@link #getEpochMillis(int, TimeFormat, ZoneId)})
+ * without creating a {@code String} per field. Hence, files of any size can be
+ * read with a constant amount of memory.
+ *
+ * <p>
+ * The reader supports ASCII compatible encodings (e.g. UTF-8), line feeds with
+ * or without carriage returns and fields enclosed in double quotes. Quoted
+ * fields must not contain separators or line breaks. Blank lines are skipped.
+ *
+ * <p>
+ * A reader on a {@link FileChannel} can be restricted to a byte range of the
+ * file: it reads all records starting within the range. Thus, a file can be
+ * split into ranges at arbitrary positions to be read in parallel by several
+ * readers, each record being read by exactly one of them.
+ *
+ * <p>
+ * This class is not thread-safe.
+ */
+public class CsvReader implements Closeable {
+
+    /** The format of a time field. */
+    public enum TimeFormat {
+
+        /** The (possibly fractional) number of seconds since the epoch. */
+        EPOCH_SECONDS,
+
+        /** The number of milliseconds since the epoch. */
+        EPOCH_MILLIS,
+
+        /**
+         * A local date ({@code yyyy-MM-dd}), optionally followed by {@code 'T'} or
+         * {@code ' '} and a local time ({@code HH:mm[:ss[.SSS...]]}).
+         */
+        ISO_LOCAL_DATE_TIME
+    }
+
+    private static final int DEFAULT_BUFFER_SIZE = 1 << 16;
+
+    /** The exact powers of ten as double. */
+    private static final double[] POWERS_OF_TEN = { 1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12,
+            1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22 };
+
+    private final ReadableByteChannel channel;
+
+    /** The file channel for positional reads, or null for sequential reads. */
+    private final FileChannel fileChannel;
+
+    /** The file position of the next positional read. */
+    private long position;
+
+    /** Records starting at or after this file position are not read. */
+    private final long end;
+
+    /** The field separator. */
+    private final byte separator;
+
+    private byte[] buffer;
+
+    /** The file position of the first byte of the buffer. */
+    private long bufferPosition;
+
+    /** The number of valid bytes within the buffer. */
+    private int limit;
+
+    /** The position of the next record within the buffer. */
+    private int next;
+
+    /** True if the first (partial) line of the range is still to be skipped. */
+    private boolean skipPartialLine;
+
+    private boolean endOfStream;
+
+    private int[] fieldStarts = new int[16];
+
+    private int[] fieldEnds = new int[16];
+
+    private int fieldCount;
+
+    private long lineNumber;
+
+    /**
+     * Constructor to read all records of a channel.
+     *
+     * @param channel   the channel to read from
+     * @param separator the field separator (an ASCII character)
+     */
+    public CsvReader(ReadableByteChannel channel, char separator) {
+        this(channel, null, separator, 0, Long.MAX_VALUE);
+    }
+
+    /**
+     * Constructor to read the records of a file which start within the byte range
+     * [{@code start}, {@code end}). The last record may extend beyond {@code end}.
+     *
+     * @param channel   the file channel to read from (positional reads do not
+     *                  change the position of the channel)
+     * @param separator the field separator (an ASCII character)
+     * @param start     the first position of the range (inclusive)
+     * @param end       the last position of the range (exclusive)
+     */
+    public CsvReader(FileChannel channel, char separator, long start, long end) {
+        this(channel, channel, separator, start, end);
+    }
+
+    private CsvReader(ReadableByteChannel channel, FileChannel fileChannel, char separator, long start, long end) {
+        if (separator > 0x7F || separator == '\n' || separator == '\r' || separator == '"') {
+            throw new IllegalArgumentException("Invalid separator: " + separator);
+        }
+        if (start < 0 || start > end) {
+            throw new IllegalArgumentException(String.format("Invalid range: [%s, %s)", start, end));
+        }
+        this.channel = channel;
+        this.fileChannel = fileChannel;
+        this.separator = (byte) separator;
+        this.end = end;
+        this.buffer = new byte[DEFAULT_BUFFER_SIZE];
+        // a record starts at the range start if the preceding byte is a line feed
+        this.position = start > 0 ? start - 1 : 0;
+        this.bufferPosition = position;
+        this.skipPartialLine = start > 0;
+    }
+
+    /**
+     * Moves to the next record.
+     *
+     * @return true if there is a next record, false at the end of the channel (or
+     *         range)
+     * @throws IOException if the channel cannot be read
+     */
+    public boolean next() throws IOException {
+        int scan = next;
+        while (true) {
+            int lineEnd = indexOfLineFeed(scan);
+            if (lineEnd < 0) {
+                if (!endOfStream) {
+                    scan = limit - next;
+                    fill();
+                    continue;
+                }
+                if (next == limit) {
+                    return false;
+                }
+                // last line without line feed
+                lineEnd = limit;
+            }
+            final int start = next;
+            next = Math.min(lineEnd + 1, limit);
+            scan = next;
+            if (skipPartialLine) {
+                skipPartialLine = false;
+                continue;
+            }
+            if (bufferPosition + start >= end) {
+                next = start;
+                return false;
+            }
+            lineNumber++;
+            int lineLimit = lineEnd;
+            if (lineLimit > start && buffer[lineLimit - 1] == '\r') {
+                lineLimit--;
+            }
+            if (lineLimit > start) {
+                split(start, lineLimit);
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Skips records.
+     *
+     * @param count the number of records to skip (e.g. header lines)
+     * @return the number of skipped records
+     * @throws IOException if the channel cannot be read
+     */
+    public int skip(int count) throws IOException {
+        int skipped = 0;
+        while (skipped < count && next()) {
+            skipped++;
+        }
+        return skipped;
+    }
+
+    /**
+     * @return the number of lines read so far (including blank lines, but excluding
+     *         the partial line preceding the range), i.e. the line number of the
+     *         current record within the range
+     */
+    public long getLineNumber() {
+        return lineNumber;
+    }
+
+    /**
+     * @return the number of fields of the current record
+     */
+    public int getFieldCount() {
+        return fieldCount;
+    }
+
+    /**
+     * @param field the index of the field (0-based)
+     * @return true if the field is empty
+     */
+    public boolean isEmpty(int field) {
+        checkField(field);
+        return fieldStarts[field] == fieldEnds[field];
+    }
+
+    /**
+     * Returns the field as string. In contrast to the other accessors, this method
+     * creates a new object.
+     *
+     * @param field the index of the field (0-based)
+     * @return the field as string (UTF-8)
+     */
+    public String getString(int field) {
+        checkField(field);
+        return new String(buffer, fieldStarts[field], fieldEnds[field] - fieldStarts[field], StandardCharsets.UTF_8);
+    }
+
+    /**
+     * @param field the index of the field (0-based)
+     * @return the field as long
+     * @throws NumberFormatException if the field is not an integer
+     */
+    public long getLong(int field) {
+        checkField(field);
+        final int start = fieldStarts[field];
+        final int end = fieldEnds[field];
+        int i = start;
+        final boolean negative = i < end && buffer[i] == '-';
+        if (negative || (i < end && buffer[i] == '+')) {
+            i++;
+        }
+        if (i == end || end - i > 18) {
+            // empty or possibly overflowing
+            return Long.parseLong(getString(field));
+        }
+        long value = 0;
+        for (; i < end; i++) {
+            final int digit = buffer[i] - '0';
+            if (digit < 0 || digit > 9) {
+                throw numberFormatException(field);
+            }
+            value = value * 10 + digit;
+        }
+        return negative ? -value : value;
+    }
+
+    /**
+     * Returns the field as double. Decimal numbers with at most 15 significant
+     * digits (and a small exponent) are parsed directly from the bytes, all others
+     * by {@link Double#parseDouble(String)}; the result is always the correctly
+     * rounded value of {@code Double.parseDouble(getString(field))}.
+     *
+     * @param field the index of the field (0-based)
+     * @return the field as double or {@link Double#NaN} if the field is empty
+     * @throws NumberFormatException if the field is not a number
+     */
+    public double getDouble(int field) {
+        checkField(field);
+        final int start = fieldStarts[field];
+        final int end = fieldEnds[field];
+        if (start == end) {
+            return Double.NaN;
+        }
+        int i = start;
+        final boolean negative = buffer[i] == '-';
+        if (negative || buffer[i] == '+') {
+            i++;
+        }
+        long mantissa = 0;
+        int digits = 0;
+        int exponent = 0;
+        boolean anyDigit = false;
+        boolean dot = false;
+        for (; i < end; i++) {
+            final byte b = buffer[i];
+            if (b >= '0' && b <= '9') {
+                anyDigit = true;
+                if (mantissa == 0 && b == '0') {
+                    // leading zeros are not significant
+                    if (dot) {
+                        exponent--;
+                    }
+                    continue;
+                }
+                if (++digits > 15) {
+                    return Double.parseDouble(getString(field));
+                }
+                mantissa = mantissa * 10 + (b - '0');
+                if (dot) {
+                    exponent--;
+                }
+            } else if (b == '.' && !dot) {
+                dot = true;
+            } else {
+                // exponents, special values and invalid numbers
+                return Double.parseDouble(getString(field));
+            }
+        }
+        if (!anyDigit) {
+            throw numberFormatException(field);
+        }
+        if (-exponent >= POWERS_OF_TEN.length) {
+            return Double.parseDouble(getString(field));
+        }
+        // both operands are exact (at most 15 digits), so the quotient is correctly
+        // rounded
+        final double value = mantissa / POWERS_OF_TEN[-exponent];
+        return negative ? -value : value;
+    }
+
+    /**
+     * Returns the field as point in time.
+     *
+     * @param field  the index of the field (0-based)
+     * @param format the format of the field
+     * @param zone   the zone of local date-times (ignored for epoch based formats)
+     * @return the number of milliseconds since the epoch
+     * @throws NumberFormatException if the field does not match the format
+     */
+    public long getEpochMillis(int field, TimeFormat format, ZoneId zone) {
+        switch (format) {
+        case EPOCH_SECONDS:
+            return Math.round(getDouble(field) * 1000);
+        case EPOCH_MILLIS:
+            return getLong(field);
+        case ISO_LOCAL_DATE_TIME:
+            return parseLocalDateTime(field, zone.getRules());
+        default:
+            throw new IllegalArgumentException("Unsupported time format: " + format);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private long parseLocalDateTime(int field, ZoneRules rules) {
+        checkField(field);
+        final int start = fieldStarts[field];
+        final int length = fieldEnds[field] - start;
+        if (length < 10 || buffer[start + 4] != '-' || buffer[start + 7] != '-') {
+            throw numberFormatException(field);
+        }
+        final int year = parseDigits(field, start, 4);
+        final int month = parseDigits(field, start + 5, 2);
+        final int day = parseDigits(field, start + 8, 2);
+        int hour = 0;
+        int minute = 0;
+        int second = 0;
+        int nanos = 0;
+        if (length > 10) {
+            final byte delimiter = buffer[start + 10];
+            if ((delimiter != 'T' && delimiter != ' ') || length < 16 || buffer[start + 13] != ':') {
+                throw numberFormatException(field);
+            }
+            hour = parseDigits(field, start + 11, 2);
+            minute = parseDigits(field, start + 14, 2);
+            if (length > 16) {
+                if (length < 19 || buffer[start + 16] != ':') {
+                    throw numberFormatException(field);
+                }
+                second = parseDigits(field, start + 17, 2);
+                if (length > 19) {
+                    if (buffer[start + 19] != '.' || length == 20 || length > 29) {
+                        throw numberFormatException(field);
+                    }
+                    final int fractionDigits = length - 20;
+                    nanos = parseDigits(field, start + 20, fractionDigits) * (int) POWERS_OF_TEN[9 - fractionDigits];
+                }
+            }
+        }
+        try {
+            final long epochSecond;
+            if (rules.isFixedOffset()) {
+                epochSecond = LocalDate.of(year, month, day).toEpochDay() * 86400
+                        + LocalTime.of(hour, minute, second).toSecondOfDay()
+                        - rules.getOffset(Instant.EPOCH).getTotalSeconds();
+            } else {
+                final LocalDateTime dateTime = LocalDateTime.of(year, month, day, hour, minute, second);
+                epochSecond = dateTime.toEpochSecond(rules.getOffset(dateTime));
+            }
+            return epochSecond * 1000 + nanos / 1_000_000;
+        } catch (DateTimeException e) {
+            final NumberFormatException exception = numberFormatException(field);
+            exception.initCause(e);
+            throw exception;
+        }
+    }
+
+    private int parseDigits(int field, int from, int count) {
+        int value = 0;
+        for (int i = from; i < from + count; i++) {
+            final int digit = buffer[i] - '0';
+            if (digit < 0 || digit > 9) {
+                throw numberFormatException(field);
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    private NumberFormatException numberFormatException(int field) {
+        return new NumberFormatException(
+                String.format("Invalid field %s at line %s: \"%s\"", field, lineNumber, getString(field)));
+    }
+
+    private void checkField(int field) {
+        if (field < 0 || field >= fieldCount) {
+            throw new IndexOutOfBoundsException(
+                    String.format("Field %s of %s at line %s", field, fieldCount, lineNumber));
+        }
+    }
+
+    private int indexOfLineFeed(int from) {
+        final byte[] bytes = buffer;
+        for (int i = from; i < limit; i++) {
+            if (bytes[i] == '\n') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Splits the line [{@code start}, {@code end}) of the buffer into fields.
+     */
+    private void split(int start, int end) {
+        fieldCount = 0;
+        int fieldStart = start;
+        for (int i = start; i <= end; i++) {
+            if (i == end || buffer[i] == separator) {
+                int fieldEnd = i;
+                if (fieldEnd - fieldStart >= 2 && buffer[fieldStart] == '"' && buffer[fieldEnd - 1] == '"') {
+                    fieldStart++;
+                    fieldEnd--;
+                }
+                if (fieldCount == fieldStarts.length) {
+                    fieldStarts = Arrays.copyOf(fieldStarts, fieldCount * 2);
+                    fieldEnds = Arrays.copyOf(fieldEnds, fieldCount * 2);
+                }
+                fieldStarts[fieldCount] = fieldStart;
+                fieldEnds[fieldCount] = fieldEnd;
+                fieldCount++;
+                fieldStart = i + 1;
+            }
+        }
+    }
+
+    /**
+     * Moves the remaining bytes to the start of the buffer (growing it if
+     * necessary) and reads from the channel.
+     */
+    private void fill() throws IOException {
+        if (next > 0) {
+            System.arraycopy(buffer, next, buffer, 0, limit - next);
+            bufferPosition += next;
+            limit -= next;
+            next = 0;
+        } else if (limit == buffer.length) {
+            // the line does not fit into the buffer
+            buffer = Arrays.copyOf(buffer, buffer.length * 2);
+        }
+        final ByteBuffer target = ByteBuffer.wrap(buffer, limit, buffer.length - limit);
+        final int read;
+        if (fileChannel != null) {
+            read = fileChannel.read(target, position);
+        } else {
+            read = channel.read(target);
+        }
+        if (read < 0) {
+            endOfStream = true;
+        } else {
+            position += read;
+            limit += read;
+        }
+    }
+}
@@ -0,0 +1,175 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017-2023 Ta4j Organization & respective
+ * authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.io;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.ZoneId;
+import java.util.Objects;
+
+import org.ta4j.core.BarSeries;
+import org.ta4j.core.aggregator.TimeBarAggregator;
+import org.ta4j.core.aggregator.TradeConsumer;
+import org.ta4j.core.io.CsvReader.TimeFormat;
+
+/**
+ * Loads trades from a CSV file.
+ *
+ * <p>
+ * The file is streamed by a {@link CsvReader}: each trade is passed to a
+ * {@link TradeConsumer} while reading, without holding the lines in memory or
+ * creating a {@code String} per field. Large files can be parsed in parallel
+ * chunks by {@link #load(Path, TradeConsumer, int)}.
+ *
+ * <p>
+ * By default, the loader expects a header line followed by lines of the form
+ * {@code time,price,volume} with the time in {@link TimeFormat#EPOCH_SECONDS
+ * seconds since the epoch} (e.g. the trade history of Bitstamp).
+ */
+public class CsvTradeLoader {
+
+    private char separator = ',';
+    private int headerLines = 1;
+    private int timeColumn = 0;
+    private TimeFormat timeFormat = TimeFormat.EPOCH_SECONDS;
+    private ZoneId zone = ZoneId.systemDefault();
+    private int priceColumn = 1;
+    private int volumeColumn = 2;
+
+    /** The size of a chunk in parallel mode (to be changed by tests only). */
+    int chunkSize = CsvColumnParser.CHUNK_SIZE;
+
+    /**
+     * @param separator the field separator (an ASCII character), default ','
+     * @return {@code this}
+     */
+    public CsvTradeLoader withSeparator(char separator) {
+        this.separator = separator;
+        return this;
+    }
+
+    /**
+     * @param headerLines the number of header lines to skip, default 1
+     * @return {@code this}
+     */
+    public CsvTradeLoader withHeaderLines(int headerLines) {
+        this.headerLines = headerLines;
+        return this;
+    }
+
+    /**
+     * @param timeColumn the index of the column of the time, default 0
+     * @param timeFormat the format of the time, default
+     *                   {@link TimeFormat#EPOCH_SECONDS}
+     * @return {@code this}
+     */
+    public CsvTradeLoader withTimeColumn(int timeColumn, TimeFormat timeFormat) {
+        this.timeColumn = timeColumn;
+        this.timeFormat = Objects.requireNonNull(timeFormat, "timeFormat");
+        return this;
+    }
+
+    /**
+     * @param zone the zone of the bars (and of local date-times), default the
+     *             system default zone
+     * @return {@code this}
+     */
+    public CsvTradeLoader withZone(ZoneId zone) {
+        this.zone = Objects.requireNonNull(zone, "zone");
+        return this;
+    }
+
+    /**
+     * @param priceColumn  the index of the column of the price, default 1
+     * @param volumeColumn the index of the column of the volume, default 2
+     * @return {@code this}
+     */
+    public CsvTradeLoader withColumns(int priceColumn, int volumeColumn) {
+        this.priceColumn = priceColumn;
+        this.volumeColumn = volumeColumn;
+        return this;
+    }
+
+    /**
+     * Loads the trades of a file.
+     *
+     * @param path     the path of the file
+     * @param consumer the consumer of the trades
+     * @throws IOException if the file cannot be read
+     */
+    public void load(Path path, TradeConsumer consumer) throws IOException {
+        load(path, consumer, 1);
+    }
+
+    /**
+     * Loads the trades of a file, parsing the file in parallel chunks. The trades
+     * are passed to the consumer by the calling thread in file order.
+     *
+     * @param path        the path of the file
+     * @param consumer    the consumer of the trades
+     * @param parallelism the number of threads parsing the file
+     * @throws IOException if the file cannot be read
+     */
+    public void load(Path path, TradeConsumer consumer, int parallelism) throws IOException {
+        createParser().parse(path, parallelism, chunkSize,
+                (epochMillis, values) -> consumer.accept(epochMillis, values[0], values[1]));
+    }
+
+    /**
+     * Loads the trades of a stream.
+     *
+     * @param stream   the stream (not closed by this method)
+     * @param consumer the consumer of the trades
+     * @throws IOException if the stream cannot be read
+     */
+    public void load(InputStream stream, TradeConsumer consumer) throws IOException {
+        createParser().parse(Channels.newChannel(stream),
+                (epochMillis, values) -> consumer.accept(epochMillis, values[0], values[1]));
+    }
+
+    /**
+     * Loads the trades of a file into bars of a {@link BarSeries} using a
+     * {@link TimeBarAggregator}. The bars are aligned to multiples of
+     * {@code timePeriod} since the epoch; periods without trades have no bar. The
+     * trades must be in chronological order.
+     *
+     * @param path       the path of the file
+     * @param series     the series to add the bars to
+     * @param timePeriod the time period of the bars
+     * @throws IOException              if the file cannot be read
+     * @throws IllegalArgumentException if the trades are not in chronological order
+     */
+    public void load(Path path, BarSeries series, Duration timePeriod) throws IOException {
+        final TimeBarAggregator aggregator = new TimeBarAggregator(timePeriod, series.function(), zone, series::addBar);
+        load(path, aggregator);
+        aggregator.flush();
+    }
+
+    private CsvColumnParser createParser() {
+        return new CsvColumnParser(separator, headerLines, timeColumn, timeFormat, zone, priceColumn, volumeColumn);
+    }
+}
@@ -0,0 +1,110 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017-2023 Ta4j Organization & respective
+ * authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.live;
+
+import java.util.Objects;
+
+import org.ta4j.core.Bar;
+import org.ta4j.core.BarSeries;
+import org.ta4j.core.num.Num;
+
+/**
+ * A market data event of a {@link LiveInstrument}.
+ *
+ * <p>
+ * Events are immutable and are applied to the bar series of the instrument by
+ * its (single) writer thread.
+ */
+public abstract class LiveEvent {
+
+    private LiveEvent() {
+    }
+
+    /**
+     * @param bar the bar to add to the bar series
+     * @return an event adding {@code bar}
+     */
+    public static LiveEvent bar(Bar bar) {
+        Objects.requireNonNull(bar, "bar");
+        return new LiveEvent() {
+            @Override
+            void applyTo(BarSeries series) {
+                series.addBar(bar);
+            }
+
+            @Override
+            public String toString() {
+                return "LiveEvent{bar=" + bar + "}";
+            }
+        };
+    }
+
+    /**
+     * @param tradeVolume the traded volume
+     * @param tradePrice  the price
+     * @return an event adding a trade to the last bar of the bar series
+     */
+    public static LiveEvent trade(Num tradeVolume, Num tradePrice) {
+        Objects.requireNonNull(tradeVolume, "tradeVolume");
+        Objects.requireNonNull(tradePrice, "tradePrice");
+        return new LiveEvent() {
+            @Override
+            void applyTo(BarSeries series) {
+                series.addTrade(tradeVolume, tradePrice);
+            }
+
+            @Override
+            public String toString() {
+                return "LiveEvent{tradeVolume=" + tradeVolume + ", tradePrice=" + tradePrice + "}";
+            }
+        };
+    }
+
+    /**
+     * @param price the price
+     * @return an event updating the close price (and the high/low price if
+     *         necessary) of the last bar of the bar series
+     */
+    public static LiveEvent price(Num price) {
+        Objects.requireNonNull(price, "price");
+        return new LiveEvent() {
+            @Override
+            void applyTo(BarSeries series) {
+                series.addPrice(price);
+            }
+
+            @Override
+            public String toString() {
+                return "LiveEvent{price=" + price + "}";
+            }
+        };
+    }
+
+    /**
+     * Applies this event to the bar series.
+     *
+     * @param series the bar series of the instrument
+     */
+    abstract void applyTo(BarSeries series);
+}
@@ -0,0 +1,231 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017-2023 Ta4j Organization & respective
+ * authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.live;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.ta4j.core.BarSeries;
+import org.ta4j.core.BaseTradingRecord;
+import org.ta4j.core.Strategy;
+import org.ta4j.core.Trade;
+import org.ta4j.core.Trade.TradeType;
+import org.ta4j.core.num.Num;
+
+/**
+ * An instrument of a {@link LiveTradingEngine}: a bar series, the strategies
+ * traded on it and the queue of its pending {@link LiveEvent events}.
+ *
+ * <p>
+ * The events of an instrument are processed by a single task at a time (the
+ * writer), which is submitted to the executor of the engine whenever events are
+ * pending. It applies the events in order, evaluates all strategies at the
+ * newest index of the bar series after each event and notifies the listeners.
+ * Neither the bar series nor the trading records must be modified by any other
+ * thread. After a batch of events, the writer yields the executor to other
+ * instruments.
+ *
+ * <p>
+ * The queue is bounded: if the events are produced faster than they can be
+ * processed, {@link #offer(LiveEvent)} rejects them and {@link #put(LiveEvent)}
+ * blocks until there is space (backpressure).
+ */
+public final class LiveInstrument {
+
+    /** The maximum number of events processed before yielding the executor. */
+    private static final int MAX_BATCH_SIZE = 64;
+
+    private final LiveTradingEngine engine;
+    private final String name;
+    private final BarSeries series;
+    private final List<LiveStrategy> strategies = new CopyOnWriteArrayList<>();
+    private final BlockingQueue<LiveEvent> events;
+
+    /** True if the writer is submitted to the executor or running. */
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+
+    LiveInstrument(LiveTradingEngine engine, String name, BarSeries series, int queueCapacity) {
+        this.engine = engine;
+        this.name = name;
+        this.series = series;
+        this.events = new ArrayBlockingQueue<>(queueCapacity);
+    }
+
+    /**
+     * Adds a strategy entering with buy trades of amount one.
+     *
+     * @param strategy the strategy
+     * @return the live strategy
+     */
+    public LiveStrategy addStrategy(Strategy strategy) {
+        return addStrategy(strategy, TradeType.BUY, series.one());
+    }
+
+    /**
+     * Adds a strategy. It is evaluated from the next event on.
+     *
+     * @param strategy       the strategy
+     * @param entryTradeType the {@link TradeType} of the entries
+     * @param amount         the amount to trade
+     * @return the live strategy
+     */
+    public LiveStrategy addStrategy(Strategy strategy, TradeType entryTradeType, Num amount) {
+        final LiveStrategy liveStrategy = new LiveStrategy(this, strategy,
+                new BaseTradingRecord(strategy.getName(), entryTradeType), amount);
+        strategies.add(liveStrategy);
+        return liveStrategy;
+    }
+
+    /**
+     * Removes a strategy. It may still be evaluated by an event being processed.
+     *
+     * @param strategy the live strategy to remove
+     * @return true if the strategy was removed
+     */
+    public boolean removeStrategy(LiveStrategy strategy) {
+        return strategies.remove(strategy);
+    }
+
+    /**
+     * @return the strategies (unmodifiable)
+     */
+    public List<LiveStrategy> getStrategies() {
+        return Collections.unmodifiableList(strategies);
+    }
+
+    /**
+     * Enqueues an event if the queue is not full.
+     *
+     * @param event the event
+     * @return true if the event was enqueued, false if the queue is full
+     */
+    public boolean offer(LiveEvent event) {
+        if (!events.offer(event)) {
+            return false;
+        }
+        schedule();
+        return true;
+    }
+
+    /**
+     * Enqueues an event, waiting for space in the queue if necessary.
+     *
+     * @param event the event
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public void put(LiveEvent event) throws InterruptedException {
+        events.put(event);
+        schedule();
+    }
+
+    /**
+     * @return the number of events waiting to be processed
+     */
+    public int getPendingEventCount() {
+        return events.size();
+    }
+
+    /**
+     * @return the name of the instrument
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return the bar series (only to be modified through events)
+     */
+    public BarSeries getBarSeries() {
+        return series;
+    }
+
+    /**
+     * Submits the writer to the executor, unless it is already submitted or
+     * running.
+     */
+    private void schedule() {
+        if (events.isEmpty() || !scheduled.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            engine.execute(this::drain);
+        } catch (RejectedExecutionException e) {
+            scheduled.set(false);
+            throw e;
+        }
+    }
+
+    /**
+     * Processes a batch of events (the writer).
+     */
+    private void drain() {
+        try {
+            for (int i = 0; i < MAX_BATCH_SIZE; i++) {
+                final LiveEvent event = events.poll();
+                if (event == null) {
+                    break;
+                }
+                process(event);
+            }
+        } finally {
+            scheduled.set(false);
+            // events enqueued after the last poll
+            schedule();
+        }
+    }
+
+    private void process(LiveEvent event) {
+        try {
+            event.applyTo(series);
+        } catch (RuntimeException e) {
+            engine.fireError(this, null, e);
+            return;
+        }
+        final int index = series.getEndIndex();
+        if (index >= 0) {
+            final Num price = series.getBar(index).getClosePrice();
+            for (LiveStrategy strategy : strategies) {
+                try {
+                    final Trade trade = strategy.evaluate(index, price);
+                    if (trade != null) {
+                        engine.fireTrade(strategy, trade);
+                    }
+                } catch (RuntimeException e) {
+                    engine.fireError(this, strategy, e);
+                }
+            }
+        }
+        engine.fireEvent(this, event);
+    }
+
+    @Override
+    public String toString() {
+        return "LiveInstrument{name=" + name + ", strategies=" + strategies.size() + "}";
+    }
+}
@@ -0,0 +1,107 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017-2023 Ta4j Organization & respective
+ * authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.live;
+
+import java.util.Objects;
+
+import org.ta4j.core.Strategy;
+import org.ta4j.core.Trade;
+import org.ta4j.core.TradingRecord;
+import org.ta4j.core.num.Num;
+
+/**
+ * A {@link Strategy} traded live on a {@link LiveInstrument}, with its own
+ * {@link TradingRecord}.
+ *
+ * <p>
+ * The trading record is only modified by the writer thread of the instrument.
+ * Other threads should only read it from a {@link LiveTradingListener}.
+ */
+public final class LiveStrategy {
+
+    private final LiveInstrument instrument;
+    private final Strategy strategy;
+    private final TradingRecord tradingRecord;
+    private final Num amount;
+
+    LiveStrategy(LiveInstrument instrument, Strategy strategy, TradingRecord tradingRecord, Num amount) {
+        this.instrument = instrument;
+        this.strategy = Objects.requireNonNull(strategy, "strategy");
+        this.tradingRecord = Objects.requireNonNull(tradingRecord, "tradingRecord");
+        this.amount = Objects.requireNonNull(amount, "amount");
+    }
+
+    /**
+     * Evaluates the strategy at {@code index} and operates the trading record if it
+     * should. The strategy operates at most once per bar.
+     *
+     * @param index the newest index of the bar series
+     * @param price the price to trade at
+     * @return the new trade, or {@code null} if the strategy did not operate
+     */
+    Trade evaluate(int index, Num price) {
+        final Trade lastTrade = tradingRecord.getLastTrade();
+        if (lastTrade != null && lastTrade.getIndex() >= index) {
+            return null;
+        }
+        if (!strategy.shouldOperate(index, tradingRecord)) {
+            return null;
+        }
+        tradingRecord.operate(index, price, amount);
+        return tradingRecord.getLastTrade();
+    }
+
+    /**
+     * @return the instrument
+     */
+    public LiveInstrument getInstrument() {
+        return instrument;
+    }
+
+    /**
+     * @return the strategy
+     */
+    public Strategy getStrategy() {
+        return strategy;
+    }
+
+    /**
+     * @return the trading record
+     */
+    public TradingRecord getTradingRecord() {
+        return tradingRecord;
+    }
+
+    /**
+     * @return the amount to trade
+     */
+    public Num getAmount() {
+        return amount;
+    }
+
+    @Override
+    public String toString() {
+        return "LiveStrategy{instrument=" + instrument.getName() + ", strategy=" + strategy.getName() + "}";
+    }
+}
@@ -0,0 +1,214 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017-2023 Ta4j Organization & respective
+ * authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.live;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.ta4j.core.BarSeries;
+import org.ta4j.core.Trade;
+
+/**
+ * An event-driven engine for live trading many strategies on many instruments.
+ *
+ * <p>
+ * Market data is fed per {@link LiveInstrument instrument} as {@link LiveEvent
+ * events}. Each instrument has a single writer which applies its events to its
+ * bar series and evaluates its strategies at the newest index only (the
+ * indicators calculate incrementally from their cached values). Different
+ * instruments are processed in parallel by the executor. Trades are recorded in
+ * the trading record of each strategy and reported to the
+ * {@link LiveTradingListener listeners}.
+ *
+ * <p>
+ * Usage:
+ *
+ * <pre>
+ * LiveTradingEngine engine = new LiveTradingEngine(executor);
+ * engine.addListener(listener);
+ * LiveInstrument instrument = engine.addInstrument("BTC-USD", series);
+ * instrument.addStrategy(strategy);
+ * ...
+ * engine.put("BTC-USD", LiveEvent.bar(bar));
+ * </pre>
+ */
+public class LiveTradingEngine {
+
+    /** The default capacity of the event queue of each instrument. */
+    public static final int DEFAULT_QUEUE_CAPACITY = 1024;
+
+    private static final Logger log = LoggerFactory.getLogger(LiveTradingEngine.class);
+
+    private final Executor executor;
+    private final int queueCapacity;
+    private final ConcurrentMap<String, LiveInstrument> instruments = new ConcurrentHashMap<>();
+    private final List<LiveTradingListener> listeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * Constructor with the {@link #DEFAULT_QUEUE_CAPACITY}.
+     *
+     * @param executor the executor processing the events
+     */
+    public LiveTradingEngine(Executor executor) {
+        this(executor, DEFAULT_QUEUE_CAPACITY);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param executor      the executor processing the events
+     * @param queueCapacity the capacity of the event queue of each instrument
+     */
+    public LiveTradingEngine(Executor executor, int queueCapacity) {
+        if (queueCapacity < 1) {
+            throw new IllegalArgumentException("Queue capacity must be strictly positive");
+        }
+        this.executor = Objects.requireNonNull(executor, "executor");
+        this.queueCapacity = queueCapacity;
+    }
+
+    /**
+     * Adds an instrument.
+     *
+     * @param name   the unique name of the instrument
+     * @param series the bar series of the instrument (only to be modified through
+     *               events from now on)
+     * @return the instrument
+     * @throws IllegalArgumentException if an instrument with the same name exists
+     */
+    public LiveInstrument addInstrument(String name, BarSeries series) {
+        Objects.requireNonNull(name, "name");
+        Objects.requireNonNull(series, "series");
+        final LiveInstrument instrument = new LiveInstrument(this, name, series, queueCapacity);
+        if (instruments.putIfAbsent(name, instrument) != null) {
+            throw new IllegalArgumentException("Instrument already exists: " + name);
+        }
+        return instrument;
+    }
+
+    /**
+     * Removes an instrument. Its pending events are still processed.
+     *
+     * @param name the name of the instrument
+     * @return the removed instrument, or {@code null} if there is none
+     */
+    public LiveInstrument removeInstrument(String name) {
+        return instruments.remove(name);
+    }
+
+    /**
+     * @param name the name of the instrument
+     * @return the instrument, or {@code null} if there is none
+     */
+    public LiveInstrument getInstrument(String name) {
+        return instruments.get(name);
+    }
+
+    /**
+     * @return the instruments (unmodifiable)
+     */
+    public Collection<LiveInstrument> getInstruments() {
+        return Collections.unmodifiableCollection(instruments.values());
+    }
+
+    /**
+     * Enqueues an event of an instrument if its queue is not full.
+     *
+     * @param instrument the name of the instrument
+     * @param event      the event
+     * @return true if the event was enqueued, false if the queue is full
+     * @throws IllegalArgumentException if the instrument does not exist
+     */
+    public boolean offer(String instrument, LiveEvent event) {
+        return requireInstrument(instrument).offer(event);
+    }
+
+    /**
+     * Enqueues an event of an instrument, waiting for space in its queue if
+     * necessary.
+     *
+     * @param instrument the name of the instrument
+     * @param event      the event
+     * @throws InterruptedException     if interrupted while waiting
+     * @throws IllegalArgumentException if the instrument does not exist
+     */
+    public void put(String instrument, LiveEvent event) throws InterruptedException {
+        requireInstrument(instrument).put(event);
+    }
+
+    /**
+     * @param listener the listener to add
+     */
+    public void addListener(LiveTradingListener listener) {
+        listeners.add(Objects.requireNonNull(listener, "listener"));
+    }
+
+    /**
+     * @param listener the listener to remove
+     */
+    public void removeListener(LiveTradingListener listener) {
+        listeners.remove(listener);
+    }
+
+    private LiveInstrument requireInstrument(String name) {
+        final LiveInstrument instrument = instruments.get(name);
+        if (instrument == null) {
+            throw new IllegalArgumentException("Unknown instrument: " + name);
+        }
+        return instrument;
+    }
+
+    void execute(Runnable writer) {
+        executor.execute(writer);
+    }
+
+    void fireTrade(LiveStrategy strategy, Trade trade) {
+        for (LiveTradingListener listener : listeners) {
+            listener.onTrade(strategy, trade);
+        }
+    }
+
+    void fireEvent(LiveInstrument instrument, LiveEvent event) {
+        for (LiveTradingListener listener : listeners) {
+            listener.onEvent(instrument, event);
+        }
+    }
+
+    void fireError(LiveInstrument instrument, LiveStrategy strategy, Throwable error) {
+        if (listeners.isEmpty()) {
+            log.error("Live trading of {} failed", strategy == null ? instrument : strategy, error);
+        }
+        for (LiveTradingListener listener : listeners) {
+            listener.onError(instrument, strategy, error);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017-2023 Ta4j Organization & respective
+ * authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.live;
+
+import org.ta4j.core.Trade;
+
+/**
+ * Listener of a {@link LiveTradingEngine}.
+ *
+ * <p>
+ * The methods are called by the writer thread of the instrument, i.e. they are
+ * never called concurrently for the same instrument, but can be called
+ * concurrently for different instruments. They should return quickly, as they
+ * delay the processing of the next events of the instrument.
+ */
+public interface LiveTradingListener {
+
+    /**
+     * Called after a strategy has entered or exited a position.
+     *
+     * @param strategy the strategy (its trading record already contains the trade)
+     * @param trade    the trade
+     */
+    default void onTrade(LiveStrategy strategy, Trade trade) {
+    }
+
+    /**
+     * Called after an event has been applied and all strategies of the instrument
+     * have been evaluated.
+     *
+     * @param instrument the instrument
+     * @param event      the event
+     */
+    default void onEvent(LiveInstrument instrument, LiveEvent event) {
+    }
+
+    /**
+     * Called if applying an event or evaluating a strategy failed. The processing
+     * continues with the next strategy or event.
+     *
+     * @param instrument the instrument
+     * @param strategy   the failed strategy, or {@code null} if the event could not
+     *                   be applied
+     * @param error      the error
+     */
+    default void onError(LiveInstrument instrument, LiveStrategy strategy, Throwable error) {
+    }
+}
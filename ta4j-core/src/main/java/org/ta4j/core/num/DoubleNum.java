@@ -58,6 +58,16 @@ public class DoubleNum implements Num {
         return new DoubleNum(Double.parseDouble(val));
     }
 
+    /**
+     * Returns a {@code Num} version of the given {@code double}.
+     *
+     * @param val the number
+     * @return the {@code Num}
+     */
+    public static DoubleNum valueOf(double val) {
+        return new DoubleNum(val);
+    }
+
     /**
      * Returns a {@code Num} version of the given {@code Number}.
      *
@@ -23,9 +23,12 @@
  */
 package org.ta4j.core.reports;
 
+import org.ta4j.core.AnalysisCriterion;
 import org.ta4j.core.BarSeries;
 import org.ta4j.core.Strategy;
 import org.ta4j.core.TradingRecord;
+import org.ta4j.core.criteria.AnalysisContext;
+import org.ta4j.core.criteria.CriteriaEvaluator;
 import org.ta4j.core.criteria.pnl.LossCriterion;
 import org.ta4j.core.criteria.pnl.ProfitCriterion;
 import org.ta4j.core.criteria.pnl.ProfitLossCriterion;
@@ -38,12 +41,29 @@ import org.ta4j.core.num.Num;
  */
 public class PerformanceReportGenerator implements ReportGenerator<PerformanceReport> {
 
+    private static final AnalysisCriterion PNL = new ProfitLossCriterion();
+    private static final AnalysisCriterion PNL_PERCENTAGE = new ProfitLossPercentageCriterion();
+    private static final AnalysisCriterion NET_PROFIT = new ProfitCriterion(false);
+    private static final AnalysisCriterion NET_LOSS = new LossCriterion(false);
+
     @Override
     public PerformanceReport generate(Strategy strategy, TradingRecord tradingRecord, BarSeries series) {
-        final Num pnl = new ProfitLossCriterion().calculate(series, tradingRecord);
-        final Num pnlPercentage = new ProfitLossPercentageCriterion().calculate(series, tradingRecord);
-        final Num netProfit = new ProfitCriterion(false).calculate(series, tradingRecord);
-        final Num netLoss = new LossCriterion(false).calculate(series, tradingRecord);
+        return generate(strategy, new AnalysisContext(series, tradingRecord));
+    }
+
+    /**
+     * Generates a report based on the shared analyses of the {@code context}.
+     *
+     * @param strategy the strategy
+     * @param context  the analysis context (not null)
+     * @return generated report
+     * @see CriteriaEvaluator
+     */
+    public PerformanceReport generate(Strategy strategy, AnalysisContext context) {
+        final Num pnl = CriteriaEvaluator.calculate(PNL, context);
+        final Num pnlPercentage = CriteriaEvaluator.calculate(PNL_PERCENTAGE, context);
+        final Num netProfit = CriteriaEvaluator.calculate(NET_PROFIT, context);
+        final Num netLoss = CriteriaEvaluator.calculate(NET_LOSS, context);
         return new PerformanceReport(pnl, pnlPercentage, netProfit, netLoss);
     }
 }
@@ -23,9 +23,12 @@
  */
 package org.ta4j.core.reports;
 
+import org.ta4j.core.AnalysisCriterion;
 import org.ta4j.core.BarSeries;
 import org.ta4j.core.Strategy;
 import org.ta4j.core.TradingRecord;
+import org.ta4j.core.criteria.AnalysisContext;
+import org.ta4j.core.criteria.CriteriaEvaluator;
 import org.ta4j.core.criteria.NumberOfBreakEvenPositionsCriterion;
 import org.ta4j.core.criteria.NumberOfLosingPositionsCriterion;
 import org.ta4j.core.criteria.NumberOfWinningPositionsCriterion;
@@ -37,11 +40,27 @@ import org.ta4j.core.num.Num;
  */
 public class PositionStatsReportGenerator implements ReportGenerator<PositionStatsReport> {
 
+    private static final AnalysisCriterion WINNING_POSITIONS = new NumberOfWinningPositionsCriterion();
+    private static final AnalysisCriterion LOSING_POSITIONS = new NumberOfLosingPositionsCriterion();
+    private static final AnalysisCriterion BREAK_EVEN_POSITIONS = new NumberOfBreakEvenPositionsCriterion();
+
     @Override
     public PositionStatsReport generate(Strategy strategy, TradingRecord tradingRecord, BarSeries series) {
-        final Num winningPositions = new NumberOfWinningPositionsCriterion().calculate(series, tradingRecord);
-        final Num losingPositions = new NumberOfLosingPositionsCriterion().calculate(series, tradingRecord);
-        final Num breakEvenPositions = new NumberOfBreakEvenPositionsCriterion().calculate(series, tradingRecord);
+        return generate(strategy, new AnalysisContext(series, tradingRecord));
+    }
+
+    /**
+     * Generates a report based on the shared analyses of the {@code context}.
+     *
+     * @param strategy the strategy
+     * @param context  the analysis context (not null)
+     * @return generated report
+     * @see CriteriaEvaluator
+     */
+    public PositionStatsReport generate(Strategy strategy, AnalysisContext context) {
+        final Num winningPositions = CriteriaEvaluator.calculate(WINNING_POSITIONS, context);
+        final Num losingPositions = CriteriaEvaluator.calculate(LOSING_POSITIONS, context);
+        final Num breakEvenPositions = CriteriaEvaluator.calculate(BREAK_EVEN_POSITIONS, context);
         return new PositionStatsReport(winningPositions, losingPositions, breakEvenPositions);
     }
 }
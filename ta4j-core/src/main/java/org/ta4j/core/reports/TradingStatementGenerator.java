@@ -26,6 +26,8 @@ package org.ta4j.core.reports;
 import org.ta4j.core.BarSeries;
 import org.ta4j.core.Strategy;
 import org.ta4j.core.TradingRecord;
+import org.ta4j.core.criteria.AnalysisContext;
+import org.ta4j.core.criteria.CriteriaEvaluator;
 
 /**
  * Generates a {@link TradingStatement} based on the provided trading record and
@@ -58,10 +60,21 @@ public class TradingStatementGenerator implements ReportGenerator<TradingStateme
 
     @Override
     public TradingStatement generate(Strategy strategy, TradingRecord tradingRecord, BarSeries series) {
-        final PerformanceReport performanceReport = performanceReportGenerator.generate(strategy, tradingRecord,
-                series);
-        final PositionStatsReport positionStatsReport = positionStatsReportGenerator.generate(strategy, tradingRecord,
-                series);
+        return generate(strategy, new AnalysisContext(series, tradingRecord));
+    }
+
+    /**
+     * Generates a statement based on the shared analyses of the {@code context}, so
+     * that both reports use the same traversal of the positions.
+     *
+     * @param strategy the strategy
+     * @param context  the analysis context (not null)
+     * @return generated statement
+     * @see CriteriaEvaluator
+     */
+    public TradingStatement generate(Strategy strategy, AnalysisContext context) {
+        final PerformanceReport performanceReport = performanceReportGenerator.generate(strategy, context);
+        final PositionStatsReport positionStatsReport = positionStatsReportGenerator.generate(strategy, context);
         return new TradingStatement(strategy, positionStatsReport, performanceReport);
     }
 }
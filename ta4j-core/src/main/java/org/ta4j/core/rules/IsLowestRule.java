@@ -40,6 +40,9 @@ public class IsLowestRule extends AbstractRule {
     /** The barCount. */
     private final int barCount;
 
+    /** The lowest value of {@link #ref} within the {@link #barCount}. */
+    private final LowestValueIndicator lowest;
+
     /**
      * Constructor.
      *
@@ -49,12 +52,12 @@ public class IsLowestRule extends AbstractRule {
     public IsLowestRule(Indicator<Num> ref, int barCount) {
         this.ref = ref;
         this.barCount = barCount;
+        this.lowest = new LowestValueIndicator(ref, barCount);
     }
 
     /** This rule does not use the {@code tradingRecord}. */
     @Override
     public boolean isSatisfied(int index, TradingRecord tradingRecord) {
-        LowestValueIndicator lowest = new LowestValueIndicator(ref, barCount);
         Num lowestVal = lowest.getValue(index);
         Num refVal = ref.getValue(index);
 
@@ -23,6 +23,8 @@
  */
 package org.ta4j.core.rules;
 
+import static org.ta4j.core.num.NaN.NaN;
+
 import org.ta4j.core.Indicator;
 import org.ta4j.core.Position;
 import org.ta4j.core.TradingRecord;
@@ -35,6 +37,11 @@ import org.ta4j.core.num.Num;
  *
  * <p>
  * Satisfied when the price reaches the trailing loss threshold.
+ *
+ * <p>
+ * The highest (for buy positions) or lowest (for sell positions) price since
+ * the entry of the current position is updated incrementally from bar to bar,
+ * i.e. in O(1) on sequential evaluation.
  */
 public class TrailingStopLossRule extends AbstractRule {
 
@@ -47,6 +54,27 @@ public class TrailingStopLossRule extends AbstractRule {
     /** the loss-distance as percentage. */
     private final Num lossPercentage;
 
+    /** The highest price within the {@link #barCount}. */
+    private final HighestValueIndicator highest;
+
+    /** The lowest price within the {@link #barCount}. */
+    private final LowestValueIndicator lowest;
+
+    /** The entry index of the position {@link #extremum} belongs to. */
+    private int extremumEntryIndex = -1;
+
+    /** True if {@link #extremum} belongs to a buy position, false otherwise. */
+    private boolean extremumOfBuy;
+
+    /** The last index included in {@link #extremum}. */
+    private int extremumLastIndex;
+
+    /**
+     * The highest (buy) or lowest (sell) price from {@link #extremumEntryIndex} up
+     * to {@link #extremumLastIndex}.
+     */
+    private Num extremum;
+
     /**
      * Constructor.
      *
@@ -58,6 +86,8 @@ public class TrailingStopLossRule extends AbstractRule {
         this.priceIndicator = indicator;
         this.barCount = barCount;
         this.lossPercentage = lossPercentage;
+        this.highest = new HighestValueIndicator(indicator, barCount);
+        this.lowest = new LowestValueIndicator(indicator, barCount);
     }
 
     /**
@@ -93,25 +123,73 @@ public class TrailingStopLossRule extends AbstractRule {
     }
 
     private boolean isBuySatisfied(Num currentPrice, int index, int positionIndex) {
-        HighestValueIndicator highest = new HighestValueIndicator(priceIndicator,
-                getValueIndicatorBarCount(index, positionIndex));
-        Num highestCloseNum = highest.getValue(index);
+        Num highestCloseNum = getExtremum(index, positionIndex, true);
         Num lossRatioThreshold = highestCloseNum.numOf(100).minus(lossPercentage).dividedBy(highestCloseNum.numOf(100));
         Num currentStopLossLimitActivation = highestCloseNum.multipliedBy(lossRatioThreshold);
         return currentPrice.isLessThanOrEqual(currentStopLossLimitActivation);
     }
 
     private boolean isSellSatisfied(Num currentPrice, int index, int positionIndex) {
-        LowestValueIndicator lowest = new LowestValueIndicator(priceIndicator,
-                getValueIndicatorBarCount(index, positionIndex));
-        Num lowestCloseNum = lowest.getValue(index);
+        Num lowestCloseNum = getExtremum(index, positionIndex, false);
         Num lossRatioThreshold = lowestCloseNum.numOf(100).plus(lossPercentage).dividedBy(lowestCloseNum.numOf(100));
         Num currentStopLossLimitActivation = lowestCloseNum.multipliedBy(lossRatioThreshold);
         return currentPrice.isGreaterThanOrEqual(currentStopLossLimitActivation);
     }
 
-    private int getValueIndicatorBarCount(int index, int positionIndex) {
-        return Math.min(index - positionIndex + 1, this.barCount);
+    /**
+     * @param index         the bar index
+     * @param positionIndex the entry index of the current position
+     * @param buy           true for the highest, false for the lowest price
+     * @return the highest/lowest price within the last {@link #barCount} bars since
+     *         the entry of the position
+     */
+    private Num getExtremum(int index, int positionIndex, boolean buy) {
+        if (index - positionIndex + 1 > barCount) {
+            // the bar count is reached: the window does not depend on the position
+            return buy ? highest.getValue(index) : lowest.getValue(index);
+        }
+        return getExtremumSinceEntry(index, positionIndex, buy);
+    }
+
+    /**
+     * Returns the highest/lowest price since the entry of the position. The
+     * extremum up to the previous index is kept between calls, the price at
+     * {@code index} is always read again (as the last bar may still change).
+     *
+     * @param index         the bar index
+     * @param positionIndex the entry index of the current position
+     * @param buy           true for the highest, false for the lowest price
+     * @return the highest/lowest price from {@code positionIndex} up to
+     *         {@code index}
+     */
+    private synchronized Num getExtremumSinceEntry(int index, int positionIndex, boolean buy) {
+        if (extremumEntryIndex != positionIndex || extremumOfBuy != buy || extremumLastIndex >= index) {
+            extremumEntryIndex = positionIndex;
+            extremumOfBuy = buy;
+            extremumLastIndex = positionIndex - 1;
+            extremum = NaN;
+        }
+        while (extremumLastIndex < index - 1) {
+            extremum = extremumOf(extremum, priceIndicator.getValue(++extremumLastIndex), buy);
+        }
+        return extremumOf(extremum, priceIndicator.getValue(index), buy);
+    }
+
+    /**
+     * @return the higher (buy) or lower (sell) value of {@code extremum} and
+     *         {@code value}, ignoring {@code NaN} values
+     */
+    private static Num extremumOf(Num extremum, Num value, boolean buy) {
+        if (value.isNaN()) {
+            return extremum;
+        }
+        if (extremum.isNaN()) {
+            return value;
+        }
+        if (buy) {
+            return extremum.isGreaterThan(value) ? extremum : value;
+        }
+        return extremum.isLessThan(value) ? extremum : value;
     }
 
     @Override
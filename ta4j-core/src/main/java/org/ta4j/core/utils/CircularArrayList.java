@@ -0,0 +1,257 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017-2023 Ta4j Organization & respective
+ * authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.utils;
+
+import java.io.Serializable;
+import java.util.AbstractList;
+import java.util.Collection;
+import java.util.RandomAccess;
+
+/**
+ * A resizable-array {@link java.util.List List} backed by a circular buffer.
+ *
+ * <p>
+ * In contrast to {@link java.util.ArrayList ArrayList}, removing elements from
+ * the head of the list (i.e. {@code remove(0)} or
+ * {@code subList(0, n).clear()}) does not shift the backing array but only
+ * moves the head of the buffer. This makes it the storage of choice for moving
+ * windows (e.g. bar series with a {@code maximumBarCount}), where each appended
+ * element causes the oldest one to be removed: once the capacity has reached
+ * the window size, appending and removing are O(1) without any array copying.
+ *
+ * <p>
+ * Inserting or removing elements in the middle of the list is supported, but
+ * O(n) as with {@code ArrayList}. This implementation is not synchronized.
+ *
+ * @param <E> the type of elements in this list
+ */
+public class CircularArrayList<E> extends AbstractList<E> implements RandomAccess, Serializable {
+
+    private static final long serialVersionUID = 2305148206413719431L;
+
+    /** The default initial capacity. */
+    private static final int DEFAULT_CAPACITY = 10;
+
+    /** The circular buffer. */
+    private Object[] elements;
+
+    /** The position of the first element within {@link #elements}. */
+    private int head = 0;
+
+    /** The number of elements in this list. */
+    private int size = 0;
+
+    /** Constructor with the default initial capacity. */
+    public CircularArrayList() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param initialCapacity the initial capacity of the buffer
+     * @throws IllegalArgumentException if {@code initialCapacity} is negative
+     */
+    public CircularArrayList(int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("Initial capacity must not be negative: " + initialCapacity);
+        }
+        this.elements = new Object[initialCapacity];
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param collection the elements to be placed into this list
+     */
+    public CircularArrayList(Collection<? extends E> collection) {
+        this.elements = collection.toArray(new Object[0]);
+        this.size = elements.length;
+    }
+
+    @Override
+    public E get(int index) {
+        checkIndex(index, size);
+        return elementAt(index);
+    }
+
+    @Override
+    public E set(int index, E element) {
+        checkIndex(index, size);
+        final int position = position(index);
+        final E previous = elementData(position);
+        elements[position] = element;
+        return previous;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean add(E element) {
+        ensureCapacity(size + 1);
+        elements[position(size)] = element;
+        size++;
+        modCount++;
+        return true;
+    }
+
+    @Override
+    public void add(int index, E element) {
+        checkIndex(index, size + 1);
+        if (index == size) {
+            add(element);
+            return;
+        }
+        ensureCapacity(size + 1);
+        if (index == 0) {
+            head = head == 0 ? elements.length - 1 : head - 1;
+        } else {
+            for (int i = size; i > index; i--) {
+                elements[position(i)] = elements[position(i - 1)];
+            }
+        }
+        elements[position(index)] = element;
+        size++;
+        modCount++;
+    }
+
+    @Override
+    public E remove(int index) {
+        checkIndex(index, size);
+        final E removed = elementAt(index);
+        if (index == 0) {
+            elements[head] = null;
+            head = position(1);
+        } else {
+            for (int i = index; i < size - 1; i++) {
+                elements[position(i)] = elements[position(i + 1)];
+            }
+            elements[position(size - 1)] = null;
+        }
+        size--;
+        if (size == 0) {
+            head = 0;
+        }
+        modCount++;
+        return removed;
+    }
+
+    @Override
+    public void clear() {
+        removeRange(0, size);
+    }
+
+    @Override
+    protected void removeRange(int fromIndex, int toIndex) {
+        if (fromIndex < 0 || toIndex > size || fromIndex > toIndex) {
+            throw new IndexOutOfBoundsException(
+                    String.format("fromIndex: %s, toIndex: %s, size: %s", fromIndex, toIndex, size));
+        }
+        final int count = toIndex - fromIndex;
+        if (count == 0) {
+            return;
+        }
+        if (fromIndex == 0) {
+            // removing from the head: no need to shift, just move the head
+            for (int i = 0; i < count; i++) {
+                elements[position(i)] = null;
+            }
+            head = size == count ? 0 : position(count);
+        } else {
+            for (int i = fromIndex; i < size - count; i++) {
+                elements[position(i)] = elements[position(i + count)];
+            }
+            for (int i = size - count; i < size; i++) {
+                elements[position(i)] = null;
+            }
+        }
+        size -= count;
+        modCount++;
+    }
+
+    /**
+     * Increases the capacity of the buffer, if necessary, to hold at least
+     * {@code minCapacity} elements.
+     *
+     * @param minCapacity the desired minimum capacity
+     */
+    public void ensureCapacity(int minCapacity) {
+        if (minCapacity > elements.length) {
+            final int newCapacity = Math.max(minCapacity, elements.length + (elements.length >> 1) + 1);
+            resize(newCapacity);
+        }
+    }
+
+    /**
+     * Trims the capacity of the buffer to the current size of this list.
+     */
+    public void trimToSize() {
+        if (size < elements.length) {
+            resize(size);
+        }
+    }
+
+    /**
+     * @return the number of elements the buffer can hold without being resized
+     */
+    public int capacity() {
+        return elements.length;
+    }
+
+    private void resize(int newCapacity) {
+        final Object[] newElements = new Object[newCapacity];
+        final int firstPart = Math.min(size, elements.length - head);
+        System.arraycopy(elements, head, newElements, 0, firstPart);
+        System.arraycopy(elements, 0, newElements, firstPart, size - firstPart);
+        elements = newElements;
+        head = 0;
+    }
+
+    /**
+     * @param index the index within this list
+     * @return the position of the element within {@link #elements}
+     */
+    private int position(int index) {
+        final int position = head + index;
+        return position >= elements.length ? position - elements.length : position;
+    }
+
+    private E elementAt(int index) {
+        return elementData(position(index));
+    }
+
+    @SuppressWarnings("unchecked")
+    private E elementData(int position) {
+        return (E) elements[position];
+    }
+
+    private static void checkIndex(int index, int length) {
+        if (index < 0 || index >= length) {
+            throw new IndexOutOfBoundsException(String.format("Index: %s, Size: %s", index, length));
+        }
+    }
+}
@@ -0,0 +1,225 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017-2023 Ta4j Organization & respective
+ * authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+import static org.ta4j.core.TestUtils.assertIndicatorEquals;
+import static org.ta4j.core.TestUtils.assertNumEquals;
+
+import java.time.Duration;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.ta4j.core.indicators.AbstractIndicatorTest;
+import org.ta4j.core.indicators.SMAIndicator;
+import org.ta4j.core.indicators.helpers.ClosePriceIndicator;
+import org.ta4j.core.indicators.helpers.HighPriceIndicator;
+import org.ta4j.core.mocks.MockBar;
+import org.ta4j.core.num.Num;
+
+public class ColumnarBarSeriesTest extends AbstractIndicatorTest<BarSeries, Num> {
+
+    private List<Bar> bars;
+
+    private ColumnarBarSeries series;
+
+    public ColumnarBarSeriesTest(Function<Number, Num> numFunction) {
+        super(numFunction);
+    }
+
+    @Before
+    public void setUp() {
+        bars = new ArrayList<>();
+        ZonedDateTime time = ZonedDateTime.of(2014, 6, 13, 0, 0, 0, 0, ZoneId.systemDefault());
+        for (int i = 1; i <= 6; i++) {
+            bars.add(new MockBar(time.plusDays(i), i - 0.5, i, i + 1, i - 1, 10 * i, 100 * i, i, numFunction));
+        }
+        series = new ColumnarBarSeries("columnar", numOf(0), bars);
+    }
+
+    @Test
+    public void getBarTest() {
+        assertEquals(0, series.getBeginIndex());
+        assertEquals(5, series.getEndIndex());
+        assertEquals(6, series.getBarCount());
+        for (int i = 0; i < bars.size(); i++) {
+            Bar expected = bars.get(i);
+            Bar actual = series.getBar(i);
+            assertEquals(expected.getEndTime(), actual.getEndTime());
+            assertEquals(expected.getBeginTime(), actual.getBeginTime());
+            assertEquals(expected.getTimePeriod(), actual.getTimePeriod());
+            assertNumEquals(expected.getOpenPrice(), actual.getOpenPrice());
+            assertNumEquals(expected.getHighPrice(), actual.getHighPrice());
+            assertNumEquals(expected.getLowPrice(), actual.getLowPrice());
+            assertNumEquals(expected.getClosePrice(), actual.getClosePrice());
+            assertNumEquals(expected.getVolume(), actual.getVolume());
+            assertNumEquals(expected.getAmount(), actual.getAmount());
+            assertEquals(expected.getTrades(), actual.getTrades());
+        }
+        assertEquals(6, series.getBarData().size());
+        assertNumEquals(4, series.getBarData().get(3).getClosePrice());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void addBarWithEndTimePriorToSeriesEndTime() {
+        series.addBar(bars.get(0));
+    }
+
+    @Test
+    public void replaceBarTest() {
+        ZonedDateTime endTime = series.getLastBar().getEndTime();
+        series.addBar(new MockBar(endTime, 42d, numFunction), true);
+        assertEquals(6, series.getBarCount());
+        assertNumEquals(42, series.getLastBar().getClosePrice());
+    }
+
+    @Test
+    public void addPriceAndTradeTest() {
+        series.addBar(Duration.ofDays(1), series.getLastBar().getEndTime().plusDays(1));
+        assertTrue(series.getLastBar().getClosePrice().isNaN());
+
+        series.addPrice(numOf(5));
+        series.addTrade(numOf(2), numOf(7));
+        series.addPrice(numOf(3));
+
+        Bar lastBar = series.getLastBar();
+        assertNumEquals(5, lastBar.getOpenPrice());
+        assertNumEquals(7, lastBar.getHighPrice());
+        assertNumEquals(3, lastBar.getLowPrice());
+        assertNumEquals(3, lastBar.getClosePrice());
+        assertNumEquals(2, lastBar.getVolume());
+        assertNumEquals(14, lastBar.getAmount());
+        assertEquals(1, lastBar.getTrades());
+    }
+
+    @Test
+    public void maximumBarCountTest() {
+        series.setMaximumBarCount(3);
+        assertEquals(3, series.getBeginIndex());
+        assertEquals(5, series.getEndIndex());
+        assertEquals(3, series.getBarCount());
+        assertEquals(3, series.getRemovedBarsCount());
+        // removed bars return the first retained bar
+        assertNumEquals(4, series.getBar(0).getClosePrice());
+        assertNumEquals(4, series.getBar(3).getClosePrice());
+
+        ZonedDateTime endTime = series.getLastBar().getEndTime();
+        for (int i = 1; i <= 100; i++) {
+            series.addBar(endTime.plusDays(i), i, i, i, i);
+        }
+        assertEquals(103, series.getBeginIndex());
+        assertEquals(105, series.getEndIndex());
+        assertEquals(3, series.getBarCount());
+        assertNumEquals(98, series.getBar(103).getClosePrice());
+        assertNumEquals(100, series.getLastBar().getClosePrice());
+        assertEquals(endTime.plusDays(100), series.getLastBar().getEndTime());
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void removedBarViewTest() {
+        series.setMaximumBarCount(2);
+        Bar bar = series.getBar(4);
+        series.addBar(series.getLastBar().getEndTime().plusDays(1), 1, 1, 1, 1);
+        series.addBar(series.getLastBar().getEndTime().plusDays(1), 1, 1, 1, 1);
+        bar.getClosePrice();
+    }
+
+    @Test
+    public void lastBarStampTest() {
+        assertEquals(-1, series.getLastBarStamp());
+        series.setProvisionalLastBarEvaluation(true);
+        long stamp = series.getLastBarStamp();
+        assertEquals(stamp, series.getLastBarStamp());
+
+        series.addPrice(numOf(5));
+        assertNotEquals(stamp, series.getLastBarStamp());
+        stamp = series.getLastBarStamp();
+        series.getLastBar().addTrade(numOf(1), numOf(5));
+        assertNotEquals(stamp, series.getLastBarStamp());
+        stamp = series.getLastBarStamp();
+        series.addBar(series.getLastBar().getEndTime().plusDays(1), 1, 1, 1, 1);
+        assertNotEquals(stamp, series.getLastBarStamp());
+    }
+
+    @Test
+    public void subSeriesTest() {
+        BarSeries subSeries = series.getSubSeries(2, 5);
+        assertEquals(series.getName(), subSeries.getName());
+        assertEquals(0, subSeries.getBeginIndex());
+        assertEquals(2, subSeries.getEndIndex());
+        assertNumEquals(3, subSeries.getFirstBar().getClosePrice());
+        assertNumEquals(5, subSeries.getLastBar().getClosePrice());
+
+        subSeries = series.getSubSeries(4, 100);
+        assertEquals(2, subSeries.getBarCount());
+        assertNumEquals(6, subSeries.getLastBar().getClosePrice());
+
+        series.setMaximumBarCount(3);
+        subSeries = series.getSubSeries(0, 5);
+        assertEquals(2, subSeries.getBarCount());
+        assertNumEquals(4, subSeries.getFirstBar().getClosePrice());
+    }
+
+    @Test
+    public void copyClosePricesTest() {
+        double[] closePrices = new double[4];
+        series.copyClosePrices(1, 5, closePrices);
+        assertArrayEquals(new double[] { 2, 3, 4, 5 }, closePrices, 0);
+
+        series.setMaximumBarCount(3);
+        double[] highPrices = new double[6];
+        new HighPriceIndicator(series).fill(0, 6, highPrices);
+        // removed bars are replaced by the first remaining bar
+        assertArrayEquals(new double[] { 5, 5, 5, 5, 6, 7 }, highPrices, 0);
+    }
+
+    @Test
+    public void copyRemovedBarsTest() {
+        series.setMaximumBarCount(3);
+        double[] closePrices = new double[2];
+        series.copyClosePrices(0, 2, closePrices);
+        double firstClosePrice = series.getBar(series.getBeginIndex()).getClosePrice().doubleValue();
+        assertArrayEquals(new double[] { firstClosePrice, firstClosePrice }, closePrices, 0);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void copyBeyondEndIndexTest() {
+        series.copyClosePrices(4, 7, new double[3]);
+    }
+
+    @Test
+    public void indicatorsMatchBaseBarSeriesTest() {
+        BarSeries baseSeries = new BaseBarSeriesBuilder().withNumTypeOf(numFunction).withBars(bars).build();
+        assertIndicatorEquals(new SMAIndicator(new ClosePriceIndicator(baseSeries), 3),
+                new SMAIndicator(new ClosePriceIndicator(series), 3));
+    }
+}
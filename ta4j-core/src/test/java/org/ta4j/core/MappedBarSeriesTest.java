@@ -0,0 +1,194 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017-2023 Ta4j Organization & respective
+ * authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.ta4j.core.TestUtils.assertIndicatorEquals;
+import static org.ta4j.core.TestUtils.assertNumEquals;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.ta4j.core.indicators.AbstractIndicatorTest;
+import org.ta4j.core.indicators.SMAIndicator;
+import org.ta4j.core.indicators.helpers.ClosePriceIndicator;
+import org.ta4j.core.mocks.MockBar;
+import org.ta4j.core.num.Num;
+
+public class MappedBarSeriesTest extends AbstractIndicatorTest<BarSeries, Num> {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private List<Bar> bars;
+
+    private MappedBarSeries series;
+
+    public MappedBarSeriesTest(Function<Number, Num> numFunction) {
+        super(numFunction);
+    }
+
+    @Before
+    public void setUp() throws IOException {
+        bars = new ArrayList<>();
+        ZonedDateTime time = ZonedDateTime.of(2014, 6, 13, 0, 0, 0, 0, ZoneId.of("Europe/Paris"));
+        for (int i = 1; i <= 6; i++) {
+            bars.add(new MockBar(time.plusDays(i), i - 0.5, i, i + 1, i - 1, 10 * i, 100 * i, i, numFunction));
+        }
+        Path path = folder.newFile("bars.bin").toPath();
+        MappedBarSeries.write(new BaseBarSeries("base", bars), path);
+        series = MappedBarSeries.open(path, "mapped", numOf(0));
+    }
+
+    @Test
+    public void getBarTest() {
+        assertEquals("mapped", series.getName());
+        assertEquals(0, series.getBeginIndex());
+        assertEquals(5, series.getEndIndex());
+        assertEquals(6, series.getBarCount());
+        for (int i = 0; i < bars.size(); i++) {
+            Bar expected = bars.get(i);
+            Bar actual = series.getBar(i);
+            assertEquals(expected.getEndTime(), actual.getEndTime());
+            assertEquals(expected.getBeginTime(), actual.getBeginTime());
+            assertEquals(expected.getTimePeriod(), actual.getTimePeriod());
+            assertNumEquals(expected.getOpenPrice(), actual.getOpenPrice());
+            assertNumEquals(expected.getHighPrice(), actual.getHighPrice());
+            assertNumEquals(expected.getLowPrice(), actual.getLowPrice());
+            assertNumEquals(expected.getClosePrice(), actual.getClosePrice());
+            assertNumEquals(expected.getVolume(), actual.getVolume());
+            assertNumEquals(expected.getAmount(), actual.getAmount());
+            assertEquals(expected.getTrades(), actual.getTrades());
+        }
+        assertEquals(6, series.getBarData().size());
+        assertNumEquals(4, series.getBarData().get(3).getClosePrice());
+    }
+
+    @Test
+    public void indicatorTest() {
+        BarSeries baseSeries = new BaseBarSeries("base", bars);
+        assertIndicatorEquals(new SMAIndicator(new ClosePriceIndicator(baseSeries), 3),
+                new SMAIndicator(new ClosePriceIndicator(series), 3));
+    }
+
+    @Test
+    public void emptySeriesTest() throws IOException {
+        Path path = folder.newFile("empty.bin").toPath();
+        MappedBarSeries.write(new BaseBarSeries(), path);
+        MappedBarSeries empty = MappedBarSeries.open(path);
+        assertEquals("empty.bin", empty.getName());
+        assertEquals(0, empty.getBarCount());
+        assertEquals(-1, empty.getBeginIndex());
+        assertEquals(-1, empty.getEndIndex());
+    }
+
+    @Test
+    public void maximumBarCountTest() {
+        series.setMaximumBarCount(3);
+        assertEquals(3, series.getBeginIndex());
+        assertEquals(5, series.getEndIndex());
+        assertEquals(3, series.getBarCount());
+        assertEquals(3, series.getRemovedBarsCount());
+        // removed bars return the first retained bar
+        assertNumEquals(4, series.getBar(0).getClosePrice());
+        assertNumEquals(4, series.getBar(3).getClosePrice());
+        assertEquals(3, series.getBarData().size());
+        assertNumEquals(4, series.getBarData().get(0).getClosePrice());
+    }
+
+    @Test
+    public void subSeriesTest() {
+        MappedBarSeries subSeries = series.getSubSeries(2, 5);
+        assertEquals(series.getName(), subSeries.getName());
+        assertEquals(0, subSeries.getBeginIndex());
+        assertEquals(2, subSeries.getEndIndex());
+        assertNumEquals(3, subSeries.getFirstBar().getClosePrice());
+        assertNumEquals(5, subSeries.getLastBar().getClosePrice());
+        assertEquals(bars.get(4).getEndTime(), subSeries.getLastBar().getEndTime());
+
+        subSeries = series.getSubSeries(4, 100);
+        assertEquals(2, subSeries.getBarCount());
+        assertNumEquals(6, subSeries.getLastBar().getClosePrice());
+
+        series.setMaximumBarCount(3);
+        subSeries = series.getSubSeries(0, 5);
+        assertEquals(2, subSeries.getBarCount());
+        assertNumEquals(4, subSeries.getFirstBar().getClosePrice());
+    }
+
+    @Test
+    public void copyClosePricesTest() {
+        double[] closePrices = new double[4];
+        series.copyClosePrices(1, 5, closePrices);
+        assertArrayEquals(new double[] { 2, 3, 4, 5 }, closePrices, 0);
+    }
+
+    @Test
+    public void writeSubSeriesTest() throws IOException {
+        Path path = folder.newFile("sub.bin").toPath();
+        MappedBarSeries.write(series.getSubSeries(1, 4), path);
+        MappedBarSeries copy = MappedBarSeries.open(path, "copy", numOf(0));
+        assertEquals(3, copy.getBarCount());
+        assertNumEquals(2, copy.getFirstBar().getClosePrice());
+        assertEquals(bars.get(3).getEndTime(), copy.getLastBar().getEndTime());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void addBarTest() {
+        series.addBar(new MockBar(series.getLastBar().getEndTime().plusDays(1), 42d, numFunction));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void addTradeToBarTest() {
+        series.getLastBar().addTrade(numOf(1), numOf(5));
+    }
+
+    @Test(expected = IOException.class)
+    public void openInvalidFileTest() throws IOException {
+        Path path = folder.newFile("invalid.bin").toPath();
+        Files.write(path, "open,high,low,close".getBytes());
+        MappedBarSeries.open(path);
+    }
+
+    @Test(expected = IOException.class)
+    public void openTruncatedFileTest() throws IOException {
+        Path path = folder.newFile("truncated.bin").toPath();
+        MappedBarSeries.write(new BaseBarSeries("base", bars), path);
+        byte[] content = Files.readAllBytes(path);
+        Files.write(path, Arrays.copyOf(content, content.length - 1));
+        MappedBarSeries.open(path);
+    }
+}
@@ -0,0 +1,153 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017-2023 Ta4j Organization & respective
+ * authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.ta4j.core.TestUtils.assertNumEquals;
+import static org.ta4j.core.num.NaN.NaN;
+
+import java.util.Random;
+import java.util.function.Function;
+
+import org.junit.Test;
+import org.ta4j.core.Trade.TradeType;
+import org.ta4j.core.analysis.cost.FixedTransactionCostModel;
+import org.ta4j.core.analysis.cost.LinearTransactionCostModel;
+import org.ta4j.core.analysis.cost.ZeroCostModel;
+import org.ta4j.core.criteria.NumberOfPositionsCriterion;
+import org.ta4j.core.criteria.pnl.ProfitLossCriterion;
+import org.ta4j.core.criteria.pnl.ReturnCriterion;
+import org.ta4j.core.indicators.AbstractIndicatorTest;
+import org.ta4j.core.mocks.MockBarSeries;
+import org.ta4j.core.num.Num;
+
+public class PackedTradingRecordTest extends AbstractIndicatorTest<BarSeries, Num> {
+
+    public PackedTradingRecordTest(Function<Number, Num> numFunction) {
+        super(numFunction);
+    }
+
+    @Test
+    public void operate() {
+        TradingRecord record = new PackedTradingRecord();
+
+        record.operate(1);
+        assertTrue(record.getCurrentPosition().isOpened());
+        assertEquals(0, record.getPositionCount());
+        assertNull(record.getLastPosition());
+        assertEquals(Trade.buyAt(1, NaN, NaN), record.getLastTrade());
+        assertEquals(Trade.buyAt(1, NaN, NaN), record.getLastTrade(TradeType.BUY));
+        assertNull(record.getLastTrade(TradeType.SELL));
+        assertEquals(Trade.buyAt(1, NaN, NaN), record.getLastEntry());
+        assertNull(record.getLastExit());
+
+        record.operate(3);
+        assertTrue(record.getCurrentPosition().isNew());
+        assertEquals(1, record.getPositionCount());
+        assertEquals(new Position(Trade.buyAt(1, NaN, NaN), Trade.sellAt(3, NaN, NaN)), record.getLastPosition());
+        assertEquals(Trade.sellAt(3, NaN, NaN), record.getLastTrade());
+        assertEquals(Trade.sellAt(3, NaN, NaN), record.getLastTrade(TradeType.SELL));
+        assertEquals(Trade.sellAt(3, NaN, NaN), record.getLastExit());
+
+        record.operate(5);
+        assertTrue(record.getCurrentPosition().isOpened());
+        assertEquals(1, record.getPositionCount());
+        assertEquals(Trade.buyAt(5, NaN, NaN), record.getLastTrade(TradeType.BUY));
+        assertEquals(Trade.sellAt(3, NaN, NaN), record.getLastTrade(TradeType.SELL));
+        assertEquals(Trade.buyAt(5, NaN, NaN), record.getLastEntry());
+        assertEquals(Trade.sellAt(3, NaN, NaN), record.getLastExit());
+    }
+
+    @Test
+    public void tradesConstructorShouldHandleTypeReversal() {
+        PackedTradingRecord record = new PackedTradingRecord(Trade.buyAt(0, NaN, NaN), Trade.sellAt(3, NaN, NaN),
+                Trade.sellAt(7, NaN, NaN), Trade.buyAt(8, NaN, NaN), Trade.buyAt(9, NaN, NaN));
+        assertEquals(2, record.getPositionCount());
+        assertEquals(new Position(Trade.sellAt(7, NaN, NaN), Trade.buyAt(8, NaN, NaN)), record.getLastPosition());
+        assertFalse(record.isClosed());
+        assertEquals(Trade.sellAt(7, NaN, NaN), record.getLastTrade(TradeType.SELL));
+        assertEquals(Trade.buyAt(9, NaN, NaN), record.getLastEntry());
+        assertEquals(Trade.buyAt(8, NaN, NaN), record.getLastExit());
+    }
+
+    @Test
+    public void columnsShouldMatchTrades() {
+        PackedTradingRecord record = new PackedTradingRecord(null, TradeType.SELL, null, null,
+                new FixedTransactionCostModel(0.5), new ZeroCostModel());
+        record.enter(2, numOf(10), numOf(3));
+        record.exit(4, numOf(8), numOf(3));
+
+        assertEquals(2, record.getTradeCount());
+        assertEquals(TradeType.SELL, record.getTradeType(0));
+        assertTrue(record.isEntry(0));
+        assertEquals(4, record.getTradeIndex(1));
+        assertEquals(TradeType.BUY, record.getTradeType(1));
+        assertFalse(record.isEntry(1));
+        assertEquals(8, record.getPrice(1), 0);
+        assertEquals(3, record.getAmount(1), 0);
+        assertEquals(0.5, record.getCost(1), 0);
+        assertNumEquals(record.getTrade(1).getCost(), numOf(0.5));
+        assertEquals(record.getLastPosition().getEntry().getCostModel(),
+                record.getLastPosition().getExit().getCostModel());
+    }
+
+    @Test
+    public void shouldBehaveLikeBaseTradingRecord() {
+        BarSeries series = new MockBarSeries(numFunction);
+        LinearTransactionCostModel costModel = new LinearTransactionCostModel(0.001);
+        TradingRecord expected = new BaseTradingRecord(TradeType.BUY, costModel, new ZeroCostModel());
+        TradingRecord actual = new PackedTradingRecord(null, TradeType.BUY, null, null, costModel, new ZeroCostModel());
+        Random random = new Random(42);
+        for (int i = 0; i < series.getBarCount(); i++) {
+            if (random.nextInt(10) == 0) {
+                Num price = series.getBar(i).getClosePrice();
+                expected.operate(i, price, numOf(2));
+                actual.operate(i, price, numOf(2));
+            }
+        }
+
+        assertEquals(expected.getPositionCount(), actual.getPositionCount());
+        assertEquals(expected.getPositions(), actual.getPositions());
+        assertEquals(expected.getLastTrade(), actual.getLastTrade());
+        assertEquals(expected.getLastEntry(), actual.getLastEntry());
+        assertEquals(expected.getLastExit(), actual.getLastExit());
+        assertEquals(expected.isClosed(), actual.isClosed());
+        assertNumEquals(new ReturnCriterion().calculate(series, expected),
+                new ReturnCriterion().calculate(series, actual));
+        assertNumEquals(new ProfitLossCriterion().calculate(series, expected),
+                new ProfitLossCriterion().calculate(series, actual));
+        assertNumEquals(new NumberOfPositionsCriterion().calculate(series, expected),
+                new NumberOfPositionsCriterion().calculate(series, actual));
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void getTradeOutOfBounds() {
+        PackedTradingRecord record = new PackedTradingRecord();
+        record.operate(1);
+        record.getTrade(1);
+    }
+}
@@ -0,0 +1,164 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017-2023 Ta4j Organization & respective
+ * authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.aggregator;
+
+import static org.junit.Assert.assertEquals;
+import static org.ta4j.core.TestUtils.assertNumEquals;
+
+import java.time.Duration;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.function.Function;
+
+import org.junit.Test;
+import org.ta4j.core.Bar;
+import org.ta4j.core.BarSeries;
+import org.ta4j.core.BaseBar;
+import org.ta4j.core.BaseBarSeriesBuilder;
+import org.ta4j.core.indicators.AbstractIndicatorTest;
+import org.ta4j.core.num.Num;
+
+public class MultiTimeframeBarAggregatorTest extends AbstractIndicatorTest<BarSeries, Num> {
+
+    private static final ZonedDateTime START = ZonedDateTime.of(2023, 3, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+
+    public MultiTimeframeBarAggregatorTest(Function<Number, Num> numFunction) {
+        super(numFunction);
+    }
+
+    private BarSeries newSeries() {
+        return new BaseBarSeriesBuilder().withName("source").withNumTypeOf(numFunction).build();
+    }
+
+    private Bar minuteBar(ZonedDateTime start, int i) {
+        double open = 100 + i % 13;
+        double close = 100 + i % 7;
+        return new BaseBar(Duration.ofMinutes(1), start.plusMinutes(i + 1), open, Math.max(open, close) + i % 3,
+                Math.min(open, close) - i % 5, close, 10 + i % 4, 1000 + i, 1 + i % 2, numFunction);
+    }
+
+    private static void assertBarsEqual(List<Bar> expected, BarSeries actual) {
+        assertEquals(expected.size(), actual.getBarCount());
+        for (int i = 0; i < expected.size(); i++) {
+            Bar bar = actual.getBar(i);
+            assertEquals(expected.get(i).getEndTime(), bar.getEndTime());
+            assertEquals(expected.get(i).getTimePeriod(), bar.getTimePeriod());
+            assertNumEquals(expected.get(i).getOpenPrice(), bar.getOpenPrice());
+            assertNumEquals(expected.get(i).getHighPrice(), bar.getHighPrice());
+            assertNumEquals(expected.get(i).getLowPrice(), bar.getLowPrice());
+            assertNumEquals(expected.get(i).getClosePrice(), bar.getClosePrice());
+            assertNumEquals(expected.get(i).getVolume(), bar.getVolume());
+            assertNumEquals(expected.get(i).getAmount(), bar.getAmount());
+            assertEquals(expected.get(i).getTrades(), bar.getTrades());
+        }
+    }
+
+    @Test
+    public void singlePassEqualsDurationBarAggregator() {
+        BarSeries source = newSeries();
+        for (int i = 0; i < 200; i++) {
+            source.addBar(minuteBar(START, i));
+        }
+        Duration[] timePeriods = { Duration.ofMinutes(5), Duration.ofMinutes(15), Duration.ofHours(1) };
+        MultiTimeframeBarAggregator aggregator = new MultiTimeframeBarAggregator(source, timePeriods);
+        aggregator.update();
+
+        assertEquals("source PT5M", aggregator.getSeries(Duration.ofMinutes(5)).getName());
+        for (Duration timePeriod : timePeriods) {
+            assertBarsEqual(new DurationBarAggregator(timePeriod).aggregate(source.getBarData()),
+                    aggregator.getSeries(timePeriod));
+        }
+        assertEquals(40, aggregator.getSeries(Duration.ofMinutes(5)).getBarCount());
+        assertEquals(3, aggregator.getSeries(Duration.ofHours(1)).getBarCount());
+    }
+
+    @Test
+    public void incrementalUpdateEqualsSinglePass() {
+        BarSeries source = newSeries();
+        BarSeries incrementalSource = newSeries();
+        Duration[] timePeriods = { Duration.ofMinutes(5), Duration.ofMinutes(30) };
+        MultiTimeframeBarAggregator incremental = new MultiTimeframeBarAggregator(incrementalSource, false,
+                timePeriods);
+        for (int i = 0; i < 95; i++) {
+            source.addBar(minuteBar(START, i));
+            incrementalSource.addBar(minuteBar(START, i));
+            if (i % 4 == 0) {
+                incremental.update();
+            }
+        }
+        incremental.update();
+        MultiTimeframeBarAggregator singlePass = new MultiTimeframeBarAggregator(source, false, timePeriods);
+        singlePass.update();
+
+        for (Duration timePeriod : timePeriods) {
+            assertBarsEqual(singlePass.getSeries(timePeriod).getBarData(), incremental.getSeries(timePeriod));
+        }
+        // the pending bars of the current periods
+        BarSeries fiveMinutes = incremental.getSeries(Duration.ofMinutes(5));
+        assertEquals(19, fiveMinutes.getBarCount());
+        assertEquals(START.plusMinutes(95), fiveMinutes.getLastBar().getEndTime());
+        BarSeries halfHours = incremental.getSeries(Duration.ofMinutes(30));
+        assertEquals(4, halfHours.getBarCount());
+        assertEquals(START.plusMinutes(120), halfHours.getLastBar().getEndTime());
+        assertNumEquals(source.getLastBar().getClosePrice(), halfHours.getLastBar().getClosePrice());
+    }
+
+    @Test
+    public void gapsAndZonesTest() {
+        ZonedDateTime start = ZonedDateTime.of(2023, 3, 1, 0, 0, 0, 0, ZoneOffset.ofHours(2));
+        BarSeries source = newSeries();
+        for (int i = 0; i < 10; i++) {
+            source.addBar(minuteBar(start, i));
+        }
+        // gap of 2 hours
+        for (int i = 130; i < 135; i++) {
+            source.addBar(minuteBar(start, i));
+        }
+        MultiTimeframeBarAggregator aggregator = new MultiTimeframeBarAggregator(source, Duration.ofHours(4));
+        aggregator.update();
+        assertEquals(0, aggregator.getSeries(Duration.ofHours(4)).getBarCount());
+
+        source.addBar(minuteBar(start, 240));
+        aggregator.update();
+        BarSeries series = aggregator.getSeries(Duration.ofHours(4));
+        // aligned to the local midnight
+        assertEquals(1, series.getBarCount());
+        assertEquals(start.plusHours(4), series.getBar(0).getEndTime());
+        assertEquals(start, series.getBar(0).getBeginTime());
+        assertEquals(22, series.getBar(0).getTrades());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void timePeriodNotMultipleOfBarTimePeriod() {
+        BarSeries source = newSeries();
+        source.addBar(new BaseBar(Duration.ofMinutes(2), START, 1, 1, 1, 1, 1, 1, 1, numFunction));
+        new MultiTimeframeBarAggregator(source, Duration.ofMinutes(5)).update();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void unknownTimePeriod() {
+        new MultiTimeframeBarAggregator(newSeries(), Duration.ofMinutes(5)).getSeries(Duration.ofMinutes(15));
+    }
+}
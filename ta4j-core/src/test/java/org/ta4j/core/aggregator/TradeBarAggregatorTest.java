@@ -0,0 +1,191 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017-2023 Ta4j Organization & respective
+ * authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.aggregator;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.ta4j.core.TestUtils.assertNumEquals;
+
+import java.time.Duration;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import org.junit.Test;
+import org.ta4j.core.Bar;
+import org.ta4j.core.BarSeries;
+import org.ta4j.core.BaseBarSeriesBuilder;
+import org.ta4j.core.indicators.AbstractIndicatorTest;
+import org.ta4j.core.num.Num;
+
+public class TradeBarAggregatorTest extends AbstractIndicatorTest<BarSeries, Num> {
+
+    private final List<Bar> bars = new ArrayList<>();
+
+    public TradeBarAggregatorTest(Function<Number, Num> numFunction) {
+        super(numFunction);
+    }
+
+    private static long seconds(long seconds) {
+        return seconds * 1000;
+    }
+
+    @Test
+    public void timeBarsTest() {
+        TimeBarAggregator aggregator = new TimeBarAggregator(Duration.ofMinutes(1), numFunction, ZoneOffset.UTC,
+                bars::add);
+        assertNull(aggregator.getPendingBar());
+        aggregator.accept(seconds(10), 10, 1);
+        aggregator.accept(seconds(20), 12, 2);
+        aggregator.accept(seconds(59), 9, 1);
+        Bar pending = aggregator.getPendingBar();
+        assertEquals(seconds(60), pending.getEndTime().toInstant().toEpochMilli());
+        assertNumEquals(9, pending.getClosePrice());
+        assertEquals(0, bars.size());
+
+        // the trade at the end time opens the next bar
+        aggregator.accept(seconds(60), 11, 3);
+        assertEquals(1, bars.size());
+        Bar bar = bars.get(0);
+        assertEquals(Duration.ofMinutes(1), bar.getTimePeriod());
+        assertEquals(0, bar.getBeginTime().toInstant().toEpochMilli());
+        assertEquals(seconds(60), bar.getEndTime().toInstant().toEpochMilli());
+        assertEquals(ZoneOffset.UTC, bar.getEndTime().getZone());
+        assertNumEquals(10, bar.getOpenPrice());
+        assertNumEquals(12, bar.getHighPrice());
+        assertNumEquals(9, bar.getLowPrice());
+        assertNumEquals(9, bar.getClosePrice());
+        assertNumEquals(4, bar.getVolume());
+        assertNumEquals(43, bar.getAmount());
+        assertEquals(3, bar.getTrades());
+
+        // no bar for the empty periods
+        aggregator.accept(seconds(300), 20, 1);
+        assertEquals(2, bars.size());
+        assertEquals(1, bars.get(1).getTrades());
+        assertNumEquals(11, bars.get(1).getClosePrice());
+
+        // closed by the clock
+        aggregator.advanceTime(seconds(330));
+        assertEquals(2, bars.size());
+        aggregator.advanceTime(seconds(360));
+        assertEquals(3, bars.size());
+        assertEquals(seconds(360), bars.get(2).getEndTime().toInstant().toEpochMilli());
+        aggregator.flush();
+        assertEquals(3, bars.size());
+    }
+
+    @Test
+    public void timeBarsIntoSeriesTest() {
+        BarSeries series = new BaseBarSeriesBuilder().withNumTypeOf(numFunction).build();
+        TimeBarAggregator aggregator = new TimeBarAggregator(Duration.ofSeconds(10), series);
+        for (int i = 0; i < 100; i++) {
+            aggregator.accept(seconds(i), 100 + i % 10, 1);
+        }
+        aggregator.flush();
+        assertEquals(10, series.getBarCount());
+        for (int i = 0; i < series.getBarCount(); i++) {
+            assertNumEquals(100, series.getBar(i).getOpenPrice());
+            assertNumEquals(109, series.getBar(i).getHighPrice());
+            assertNumEquals(109, series.getBar(i).getClosePrice());
+            assertNumEquals(10, series.getBar(i).getVolume());
+        }
+    }
+
+    @Test
+    public void tickBarsTest() {
+        TickBarAggregator aggregator = new TickBarAggregator(3, numFunction, ZoneOffset.UTC, bars::add);
+        aggregator.accept(seconds(1), 1, 1);
+        aggregator.accept(seconds(2), 2, 1);
+        aggregator.accept(seconds(3), 3, 1);
+        assertEquals(0, bars.size());
+        // trades of the same time are not split
+        aggregator.accept(seconds(3), 4, 1);
+        assertEquals(0, bars.size());
+        aggregator.accept(seconds(4), 5, 1);
+        assertEquals(1, bars.size());
+        Bar bar = bars.get(0);
+        assertEquals(4, bar.getTrades());
+        assertEquals(seconds(1), bar.getBeginTime().toInstant().toEpochMilli());
+        assertEquals(seconds(3), bar.getEndTime().toInstant().toEpochMilli());
+        assertNumEquals(1, bar.getOpenPrice());
+        assertNumEquals(4, bar.getClosePrice());
+
+        aggregator.flush();
+        assertEquals(2, bars.size());
+        assertEquals(1, bars.get(1).getTrades());
+        assertEquals(Duration.ZERO, bars.get(1).getTimePeriod());
+    }
+
+    @Test
+    public void volumeBarsTest() {
+        VolumeBarAggregator aggregator = new VolumeBarAggregator(10, numFunction, ZoneOffset.UTC, bars::add);
+        double[] volumes = { 4, 5, 2, 10, 1, 1, 12 };
+        for (int i = 0; i < volumes.length; i++) {
+            aggregator.accept(seconds(i), 100, volumes[i]);
+        }
+        aggregator.flush();
+        assertEquals(3, bars.size());
+        assertNumEquals(11, bars.get(0).getVolume());
+        assertNumEquals(10, bars.get(1).getVolume());
+        assertNumEquals(14, bars.get(2).getVolume());
+    }
+
+    @Test
+    public void amountBarsTest() {
+        AmountBarAggregator aggregator = new AmountBarAggregator(1000, numFunction, ZoneOffset.UTC, bars::add);
+        for (int i = 0; i < 10; i++) {
+            aggregator.accept(seconds(i), 100 + i, 3);
+        }
+        aggregator.flush();
+        // amounts 300, 303, 306, 309 | 312, 315, 318, 321 | 324, 327
+        assertEquals(3, bars.size());
+        assertNumEquals(1218, bars.get(0).getAmount());
+        assertEquals(4, bars.get(0).getTrades());
+        assertNumEquals(1266, bars.get(1).getAmount());
+        assertNumEquals(651, bars.get(2).getAmount());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void unorderedTradesTest() {
+        TickBarAggregator aggregator = new TickBarAggregator(10, numFunction, ZoneOffset.UTC, bars::add);
+        aggregator.accept(seconds(2), 1, 1);
+        aggregator.accept(seconds(1), 1, 1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void tradeWithinFlushedBarTest() {
+        TimeBarAggregator aggregator = new TimeBarAggregator(Duration.ofMinutes(1), numFunction, ZoneOffset.UTC,
+                bars::add);
+        aggregator.accept(seconds(1), 1, 1);
+        aggregator.flush();
+        aggregator.accept(seconds(2), 1, 1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void invalidThresholdTest() {
+        new VolumeBarAggregator(0, numFunction, ZoneOffset.UTC, bars::add);
+    }
+}
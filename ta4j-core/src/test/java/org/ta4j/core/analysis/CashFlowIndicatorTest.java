@@ -0,0 +1,128 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017-2023 Ta4j Organization & respective
+ * authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.analysis;
+
+import static org.ta4j.core.TestUtils.assertNumEquals;
+
+import java.util.Random;
+import java.util.function.Function;
+
+import org.junit.Test;
+import org.ta4j.core.BarSeries;
+import org.ta4j.core.BaseTradingRecord;
+import org.ta4j.core.Indicator;
+import org.ta4j.core.Trade.TradeType;
+import org.ta4j.core.TradingRecord;
+import org.ta4j.core.analysis.cost.LinearBorrowingCostModel;
+import org.ta4j.core.analysis.cost.LinearTransactionCostModel;
+import org.ta4j.core.analysis.cost.ZeroCostModel;
+import org.ta4j.core.indicators.AbstractIndicatorTest;
+import org.ta4j.core.mocks.MockBarSeries;
+import org.ta4j.core.num.Num;
+
+public class CashFlowIndicatorTest extends AbstractIndicatorTest<Indicator<Num>, Num> {
+
+    public CashFlowIndicatorTest(Function<Number, Num> numFunction) {
+        super(numFunction);
+    }
+
+    @Test
+    public void emptyTradingRecord() {
+        BarSeries series = new MockBarSeries(numFunction, 3d, 2d, 5d, 4d);
+        CashFlowIndicator cashFlow = new CashFlowIndicator(series, new BaseTradingRecord());
+        for (int i = 0; i <= series.getEndIndex(); i++) {
+            assertNumEquals(1, cashFlow.getValue(i));
+        }
+    }
+
+    @Test
+    public void liveValuesEqualCashFlow() {
+        for (TradeType entryType : TradeType.values()) {
+            BarSeries series = randomWalk(numFunction, 400);
+            TradingRecord tradingRecord = new BaseTradingRecord(entryType, new LinearTransactionCostModel(0.005),
+                    new LinearBorrowingCostModel(0.001));
+            CashFlowIndicator cashFlow = new CashFlowIndicator(series, tradingRecord);
+            for (int i = 0; i <= series.getEndIndex(); i++) {
+                if (i % 7 == 3 || i % 11 == 0) {
+                    tradingRecord.operate(i, series.getBar(i).getClosePrice(), numOf(1));
+                }
+                CashFlow expected = new CashFlow(series, tradingRecord, i);
+                assertNumEquals(expected.getValue(i).doubleValue(), cashFlow.getValue(i));
+            }
+        }
+    }
+
+    @Test
+    public void valuesReadBeforeOperatingAreNotStale() {
+        BarSeries series = new MockBarSeries(numFunction, 100, 101, 102, 103, 104, 105, 106, 107);
+        TradingRecord tradingRecord = new BaseTradingRecord(TradeType.BUY, new LinearTransactionCostModel(0.01),
+                new ZeroCostModel());
+        CashFlowIndicator cashFlow = new CashFlowIndicator(series, tradingRecord);
+        for (int i = 0; i <= series.getEndIndex(); i++) {
+            // e.g. read by the rules before the trade of the bar is recorded
+            cashFlow.getValue(i);
+            if (i == 1 || i == 4) {
+                tradingRecord.operate(i, series.getBar(i).getClosePrice(), numOf(1));
+            }
+        }
+        CashFlow expected = new CashFlow(series, tradingRecord);
+        for (int i = 0; i <= series.getEndIndex(); i++) {
+            assertNumEquals(expected.getValue(i), cashFlow.getValue(i));
+        }
+    }
+
+    @Test
+    public void liveValuesReadBeforeOperatingEqualCashFlow() {
+        for (TradeType entryType : TradeType.values()) {
+            BarSeries series = randomWalk(numFunction, 300);
+            TradingRecord tradingRecord = new BaseTradingRecord(entryType, new LinearTransactionCostModel(0.005),
+                    new LinearBorrowingCostModel(0.001));
+            CashFlowIndicator cashFlow = new CashFlowIndicator(series, tradingRecord);
+            for (int i = 0; i <= series.getEndIndex(); i++) {
+                cashFlow.getValue(i);
+                if (i % 7 == 3 || i % 11 == 0
+                        || (i == series.getEndIndex() && tradingRecord.getCurrentPosition().isOpened())) {
+                    tradingRecord.operate(i, series.getBar(i).getClosePrice(), numOf(1));
+                }
+            }
+            CashFlow expected = new CashFlow(series, tradingRecord);
+            for (int i = 0; i <= series.getEndIndex(); i++) {
+                assertNumEquals(expected.getValue(i).doubleValue(), cashFlow.getValue(i));
+            }
+        }
+    }
+
+    /**
+     * @return a random walk of close prices around 100
+     */
+    static BarSeries randomWalk(Function<Number, Num> numFunction, int barCount) {
+        Random random = new Random(42);
+        double[] prices = new double[barCount];
+        prices[0] = 100;
+        for (int i = 1; i < barCount; i++) {
+            prices[i] = Math.max(10, prices[i - 1] + random.nextInt(7) - 3);
+        }
+        return new MockBarSeries(numFunction, prices);
+    }
+}
@@ -304,4 +304,25 @@ public class CashFlowTest extends AbstractIndicatorTest<Indicator<Num>, Num> {
         assertNumEquals(1, cashFlow.getValue(size - 1));
     }
 
+    @Test
+    public void incrementalUpdateEqualsFullCalculation() {
+        BarSeries sampleBarSeries = new MockBarSeries(numFunction, 3d, 2d, 5d, 4d, 7d, 6d, 7d, 8d, 5d, 6d);
+        TradingRecord tradingRecord = new BaseTradingRecord();
+        CashFlow cashFlow = new CashFlow(sampleBarSeries);
+        int[] tradeIndices = { 1, 3, 4, 7, 8 };
+        for (int index = 0; index <= sampleBarSeries.getEndIndex(); index++) {
+            for (int tradeIndex : tradeIndices) {
+                if (tradeIndex == index) {
+                    tradingRecord.operate(index, sampleBarSeries.getBar(index).getClosePrice(), numOf(1));
+                }
+            }
+            cashFlow.update(tradingRecord, index);
+
+            CashFlow expected = new CashFlow(sampleBarSeries, tradingRecord, index);
+            for (int i = 0; i <= sampleBarSeries.getEndIndex(); i++) {
+                assertNumEquals(expected.getValue(i), cashFlow.getValue(i));
+            }
+        }
+        assertEquals(2, tradingRecord.getPositionCount());
+    }
 }
@@ -0,0 +1,98 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017-2023 Ta4j Organization & respective
+ * authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.analysis;
+
+import static org.ta4j.core.TestUtils.assertNumEquals;
+
+import java.util.function.Function;
+
+import org.junit.Test;
+import org.ta4j.core.BarSeries;
+import org.ta4j.core.BaseTradingRecord;
+import org.ta4j.core.Indicator;
+import org.ta4j.core.Trade;
+import org.ta4j.core.TradingRecord;
+import org.ta4j.core.criteria.MaximumDrawdownCriterion;
+import org.ta4j.core.indicators.AbstractIndicatorTest;
+import org.ta4j.core.mocks.MockBarSeries;
+import org.ta4j.core.num.Num;
+
+public class MaximumDrawdownIndicatorTest extends AbstractIndicatorTest<Indicator<Num>, Num> {
+
+    public MaximumDrawdownIndicatorTest(Function<Number, Num> numFunction) {
+        super(numFunction);
+    }
+
+    @Test
+    public void drawdownAndMaximumDrawdown() {
+        BarSeries series = new MockBarSeries(numFunction, 1, 2, 3, 6, 5, 20, 3);
+        TradingRecord tradingRecord = new BaseTradingRecord(Trade.buyAt(0, series), Trade.sellAt(1, series),
+                Trade.buyAt(3, series), Trade.sellAt(4, series), Trade.buyAt(5, series), Trade.sellAt(6, series));
+        DrawdownIndicator drawdown = new DrawdownIndicator(series, tradingRecord);
+        MaximumDrawdownIndicator maximumDrawdown = new MaximumDrawdownIndicator(drawdown);
+
+        // cash flow: 1, 2, 2, 2, 5/3, 5/3, 1/4
+        assertNumEquals(0, drawdown.getValue(3));
+        assertNumEquals(1d / 6, drawdown.getValue(4));
+        assertNumEquals(1d / 6, drawdown.getValue(5));
+        assertNumEquals(0.875, drawdown.getValue(6));
+        assertNumEquals(0, maximumDrawdown.getValue(3));
+        assertNumEquals(1d / 6, maximumDrawdown.getValue(5));
+        assertNumEquals(0.875, maximumDrawdown.getValue(6));
+    }
+
+    @Test
+    public void liveMaximumDrawdownEqualsCriterion() {
+        BarSeries series = CashFlowIndicatorTest.randomWalk(numFunction, 500);
+        TradingRecord tradingRecord = new BaseTradingRecord();
+        MaximumDrawdownIndicator maximumDrawdown = new MaximumDrawdownIndicator(series, tradingRecord);
+        MaximumDrawdownCriterion criterion = new MaximumDrawdownCriterion();
+        for (int i = 0; i <= series.getEndIndex(); i++) {
+            if (i % 13 == 2 || i % 13 == 9) {
+                tradingRecord.operate(i, series.getBar(i).getClosePrice(), numOf(1));
+            }
+            assertNumEquals(criterion.calculate(series.getSubSeries(0, i + 1), tradingRecord).doubleValue(),
+                    maximumDrawdown.getValue(i));
+        }
+    }
+
+    @Test
+    public void valuesReadBeforeOperatingAreRecalculated() {
+        BarSeries series = CashFlowIndicatorTest.randomWalk(numFunction, 300);
+        TradingRecord tradingRecord = new BaseTradingRecord();
+        DrawdownIndicator drawdown = new DrawdownIndicator(series, tradingRecord);
+        MaximumDrawdownIndicator maximumDrawdown = new MaximumDrawdownIndicator(drawdown);
+        MaximumDrawdownCriterion criterion = new MaximumDrawdownCriterion();
+        for (int i = 0; i <= series.getEndIndex(); i++) {
+            // e.g. read by a risk rule before the trade of the bar is recorded
+            maximumDrawdown.getValue(i);
+            if (i % 13 == 2 || i % 13 == 9) {
+                tradingRecord.operate(i, series.getBar(i).getClosePrice(), numOf(1));
+            }
+            assertNumEquals(criterion.calculate(series.getSubSeries(0, i + 1), tradingRecord).doubleValue(),
+                    maximumDrawdown.getValue(i));
+            assertNumEquals(new DrawdownIndicator(series, tradingRecord).getValue(i), drawdown.getValue(i));
+        }
+    }
+}
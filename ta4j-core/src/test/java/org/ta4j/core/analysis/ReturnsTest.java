@@ -26,6 +26,11 @@ package org.ta4j.core.analysis;
 import static org.junit.Assert.assertEquals;
 import static org.ta4j.core.TestUtils.assertNumEquals;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
 import java.util.function.Function;
 
 import org.junit.Test;
@@ -148,4 +153,34 @@ public class ReturnsTest extends AbstractIndicatorTest<Indicator<Num>, Num> {
         assertNumEquals(logDouble, DoubleNum.valueOf(-0.08701137698962969));
         assertNumEquals(logPrecision, DecimalNum.valueOf("-0.087011376989629766167765901873746"));
     }
+
+    @Test
+    public void orderStatisticsEqualSortedReturns() {
+        for (Function<Number, Num> function : Arrays.<Function<Number, Num>>asList(DoubleNum::valueOf,
+                DecimalNum::valueOf)) {
+            Random random = new Random(42);
+            double[] prices = new double[500];
+            prices[0] = 100;
+            for (int i = 1; i < prices.length; i++) {
+                // many unchanged prices, i.e. equal returns
+                prices[i] = random.nextInt(3) == 0 ? prices[i - 1] : prices[i - 1] + random.nextInt(5) - 2;
+            }
+            BarSeries series = new MockBarSeries(function, prices);
+            TradingRecord tradingRecord = new BaseTradingRecord(Trade.buyAt(10, series), Trade.sellAt(200, series),
+                    Trade.sellAt(300, series), Trade.buyAt(450, series));
+            Returns returns = new Returns(series, tradingRecord, Returns.ReturnType.LOG);
+
+            List<Num> sorted = new ArrayList<>(returns.getValues().subList(1, returns.getSize() + 1));
+            Collections.sort(sorted);
+            for (int k : new int[] { 25, 1, returns.getSize(), 5, 250, 25 }) {
+                assertNumEquals(sorted.get(k - 1), returns.getSmallestReturn(k));
+
+                Num sum = sorted.get(0);
+                for (int i = 1; i < k; i++) {
+                    sum = sum.plus(sorted.get(i));
+                }
+                assertNumEquals(sum.doubleValue(), returns.getSumOfSmallestReturns(k));
+            }
+        }
+    }
 }
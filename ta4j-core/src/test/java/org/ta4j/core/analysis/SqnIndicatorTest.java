@@ -0,0 +1,148 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017-2023 Ta4j Organization & respective
+ * authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.analysis;
+
+import static org.junit.Assert.assertEquals;
+import static org.ta4j.core.TestUtils.assertNumEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import org.junit.Test;
+import org.ta4j.core.BarSeries;
+import org.ta4j.core.BaseTradingRecord;
+import org.ta4j.core.Indicator;
+import org.ta4j.core.Position;
+import org.ta4j.core.Trade;
+import org.ta4j.core.TradingRecord;
+import org.ta4j.core.criteria.SqnCriterion;
+import org.ta4j.core.criteria.pnl.ProfitLossCriterion;
+import org.ta4j.core.criteria.pnl.ProfitLossPercentageCriterion;
+import org.ta4j.core.indicators.AbstractIndicatorTest;
+import org.ta4j.core.mocks.MockBarSeries;
+import org.ta4j.core.num.DoubleNum;
+import org.ta4j.core.num.Num;
+
+public class SqnIndicatorTest extends AbstractIndicatorTest<Indicator<Num>, Num> {
+
+    public SqnIndicatorTest(Function<Number, Num> numFunction) {
+        super(numFunction);
+    }
+
+    @Test
+    public void liveSqnEqualsCriterion() {
+        BarSeries series = CashFlowIndicatorTest.randomWalk(numFunction, 300);
+        TradingRecord tradingRecord = new BaseTradingRecord();
+        SqnIndicator sqn = new SqnIndicator(series, tradingRecord, new ProfitLossCriterion(), 50);
+        SqnCriterion criterion = new SqnCriterion(new ProfitLossCriterion(), 50);
+        for (int i = 0; i <= series.getEndIndex(); i++) {
+            if (i % 3 == 0 || i % 3 == 1) {
+                tradingRecord.operate(i, series.getBar(i).getClosePrice(), numOf(1));
+            }
+            // the criterion over the closed positions only
+            List<Trade> trades = new ArrayList<>();
+            for (Position position : tradingRecord.getPositions()) {
+                trades.add(position.getEntry());
+                trades.add(position.getExit());
+            }
+            TradingRecord closed = trades.isEmpty() ? new BaseTradingRecord()
+                    : new BaseTradingRecord(trades.toArray(new Trade[0]));
+            assertNumEquals(criterion.calculate(series, closed).doubleValue(), sqn.getValue(i));
+        }
+    }
+
+    @Test
+    public void nearConstantProfitsOnDoubleNum() {
+        // 50 positions with a P&L of 12345.67 ± 0.001
+        double[] prices = new double[100];
+        for (int i = 0; i < 50; i++) {
+            prices[2 * i] = 100000;
+            prices[2 * i + 1] = 100000 + 12345.67 + 0.001 * (i % 3 - 1);
+        }
+        BarSeries series = new MockBarSeries(DoubleNum::valueOf, prices);
+        TradingRecord tradingRecord = closedPositions(series);
+        SqnIndicator sqn = new SqnIndicator(series, tradingRecord);
+        double expected = new SqnCriterion().calculate(series, tradingRecord).doubleValue();
+        assertEquals(expected, sqn.getValue(series.getEndIndex()).doubleValue(), Math.abs(expected) * 1e-6);
+    }
+
+    @Test
+    public void constantProfitsOnDoubleNum() {
+        // 50 identical P&Ls of 12345.67: the standard deviation is zero
+        double[] prices = new double[100];
+        for (int i = 0; i < 50; i++) {
+            prices[2 * i] = 100000;
+            prices[2 * i + 1] = 100000 + 12345.67;
+        }
+        BarSeries series = new MockBarSeries(DoubleNum::valueOf, prices);
+        SqnIndicator sqn = new SqnIndicator(series, closedPositions(series));
+        assertNumEquals(0, sqn.getValue(series.getEndIndex()));
+    }
+
+    private static TradingRecord closedPositions(BarSeries series) {
+        TradingRecord tradingRecord = new BaseTradingRecord();
+        for (int i = 0; i <= series.getEndIndex(); i++) {
+            tradingRecord.operate(i, series.getBar(i).getClosePrice(), series.one());
+        }
+        return tradingRecord;
+    }
+
+    @Test
+    public void valuesReadBeforeOperatingAreRecalculated() {
+        BarSeries series = CashFlowIndicatorTest.randomWalk(numFunction, 300);
+        TradingRecord tradingRecord = new BaseTradingRecord();
+        SqnIndicator sqn = new SqnIndicator(series, tradingRecord);
+        SqnCriterion criterion = new SqnCriterion();
+        for (int i = 0; i <= series.getEndIndex(); i++) {
+            sqn.getValue(i);
+            if (i % 3 == 0 || i % 3 == 1) {
+                tradingRecord.operate(i, series.getBar(i).getClosePrice(), numOf(1));
+            }
+            assertNumEquals(criterion.calculate(series, closedPositions(tradingRecord)).doubleValue(), sqn.getValue(i));
+        }
+    }
+
+    @Test
+    public void profitLossPercentageSqnEqualsCriterion() {
+        BarSeries series = CashFlowIndicatorTest.randomWalk(numFunction, 300);
+        TradingRecord tradingRecord = new BaseTradingRecord();
+        for (int i = 0; i < series.getEndIndex(); i += 5) {
+            tradingRecord.enter(i, series.getBar(i).getClosePrice(), numOf(1));
+            tradingRecord.exit(i + 3, series.getBar(i + 3).getClosePrice(), numOf(1));
+        }
+        SqnIndicator sqn = new SqnIndicator(series, tradingRecord, new ProfitLossPercentageCriterion(), null);
+        SqnCriterion criterion = new SqnCriterion(new ProfitLossPercentageCriterion());
+        assertNumEquals(criterion.calculate(series, tradingRecord).doubleValue(), sqn.getValue(series.getEndIndex()));
+    }
+
+    private static TradingRecord closedPositions(TradingRecord tradingRecord) {
+        List<Trade> trades = new ArrayList<>();
+        for (Position position : tradingRecord.getPositions()) {
+            trades.add(position.getEntry());
+            trades.add(position.getExit());
+        }
+        return trades.isEmpty() ? new BaseTradingRecord() : new BaseTradingRecord(trades.toArray(new Trade[0]));
+    }
+}
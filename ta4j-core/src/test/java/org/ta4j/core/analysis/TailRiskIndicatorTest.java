@@ -0,0 +1,127 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017-2023 Ta4j Organization & respective
+ * authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.analysis;
+
+import static org.ta4j.core.TestUtils.assertNumEquals;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+
+import org.junit.Test;
+import org.ta4j.core.BarSeries;
+import org.ta4j.core.BaseTradingRecord;
+import org.ta4j.core.Indicator;
+import org.ta4j.core.TradingRecord;
+import org.ta4j.core.criteria.ExpectedShortfallCriterion;
+import org.ta4j.core.criteria.ValueAtRiskCriterion;
+import org.ta4j.core.indicators.AbstractIndicatorTest;
+import org.ta4j.core.num.Num;
+
+public class TailRiskIndicatorTest extends AbstractIndicatorTest<Indicator<Num>, Num> {
+
+    private static final int BAR_COUNT = 50;
+
+    private static final double CONFIDENCE = 0.9;
+
+    public TailRiskIndicatorTest(Function<Number, Num> numFunction) {
+        super(numFunction);
+    }
+
+    @Test
+    public void slidingWindowEqualsSortedWindow() {
+        BarSeries series = CashFlowIndicatorTest.randomWalk(numFunction, 250);
+        TradingRecord tradingRecord = new BaseTradingRecord();
+        CashFlowIndicator cashFlow = new CashFlowIndicator(series, tradingRecord);
+        ValueAtRiskIndicator valueAtRisk = new ValueAtRiskIndicator(cashFlow, BAR_COUNT, CONFIDENCE);
+        ExpectedShortfallIndicator expectedShortfall = new ExpectedShortfallIndicator(cashFlow, BAR_COUNT, CONFIDENCE);
+        List<Num> allReturns = new ArrayList<>();
+        for (int i = 0; i <= series.getEndIndex(); i++) {
+            if (i % 17 == 1 || i % 17 == 12) {
+                tradingRecord.operate(i, series.getBar(i).getClosePrice(), numOf(1));
+            }
+            if (i > 0) {
+                allReturns.add(cashFlow.getValue(i).dividedBy(cashFlow.getValue(i - 1)).log());
+            }
+            List<Num> returns = new ArrayList<>(
+                    allReturns.subList(Math.max(0, allReturns.size() - BAR_COUNT), allReturns.size()));
+            Collections.sort(returns);
+            Num expectedVaR = numOf(0);
+            Num expectedES = numOf(0);
+            if (!returns.isEmpty()) {
+                int nInTail = returns.size() - (int) (returns.size() * CONFIDENCE);
+                expectedVaR = returns.get(nInTail - 1).min(numOf(0));
+                Num sum = numOf(0);
+                for (Num value : returns.subList(0, nInTail)) {
+                    sum = sum.plus(value);
+                }
+                expectedES = sum.dividedBy(numOf(nInTail)).min(numOf(0));
+            }
+            assertNumEquals(expectedVaR, valueAtRisk.getValue(i));
+            assertNumEquals(expectedES.doubleValue(), expectedShortfall.getValue(i));
+        }
+
+        // random access
+        ValueAtRiskIndicator reversed = new ValueAtRiskIndicator(series, tradingRecord, BAR_COUNT, CONFIDENCE);
+        for (int i = series.getEndIndex(); i >= 0; i -= 3) {
+            assertNumEquals(valueAtRisk.getValue(i), reversed.getValue(i));
+        }
+    }
+
+    @Test
+    public void fullWindowEqualsCriteria() {
+        BarSeries series = CashFlowIndicatorTest.randomWalk(numFunction, 200);
+        TradingRecord tradingRecord = new BaseTradingRecord();
+        for (int i = 5; i < series.getEndIndex(); i += 20) {
+            tradingRecord.enter(i, series.getBar(i).getClosePrice(), numOf(1));
+            tradingRecord.exit(i + 12, series.getBar(i + 12).getClosePrice(), numOf(1));
+        }
+        int endIndex = series.getEndIndex();
+        assertNumEquals(new ValueAtRiskCriterion(CONFIDENCE).calculate(series, tradingRecord).doubleValue(),
+                new ValueAtRiskIndicator(series, tradingRecord, endIndex, CONFIDENCE).getValue(endIndex));
+        assertNumEquals(new ExpectedShortfallCriterion(CONFIDENCE).calculate(series, tradingRecord).doubleValue(),
+                new ExpectedShortfallIndicator(series, tradingRecord, endIndex, CONFIDENCE).getValue(endIndex));
+    }
+
+    @Test
+    public void valuesReadBeforeOperatingAreRecalculated() {
+        BarSeries series = CashFlowIndicatorTest.randomWalk(numFunction, 200);
+        TradingRecord tradingRecord = new BaseTradingRecord();
+        CashFlowIndicator cashFlow = new CashFlowIndicator(series, tradingRecord);
+        ValueAtRiskIndicator valueAtRisk = new ValueAtRiskIndicator(cashFlow, BAR_COUNT, CONFIDENCE);
+        ExpectedShortfallIndicator expectedShortfall = new ExpectedShortfallIndicator(cashFlow, BAR_COUNT, CONFIDENCE);
+        for (int i = 0; i <= series.getEndIndex(); i++) {
+            valueAtRisk.getValue(i);
+            expectedShortfall.getValue(i);
+            if (i % 17 == 1 || i % 17 == 12) {
+                tradingRecord.operate(i, series.getBar(i).getClosePrice(), numOf(1));
+            }
+            assertNumEquals(new ValueAtRiskIndicator(series, tradingRecord, BAR_COUNT, CONFIDENCE).getValue(i),
+                    valueAtRisk.getValue(i));
+            assertNumEquals(new ExpectedShortfallIndicator(series, tradingRecord, BAR_COUNT, CONFIDENCE).getValue(i),
+                    expectedShortfall.getValue(i));
+        }
+    }
+}
@@ -0,0 +1,243 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017-2023 Ta4j Organization & respective
+ * authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.backtest;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.ta4j.core.AnalysisCriterion;
+import org.ta4j.core.BarSeries;
+import org.ta4j.core.BaseStrategy;
+import org.ta4j.core.Rule;
+import org.ta4j.core.Strategy;
+import org.ta4j.core.Trade.TradeType;
+import org.ta4j.core.criteria.pnl.ReturnCriterion;
+import org.ta4j.core.indicators.AbstractIndicatorTest;
+import org.ta4j.core.mocks.MockBarSeries;
+import org.ta4j.core.num.Num;
+import org.ta4j.core.reports.TradingStatement;
+import org.ta4j.core.rules.FixedRule;
+
+public class BacktestExecutorTest extends AbstractIndicatorTest<BarSeries, Num> {
+
+    private BarSeries series;
+
+    private List<Strategy> strategies;
+
+    private ExecutorService executorService;
+
+    public BacktestExecutorTest(Function<Number, Num> numFunction) {
+        super(numFunction);
+    }
+
+    @Before
+    public void setUp() {
+        series = new MockBarSeries(numFunction, 5, 3, 8, 2, 9, 4, 7, 1, 6, 10);
+        strategies = new ArrayList<>();
+        for (int entry = 0; entry < 5; entry++) {
+            for (int exit = entry + 1; exit < 10; exit++) {
+                strategies.add(new BaseStrategy(entry + "-" + exit, new FixedRule(entry), new FixedRule(exit)));
+            }
+        }
+        executorService = Executors.newFixedThreadPool(3);
+    }
+
+    @After
+    public void tearDown() {
+        executorService.shutdownNow();
+    }
+
+    @Test
+    public void executeWithSubscriberShouldStreamAllStatements() throws InterruptedException {
+        TestSubscriber subscriber = new TestSubscriber(1);
+        BacktestTask task = new BacktestExecutor(series).execute(strategies, numOf(1), TradeType.BUY, executorService,
+                4, subscriber);
+        assertTrue(task.await(10, TimeUnit.SECONDS));
+        assertTrue(subscriber.completed);
+        assertEquals(strategies.size(), task.getCompletedStrategyCount());
+        assertEquals(1, task.getProgress(), 0);
+
+        List<String> expected = names(new BacktestExecutor(series).execute(strategies, numOf(1)));
+        List<String> actual = names(subscriber.statements);
+        Collections.sort(expected);
+        Collections.sort(actual);
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    public void cancelShouldSkipPendingStrategies() throws InterruptedException {
+        ExecutorService singleThread = Executors.newSingleThreadExecutor();
+        try {
+            TestSubscriber subscriber = new TestSubscriber(Long.MAX_VALUE) {
+                @Override
+                public void onNext(TradingStatement item) {
+                    super.onNext(item);
+                    subscription.cancel();
+                }
+            };
+            BacktestTask task = new BacktestExecutor(series).execute(strategies, numOf(1), TradeType.BUY, singleThread,
+                    1, subscriber);
+            assertTrue(task.await(10, TimeUnit.SECONDS));
+            assertEquals(1, subscriber.statements.size());
+            // no terminal signal after the subscription is cancelled
+            assertFalse(subscriber.completed);
+            assertNull(subscriber.error);
+            assertTrue(task.getCompletedStrategyCount() < strategies.size());
+        } finally {
+            singleThread.shutdownNow();
+        }
+    }
+
+    @Test
+    public void cancelledTaskShouldSignalCancellation() throws InterruptedException {
+        ExecutorService singleThread = Executors.newSingleThreadExecutor();
+        CountDownLatch cancelled = new CountDownLatch(1);
+        try {
+            // hold the executor until the task is cancelled
+            singleThread.execute(() -> {
+                try {
+                    cancelled.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            TestSubscriber subscriber = new TestSubscriber(Long.MAX_VALUE);
+            BacktestTask task = new BacktestExecutor(series).execute(strategies, numOf(1), TradeType.BUY, singleThread,
+                    1, subscriber);
+            assertTrue(task.cancel());
+            cancelled.countDown();
+            assertTrue(task.await(10, TimeUnit.SECONDS));
+            assertTrue(task.isCancelled());
+            assertTrue(subscriber.statements.isEmpty());
+            assertTrue(subscriber.error instanceof CancellationException);
+        } finally {
+            singleThread.shutdownNow();
+        }
+    }
+
+    @Test
+    public void failureShouldBeSignalled() throws InterruptedException {
+        Rule failingRule = (index, tradingRecord) -> {
+            throw new IllegalStateException("failing rule");
+        };
+        List<Strategy> failing = new ArrayList<>(strategies);
+        failing.add(new BaseStrategy("failing", failingRule, failingRule));
+        TestSubscriber subscriber = new TestSubscriber(Long.MAX_VALUE);
+        BacktestTask task = new BacktestExecutor(series).execute(failing, numOf(1), TradeType.BUY, executorService, 5,
+                subscriber);
+        assertTrue(task.await(10, TimeUnit.SECONDS));
+        assertTrue(subscriber.error instanceof IllegalStateException);
+        assertTrue(task.getFailure() instanceof IllegalStateException);
+    }
+
+    @Test
+    public void executeAndKeepBestShouldReturnBestStatements() throws InterruptedException {
+        AnalysisCriterion criterion = new ReturnCriterion();
+        BarSeriesManager manager = new BarSeriesManager(series);
+        List<Strategy> expected = new ArrayList<>(strategies);
+        Comparator<Strategy> byReturn = Comparator
+                .comparing(strategy -> criterion.calculate(series, manager.run(strategy)));
+        expected.sort(byReturn.reversed());
+
+        List<TradingStatement> best = new BacktestExecutor(series).executeAndKeepBest(strategies, numOf(1),
+                TradeType.BUY, executorService, 3, criterion, 5);
+        assertEquals(5, best.size());
+        for (int i = 0; i < best.size(); i++) {
+            assertEquals(criterion.calculate(series, manager.run(expected.get(i))),
+                    criterion.calculate(series, manager.run(best.get(i).getStrategy())));
+        }
+    }
+
+    @Test(expected = CompletionException.class)
+    public void executeAndKeepBestShouldThrowFailure() throws InterruptedException {
+        Rule failingRule = (index, tradingRecord) -> {
+            throw new IllegalStateException("failing rule");
+        };
+        List<Strategy> failing = new ArrayList<>(strategies);
+        failing.add(new BaseStrategy("failing", failingRule, failingRule));
+        new BacktestExecutor(series).executeAndKeepBest(failing, numOf(1), TradeType.BUY, executorService, 3,
+                new ReturnCriterion(), 5);
+    }
+
+    private static List<String> names(List<TradingStatement> statements) {
+        return statements.stream().map(statement -> statement.getStrategy().getName()).collect(Collectors.toList());
+    }
+
+    private static class TestSubscriber implements Flow.Subscriber<TradingStatement> {
+
+        private final long batchSize;
+        final List<TradingStatement> statements = new CopyOnWriteArrayList<>();
+        volatile boolean completed;
+        volatile Throwable error;
+        volatile Flow.Subscription subscription;
+
+        TestSubscriber(long batchSize) {
+            this.batchSize = batchSize;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            subscription.request(batchSize);
+        }
+
+        @Override
+        public void onNext(TradingStatement item) {
+            statements.add(item);
+            if (batchSize != Long.MAX_VALUE) {
+                subscription.request(batchSize);
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            error = throwable;
+        }
+
+        @Override
+        public void onComplete() {
+            completed = true;
+        }
+    }
+}
@@ -0,0 +1,139 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017-2023 Ta4j Organization & respective
+ * authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.criteria;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.ta4j.core.TestUtils.assertNumEquals;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import org.junit.Test;
+import org.ta4j.core.AnalysisCriterion;
+import org.ta4j.core.BarSeries;
+import org.ta4j.core.BaseTradingRecord;
+import org.ta4j.core.Trade;
+import org.ta4j.core.Trade.TradeType;
+import org.ta4j.core.TradingRecord;
+import org.ta4j.core.analysis.Returns;
+import org.ta4j.core.analysis.Returns.ReturnType;
+import org.ta4j.core.analysis.cost.LinearTransactionCostModel;
+import org.ta4j.core.analysis.cost.ZeroCostModel;
+import org.ta4j.core.criteria.pnl.AverageLossCriterion;
+import org.ta4j.core.criteria.pnl.AverageProfitCriterion;
+import org.ta4j.core.criteria.pnl.LossCriterion;
+import org.ta4j.core.criteria.pnl.ProfitCriterion;
+import org.ta4j.core.criteria.pnl.ProfitLossCriterion;
+import org.ta4j.core.criteria.pnl.ProfitLossPercentageCriterion;
+import org.ta4j.core.criteria.pnl.ProfitLossRatioCriterion;
+import org.ta4j.core.criteria.pnl.ReturnCriterion;
+import org.ta4j.core.mocks.MockBarSeries;
+import org.ta4j.core.num.Num;
+
+public class CriteriaEvaluatorTest extends AbstractCriterionTest {
+
+    public CriteriaEvaluatorTest(Function<Number, Num> numFunction) {
+        super(params -> new MaximumDrawdownCriterion(), numFunction);
+    }
+
+    @Test
+    public void evaluateEqualsSeparateCalculations() {
+        MockBarSeries series = new MockBarSeries(numFunction, 100, 105, 95, 100, 90, 95, 80, 120, 110, 90, 100, 130);
+        TradingRecord tradingRecord = new BaseTradingRecord(Trade.buyAt(0, series), Trade.sellAt(1, series),
+                Trade.buyAt(2, series), Trade.sellAt(4, series), Trade.buyAt(5, series), Trade.sellAt(7, series),
+                Trade.buyAt(8, series), Trade.sellAt(9, series), Trade.buyAt(10, series));
+
+        assertEvaluationEqualsSeparateCalculations(series, tradingRecord);
+    }
+
+    @Test
+    public void evaluateShortPositionsWithCostsEqualsSeparateCalculations() {
+        MockBarSeries series = new MockBarSeries(numFunction, 100, 105, 95, 100, 90, 95, 80, 120, 110, 90, 100, 130);
+        TradingRecord tradingRecord = new BaseTradingRecord(TradeType.SELL, new LinearTransactionCostModel(0.01),
+                new ZeroCostModel());
+        for (int i : new int[] { 0, 2, 3, 6, 7, 8, 9, 11 }) {
+            tradingRecord.operate(i, series.getBar(i).getClosePrice(), numOf(1));
+        }
+
+        assertEvaluationEqualsSeparateCalculations(series, tradingRecord);
+    }
+
+    private void assertEvaluationEqualsSeparateCalculations(BarSeries series, TradingRecord tradingRecord) {
+        List<AnalysisCriterion> criteria = Arrays.asList(new MaximumDrawdownCriterion(),
+                new ReturnOverMaxDrawdownCriterion(), new ValueAtRiskCriterion(0.75),
+                new ExpectedShortfallCriterion(0.75), new ReturnCriterion(), new ReturnCriterion(false),
+                new ProfitLossCriterion(), new ProfitLossPercentageCriterion(), new ProfitCriterion(),
+                new ProfitCriterion(true), new LossCriterion(), new LossCriterion(true), new AverageProfitCriterion(),
+                new AverageLossCriterion(), new ProfitLossRatioCriterion(), new ExpectancyCriterion(),
+                new NumberOfPositionsCriterion(), new NumberOfWinningPositionsCriterion(),
+                new NumberOfLosingPositionsCriterion(), new NumberOfBreakEvenPositionsCriterion(),
+                PositionsRatioCriterion.WinningPositionsRatioCriterion(),
+                PositionsRatioCriterion.LosingPositionsRatioCriterion(), new SqnCriterion());
+        Map<AnalysisCriterion, Num> values = new CriteriaEvaluator(criteria).evaluate(series, tradingRecord);
+
+        assertEquals(criteria, Arrays.asList(values.keySet().toArray()));
+        for (AnalysisCriterion criterion : criteria) {
+            if (criterion instanceof SqnCriterion) {
+                // the variance is accumulated in one pass (Welford) instead of two
+                assertNumEquals(criterion.calculate(series, tradingRecord).doubleValue(), values.get(criterion));
+            } else {
+                assertNumEquals(criterion.calculate(series, tradingRecord), values.get(criterion));
+            }
+        }
+    }
+
+    @Test
+    public void shortPositionReturnsArePriceReturns() {
+        MockBarSeries series = new MockBarSeries(numFunction, 100, 105, 95, 100, 90, 95, 80, 120);
+        TradingRecord tradingRecord = new BaseTradingRecord(TradeType.SELL, new LinearTransactionCostModel(0.01),
+                new ZeroCostModel());
+        tradingRecord.operate(1, series.getBar(1).getClosePrice(), numOf(1));
+        tradingRecord.operate(6, series.getBar(6).getClosePrice(), numOf(1));
+        AnalysisContext context = new AnalysisContext(series, tradingRecord);
+
+        assertEquals(new Returns(series, tradingRecord, ReturnType.LOG).getValues(),
+                context.getReturns(ReturnType.LOG).getValues());
+        // a trading record with a single position has the returns of the position
+        ValueAtRiskCriterion valueAtRisk = new ValueAtRiskCriterion(0.75);
+        assertNumEquals(valueAtRisk.calculate(series, tradingRecord.getPositions().get(0)),
+                valueAtRisk.calculate(context));
+    }
+
+    @Test
+    public void sharedAnalysesAreNotModified() {
+        MockBarSeries series = new MockBarSeries(numFunction, 100, 90, 110, 80, 120, 100);
+        TradingRecord tradingRecord = new BaseTradingRecord(Trade.buyAt(0, series), Trade.sellAt(5, series));
+        AnalysisContext context = new AnalysisContext(series, tradingRecord);
+
+        List<Num> returns = Arrays.asList(context.getReturns(ReturnType.LOG).getValues().toArray(new Num[0]));
+        new CriteriaEvaluator(new ValueAtRiskCriterion(0.9), new ExpectedShortfallCriterion(0.9)).evaluate(context);
+
+        assertSame(context.getCashFlow(), context.getCashFlow());
+        assertSame(context.getReturns(ReturnType.LOG), context.getReturns(ReturnType.LOG));
+        assertEquals(returns, context.getReturns(ReturnType.LOG).getValues());
+    }
+}
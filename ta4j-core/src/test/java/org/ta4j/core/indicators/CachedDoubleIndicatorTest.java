@@ -0,0 +1,175 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017-2023 Ta4j Organization & respective
+ * authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.indicators;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.ta4j.core.TestUtils.assertNumEquals;
+import static org.ta4j.core.num.NaN.NaN;
+
+import java.time.ZonedDateTime;
+import java.util.Random;
+import java.util.function.Function;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.ta4j.core.BarSeries;
+import org.ta4j.core.Indicator;
+import org.ta4j.core.indicators.helpers.ClosePriceIndicator;
+import org.ta4j.core.indicators.helpers.FixedIndicator;
+import org.ta4j.core.mocks.MockBarSeries;
+import org.ta4j.core.num.DecimalNum;
+import org.ta4j.core.num.Num;
+
+public class CachedDoubleIndicatorTest extends AbstractIndicatorTest<Indicator<Num>, Num> {
+
+    private double[] data;
+
+    public CachedDoubleIndicatorTest(Function<Number, Num> numFunction) {
+        super(numFunction);
+    }
+
+    @Before
+    public void setUp() {
+        Random random = new Random(42);
+        data = new double[500];
+        double price = 100;
+        for (int i = 0; i < data.length; i++) {
+            price += random.nextGaussian();
+            data[i] = price;
+        }
+    }
+
+    @Test
+    public void getDoubleShouldMatchGetValue() {
+        BarSeries series = new MockBarSeries(numFunction, data);
+        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+        DoubleIndicator[] indicators = { new SMAIndicator(closePrice, 14), new EMAIndicator(closePrice, 14),
+                new MMAIndicator(closePrice, 14), new RSIIndicator(closePrice, 14) };
+        for (DoubleIndicator indicator : indicators) {
+            // reversed order: values are calculated by getDouble, then read by getValue
+            for (int i = series.getEndIndex(); i >= 0; i--) {
+                indicator.getDouble(i);
+            }
+            for (int i = 0; i <= series.getEndIndex(); i++) {
+                assertEquals(indicator.getDouble(i), indicator.getValue(i).doubleValue(), 0);
+            }
+        }
+    }
+
+    @Test
+    public void primitiveResultsShouldMatchDecimalResults() {
+        BarSeries series = new MockBarSeries(numFunction, data);
+        BarSeries decimalSeries = new MockBarSeries(DecimalNum::valueOf, data);
+        assertIndicatorsMatch(new RSIIndicator(new ClosePriceIndicator(decimalSeries), 14),
+                new RSIIndicator(new ClosePriceIndicator(series), 14));
+        assertIndicatorsMatch(new SMAIndicator(new ClosePriceIndicator(decimalSeries), 20),
+                new SMAIndicator(new ClosePriceIndicator(series), 20));
+        assertIndicatorsMatch(new EMAIndicator(new ClosePriceIndicator(decimalSeries), 20),
+                new EMAIndicator(new ClosePriceIndicator(series), 20));
+    }
+
+    @Test
+    public void movingBarSeriesShouldDropRemovedResults() {
+        BarSeries series = new MockBarSeries(numFunction, data);
+        BarSeries reference = new MockBarSeries(numFunction, data);
+        series.setMaximumBarCount(50);
+        EMAIndicator ema = new EMAIndicator(new ClosePriceIndicator(series), 10);
+        EMAIndicator expected = new EMAIndicator(new ClosePriceIndicator(reference), 10);
+
+        // removed results are calculated with the first remaining bar
+        assertNumEquals(series.getBar(series.getBeginIndex()).getClosePrice(), ema.getValue(0));
+
+        for (int i = 0; i < data.length; i++) {
+            ZonedDateTime endTime = series.getLastBar().getEndTime().plusDays(1);
+            series.addBar(endTime, data[i], data[i], data[i], data[i]);
+            reference.addBar(endTime, data[i], data[i], data[i], data[i]);
+            ema.getDouble(series.getEndIndex());
+        }
+        assertEquals(50, series.getBarCount());
+        for (int i = series.getBeginIndex(); i <= series.getEndIndex(); i++) {
+            assertEquals(expected.getDouble(i), ema.getDouble(i), 1e-6);
+        }
+    }
+
+    @Test
+    public void nanValuesShouldBeCached() {
+        BarSeries series = new MockBarSeries(numFunction, 1, 2, 3, 4, 5);
+        FixedIndicator<Num> indicator = new FixedIndicator<>(series, numOf(1), numOf(2), NaN, numOf(4), numOf(5));
+        SMAIndicator sma = new SMAIndicator(indicator, 2);
+        assertNumEquals(1.5, sma.getValue(1));
+        assertTrue(sma.getValue(2).isNaN());
+        assertTrue(Double.isNaN(sma.getDouble(2)));
+        assertTrue(sma.getValue(3).isNaN());
+        assertNumEquals(4.5, sma.getValue(4));
+    }
+
+    @Test
+    public void fillShouldMatchGetDouble() {
+        BarSeries series = new MockBarSeries(numFunction, data);
+        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+        DoubleIndicator[] indicators = { closePrice, new SMAIndicator(closePrice, 14), new EMAIndicator(closePrice, 14),
+                new RSIIndicator(closePrice, 14) };
+        int[][] ranges = { { 0, data.length }, { 100, 250 }, { 3, 4 }, { 7, 7 } };
+        for (DoubleIndicator indicator : indicators) {
+            for (int[] range : ranges) {
+                double[] values = new double[range[1] - range[0]];
+                indicator.fill(range[0], range[1], values);
+                for (int i = range[0]; i < range[1]; i++) {
+                    assertEquals(indicator.getDouble(i), values[i - range[0]], 1e-9);
+                }
+            }
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void fillWithTooSmallArrayShouldThrow() {
+        BarSeries series = new MockBarSeries(numFunction, data);
+        new SMAIndicator(new ClosePriceIndicator(series), 14).fill(0, 10, new double[9]);
+    }
+
+    @Test
+    public void provisionalLastBarShouldBeCachedUntilLastBarChanges() {
+        MockBarSeries series = new MockBarSeries(numFunction, data);
+        series.setProvisionalLastBarEvaluation(true);
+        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+        EMAIndicator ema = new EMAIndicator(closePrice, 10);
+        int endIndex = series.getEndIndex();
+
+        double provisional = ema.getDouble(endIndex);
+        assertEquals(provisional, ema.getDouble(endIndex), 0);
+        assertEquals(provisional, ema.getValue(endIndex).doubleValue(), 0);
+
+        series.addPrice(numOf(data[endIndex] + 10));
+        double expected = ema.getDouble(endIndex - 1) + (data[endIndex] + 10 - ema.getDouble(endIndex - 1)) * 2 / 11;
+        assertEquals(expected, ema.getDouble(endIndex), 1e-9);
+        assertEquals(expected, ema.getValue(endIndex).doubleValue(), 1e-9);
+    }
+
+    private static void assertIndicatorsMatch(DoubleIndicator expected, DoubleIndicator actual) {
+        for (int i = 0; i <= actual.getBarSeries().getEndIndex(); i++) {
+            assertEquals(expected.getDouble(i), actual.getDouble(i), 1e-9);
+        }
+    }
+}
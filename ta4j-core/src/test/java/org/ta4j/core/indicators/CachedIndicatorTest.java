@@ -30,7 +30,13 @@ import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import static org.ta4j.core.TestUtils.assertNumEquals;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.function.Function;
 
 import org.junit.Before;
@@ -42,6 +48,7 @@ import org.ta4j.core.Indicator;
 import org.ta4j.core.Strategy;
 import org.ta4j.core.indicators.helpers.ClosePriceIndicator;
 import org.ta4j.core.indicators.helpers.ConstantIndicator;
+import org.ta4j.core.mocks.MockBar;
 import org.ta4j.core.mocks.MockBarSeries;
 import org.ta4j.core.num.Num;
 import org.ta4j.core.rules.OverIndicatorRule;
@@ -184,4 +191,95 @@ public class CachedIndicatorTest extends AbstractIndicatorTest<Indicator<Num>, N
 
     }
 
+    @Test
+    public void provisionalLastBarShouldBeCachedUntilLastBarChanges() {
+        MockBarSeries barSeries = new MockBarSeries(numFunction, 1, 2, 3, 4, 5);
+        CountingIndicator counting = new CountingIndicator(new ClosePriceIndicator(barSeries));
+        int endIndex = barSeries.getEndIndex();
+
+        // disabled: the last bar is recalculated on each call
+        counting.getValue(endIndex);
+        counting.getValue(endIndex);
+        assertEquals(2, counting.calculations);
+
+        barSeries.setProvisionalLastBarEvaluation(true);
+        counting.calculations = 0;
+        assertNumEquals(5, counting.getValue(endIndex));
+        assertNumEquals(5, counting.getValue(endIndex));
+        assertEquals(1, counting.calculations);
+
+        barSeries.addTrade(numOf(1), numOf(6));
+        assertNumEquals(6, counting.getValue(endIndex));
+        assertEquals(2, counting.calculations);
+
+        // direct modifications of the last bar are detected as well
+        barSeries.getLastBar().addPrice(numOf(7));
+        assertNumEquals(7, counting.getValue(endIndex));
+        assertNumEquals(7, counting.getValue(endIndex));
+        assertEquals(3, counting.calculations);
+
+        barSeries.addBar(new MockBar(barSeries.getLastBar().getEndTime().plusDays(1), 8, numFunction), true);
+        assertNumEquals(8, counting.getValue(endIndex));
+        assertEquals(4, counting.calculations);
+
+        barSeries.addBar(new MockBar(barSeries.getLastBar().getEndTime().plusDays(1), 9, numFunction));
+        assertNumEquals(9, counting.getValue(endIndex + 1));
+        assertNumEquals(8, counting.getValue(endIndex));
+        assertNumEquals(8, counting.getValue(endIndex));
+        assertEquals(6, counting.calculations);
+    }
+
+    @Test
+    public void concurrentGetValue() throws Exception {
+        BarSeries barSeries = new MockBarSeries(numFunction);
+        SMAIndicator sma = new SMAIndicator(new ClosePriceIndicator(barSeries), 20);
+        SMAIndicator expected = new SMAIndicator(new ClosePriceIndicator(barSeries), 20);
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Callable<Boolean>> tasks = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                final int offset = t;
+                tasks.add(() -> {
+                    for (int i = barSeries.getEndIndex() - offset; i >= 0; i -= 3) {
+                        sma.getValue(i);
+                    }
+                    return true;
+                });
+            }
+            for (Future<Boolean> future : executor.invokeAll(tasks)) {
+                assertTrue(future.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+        for (int i = 0; i <= barSeries.getEndIndex(); i++) {
+            assertEquals(expected.getValue(i), sma.getValue(i));
+        }
+    }
+
+    /**
+     * Counts the calculations of the values of an indicator.
+     */
+    private static class CountingIndicator extends CachedIndicator<Num> {
+
+        private final Indicator<Num> indicator;
+        private int calculations = 0;
+
+        private CountingIndicator(Indicator<Num> indicator) {
+            super(indicator);
+            this.indicator = indicator;
+        }
+
+        @Override
+        protected Num calculate(int index) {
+            calculations++;
+            return indicator.getValue(index);
+        }
+
+        @Override
+        public int getUnstableBars() {
+            return 0;
+        }
+    }
 }
@@ -0,0 +1,151 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017-2023 Ta4j Organization & respective
+ * authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.indicators;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.ta4j.core.TestUtils.assertNumEquals;
+
+import java.util.List;
+import java.util.function.Function;
+
+import org.junit.Test;
+import org.ta4j.core.BarSeries;
+import org.ta4j.core.BaseBarSeriesBuilder;
+import org.ta4j.core.BaseStrategy;
+import org.ta4j.core.Indicator;
+import org.ta4j.core.Strategy;
+import org.ta4j.core.indicators.helpers.ClosePriceIndicator;
+import org.ta4j.core.mocks.MockBar;
+import org.ta4j.core.mocks.MockBarSeries;
+import org.ta4j.core.num.Num;
+import org.ta4j.core.rules.CrossedDownIndicatorRule;
+import org.ta4j.core.rules.CrossedUpIndicatorRule;
+import org.ta4j.core.rules.StopLossRule;
+
+public class IndicatorGraphTest extends AbstractIndicatorTest<Indicator<Num>, Num> {
+
+    public IndicatorGraphTest(Function<Number, Num> numFunction) {
+        super(numFunction);
+    }
+
+    @Test
+    public void topologicalOrderOfStrategy() {
+        BarSeries series = new MockBarSeries(numFunction);
+        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+        MACDIndicator macd = new MACDIndicator(closePrice, 12, 26);
+        EMAIndicator signal = new EMAIndicator(macd, 9);
+        Strategy strategy = new BaseStrategy(new CrossedUpIndicatorRule(macd, signal),
+                new CrossedDownIndicatorRule(macd, signal).or(new StopLossRule(closePrice, 5)));
+
+        IndicatorGraph graph = IndicatorGraph.of(strategy);
+        List<Indicator<?>> indicators = graph.getIndicators();
+        assertEquals(series, graph.getBarSeries());
+        assertTrue(indicators.contains(closePrice));
+        assertTrue(indicators.contains(macd.getShortTermEma()));
+        assertTrue(indicators.contains(macd.getLongTermEma()));
+        // each indicator comes after its dependencies
+        for (int i = 0; i < indicators.size(); i++) {
+            for (Indicator<?> dependency : graph.getDependencies(indicators.get(i))) {
+                assertTrue(indicators.indexOf(dependency) < i);
+            }
+        }
+        assertTrue(indicators.indexOf(closePrice) < indicators.indexOf(macd.getShortTermEma()));
+        assertTrue(indicators.indexOf(macd.getLongTermEma()) < indicators.indexOf(macd));
+        assertTrue(indicators.indexOf(macd) < indicators.indexOf(signal));
+        assertTrue(graph.getDependencies(closePrice).isEmpty());
+        assertEquals(List.of(macd), graph.getDependencies(signal));
+    }
+
+    @Test
+    public void updateEqualsLazyEvaluation() {
+        BarSeries series = new MockBarSeries(numFunction);
+        EMAIndicator ema = new EMAIndicator(new ClosePriceIndicator(series), 20);
+        RSIIndicator rsi = new RSIIndicator(ema, 14);
+        IndicatorGraph graph = IndicatorGraph.of(rsi);
+        assertEquals(series.getBarCount(), graph.update());
+
+        RSIIndicator expected = new RSIIndicator(new EMAIndicator(new ClosePriceIndicator(series), 20), 14);
+        for (int i = series.getEndIndex(); i >= 0; i--) {
+            assertNumEquals(expected.getValue(i), rsi.getValue(i));
+        }
+    }
+
+    @Test
+    public void eachIndicatorIsCalculatedOncePerBar() {
+        BarSeries series = new BaseBarSeriesBuilder().withNumTypeOf(numFunction)
+                .withProvisionalLastBarEvaluation(true)
+                .build();
+        CountingIndicator counting = new CountingIndicator(new ClosePriceIndicator(series));
+        SMAIndicator sma = new SMAIndicator(counting, 3);
+        EMAIndicator ema = new EMAIndicator(counting, 5);
+        IndicatorGraph graph = IndicatorGraph.of(sma, ema);
+        assertEquals(0, graph.update());
+
+        series.addBar(new MockBar(1, numFunction));
+        assertEquals(1, graph.update());
+        assertEquals(1, counting.calculations);
+        for (int i = 2; i <= 50; i++) {
+            series.addBar(new MockBar(series.getLastBar().getEndTime().plusDays(1), i, numFunction));
+            counting.calculations = 0;
+            // the previous (provisional) bar and the new bar
+            assertEquals(2, graph.update());
+            assertEquals(2, counting.calculations);
+            assertNumEquals(new SMAIndicator(new ClosePriceIndicator(series), 3).getValue(series.getEndIndex()),
+                    sma.getValue(series.getEndIndex()));
+            assertEquals(2, counting.calculations);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void indicatorsOfDifferentSeries() {
+        IndicatorGraph.of(new ClosePriceIndicator(new MockBarSeries(numFunction)),
+                new ClosePriceIndicator(new MockBarSeries(numFunction)));
+    }
+
+    /**
+     * Counts the calculations of the values of an indicator.
+     */
+    private static class CountingIndicator extends CachedIndicator<Num> {
+
+        private final Indicator<Num> indicator;
+        private int calculations = 0;
+
+        private CountingIndicator(Indicator<Num> indicator) {
+            super(indicator);
+            this.indicator = indicator;
+        }
+
+        @Override
+        protected Num calculate(int index) {
+            calculations++;
+            return indicator.getValue(index);
+        }
+
+        @Override
+        public int getUnstableBars() {
+            return 0;
+        }
+    }
+}
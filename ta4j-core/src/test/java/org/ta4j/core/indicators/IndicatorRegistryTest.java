@@ -0,0 +1,107 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017-2023 Ta4j Organization & respective
+ * authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.indicators;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.ta4j.core.TestUtils.assertIndicatorEquals;
+
+import java.util.function.Function;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.ta4j.core.BarSeries;
+import org.ta4j.core.Indicator;
+import org.ta4j.core.indicators.helpers.ClosePriceIndicator;
+import org.ta4j.core.indicators.helpers.ConstantIndicator;
+import org.ta4j.core.mocks.MockBarSeries;
+import org.ta4j.core.num.Num;
+
+public class IndicatorRegistryTest extends AbstractIndicatorTest<Indicator<Num>, Num> {
+
+    private BarSeries series;
+
+    private IndicatorRegistry registry;
+
+    public IndicatorRegistryTest(Function<Number, Num> numFunction) {
+        super(numFunction);
+    }
+
+    @Before
+    public void setUp() {
+        series = new MockBarSeries(numFunction, 1, 2, 3, 4, 3, 4, 5, 6, 4, 3, 2);
+        registry = new IndicatorRegistry(series);
+    }
+
+    @Test
+    public void sameArgumentsShouldReturnSameInstance() {
+        ClosePriceIndicator closePrice = registry.get(ClosePriceIndicator.class, series);
+        assertSame(closePrice, registry.get(ClosePriceIndicator.class, series));
+
+        SMAIndicator sma = registry.get(SMAIndicator.class, closePrice, 3);
+        assertSame(sma, registry.get(SMAIndicator.class, closePrice, 3));
+        assertNotSame(sma, registry.get(SMAIndicator.class, closePrice, 4));
+        assertNotSame(sma, registry.get(EMAIndicator.class, closePrice, 3));
+        assertEquals(4, registry.size());
+
+        assertIndicatorEquals(new SMAIndicator(new ClosePriceIndicator(series), 3), sma);
+    }
+
+    @Test
+    public void argumentsShouldBeComparedByEquality() {
+        ClosePriceIndicator closePrice = registry.get(ClosePriceIndicator.class, series);
+        ConstantIndicator<?> constant = registry.get(ConstantIndicator.class, series, numOf(2));
+        assertSame(constant, registry.get(ConstantIndicator.class, series, numOf(2)));
+        assertEquals(numOf(2), constant.getValue(0));
+        assertNotSame(closePrice, constant);
+    }
+
+    @Test
+    public void factoryShouldBeCalledOnce() {
+        int[] calls = { 0 };
+        for (int i = 0; i < 3; i++) {
+            registry.get("rsi-14", () -> {
+                calls[0]++;
+                return new RSIIndicator(registry.get(ClosePriceIndicator.class, series), 14);
+            });
+        }
+        assertEquals(1, calls[0]);
+        assertEquals(2, registry.size());
+
+        registry.clear();
+        assertEquals(0, registry.size());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void argumentOfAnotherSeriesShouldBeRejected() {
+        BarSeries otherSeries = new MockBarSeries(numFunction, 1, 2, 3);
+        registry.get(SMAIndicator.class, new ClosePriceIndicator(otherSeries), 3);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void missingConstructorShouldBeRejected() {
+        registry.get(SMAIndicator.class, series, 3);
+    }
+}
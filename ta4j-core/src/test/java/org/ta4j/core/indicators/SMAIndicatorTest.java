@@ -103,4 +103,19 @@ public class SMAIndicatorTest extends AbstractIndicatorTest<Indicator<Num>, Num>
                 TestUtils.GENERAL_OFFSET);
     }
 
+    @Test
+    public void sequentialAndRandomAccessShouldBeEqual() {
+        BarSeries series = new MockBarSeries(numFunction);
+        Indicator<Num> sequential = getIndicator(new ClosePriceIndicator(series), 200);
+        Indicator<Num> reversed = getIndicator(new ClosePriceIndicator(series), 200);
+
+        // in reverse order, the previous value is never cached: the window is summed
+        for (int i = series.getEndIndex(); i >= 0; i--) {
+            reversed.getValue(i);
+        }
+        for (int i = 0; i <= series.getEndIndex(); i++) {
+            assertNumEquals(reversed.getValue(i), sequential.getValue(i));
+        }
+    }
+
 }
@@ -28,6 +28,7 @@ import static org.ta4j.core.TestUtils.assertNumEquals;
 import static org.ta4j.core.num.NaN.NaN;
 
 import java.time.ZonedDateTime;
+import java.util.Random;
 import java.util.function.Function;
 
 import org.junit.Before;
@@ -110,4 +111,29 @@ public class HighestValueIndicatorTest extends AbstractIndicatorTest<Indicator<N
                 assertEquals(series.getBar(i).getClosePrice().toString(), highestValue.getValue(i).toString());
         }
     }
+
+    @Test
+    public void sequentialAndRandomAccessShouldMatchWindowScan() {
+        Random random = new Random(42);
+        double[] closePrices = new double[500];
+        for (int i = 0; i < closePrices.length; i++) {
+            closePrices[i] = random.nextInt(100);
+        }
+        BarSeries series = new MockBarSeries(numFunction, closePrices);
+        Indicator<Num> closePrice = new ClosePriceIndicator(series);
+        HighestValueIndicator sequential = new HighestValueIndicator(closePrice, 20);
+        HighestValueIndicator randomAccess = new HighestValueIndicator(closePrice, 20);
+
+        for (int i = 0; i <= series.getEndIndex(); i++) {
+            Num expected = closePrice.getValue(i);
+            for (int j = Math.max(0, i - 19); j < i; j++) {
+                if (closePrice.getValue(j).isGreaterThan(expected)) {
+                    expected = closePrice.getValue(j);
+                }
+            }
+            assertNumEquals(expected, sequential.getValue(i));
+            int randomIndex = random.nextInt(series.getEndIndex() + 1);
+            assertNumEquals(sequential.getValue(randomIndex), randomAccess.getValue(randomIndex));
+        }
+    }
 }
@@ -26,6 +26,7 @@ package org.ta4j.core.indicators.statistics;
 import static org.ta4j.core.TestUtils.assertNumEquals;
 
 import java.time.ZonedDateTime;
+import java.util.Random;
 import java.util.function.Function;
 
 import org.junit.Before;
@@ -35,8 +36,10 @@ import org.ta4j.core.BaseBarSeriesBuilder;
 import org.ta4j.core.Indicator;
 import org.ta4j.core.indicators.AbstractIndicatorTest;
 import org.ta4j.core.indicators.helpers.ClosePriceIndicator;
+import org.ta4j.core.indicators.helpers.PreviousValueIndicator;
 import org.ta4j.core.indicators.helpers.VolumeIndicator;
 import org.ta4j.core.mocks.MockBar;
+import org.ta4j.core.mocks.MockBarSeries;
 import org.ta4j.core.num.Num;
 
 public class CovarianceIndicatorTest extends AbstractIndicatorTest<Indicator<Num>, Num> {
@@ -114,4 +117,27 @@ public class CovarianceIndicatorTest extends AbstractIndicatorTest<Indicator<Num
         assertNumEquals(0, covar.getValue(3));
         assertNumEquals(0, covar.getValue(8));
     }
+
+    @Test
+    public void incrementalCovarianceShouldMatchRecalculatedCovariance() {
+        Random random = new Random(42);
+        double[] prices = new double[2500];
+        prices[0] = 100;
+        for (int i = 1; i < prices.length; i++) {
+            prices[i] = prices[i - 1] + random.nextGaussian();
+        }
+        BarSeries series = new MockBarSeries(numFunction, prices);
+        Indicator<Num> closePrice = new ClosePriceIndicator(series);
+        Indicator<Num> previousClosePrice = new PreviousValueIndicator(closePrice);
+        CovarianceIndicator sequential = new CovarianceIndicator(closePrice, previousClosePrice, 30);
+        CovarianceIndicator randomAccess = new CovarianceIndicator(closePrice, previousClosePrice, 30);
+
+        for (int i = 0; i <= series.getEndIndex(); i++) {
+            sequential.getValue(i);
+        }
+        // in reverse order, each value is calculated from the whole window
+        for (int i = series.getEndIndex(); i >= 0; i--) {
+            assertNumEquals(randomAccess.getValue(i).doubleValue(), sequential.getValue(i));
+        }
+    }
 }
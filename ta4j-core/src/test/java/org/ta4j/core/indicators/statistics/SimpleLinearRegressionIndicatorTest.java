@@ -26,6 +26,13 @@ package org.ta4j.core.indicators.statistics;
 import static org.junit.Assert.assertTrue;
 import static org.ta4j.core.TestUtils.assertNumEquals;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.function.Function;
 
 import org.apache.commons.math3.stat.regression.SimpleRegression;
@@ -33,6 +40,7 @@ import org.junit.Before;
 import org.junit.Test;
 import org.ta4j.core.Indicator;
 import org.ta4j.core.indicators.AbstractIndicatorTest;
+import org.ta4j.core.indicators.statistics.SimpleLinearRegressionIndicator.SimpleLinearRegressionType;
 import org.ta4j.core.indicators.helpers.ClosePriceIndicator;
 import org.ta4j.core.mocks.MockBarSeries;
 import org.ta4j.core.num.Num;
@@ -107,6 +115,62 @@ public class SimpleLinearRegressionIndicatorTest extends AbstractIndicatorTest<I
         assertNumEquals(origReg.predict(4), reg.getValue(4));
     }
 
+    @Test
+    public void incrementalLinearRegressionShouldMatchSimpleRegression() {
+        Random random = new Random(42);
+        double[] values = new double[1500];
+        values[0] = 100;
+        for (int i = 1; i < values.length; i++) {
+            values[i] = values[i - 1] + random.nextGaussian();
+        }
+        ClosePriceIndicator indicator = new ClosePriceIndicator(new MockBarSeries(numFunction, values));
+        int barCount = 20;
+        SimpleLinearRegressionIndicator reg = new SimpleLinearRegressionIndicator(indicator, barCount);
+        SimpleLinearRegressionIndicator slope = new SimpleLinearRegressionIndicator(indicator, barCount,
+                SimpleLinearRegressionType.SLOPE);
+        SimpleLinearRegressionIndicator intercept = new SimpleLinearRegressionIndicator(indicator, barCount,
+                SimpleLinearRegressionType.INTERCEPT);
+
+        for (int index = 1; index < values.length; index++) {
+            SimpleRegression origReg = new SimpleRegression();
+            for (int i = Math.max(0, index - barCount + 1); i <= index; i++) {
+                origReg.addData(i, values[i]);
+            }
+            assertNumEquals(origReg.predict(index), reg.getValue(index));
+            assertNumEquals(origReg.getSlope(), slope.getValue(index));
+            assertNumEquals(origReg.getIntercept(), intercept.getValue(index));
+        }
+    }
+
+    @Test
+    public void concurrentGetValue() throws Exception {
+        SimpleLinearRegressionIndicator expected = new SimpleLinearRegressionIndicator(closePrice, 4);
+        SimpleLinearRegressionIndicator reg = new SimpleLinearRegressionIndicator(closePrice, 4);
+        int endIndex = closePrice.getBarSeries().getEndIndex();
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Callable<Boolean>> tasks = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                final int offset = t;
+                tasks.add(() -> {
+                    for (int i = endIndex - offset % 3; i >= 0; i -= 2) {
+                        reg.getValue(i);
+                    }
+                    return true;
+                });
+            }
+            for (Future<Boolean> future : executor.invokeAll(tasks)) {
+                assertTrue(future.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+        for (int i = 0; i <= endIndex; i++) {
+            assertNumEquals(expected.getValue(i).doubleValue(), reg.getValue(i));
+        }
+    }
+
     /**
      * @param values values
      * @return a simple linear regression based on provided values
@@ -25,6 +25,7 @@ package org.ta4j.core.indicators.statistics;
 
 import static org.ta4j.core.TestUtils.assertNumEquals;
 
+import java.util.Random;
 import java.util.function.Function;
 
 import org.junit.Before;
@@ -89,4 +90,25 @@ public class VarianceIndicatorTest extends AbstractIndicatorTest<Indicator<Num>,
         assertNumEquals(2.25, var.getValue(9));
         assertNumEquals(20.25, var.getValue(10));
     }
+
+    @Test
+    public void incrementalVarianceShouldMatchRecalculatedVariance() {
+        Random random = new Random(42);
+        double[] prices = new double[2500];
+        prices[0] = 100;
+        for (int i = 1; i < prices.length; i++) {
+            prices[i] = prices[i - 1] + random.nextGaussian();
+        }
+        BarSeries series = new MockBarSeries(numFunction, prices);
+        VarianceIndicator sequential = new VarianceIndicator(new ClosePriceIndicator(series), 20);
+        VarianceIndicator randomAccess = new VarianceIndicator(new ClosePriceIndicator(series), 20);
+
+        for (int i = 0; i <= series.getEndIndex(); i++) {
+            sequential.getValue(i);
+        }
+        // in reverse order, each value is calculated from the whole window
+        for (int i = series.getEndIndex(); i >= 0; i--) {
+            assertNumEquals(randomAccess.getValue(i).doubleValue(), sequential.getValue(i));
+        }
+    }
 }
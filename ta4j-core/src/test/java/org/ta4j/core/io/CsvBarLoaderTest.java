@@ -0,0 +1,159 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017-2023 Ta4j Organization & respective
+ * authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.io;
+
+import static org.junit.Assert.assertEquals;
+import static org.ta4j.core.TestUtils.assertNumEquals;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.function.Function;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.ta4j.core.Bar;
+import org.ta4j.core.BarSeries;
+import org.ta4j.core.BaseBarSeriesBuilder;
+import org.ta4j.core.indicators.AbstractIndicatorTest;
+import org.ta4j.core.io.CsvReader.TimeFormat;
+import org.ta4j.core.num.Num;
+
+public class CsvBarLoaderTest extends AbstractIndicatorTest<BarSeries, Num> {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    public CsvBarLoaderTest(Function<Number, Num> numFunction) {
+        super(numFunction);
+    }
+
+    private BarSeries newSeries() {
+        return new BaseBarSeriesBuilder().withNumTypeOf(numFunction).build();
+    }
+
+    @Test
+    public void loadDailyBarsTest() throws IOException {
+        String content = "Date,Open,High,Low,Close,Volume\n" + "2013-01-02,79.12,79.29,77.38,78.43,140129500\n"
+                + "2013-01-03,78.27,78.52,77.29,77.44,88241300\n";
+        BarSeries series = newSeries();
+        new CsvBarLoader().withZone(ZoneOffset.UTC)
+                .load(new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)), series);
+
+        assertEquals(2, series.getBarCount());
+        Bar bar = series.getBar(1);
+        assertEquals(LocalDate.of(2013, 1, 3).atStartOfDay(ZoneOffset.UTC), bar.getEndTime());
+        assertEquals(Duration.ofDays(1), bar.getTimePeriod());
+        assertNumEquals(78.27, bar.getOpenPrice());
+        assertNumEquals(78.52, bar.getHighPrice());
+        assertNumEquals(77.29, bar.getLowPrice());
+        assertNumEquals(77.44, bar.getClosePrice());
+        assertNumEquals(88241300, bar.getVolume());
+    }
+
+    @Test
+    public void loadCustomColumnsTest() throws IOException {
+        Path path = folder.newFile("bars.csv").toPath();
+        Files.write(path, "60000;1;4;3;2\n120000;2;5;1;3\n".getBytes(StandardCharsets.UTF_8));
+        BarSeries series = newSeries();
+        new CsvBarLoader().withSeparator(';')
+                .withHeaderLines(0)
+                .withTimeColumn(0, TimeFormat.EPOCH_MILLIS)
+                .withPriceColumns(4, 2, 3, 1)
+                .withVolumeColumn(-1)
+                .withTimePeriod(Duration.ofMinutes(1))
+                .withZone(ZoneId.of("UTC"))
+                .load(path, series);
+
+        assertEquals(2, series.getBarCount());
+        Bar bar = series.getFirstBar();
+        assertEquals(60000, bar.getEndTime().toInstant().toEpochMilli());
+        assertEquals(0, bar.getBeginTime().toInstant().toEpochMilli());
+        assertNumEquals(2, bar.getOpenPrice());
+        assertNumEquals(4, bar.getHighPrice());
+        assertNumEquals(3, bar.getLowPrice());
+        assertNumEquals(1, bar.getClosePrice());
+        assertNumEquals(0, bar.getVolume());
+    }
+
+    @Test
+    public void parallelLoadEqualsSequentialLoadTest() throws IOException {
+        StringBuilder content = new StringBuilder("time,open,high,low,close,volume\n");
+        for (int i = 1; i <= 2000; i++) {
+            content.append(i * 60_000L)
+                    .append(',')
+                    .append(100 + i % 13)
+                    .append(',')
+                    .append(110 + i % 17)
+                    .append(',')
+                    .append(90 - i % 11)
+                    .append(',')
+                    .append(100 + i % 7 * 0.25)
+                    .append(',')
+                    .append(i * 1.5)
+                    .append('\n');
+        }
+        Path path = folder.newFile("parallel.csv").toPath();
+        Files.write(path, content.toString().getBytes(StandardCharsets.UTF_8));
+
+        CsvBarLoader loader = new CsvBarLoader().withTimeColumn(0, TimeFormat.EPOCH_MILLIS)
+                .withTimePeriod(Duration.ofMinutes(1));
+        BarSeries expected = newSeries();
+        loader.load(path, expected);
+        loader.chunkSize = 1000;
+        BarSeries actual = newSeries();
+        loader.load(path, actual, 4);
+
+        assertEquals(2000, expected.getBarCount());
+        assertEquals(expected.getBarCount(), actual.getBarCount());
+        for (int i = 0; i < expected.getBarCount(); i++) {
+            assertEquals(expected.getBar(i).getEndTime(), actual.getBar(i).getEndTime());
+            assertNumEquals(expected.getBar(i).getOpenPrice(), actual.getBar(i).getOpenPrice());
+            assertNumEquals(expected.getBar(i).getHighPrice(), actual.getBar(i).getHighPrice());
+            assertNumEquals(expected.getBar(i).getLowPrice(), actual.getBar(i).getLowPrice());
+            assertNumEquals(expected.getBar(i).getClosePrice(), actual.getBar(i).getClosePrice());
+            assertNumEquals(expected.getBar(i).getVolume(), actual.getBar(i).getVolume());
+        }
+    }
+
+    @Test(expected = NumberFormatException.class)
+    public void parallelLoadFailureTest() throws IOException {
+        StringBuilder content = new StringBuilder("time,open,high,low,close,volume\n");
+        for (int i = 1; i <= 500; i++) {
+            content.append(i).append(i == 400 ? ",x" : ",1").append(",1,1,1,1\n");
+        }
+        Path path = folder.newFile("invalid.csv").toPath();
+        Files.write(path, content.toString().getBytes(StandardCharsets.UTF_8));
+        CsvBarLoader loader = new CsvBarLoader().withTimeColumn(0, TimeFormat.EPOCH_SECONDS);
+        loader.chunkSize = 100;
+        loader.load(path, newSeries(), 2);
+    }
+}
@@ -0,0 +1,207 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017-2023 Ta4j Organization & respective
+ * authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.io;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.ta4j.core.io.CsvReader.TimeFormat;
+
+public class CsvReaderTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private static CsvReader reader(String content, char separator) {
+        return new CsvReader(Channels.newChannel(new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8))),
+                separator);
+    }
+
+    @Test
+    public void readFieldsTest() throws IOException {
+        CsvReader reader = reader("date;value;count\r\n\r\n2023-01-02;\"1.5\";-42\n2023-01-03;;7", ';');
+        assertEquals(1, reader.skip(1));
+
+        assertTrue(reader.next());
+        assertEquals(3, reader.getLineNumber());
+        assertEquals(3, reader.getFieldCount());
+        assertEquals("2023-01-02", reader.getString(0));
+        assertEquals(1.5, reader.getDouble(1), 0);
+        assertEquals(-42, reader.getLong(2));
+
+        assertTrue(reader.next());
+        assertTrue(reader.isEmpty(1));
+        assertTrue(Double.isNaN(reader.getDouble(1)));
+        assertEquals(7, reader.getLong(2));
+
+        assertFalse(reader.next());
+        assertFalse(reader.next());
+    }
+
+    @Test
+    public void parseDoubleTest() throws IOException {
+        String[] values = { "0", "-0", "1", "+2", "0.1", "-0.30", "123.456", "00012.5000", ".5", "5.", "1e3", "-2.5E-7",
+                "0.000000000000000000000000123", "123456789012345678901234567890", "9007199254740993",
+                "1.2345678901234567", "3.141592653589793", "NaN", "Infinity" };
+        Random random = new Random(42);
+        List<String> all = new ArrayList<>();
+        for (String value : values) {
+            all.add(value);
+        }
+        for (int i = 0; i < 1000; i++) {
+            all.add(String.valueOf(random.nextDouble() * Math.pow(10, random.nextInt(16) - 8)));
+            all.add(String.format("%.6f", random.nextDouble() * 10000));
+        }
+        CsvReader reader = reader(String.join("\n", all), ',');
+        for (String value : all) {
+            assertTrue(reader.next());
+            assertEquals(value, Double.doubleToLongBits(Double.parseDouble(value)),
+                    Double.doubleToLongBits(reader.getDouble(0)));
+        }
+    }
+
+    @Test(expected = NumberFormatException.class)
+    public void invalidDoubleTest() throws IOException {
+        CsvReader reader = reader("1.2.3", ',');
+        reader.next();
+        reader.getDouble(0);
+    }
+
+    @Test(expected = NumberFormatException.class)
+    public void invalidLongTest() throws IOException {
+        CsvReader reader = reader("12a", ',');
+        reader.next();
+        reader.getLong(0);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void missingFieldTest() throws IOException {
+        CsvReader reader = reader("1,2", ',');
+        reader.next();
+        reader.getDouble(2);
+    }
+
+    @Test
+    public void parseTimeTest() throws IOException {
+        ZoneId zone = ZoneId.of("Europe/Paris");
+        CsvReader reader = reader(
+                "2023-07-01,2023-07-01T12:30,2023-07-01 12:30:15,2023-07-01T12:30:15.25,1688207415.5,1688207415500",
+                ',');
+        reader.next();
+        assertEquals(LocalDateTime.of(2023, 7, 1, 0, 0).atZone(zone).toInstant().toEpochMilli(),
+                reader.getEpochMillis(0, TimeFormat.ISO_LOCAL_DATE_TIME, zone));
+        assertEquals(LocalDateTime.of(2023, 7, 1, 12, 30).atZone(zone).toInstant().toEpochMilli(),
+                reader.getEpochMillis(1, TimeFormat.ISO_LOCAL_DATE_TIME, zone));
+        assertEquals(LocalDateTime.of(2023, 7, 1, 12, 30, 15).toInstant(ZoneOffset.UTC).toEpochMilli(),
+                reader.getEpochMillis(2, TimeFormat.ISO_LOCAL_DATE_TIME, ZoneOffset.UTC));
+        assertEquals(LocalDateTime.of(2023, 7, 1, 12, 30, 15, 250_000_000).toInstant(ZoneOffset.UTC).toEpochMilli(),
+                reader.getEpochMillis(3, TimeFormat.ISO_LOCAL_DATE_TIME, ZoneId.of("UTC")));
+        assertEquals(1688207415500L, reader.getEpochMillis(4, TimeFormat.EPOCH_SECONDS, zone));
+        assertEquals(1688207415500L, reader.getEpochMillis(5, TimeFormat.EPOCH_MILLIS, zone));
+    }
+
+    @Test(expected = NumberFormatException.class)
+    public void invalidDateTest() throws IOException {
+        CsvReader reader = reader("2023-02-30", ',');
+        reader.next();
+        reader.getEpochMillis(0, TimeFormat.ISO_LOCAL_DATE_TIME, ZoneOffset.UTC);
+    }
+
+    @Test
+    public void invalidTimeTest() throws IOException {
+        for (ZoneId zone : new ZoneId[] { ZoneOffset.UTC, ZoneId.of("Europe/Paris") }) {
+            CsvReader reader = reader("2024-01-01 25:61:99,2024-01-01 23:60,2024-01-01 23:59:60", ',');
+            reader.next();
+            for (int field = 0; field < 3; field++) {
+                try {
+                    reader.getEpochMillis(field, TimeFormat.ISO_LOCAL_DATE_TIME, zone);
+                    fail("Accepted field " + field + " in " + zone);
+                } catch (NumberFormatException expected) {
+                    // expected for both the fixed offset and the zone rules path
+                }
+            }
+        }
+    }
+
+    @Test
+    public void longLineTest() throws IOException {
+        StringBuilder line = new StringBuilder();
+        for (int i = 0; i < 50_000; i++) {
+            line.append(i).append(',');
+        }
+        line.append("end");
+        CsvReader reader = reader("first\n" + line + "\nlast", ',');
+        reader.skip(1);
+        assertTrue(reader.next());
+        assertEquals(50_001, reader.getFieldCount());
+        assertEquals(49_999, reader.getLong(49_999));
+        assertEquals("end", reader.getString(50_000));
+        assertTrue(reader.next());
+        assertEquals("last", reader.getString(0));
+    }
+
+    @Test
+    public void rangesReadEachRecordOnceTest() throws IOException {
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            content.append(i).append(',').append(i * 0.5).append(i % 7 == 0 ? "\r\n" : "\n");
+        }
+        Path path = folder.newFile("ranges.csv").toPath();
+        Files.write(path, content.toString().getBytes(StandardCharsets.UTF_8));
+        try (FileChannel channel = FileChannel.open(path)) {
+            long size = channel.size();
+            for (long rangeSize : new long[] { 1, 7, 64, 1000, size }) {
+                long expected = 0;
+                for (long start = 0; start < size; start += rangeSize) {
+                    CsvReader reader = new CsvReader(channel, ',', start, Math.min(size, start + rangeSize));
+                    while (reader.next()) {
+                        assertEquals(expected, reader.getLong(0));
+                        assertEquals(expected * 0.5, reader.getDouble(1), 0);
+                        expected++;
+                    }
+                }
+                assertEquals(1000, expected);
+            }
+        }
+    }
+}
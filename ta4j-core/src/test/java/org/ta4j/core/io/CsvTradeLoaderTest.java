@@ -0,0 +1,120 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017-2023 Ta4j Organization & respective
+ * authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.io;
+
+import static org.junit.Assert.assertEquals;
+import static org.ta4j.core.TestUtils.assertNumEquals;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.ta4j.core.Bar;
+import org.ta4j.core.BarSeries;
+import org.ta4j.core.BaseBarSeriesBuilder;
+import org.ta4j.core.indicators.AbstractIndicatorTest;
+import org.ta4j.core.num.Num;
+
+public class CsvTradeLoaderTest extends AbstractIndicatorTest<BarSeries, Num> {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    public CsvTradeLoaderTest(Function<Number, Num> numFunction) {
+        super(numFunction);
+    }
+
+    private Path writeTrades(int count) throws IOException {
+        StringBuilder content = new StringBuilder("unixtime,price,amount\n");
+        for (int i = 0; i < count; i++) {
+            content.append(1_385_337_600L + i * 7L)
+                    .append(',')
+                    .append(800 + i % 19 * 0.5)
+                    .append(',')
+                    .append(0.01 * (1 + i % 5))
+                    .append('\n');
+        }
+        Path path = folder.newFile().toPath();
+        Files.write(path, content.toString().getBytes(StandardCharsets.UTF_8));
+        return path;
+    }
+
+    @Test
+    public void parallelLoadEqualsSequentialLoadTest() throws IOException {
+        Path path = writeTrades(3000);
+        CsvTradeLoader loader = new CsvTradeLoader();
+        List<double[]> expected = new ArrayList<>();
+        loader.load(path, (epochMillis, price, volume) -> expected.add(new double[] { epochMillis, price, volume }));
+        loader.chunkSize = 512;
+        List<double[]> actual = new ArrayList<>();
+        loader.load(path, (epochMillis, price, volume) -> actual.add(new double[] { epochMillis, price, volume }), 3);
+
+        assertEquals(3000, expected.size());
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals((1_385_337_600L + i * 7L) * 1000, expected.get(i)[0], 0);
+            for (int j = 0; j < 3; j++) {
+                assertEquals(expected.get(i)[j], actual.get(i)[j], 0);
+            }
+        }
+    }
+
+    @Test
+    public void loadTimeBarsTest() throws IOException {
+        Path path = writeTrades(100);
+        BarSeries series = new BaseBarSeriesBuilder().withNumTypeOf(numFunction).build();
+        new CsvTradeLoader().load(path, series, Duration.ofMinutes(1));
+
+        // 100 trades every 7 seconds, starting at 00:00:00
+        assertEquals(12, series.getBarCount());
+        Bar first = series.getFirstBar();
+        assertEquals(1_385_337_660_000L, first.getEndTime().toInstant().toEpochMilli());
+        assertEquals(9, first.getTrades());
+        assertNumEquals(800, first.getOpenPrice());
+        assertNumEquals(804, first.getHighPrice());
+        assertNumEquals(800, first.getLowPrice());
+        assertNumEquals(804, first.getClosePrice());
+        long trades = 0;
+        for (int i = 0; i < series.getBarCount(); i++) {
+            trades += series.getBar(i).getTrades();
+        }
+        assertEquals(100, trades);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void loadUnorderedTradesTest() throws IOException {
+        Path path = folder.newFile().toPath();
+        Files.write(path, "time,price,amount\n120,1,1\n10,1,1\n".getBytes(StandardCharsets.UTF_8));
+        BarSeries series = new BaseBarSeriesBuilder().withNumTypeOf(numFunction).build();
+        new CsvTradeLoader().load(path, series, Duration.ofMinutes(1));
+    }
+}
@@ -0,0 +1,244 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017-2023 Ta4j Organization & respective
+ * authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.live;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.ta4j.core.TestUtils.assertNumEquals;
+
+import java.time.ZonedDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.junit.Test;
+import org.ta4j.core.BarSeries;
+import org.ta4j.core.BaseStrategy;
+import org.ta4j.core.Strategy;
+import org.ta4j.core.Trade;
+import org.ta4j.core.Trade.TradeType;
+import org.ta4j.core.TradingRecord;
+import org.ta4j.core.indicators.AbstractIndicatorTest;
+import org.ta4j.core.indicators.helpers.ClosePriceIndicator;
+import org.ta4j.core.mocks.MockBar;
+import org.ta4j.core.mocks.MockBarSeries;
+import org.ta4j.core.num.Num;
+import org.ta4j.core.rules.OverIndicatorRule;
+import org.ta4j.core.rules.UnderIndicatorRule;
+
+public class LiveTradingEngineTest extends AbstractIndicatorTest<BarSeries, Num> {
+
+    public LiveTradingEngineTest(Function<Number, Num> numFunction) {
+        super(numFunction);
+    }
+
+    @Test
+    public void eventsShouldTriggerTrades() {
+        LiveTradingEngine engine = new LiveTradingEngine(Runnable::run);
+        List<Trade> trades = new ArrayList<>();
+        List<LiveEvent> events = new ArrayList<>();
+        engine.addListener(new LiveTradingListener() {
+            @Override
+            public void onTrade(LiveStrategy strategy, Trade trade) {
+                trades.add(trade);
+            }
+
+            @Override
+            public void onEvent(LiveInstrument instrument, LiveEvent event) {
+                events.add(event);
+            }
+        });
+        BarSeries series = new MockBarSeries(numFunction, 4, 4, 4);
+        LiveInstrument instrument = engine.addInstrument("instrument", series);
+        LiveStrategy strategy = instrument.addStrategy(buildStrategy(series));
+
+        assertTrue(engine.offer("instrument", LiveEvent.bar(nextBar(series, 6))));
+        assertEquals(1, trades.size());
+        assertEquals(TradeType.BUY, trades.get(0).getType());
+        assertEquals(3, trades.get(0).getIndex());
+        assertNumEquals(6, trades.get(0).getNetPrice());
+
+        // the strategy operates at most once per bar
+        assertTrue(engine.offer("instrument", LiveEvent.price(numOf(2))));
+        assertEquals(1, trades.size());
+
+        assertTrue(engine.offer("instrument", LiveEvent.bar(nextBar(series, 4))));
+        assertTrue(engine.offer("instrument", LiveEvent.trade(numOf(1), numOf(2))));
+        assertEquals(2, trades.size());
+        assertEquals(TradeType.SELL, trades.get(1).getType());
+        assertEquals(4, trades.get(1).getIndex());
+        assertNumEquals(2, trades.get(1).getNetPrice());
+
+        assertEquals(4, events.size());
+        assertEquals(1, strategy.getTradingRecord().getPositionCount());
+        assertTrue(strategy.getTradingRecord().isClosed());
+    }
+
+    @Test
+    public void offerShouldRejectEventsIfQueueIsFull() {
+        Queue<Runnable> tasks = new ArrayDeque<>();
+        LiveTradingEngine engine = new LiveTradingEngine(tasks::add, 2);
+        BarSeries series = new MockBarSeries(numFunction, 4, 4, 4);
+        LiveInstrument instrument = engine.addInstrument("instrument", series);
+        instrument.addStrategy(buildStrategy(series));
+
+        assertTrue(instrument.offer(LiveEvent.bar(nextBar(series, 4, 1))));
+        assertTrue(instrument.offer(LiveEvent.bar(nextBar(series, 4, 2))));
+        assertFalse(instrument.offer(LiveEvent.bar(nextBar(series, 4, 3))));
+        assertEquals(2, instrument.getPendingEventCount());
+        // a single writer per instrument
+        assertEquals(1, tasks.size());
+
+        tasks.poll().run();
+        assertEquals(0, instrument.getPendingEventCount());
+        assertEquals(5, series.getBarCount());
+        assertTrue(tasks.isEmpty());
+    }
+
+    @Test
+    public void failuresShouldBeReported() {
+        LiveTradingEngine engine = new LiveTradingEngine(Runnable::run);
+        List<Throwable> errors = new ArrayList<>();
+        List<LiveStrategy> failedStrategies = new ArrayList<>();
+        engine.addListener(new LiveTradingListener() {
+            @Override
+            public void onError(LiveInstrument instrument, LiveStrategy strategy, Throwable error) {
+                failedStrategies.add(strategy);
+                errors.add(error);
+            }
+        });
+        BarSeries series = new MockBarSeries(numFunction, 4, 4, 4);
+        LiveInstrument instrument = engine.addInstrument("instrument", series);
+        LiveStrategy failing = instrument.addStrategy(new BaseStrategy((index, tradingRecord) -> {
+            throw new IllegalStateException("failure");
+        }, (index, tradingRecord) -> false));
+        LiveStrategy working = instrument.addStrategy(buildStrategy(series));
+
+        // a bar prior to the last bar cannot be added
+        instrument.offer(LiveEvent.bar(new MockBar(series.getFirstBar().getEndTime(), 6, numFunction)));
+        assertEquals(1, errors.size());
+        assertNull(failedStrategies.get(0));
+
+        instrument.offer(LiveEvent.bar(nextBar(series, 6)));
+        assertEquals(2, errors.size());
+        assertEquals(failing, failedStrategies.get(1));
+        assertFalse(working.getTradingRecord().isClosed());
+        assertEquals(3, working.getTradingRecord().getLastEntry().getIndex());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void duplicateInstrumentShouldBeRejected() {
+        LiveTradingEngine engine = new LiveTradingEngine(Runnable::run);
+        engine.addInstrument("instrument", new MockBarSeries(numFunction, 1));
+        engine.addInstrument("instrument", new MockBarSeries(numFunction, 1));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void unknownInstrumentShouldBeRejected() {
+        new LiveTradingEngine(Runnable::run).offer("unknown", LiveEvent.price(numOf(1)));
+    }
+
+    @Test
+    public void instrumentsShouldBeProcessedConcurrentlyBySingleWriters() throws InterruptedException {
+        final int instrumentCount = 20;
+        final int eventCount = 200;
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            LiveTradingEngine engine = new LiveTradingEngine(executor, 16);
+            CountDownLatch done = new CountDownLatch(instrumentCount * eventCount);
+            ConcurrentHashMap<String, AtomicInteger> writers = new ConcurrentHashMap<>();
+            List<String> violations = new CopyOnWriteArrayList<>();
+            engine.addListener(new LiveTradingListener() {
+                @Override
+                public void onEvent(LiveInstrument instrument, LiveEvent event) {
+                    AtomicInteger writer = writers.get(instrument.getName());
+                    if (writer.incrementAndGet() != 1) {
+                        violations.add(instrument.getName());
+                    }
+                    writer.decrementAndGet();
+                    done.countDown();
+                }
+            });
+            List<LiveInstrument> instruments = new ArrayList<>();
+            ZonedDateTime startTime = ZonedDateTime.now();
+            for (int i = 0; i < instrumentCount; i++) {
+                BarSeries series = new MockBarSeries(numFunction, new double[] { 4 },
+                        new ZonedDateTime[] { startTime });
+                LiveInstrument instrument = engine.addInstrument("instrument-" + i, series);
+                instrument.addStrategy(buildStrategy(series));
+                writers.put(instrument.getName(), new AtomicInteger());
+                instruments.add(instrument);
+            }
+
+            for (int e = 1; e <= eventCount; e++) {
+                for (LiveInstrument instrument : instruments) {
+                    // alternating above and below the thresholds of the strategy
+                    double closePrice = e % 2 == 0 ? 6 : 2;
+                    instrument.put(LiveEvent.bar(new MockBar(startTime.plusMinutes(e), closePrice, numFunction)));
+                }
+            }
+
+            assertTrue(done.await(10, TimeUnit.SECONDS));
+            assertTrue(violations.isEmpty());
+            for (LiveInstrument instrument : instruments) {
+                assertEquals(eventCount + 1, instrument.getBarSeries().getBarCount());
+                // entered at every even and exited at every odd event, the last position is
+                // open
+                TradingRecord tradingRecord = instrument.getStrategies().get(0).getTradingRecord();
+                assertEquals(eventCount / 2 - 1, tradingRecord.getPositionCount());
+                assertFalse(tradingRecord.isClosed());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private Strategy buildStrategy(BarSeries series) {
+        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+        return new BaseStrategy(new OverIndicatorRule(closePrice, 5), new UnderIndicatorRule(closePrice, 3));
+    }
+
+    private MockBar nextBar(BarSeries series, double closePrice) {
+        return nextBar(series, closePrice, 1);
+    }
+
+    /**
+     * @return a bar {@code offset} minutes after the last bar of the series
+     */
+    private MockBar nextBar(BarSeries series, double closePrice, int offset) {
+        ZonedDateTime endTime = series.getLastBar().getEndTime().plusMinutes(offset);
+        return new MockBar(endTime, closePrice, numFunction);
+    }
+}
@@ -51,6 +51,7 @@ import static org.junit.Assert.assertTrue;
 import java.util.function.Function;
 
 import org.junit.Test;
+import org.ta4j.core.BarSeries;
 import org.ta4j.core.BaseTradingRecord;
 import org.ta4j.core.Trade.TradeType;
 import org.ta4j.core.indicators.AbstractIndicatorTest;
@@ -172,4 +173,22 @@ public class TrailingStopLossRuleTest extends AbstractIndicatorTest<Object, Obje
         assertFalse(rule.isSatisfied(7, tradingRecord));
         assertTrue(rule.isSatisfied(8, tradingRecord));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void isSatisfiedForBuyOnRandomAccessAndChangingLastBar() {
+        BaseTradingRecord tradingRecord = new BaseTradingRecord(TradeType.BUY);
+        BarSeries series = new MockBarSeries(numFunction, 100, 110, 120, 130, 117.00, 125);
+        TrailingStopLossRule rule = new TrailingStopLossRule(new ClosePriceIndicator(series), numOf(10));
+
+        tradingRecord.enter(1, numOf(110), numOf(1));
+        assertTrue(rule.isSatisfied(4, tradingRecord));
+        assertFalse(rule.isSatisfied(2, tradingRecord));
+        assertFalse(rule.isSatisfied(3, tradingRecord));
+        assertTrue(rule.isSatisfied(4, tradingRecord));
+        assertFalse(rule.isSatisfied(5, tradingRecord));
+
+        // the last bar drops below the threshold (130 * 0.9 = 117)
+        series.addPrice(numOf(116));
+        assertTrue(rule.isSatisfied(5, tradingRecord));
+    }
+}
@@ -0,0 +1,105 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017-2023 Ta4j Organization & respective
+ * authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+public class CircularArrayListTest {
+
+    @Test
+    public void movingWindowTest() {
+        CircularArrayList<Integer> list = new CircularArrayList<>(4);
+        for (int i = 0; i < 100; i++) {
+            list.add(i);
+            if (list.size() > 3) {
+                list.remove(0);
+            }
+        }
+        assertEquals(Arrays.asList(97, 98, 99), list);
+        // the buffer is not resized in a moving window
+        assertEquals(4, list.capacity());
+    }
+
+    @Test
+    public void behavesLikeArrayListTest() {
+        List<Integer> expected = new ArrayList<>();
+        CircularArrayList<Integer> actual = new CircularArrayList<>(2);
+        for (int i = 0; i < 20; i++) {
+            expected.add(i);
+            actual.add(i);
+        }
+        // wrap the buffer around
+        expected.subList(0, 5).clear();
+        actual.subList(0, 5).clear();
+        for (int i = 20; i < 25; i++) {
+            expected.add(i);
+            actual.add(i);
+        }
+        assertEquals(expected, actual);
+
+        expected.add(0, -1);
+        actual.add(0, -1);
+        expected.add(7, -7);
+        actual.add(7, -7);
+        assertEquals(expected, actual);
+
+        assertEquals(expected.remove(10), actual.remove(10));
+        assertEquals(expected.set(3, 42), actual.set(3, 42));
+        expected.subList(4, 8).clear();
+        actual.subList(4, 8).clear();
+        assertEquals(expected, actual);
+
+        actual.trimToSize();
+        assertEquals(expected.size(), actual.capacity());
+        assertEquals(expected, actual);
+
+        actual.clear();
+        assertTrue(actual.isEmpty());
+        actual.add(1);
+        assertEquals(Arrays.asList(1), actual);
+    }
+
+    @Test
+    public void copyConstructorTest() {
+        List<String> source = Arrays.asList("a", "b", "c");
+        CircularArrayList<String> list = new CircularArrayList<>(source);
+        list.remove(0);
+        list.add("d");
+        assertEquals(Arrays.asList("b", "c", "d"), list);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void getOutOfBoundsTest() {
+        CircularArrayList<Integer> list = new CircularArrayList<>();
+        list.add(1);
+        list.get(1);
+    }
+}